@@ -1,27 +1,23 @@
 package com.venus.kyc.auth;
 
+import com.venus.kyc.common.security.JwtVerifier;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.stream.Collectors;
 
 @Component
 public class JwtTokenProvider {
 
-    @Value("${app.jwtSecret}")
-    private String jwtSecret;
+    private final JwtVerifier jwtVerifier;
+    private final int jwtExpirationInMs;
 
-    @Value("${app.jwtExpirationInMs}")
-    private int jwtExpirationInMs;
-
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    public JwtTokenProvider(JwtVerifier jwtVerifier, @Value("${app.jwtExpirationInMs}") int jwtExpirationInMs) {
+        this.jwtVerifier = jwtVerifier;
+        this.jwtExpirationInMs = jwtExpirationInMs;
     }
 
     public String generateToken(Authentication authentication) {
@@ -32,35 +28,23 @@ public class JwtTokenProvider {
 
         return Jwts.builder()
                 .setSubject(username)
-                .claim("auth", authorities)
+                .claim(JwtVerifier.AUTHORITIES_CLAIM, authorities)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationInMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .signWith(jwtVerifier.signingKey(), SignatureAlgorithm.HS512)
                 .compact();
     }
 
     public String getUsernameFromJWT(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        return claims.getSubject();
+        return jwtVerifier.authenticate(token).getName();
     }
 
     public boolean validateToken(String authToken) {
         try {
-            Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(authToken);
+            jwtVerifier.authenticate(authToken);
             return true;
-        } catch (SecurityException | MalformedJwtException e) {
-            // Invalid JWT signature
-        } catch (ExpiredJwtException e) {
-            // Expired JWT token
-        } catch (UnsupportedJwtException e) {
-            // Unsupported JWT token
-        } catch (IllegalArgumentException e) {
-            // JWT claims string is empty
+        } catch (JwtException | IllegalArgumentException e) {
+            // Invalid signature, malformed, expired or empty JWT
         }
         return false;
     }
@@ -1,24 +1,50 @@
 package com.venus.kyc.auth;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.stereotype.Repository;
 
+import java.time.Clock;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 @Repository
 public class PermissionRepository {
 
     private final JdbcClient jdbcClient;
+    private final long cacheTtlMs;
+    private final Clock clock;
 
-    public PermissionRepository(JdbcClient jdbcClient) {
+    // Cached for app.permissionCacheTtlMs: a change made on another instance is only dropped from this one's
+    // cache by the expiry, while a change made here drops it at once
+    private final ConcurrentMap<String, CachedPermissions> permissionsByRole = new ConcurrentHashMap<>();
+
+    @Autowired
+    public PermissionRepository(JdbcClient jdbcClient, @Value("${app.permissionCacheTtlMs:30000}") long cacheTtlMs) {
+        this(jdbcClient, cacheTtlMs, Clock.systemUTC());
+    }
+
+    PermissionRepository(JdbcClient jdbcClient, long cacheTtlMs, Clock clock) {
         this.jdbcClient = jdbcClient;
+        this.cacheTtlMs = cacheTtlMs;
+        this.clock = clock;
     }
 
     public List<String> findPermissionsByRole(String roleName) {
-        return jdbcClient.sql("SELECT Permission FROM RolePermissions WHERE RoleName = :roleName")
-                .param("roleName", roleName)
-                .query(String.class)
-                .list();
+        long now = clock.millis();
+        CachedPermissions cached = permissionsByRole.get(roleName);
+        if (cached != null && now < cached.expiresAt()) {
+            return cached.permissions();
+        }
+        List<String> permissions = List.copyOf(
+                jdbcClient.sql("SELECT Permission FROM RolePermissions WHERE RoleName = :roleName")
+                        .param("roleName", roleName)
+                        .query(String.class)
+                        .list());
+        permissionsByRole.put(roleName, new CachedPermissions(permissions, now + cacheTtlMs));
+        return permissions;
     }
 
     public List<String> findAllRoles() {
@@ -48,6 +74,7 @@ public class PermissionRepository {
                 .param("roleName", roleName)
                 .param("permission", permission)
                 .update();
+        permissionsByRole.remove(roleName);
     }
 
     public void removePermissionFromRole(String roleName, String permission) {
@@ -55,6 +82,7 @@ public class PermissionRepository {
                 .param("roleName", roleName)
                 .param("permission", permission)
                 .update();
+        permissionsByRole.remove(roleName);
     }
 
     public java.util.Map<String, List<String>> getAllRolePermissions() {
@@ -65,4 +93,7 @@ public class PermissionRepository {
                         java.util.stream.Collectors.mapping(java.util.Map.Entry::getValue,
                                 java.util.stream.Collectors.toList())));
     }
+
+    private record CachedPermissions(List<String> permissions, long expiresAt) {
+    }
 }
@@ -0,0 +1,92 @@
+package com.venus.kyc.auth;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PermissionRepositoryTest {
+
+    private static final long TTL_MS = 30_000;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-03-01T10:00:00Z"));
+    private EmbeddedDatabase database;
+    private PermissionRepository instanceA;
+    private PermissionRepository instanceB;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName("auth-" + UUID.randomUUID())
+                .addScript("classpath:schema.sql")
+                .build();
+        // two replicas of the service on one database
+        instanceA = new PermissionRepository(JdbcClient.create(database), TTL_MS, clock);
+        instanceB = new PermissionRepository(JdbcClient.create(database), TTL_MS, clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void changeOnAnotherInstance_isVisibleOnceTheCachedEntryExpires() {
+        assertFalse(instanceA.findPermissionsByRole("KYC_ANALYST").contains("MANAGE_RISK"));
+
+        instanceB.addPermissionToRole("KYC_ANALYST", "MANAGE_RISK");
+        assertTrue(instanceB.findPermissionsByRole("KYC_ANALYST").contains("MANAGE_RISK"), "the writing instance sees it at once");
+        assertFalse(instanceA.findPermissionsByRole("KYC_ANALYST").contains("MANAGE_RISK"), "still cached");
+
+        clock.advanceMillis(TTL_MS);
+        assertTrue(instanceA.findPermissionsByRole("KYC_ANALYST").contains("MANAGE_RISK"));
+
+        instanceB.removePermissionFromRole("KYC_ANALYST", "MANAGE_RISK");
+        clock.advanceMillis(TTL_MS);
+        assertFalse(instanceA.findPermissionsByRole("KYC_ANALYST").contains("MANAGE_RISK"));
+    }
+
+    @Test
+    void findPermissionsByRole_servesRepeatedReadsFromTheCache() {
+        assertSame(instanceA.findPermissionsByRole("ADMIN"), instanceA.findPermissionsByRole("ADMIN"));
+        assertTrue(instanceA.findPermissionsByRole("NO_SUCH_ROLE").isEmpty());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advanceMillis(long millis) {
+            now = now.plusMillis(millis);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
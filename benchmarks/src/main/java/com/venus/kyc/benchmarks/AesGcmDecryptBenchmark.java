@@ -0,0 +1,123 @@
+package com.venus.kyc.benchmarks;
+
+import com.venus.kyc.common.crypto.AesGcmEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decrypting the seven PII columns of 10,000 clients, as a viewer client listing does.
+ *
+ * <p>{@code legacy*} reproduces the previous per-call {@code Cipher.getInstance} / {@code new SecureRandom()}
+ * implementation; {@code engine*} uses {@link AesGcmEngine}. One operation is one full pass.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AesGcmDecryptBenchmark {
+
+    static final int CLIENTS = 10_000;
+    static final int PII_FIELDS = 7;
+
+    private static final byte[] KEY = Base64.getDecoder().decode("j5afag/9LpbAKCMfC9+eKRor5etIeRbD7J7KiHkc0sk=");
+
+    private AesGcmEngine engine;
+    private SecretKey legacyKey;
+    private List<List<String>> clients;
+
+    @Setup
+    public void setUp() {
+        engine = new AesGcmEngine(KEY);
+        legacyKey = new SecretKeySpec(KEY, "AES");
+        clients = new ArrayList<>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            List<String> fields = new ArrayList<>(PII_FIELDS);
+            fields.add(engine.encrypt("First" + i));
+            fields.add(engine.encrypt("Middle" + i));
+            fields.add(engine.encrypt("Lastname-" + i));
+            fields.add(engine.encrypt("Birthname-" + i));
+            fields.add(engine.encrypt("Nick" + i));
+            fields.add(engine.encrypt("General Hospital " + i));
+            fields.add(engine.encrypt("Springfield"));
+            clients.add(fields);
+        }
+    }
+
+    @Benchmark
+    public void legacyDecryptPerField(Blackhole bh) throws Exception {
+        for (List<String> fields : clients) {
+            for (String field : fields) {
+                bh.consume(legacyDecrypt(field));
+            }
+        }
+    }
+
+    @Benchmark
+    public void engineDecryptAll(Blackhole bh) {
+        for (List<String> fields : clients) {
+            bh.consume(engine.decryptAll(fields));
+        }
+    }
+
+    @Benchmark
+    public void legacyEncryptPerField(Blackhole bh) throws Exception {
+        for (int i = 0; i < CLIENTS; i++) {
+            bh.consume(legacyEncrypt("Lastname-" + i));
+        }
+    }
+
+    @Benchmark
+    public void engineEncrypt(Blackhole bh) {
+        for (int i = 0; i < CLIENTS; i++) {
+            bh.consume(engine.encrypt("Lastname-" + i));
+        }
+    }
+
+    private String legacyDecrypt(String encrypted) throws Exception {
+        byte[] combined = Base64.getDecoder().decode(encrypted);
+        byte[] iv = new byte[12];
+        System.arraycopy(combined, 0, iv, 0, 12);
+        byte[] ciphertext = new byte[combined.length - 12];
+        System.arraycopy(combined, 12, ciphertext, 0, ciphertext.length);
+
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, legacyKey, new GCMParameterSpec(128, iv));
+        return new String(cipher.doFinal(ciphertext), StandardCharsets.UTF_8);
+    }
+
+    private String legacyEncrypt(String plaintext) throws Exception {
+        byte[] iv = new byte[12];
+        new SecureRandom().nextBytes(iv);
+
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, legacyKey, new GCMParameterSpec(128, iv));
+        byte[] ciphertext = cipher.doFinal(plaintext.getBytes(StandardCharsets.UTF_8));
+
+        byte[] combined = new byte[12 + ciphertext.length];
+        System.arraycopy(iv, 0, combined, 0, 12);
+        System.arraycopy(ciphertext, 0, combined, 12, ciphertext.length);
+        return Base64.getEncoder().encodeToString(combined);
+    }
+}
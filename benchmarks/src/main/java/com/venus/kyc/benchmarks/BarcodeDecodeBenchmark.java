@@ -0,0 +1,95 @@
+package com.venus.kyc.benchmarks;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.WriterException;
+import com.google.zxing.client.j2se.MatrixToImageWriter;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.pdf417.PDF417Writer;
+import com.google.zxing.qrcode.QRCodeWriter;
+import com.venus.kyc.document.service.BarcodeService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BarcodeService#decodeAllBarcodes(BufferedImage)} on generated fixtures: {@code card} is a 1000x640 scan
+ * of a driving licence back with its AAMVA PDF417, decoded at the original size; {@code page} is an A4 page
+ * rendered at 300 DPI carrying a QR code, large enough that the service walks its downscale steps. Scores are
+ * images per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BarcodeDecodeBenchmark {
+
+    private static final String AAMVA = "@\n\u001e\rANSI 636014080102DL00410288ZC03290024DLDAQD1234567\n"
+            + "DCSSAMPLE\nDACJOHN\nDADQUINCY\nDBD20200101\nDBB19800115\nDBA20280115\nDBC1\nDAYBRO\n"
+            + "DAU070 IN\nDAG123 MAIN STREET\nDAISACRAMENTO\nDAJCA\nDAK958230000\nDCFDOC123456\nDCGUSA\n"
+            + "DDEN\nDDFN\nDDGN\r";
+
+    @Param({"card", "page"})
+    String fixture;
+
+    private BarcodeService barcodeService;
+    private BufferedImage image;
+
+    @Setup
+    public void setUp() throws WriterException {
+        barcodeService = new BarcodeService(new SimpleMeterRegistry());
+        image = "card".equals(fixture) ? licenceBack() : a4Page();
+        if (barcodeService.decodeAllBarcodes(image).isEmpty()) {
+            throw new IllegalStateException("Fixture " + fixture + " has no decodable barcode");
+        }
+    }
+
+    @Benchmark
+    public List<String> decodeAll() {
+        return barcodeService.decodeAllBarcodes(image);
+    }
+
+    private static BufferedImage licenceBack() throws WriterException {
+        BitMatrix pdf417 = new PDF417Writer().encode(AAMVA, BarcodeFormat.PDF_417, 900, 300,
+                Map.of(EncodeHintType.MARGIN, 10));
+        return place(1000, 640, MatrixToImageWriter.toBufferedImage(pdf417), 50, 300);
+    }
+
+    private static BufferedImage a4Page() throws WriterException {
+        BitMatrix qr = new QRCodeWriter().encode("KYC-DOC-2025-000123|CLIENT-48213|PASSPORT", BarcodeFormat.QR_CODE,
+                600, 600);
+        return place(2480, 3508, MatrixToImageWriter.toBufferedImage(qr), 1700, 2700);
+    }
+
+    private static BufferedImage place(int width, int height, BufferedImage barcode, int x, int y) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, width, height);
+        g.setColor(Color.DARK_GRAY);
+        for (int line = 80; line < y - 40; line += 60) {
+            g.fillRect(60, line, width / 2, 18);
+        }
+        g.drawImage(barcode, x, y, null);
+        g.dispose();
+        return image;
+    }
+}
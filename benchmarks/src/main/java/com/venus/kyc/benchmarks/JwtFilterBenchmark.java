@@ -0,0 +1,109 @@
+package com.venus.kyc.benchmarks;
+
+import com.venus.kyc.common.security.JwtVerifier;
+import com.venus.kyc.viewer.JwtAuthenticationFilter;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * One authenticated request through the viewer {@link JwtAuthenticationFilter}, from reading the
+ * bearer header to the {@link Authentication} the rest of the chain sees.
+ *
+ * <p>{@code legacyFilter} reproduces the previous filter: the HMAC key rebuilt and the token parsed
+ * twice on every request. {@code filterCached} is the filter as shipped, with the client repeating
+ * one token; {@code filterUncached} gives the verifier no cache, so every request pays one parse.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "ThisIsA VeryLongAndComplexSecretKeyThatShouldBeEnoughForHS512Algorithm"
+            + "MakeSureItIsAtLeast64BytesLongToSatisfyTheSecurityRequirement1234567890!_extra_padding_to_be_safe";
+    private static final String AUTHORITIES = "ROLE_ANALYST,VIEW_CLIENTS,EDIT_CLIENTS,VIEW_CHANGES,MANAGE_CASES,"
+            + "APPROVE_CASES_STAGE1,MANAGE_RISK";
+
+    private HttpServletRequest request;
+    private JwtAuthenticationFilter cachedFilter;
+    private JwtAuthenticationFilter uncachedFilter;
+    private FilterChain chain;
+    private Authentication seenByChain;
+
+    @Setup
+    public void setUp() {
+        String token = Jwts.builder()
+                .setSubject("analyst")
+                .claim(JwtVerifier.AUTHORITIES_CLAIM, AUTHORITIES)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(24)))
+                .signWith(legacyKey(), SignatureAlgorithm.HS512)
+                .compact();
+        MockHttpServletRequest mock = new MockHttpServletRequest("GET", "/api/clients");
+        mock.addHeader("Authorization", "Bearer " + token);
+        request = mock;
+        cachedFilter = new JwtAuthenticationFilter(new JwtVerifier(SECRET, 10_000));
+        uncachedFilter = new JwtAuthenticationFilter(new JwtVerifier(SECRET, 0));
+        chain = (req, res) -> seenByChain = SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Benchmark
+    public Authentication legacyFilter() {
+        String header = request.getHeader("Authorization");
+        String token = header.substring(7);
+        Jwts.parserBuilder().setSigningKey(legacyKey()).build().parseClaimsJws(token);
+        Claims claims = Jwts.parserBuilder().setSigningKey(legacyKey()).build().parseClaimsJws(token).getBody();
+        List<SimpleGrantedAuthority> authorities = Arrays.stream(((String) claims.get("auth")).split(","))
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+        Authentication authentication = new UsernamePasswordAuthenticationToken(claims.getSubject(), null, authorities);
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Benchmark
+    public Authentication filterCached() throws Exception {
+        cachedFilter.doFilter(request, new MockHttpServletResponse(), chain);
+        return seenByChain;
+    }
+
+    @Benchmark
+    public Authentication filterUncached() throws Exception {
+        uncachedFilter.doFilter(request, new MockHttpServletResponse(), chain);
+        return seenByChain;
+    }
+
+    private static SecretKey legacyKey() {
+        return Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,269 @@
+package com.venus.kyc.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.venus.kyc.risk.batch.RiskMapping;
+import com.venus.kyc.risk.batch.RiskMappingPlan;
+import com.venus.kyc.screening.batch.MappingConfig;
+import com.venus.kyc.screening.batch.RecordMappingPlan;
+import com.venus.kyc.screening.batch.model.Client;
+import com.venus.kyc.screening.batch.model.Individual;
+import com.venus.kyc.screening.batch.model.Name;
+import com.venus.kyc.screening.batch.model.PartyInfo;
+import com.venus.kyc.screening.batch.model.RecordData;
+import com.venus.kyc.screening.batch.model.RecordMeta;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping 10,000 clients onto screening records and risk requests. Scores are records per second.
+ *
+ * <p>{@code legacy*} reproduces the previous per-field {@code Client.class.getMethod(...).invoke(...)} lookup followed
+ * by target-path dispatch; {@code plan*} applies a {@link RecordMappingPlan} / {@link RiskMappingPlan} compiled once
+ * in setup, as a batch does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingPlanBenchmark {
+
+    static final int CLIENTS = 10_000;
+
+    /** The screening service's built-in default mappings. */
+    private static final List<MappingConfig> SCREENING_MAPPINGS = List.of(
+            new MappingConfig(null, "record.uniRcrdId", "clientID", null, null),
+            new MappingConfig(null, "record.type", null, "PC", null),
+            new MappingConfig(null, "record.recStat", null, "M", null),
+            new MappingConfig(null, "name.full", "fullName", null, null),
+            new MappingConfig(null, "name.type", null, "PN", null),
+            new MappingConfig(null, "name.fir", "firstName", "Unknown", null),
+            new MappingConfig(null, "name.mid", "middleName", "", null),
+            new MappingConfig(null, "name.sur", "lastName", "Unknown", null),
+            new MappingConfig(null, "name.ma", "maidenName", "", null),
+            new MappingConfig(null, "individual.gender", "gender", "U", null),
+            new MappingConfig(null, "individual.dob", "dateOfBirth", null, null),
+            new MappingConfig(null, "individual.cntr", "country", "US", null),
+            new MappingConfig(null, "individual.placeOfBirth", "country", "Unknown", null),
+            new MappingConfig(null, "individual.occupation", "occupation", "Unknown", null));
+
+    private static final List<RiskMapping> RISK_MAPPINGS = List.of(
+            new RiskMapping(1L, "clientDetails.recordID", "clientID", null, null),
+            new RiskMapping(2L, "clientDetails.firstName", "firstName", null, null),
+            new RiskMapping(3L, "clientDetails.lastName", "lastName", null, null),
+            new RiskMapping(4L, "clientDetails.dateOfBirth", "dateOfBirth", null, null),
+            new RiskMapping(5L, "entityRiskType.entityType", null, "INDIVIDUAL", null),
+            new RiskMapping(6L, "industryRiskType.occupation", "occupation", "UNKNOWN", null),
+            new RiskMapping(7L, "geoRiskType.nationality", "nationality", null, null),
+            new RiskMapping(8L, "geoRiskType.countryOfTax", "countryOfTax", null, null),
+            new RiskMapping(9L, "geoRiskType.addressType.country", "country", "US", null),
+            new RiskMapping(10L, "geoRiskType.addressType.city", "city", null, null),
+            new RiskMapping(11L, "channelRiskType.channel", null, "BRANCH", null),
+            new RiskMapping(12L, "productRiskType.productCode", null, "EQ", null));
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<Client> screeningClients;
+    private List<com.venus.kyc.risk.batch.model.Client> riskClients;
+    private RecordMappingPlan recordPlan;
+    private RiskMappingPlan riskPlan;
+
+    @Setup
+    public void setUp() {
+        screeningClients = new ArrayList<>(CLIENTS);
+        riskClients = new ArrayList<>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            LocalDate dob = LocalDate.of(1950 + i % 50, 1 + i % 12, 1 + i % 28);
+            screeningClients.add(new Client((long) i, "Mr", "First" + i, i % 3 == 0 ? "M" : null, "Last" + i, null,
+                    "DE", null, null, "ACTIVE", null, null, "M", dob, "en", "Engineer", "DE", "DE", null, null,
+                    "1 Main St", "Berlin", "10115", null, "DE", "DE", null, null, null, null, null));
+            riskClients.add(new com.venus.kyc.risk.batch.model.Client((long) i, "Mr", "First" + i, null,
+                    "Last" + i, null, "DE", null, null, "ACTIVE", null, null, "M", dob, "en", "Engineer", "DE",
+                    "DE", null, null, "1 Main St", "Berlin", "10115", null, "DE", "DE", null, null, null, null,
+                    null));
+        }
+        recordPlan = RecordMappingPlan.compile(SCREENING_MAPPINGS);
+        riskPlan = RiskMappingPlan.compile(RISK_MAPPINGS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CLIENTS)
+    public void legacyScreeningRecords(Blackhole bh) {
+        for (Client client : screeningClients) {
+            RecordMeta meta = new RecordMeta();
+            RecordData data = new RecordData();
+            Individual ind = newIndividual(data);
+            Name name = new Name();
+            for (MappingConfig config : SCREENING_MAPPINGS) {
+                String value = legacyScreeningValue(client, config);
+                if (value == null)
+                    value = config.defaultValue();
+                if (value != null)
+                    legacyScreeningSet(meta, ind, name, config.targetPath(), value);
+            }
+            bh.consume(meta);
+            bh.consume(name);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CLIENTS)
+    public void planScreeningRecords(Blackhole bh) {
+        for (Client client : screeningClients) {
+            RecordMeta meta = new RecordMeta();
+            RecordData data = new RecordData();
+            Individual ind = newIndividual(data);
+            Name name = new Name();
+            recordPlan.apply(client, new RecordMappingPlan.Target(meta, data, ind, name));
+            bh.consume(meta);
+            bh.consume(name);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CLIENTS)
+    public void legacyRiskRequests(Blackhole bh) {
+        for (com.venus.kyc.risk.batch.model.Client client : riskClients) {
+            ObjectNode clientData = newRiskRequest();
+            for (RiskMapping mapping : RISK_MAPPINGS) {
+                String value = legacyRiskValue(client, mapping);
+                if (value == null)
+                    value = mapping.defaultValue();
+                if (value != null)
+                    legacyRiskSet(clientData, mapping.targetPath(), value);
+            }
+            bh.consume(clientData);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CLIENTS)
+    public void planRiskRequests(Blackhole bh) {
+        for (com.venus.kyc.risk.batch.model.Client client : riskClients) {
+            ObjectNode clientData = newRiskRequest();
+            riskPlan.apply(client, clientData);
+            bh.consume(clientData);
+        }
+    }
+
+    private static Individual newIndividual(RecordData data) {
+        PartyInfo info = new PartyInfo();
+        Individual ind = new Individual();
+        info.setInd(ind);
+        data.setPrtInfo(info);
+        return ind;
+    }
+
+    private ObjectNode newRiskRequest() {
+        ObjectNode clientData = objectMapper.createObjectNode();
+        clientData.putObject("clientDetails");
+        clientData.putObject("entityRiskType");
+        clientData.putObject("industryRiskType");
+        clientData.putObject("geoRiskType");
+        clientData.putArray("productRiskType");
+        clientData.putObject("channelRiskType");
+        return clientData;
+    }
+
+    private static String legacyScreeningValue(Client client, MappingConfig config) {
+        if (config.sourceField() == null)
+            return null;
+        if ("fullName".equals(config.sourceField())) {
+            StringBuilder fullName = new StringBuilder();
+            if (client.firstName() != null)
+                fullName.append(client.firstName()).append(" ");
+            if (client.middleName() != null && !client.middleName().isEmpty())
+                fullName.append(client.middleName()).append(" ");
+            if (client.lastName() != null)
+                fullName.append(client.lastName());
+            return fullName.toString().trim();
+        }
+        try {
+            java.lang.reflect.Method method = Client.class.getMethod(config.sourceField());
+            Object result = method.invoke(client);
+            return result != null ? String.valueOf(result) : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    // The subset of the former setMappedValue switch reached by the default mappings.
+    private static void legacyScreeningSet(RecordMeta meta, Individual ind, Name n, String targetPath,
+            String value) {
+        switch (targetPath) {
+            case "record.uniRcrdId" -> meta.setUniRcrdId(value);
+            case "record.type" -> meta.setType(value);
+            case "record.recStat" -> meta.setRecStat(value);
+            case "name.full" -> n.setFull(value);
+            case "name.type" -> n.setType(value);
+            case "name.fir" -> n.setFir(value);
+            case "name.mid" -> n.setMid(value);
+            case "name.sur" -> n.setSur(value);
+            case "name.ma" -> n.setMa(value);
+            case "individual.gender" -> ind.setGender(value);
+            case "individual.dob" -> ind.setDob(value);
+            case "individual.placeOfBirth" -> ind.setPlaceOfBirth(value);
+            case "individual.cntr" -> ind.setCntr(value);
+            case "individual.occupation" -> ind.setOccupation(value);
+            default -> {
+            }
+        }
+    }
+
+    private static String legacyRiskValue(com.venus.kyc.risk.batch.model.Client client, RiskMapping mapping) {
+        if (mapping.sourceField() == null)
+            return null;
+        try {
+            java.lang.reflect.Method method = com.venus.kyc.risk.batch.model.Client.class
+                    .getMethod(mapping.sourceField());
+            Object result = method.invoke(client);
+            return result != null ? String.valueOf(result) : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static void legacyRiskSet(ObjectNode request, String targetPath, String value) {
+        String[] parts = targetPath.split("\\.");
+        if (targetPath.startsWith("clientDetails.")) {
+            ((ObjectNode) request.get("clientDetails")).put(parts[1], value);
+        } else if (targetPath.startsWith("entityRiskType.")) {
+            ((ObjectNode) request.get("entityRiskType")).put(parts[1], value);
+        } else if (targetPath.startsWith("industryRiskType.")) {
+            ((ObjectNode) request.get("industryRiskType")).put(parts[1], value);
+        } else if (targetPath.startsWith("geoRiskType.")) {
+            if (parts.length > 2 && parts[1].equals("addressType")) {
+                ObjectNode addr = (ObjectNode) ((ObjectNode) request.get("geoRiskType")).get("addressType");
+                if (addr == null)
+                    addr = ((ObjectNode) request.get("geoRiskType")).putObject("addressType");
+                addr.put(parts[2], value);
+            } else {
+                ((ObjectNode) request.get("geoRiskType")).put(parts[1], value);
+            }
+        } else if (targetPath.startsWith("channelRiskType.")) {
+            ((ObjectNode) request.get("channelRiskType")).put(parts[1], value);
+        } else if (targetPath.startsWith("productRiskType.")) {
+            ArrayNode arr = (ArrayNode) request.get("productRiskType");
+            ObjectNode item = arr.size() == 0 ? arr.addObject() : (ObjectNode) arr.get(0);
+            item.put(parts[1], value);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.venus.kyc.benchmarks;
+
+import com.venus.kyc.document.model.OcrResult;
+import com.venus.kyc.document.service.MrzParserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MrzParserService#parseMrzFromText} on the OCR text of an ID card whose second MRZ line was read with one
+ * extra character. None of the exact-length patterns match, so every call ends in the fuzzy search, which cuts the
+ * noisy line into 30-character windows and validates check digits to pick one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MrzFuzzyBenchmark {
+
+    /** ICAO 9303 TD1 specimen as OCR returns it: header text, then the MRZ with an extra filler '<' in line 2. */
+    private static final String OCR_TEXT = """
+            UTOPIA
+            IDENTITY CARD
+            Surname ERIKSSON
+            Given names ANNA MARIA
+            I<UTOD231458907<<<<<<<<<<<<<<<
+            7408122F1204159UTO<<<<<<<<<<<<6
+            ERIKSSON<<ANNA<MARIA<<<<<<<<<<
+            """;
+
+    private MrzParserService parser;
+
+    @Setup
+    public void setUp() {
+        parser = new MrzParserService();
+        OcrResult result = parser.parseMrzFromText(OCR_TEXT);
+        if (result == null || !"PASS".equals(result.getMrzCheckDigits())) {
+            throw new IllegalStateException("Fixture no longer resolves through the fuzzy MRZ search");
+        }
+    }
+
+    @Benchmark
+    public OcrResult parseFuzzy() {
+        return parser.parseMrzFromText(OCR_TEXT);
+    }
+}
@@ -0,0 +1,139 @@
+package com.venus.kyc.benchmarks;
+
+import com.venus.kyc.document.service.TessdataManager;
+import com.venus.kyc.document.service.TesseractPool;
+import org.bytedeco.javacpp.BytePointer;
+import org.bytedeco.leptonica.PIX;
+import org.bytedeco.tesseract.TessBaseAPI;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.bytedeco.leptonica.global.leptonica.pixDestroy;
+import static org.bytedeco.leptonica.global.leptonica.pixReadMem;
+import static org.bytedeco.tesseract.global.tesseract.OEM_LSTM_ONLY;
+
+/**
+ * Load test for document OCR: 16 concurrent requests recognising a passport MRZ page. Reported as sampled
+ * latency per request; the JSON result carries the p0.50 / p0.99 percentiles.
+ *
+ * <p>{@code initPerCall} reproduces the previous {@code OcrService.runTesseract}, which created, {@code Init}ed and
+ * {@code End}ed a {@link TessBaseAPI} on every request; {@code pooled} borrows from a {@link TesseractPool} of
+ * {@code poolSize} engines, as the service now does. Requires eng.traineddata in document-service resources
+ * ({@code ./gradlew :document-service:downloadTessdata}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(16)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class OcrPoolBenchmark {
+
+    @Param({"4", "8"})
+    int poolSize;
+
+    private TessdataManager tessdataManager;
+    private TesseractPool pool;
+    private byte[] page;
+
+    @Setup
+    public void setUp() throws IOException {
+        tessdataManager = new TessdataManager();
+        pool = new TesseractPool(tessdataManager, false, "eng", poolSize, 60_000);
+        pool.start();
+        page = renderPage();
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public String pooled() throws InterruptedException {
+        PIX pix = read(page);
+        try {
+            return pool.execute(api -> recognise(api, pix));
+        } finally {
+            pixDestroy(pix);
+        }
+    }
+
+    @Benchmark
+    public String initPerCall() throws IOException {
+        PIX pix = read(page);
+        TessBaseAPI api = new TessBaseAPI();
+        try {
+            if (api.Init(tessdataManager.getTessdataPath(), "eng", OEM_LSTM_ONLY) != 0) {
+                throw new IllegalStateException("Tesseract Init failed");
+            }
+            api.SetPageSegMode(6);
+            return recognise(api, pix);
+        } finally {
+            api.End();
+            pixDestroy(pix);
+        }
+    }
+
+    private static String recognise(TessBaseAPI api, PIX pix) {
+        api.SetImage(pix);
+        BytePointer text = api.GetUTF8Text();
+        try {
+            return text.getString();
+        } finally {
+            text.deallocate();
+        }
+    }
+
+    private static PIX read(byte[] png) {
+        BytePointer bytes = new BytePointer(png);
+        try {
+            return pixReadMem(bytes, png.length);
+        } finally {
+            bytes.deallocate();
+        }
+    }
+
+    /** A 1200x500 passport data page with a two-line MRZ, large enough that the service would not upscale it. */
+    private static byte[] renderPage() throws IOException {
+        BufferedImage image = new BufferedImage(1200, 500, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, image.getWidth(), image.getHeight());
+        g.setColor(Color.BLACK);
+        g.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 36));
+        g.drawString("REPUBLIC OF EXAMPLE", 60, 80);
+        g.drawString("PASSPORT", 60, 140);
+        g.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 30));
+        g.drawString("P<EXAJOHNSON<<MICHAEL<<<<<<<<<<<<<<<<<<<<<<", 40, 380);
+        g.drawString("EX1234567<2EXA9001015M2801015<<<<<<<<<<<<<<4", 40, 440);
+        g.dispose();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
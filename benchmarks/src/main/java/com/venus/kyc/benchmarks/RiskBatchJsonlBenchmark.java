@@ -0,0 +1,109 @@
+package com.venus.kyc.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.venus.kyc.risk.batch.BatchRiskService;
+import com.venus.kyc.risk.batch.RiskMapping;
+import com.venus.kyc.risk.batch.RiskMappingRepository;
+import com.venus.kyc.risk.batch.model.Client;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BatchRiskService#generateBatchJsonl} over a 10,000-client batch: reading selected_clients.json, mapping
+ * every client onto a risk request and writing clients.jsonl to a temporary work directory. Scores are clients per
+ * second. The mapping rows come from memory, so no database time is included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RiskBatchJsonlBenchmark {
+
+    static final int CLIENTS = 10_000;
+    static final String BATCH_ID = "RISK_BATCH_BENCHMARK";
+
+    private static final List<RiskMapping> MAPPINGS = List.of(
+            new RiskMapping(1L, "clientDetails.recordID", "clientID", null, null),
+            new RiskMapping(2L, "clientDetails.firstName", "firstName", null, null),
+            new RiskMapping(3L, "clientDetails.lastName", "lastName", null, null),
+            new RiskMapping(4L, "clientDetails.dateOfBirth", "dateOfBirth", null, null),
+            new RiskMapping(5L, "entityRiskType.entityType", null, "INDIVIDUAL", null),
+            new RiskMapping(6L, "industryRiskType.occupation", "occupation", "UNKNOWN", null),
+            new RiskMapping(7L, "geoRiskType.nationality", "nationality", null, null),
+            new RiskMapping(8L, "geoRiskType.countryOfTax", "countryOfTax", null, null),
+            new RiskMapping(9L, "geoRiskType.addressType.country", "country", "US", null),
+            new RiskMapping(10L, "geoRiskType.addressType.city", "city", null, null),
+            new RiskMapping(11L, "channelRiskType.channel", null, "BRANCH", null),
+            new RiskMapping(12L, "productRiskType.productCode", null, "EQ", null));
+
+    private Path workDir;
+    private BatchRiskService service;
+
+    @Setup
+    public void setUp() throws IOException {
+        // The same Jackson defaults Spring Boot gives the service's ObjectMapper
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        workDir = Files.createTempDirectory("risk-batch-bench");
+        File batchDir = workDir.resolve(BATCH_ID).toFile();
+        batchDir.mkdirs();
+
+        List<Client> clients = new ArrayList<>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            LocalDate dob = LocalDate.of(1950 + i % 50, 1 + i % 12, 1 + i % 28);
+            clients.add(new Client((long) i, "Mr", "First" + i, null, "Last" + i, null, "DE", null, null,
+                    "ACTIVE", null, null, "M", dob, "en", "Engineer", "DE", "DE", null, null, "1 Main St",
+                    "Berlin", "10115", null, "DE", "DE", null, null, null, null, null));
+        }
+        objectMapper.writeValue(new File(batchDir, "selected_clients.json"), clients);
+
+        service = new BatchRiskService(new InMemoryMappings(), objectMapper, null, null, null);
+        ReflectionTestUtils.setField(service, "workDir", workDir.toString());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(workDir);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CLIENTS)
+    public void generateBatchJsonl() throws Exception {
+        service.generateBatchJsonl(BATCH_ID);
+    }
+
+    private static final class InMemoryMappings extends RiskMappingRepository {
+
+        InMemoryMappings() {
+            super(null);
+        }
+
+        @Override
+        public List<RiskMapping> findAll() {
+            return MAPPINGS;
+        }
+    }
+}
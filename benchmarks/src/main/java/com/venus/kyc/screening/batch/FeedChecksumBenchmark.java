@@ -0,0 +1,156 @@
+package com.venus.kyc.screening.batch;
+
+import com.venus.kyc.screening.batch.model.Client;
+import com.venus.kyc.screening.batch.model.FInfo;
+import com.venus.kyc.screening.batch.model.Record;
+import com.venus.kyc.screening.batch.model.RecordData;
+import com.venus.kyc.screening.batch.model.RequestMeta;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checksumming a 500,000-record request feed. Scores are records per second.
+ *
+ * <p>{@code feedPass} is the whole single pass of {@code generateBatchXml}: each record is built with its
+ * {@link RecordChecksum} and written through {@link NlsFeedStreamWriter}, whose digest stream yields the file
+ * SHA-256 as the last byte goes out. {@code recordChecksum} is the per-record digest alone and
+ * {@code legacyRecordChecksum} the reflective field walk it replaced. The feed cycles through 1,000 distinct clients
+ * so half a million records never have to be held in memory at once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class FeedChecksumBenchmark {
+
+    static final int RECORDS = 500_000;
+    static final int DISTINCT_CLIENTS = 1_000;
+
+    private static final ClassValue<Field[]> LEGACY_FIELDS = new ClassValue<>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+            return Arrays.stream(type.getDeclaredFields()).filter(Field::trySetAccessible).toArray(Field[]::new);
+        }
+    };
+
+    private BatchScreeningService service;
+    private RecordMappingPlan plan;
+    private Client[] clients;
+    private RecordData[] recordData;
+    private RequestMeta requestMeta;
+
+    @Setup
+    public void setUp() {
+        // createRecord touches none of the collaborators
+        service = new BatchScreeningService(null, null, null, null, null, null, new SimpleMeterRegistry());
+        plan = RecordMappingPlan.compile(List.of(
+                new MappingConfig(null, "record.uniRcrdId", "clientID", null, null),
+                new MappingConfig(null, "record.type", null, "PC", null),
+                new MappingConfig(null, "record.recStat", null, "M", null),
+                new MappingConfig(null, "name.full", "fullName", null, null),
+                new MappingConfig(null, "name.type", null, "PN", null),
+                new MappingConfig(null, "name.fir", "firstName", "Unknown", null),
+                new MappingConfig(null, "name.mid", "middleName", "", null),
+                new MappingConfig(null, "name.sur", "lastName", "Unknown", null),
+                new MappingConfig(null, "name.ma", "maidenName", "", null),
+                new MappingConfig(null, "individual.gender", "gender", "U", null),
+                new MappingConfig(null, "individual.dob", "dateOfBirth", null, null),
+                new MappingConfig(null, "individual.cntr", "country", "US", null),
+                new MappingConfig(null, "individual.placeOfBirth", "country", "Unknown", null),
+                new MappingConfig(null, "individual.occupation", "occupation", "Unknown", null)));
+
+        clients = new Client[DISTINCT_CLIENTS];
+        recordData = new RecordData[DISTINCT_CLIENTS];
+        for (int i = 0; i < DISTINCT_CLIENTS; i++) {
+            LocalDate dob = LocalDate.of(1950 + i % 50, 1 + i % 12, 1 + i % 28);
+            clients[i] = new Client((long) i, "Mr", "First" + i, i % 3 == 0 ? "M" : null, "Last" + i, null,
+                    "DE", null, null, "ACTIVE", null, null, "M", dob, "en", "Engineer", "DE", "DE", null, null,
+                    "1 Main St", "Berlin", "10115", null, "DE", "DE", null, null, null, null, null);
+            recordData[i] = service.createRecord(clients[i], plan).getData();
+        }
+
+        requestMeta = new RequestMeta();
+        requestMeta.setSrcId("2475");
+        requestMeta.setTor("RCDelta");
+        requestMeta.setCrtTm("2025-01-01T00:00:00.000");
+        requestMeta.setAod("2025-01-01");
+        requestMeta.setNor(RECORDS);
+        FInfo fInfo = new FInfo();
+        fInfo.setName("BENCHMARK_BATCH");
+        fInfo.setBatchNr("1");
+        requestMeta.setfInfo(fInfo);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public String feedPass() throws Exception {
+        try (NlsFeedStreamWriter writer = new NlsFeedStreamWriter(OutputStream.nullOutputStream())) {
+            writer.writeMeta(requestMeta);
+            for (int i = 0; i < RECORDS; i++) {
+                Record record = service.createRecord(clients[i % DISTINCT_CLIENTS], plan);
+                writer.writeRecord(record);
+            }
+            return writer.finish();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void recordChecksum(Blackhole bh) {
+        for (int i = 0; i < RECORDS; i++) {
+            bh.consume(RecordChecksum.of(recordData[i % DISTINCT_CLIENTS]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public void legacyRecordChecksum(Blackhole bh) throws Exception {
+        for (int i = 0; i < RECORDS; i++) {
+            StringBuilder sb = new StringBuilder();
+            legacyCollectValues(recordData[i % DISTINCT_CLIENTS], sb);
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+            bh.consume(HexFormat.of().withUpperCase().formatHex(hash));
+        }
+    }
+
+    private static void legacyCollectValues(Object obj, StringBuilder sb) throws IllegalAccessException {
+        if (obj == null)
+            return;
+        if (obj instanceof String) {
+            sb.append(obj);
+            return;
+        }
+        if (obj instanceof List<?> list) {
+            for (Object item : list) {
+                legacyCollectValues(item, sb);
+            }
+            return;
+        }
+        for (Field field : LEGACY_FIELDS.get(obj.getClass())) {
+            legacyCollectValues(field.get(obj), sb);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.venus.kyc.screening.batch;
+
+import com.venus.kyc.screening.batch.model.Client;
+import com.venus.kyc.screening.batch.model.FInfo;
+import com.venus.kyc.screening.batch.model.Record;
+import com.venus.kyc.screening.batch.model.RequestMeta;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-record work of {@code BatchScreeningService.generateBatchXml} for 10,000 clients, one stage at a time.
+ * Scores are records per second.
+ *
+ * <p>{@code createRecord} builds the NLS record (mapping plus checksum), {@code recordChecksum} is the
+ * {@link RecordChecksum} walk and SHA-256 alone, and {@code marshalFeed} streams prebuilt records through
+ * {@link NlsFeedStreamWriter} into a discarding stream. Lives in the service's package because those steps are
+ * package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScreeningBatchBenchmark {
+
+    static final int CLIENTS = 10_000;
+
+    private BatchScreeningService service;
+    private RecordMappingPlan plan;
+    private List<Client> clients;
+    private List<Record> records;
+    private RequestMeta requestMeta;
+
+    @Setup
+    public void setUp() {
+        // createRecord touches none of the collaborators
+        service = new BatchScreeningService(null, null, null, null, null, null, new SimpleMeterRegistry());
+        plan = RecordMappingPlan.compile(List.of(
+                new MappingConfig(null, "record.uniRcrdId", "clientID", null, null),
+                new MappingConfig(null, "record.type", null, "PC", null),
+                new MappingConfig(null, "record.recStat", null, "M", null),
+                new MappingConfig(null, "name.full", "fullName", null, null),
+                new MappingConfig(null, "name.type", null, "PN", null),
+                new MappingConfig(null, "name.fir", "firstName", "Unknown", null),
+                new MappingConfig(null, "name.mid", "middleName", "", null),
+                new MappingConfig(null, "name.sur", "lastName", "Unknown", null),
+                new MappingConfig(null, "name.ma", "maidenName", "", null),
+                new MappingConfig(null, "individual.gender", "gender", "U", null),
+                new MappingConfig(null, "individual.dob", "dateOfBirth", null, null),
+                new MappingConfig(null, "individual.cntr", "country", "US", null),
+                new MappingConfig(null, "individual.placeOfBirth", "country", "Unknown", null),
+                new MappingConfig(null, "individual.occupation", "occupation", "Unknown", null)));
+
+        clients = new ArrayList<>(CLIENTS);
+        records = new ArrayList<>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            LocalDate dob = LocalDate.of(1950 + i % 50, 1 + i % 12, 1 + i % 28);
+            Client client = new Client((long) i, "Mr", "First" + i, i % 3 == 0 ? "M" : null, "Last" + i, null,
+                    "DE", null, null, "ACTIVE", null, null, "M", dob, "en", "Engineer", "DE", "DE", null, null,
+                    "1 Main St", "Berlin", "10115", null, "DE", "DE", null, null, null, null, null);
+            clients.add(client);
+            records.add(service.createRecord(client, plan));
+        }
+
+        requestMeta = new RequestMeta();
+        requestMeta.setSrcId("2475");
+        requestMeta.setTor("RCDelta");
+        requestMeta.setCrtTm("2025-01-01T00:00:00.000");
+        requestMeta.setAod("2025-01-01");
+        requestMeta.setNor(CLIENTS);
+        FInfo fInfo = new FInfo();
+        fInfo.setName("BENCHMARK_BATCH");
+        fInfo.setBatchNr("1");
+        requestMeta.setfInfo(fInfo);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CLIENTS)
+    public void createRecord(Blackhole bh) {
+        for (Client client : clients) {
+            bh.consume(service.createRecord(client, plan));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CLIENTS)
+    public void recordChecksum(Blackhole bh) {
+        for (Record record : records) {
+            bh.consume(RecordChecksum.of(record.getData()));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CLIENTS)
+    public String marshalFeed() throws Exception {
+        try (NlsFeedStreamWriter writer = new NlsFeedStreamWriter(OutputStream.nullOutputStream())) {
+            writer.writeMeta(requestMeta);
+            for (Record record : records) {
+                writer.writeRecord(record);
+            }
+            return writer.finish();
+        }
+    }
+}
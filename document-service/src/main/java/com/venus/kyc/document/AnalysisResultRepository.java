@@ -0,0 +1,50 @@
+package com.venus.kyc.document;
+
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/** Cached OCR / fraud-signal results in {@code AnalysisResults}, keyed by content hash and analyser version. */
+@Repository
+public class AnalysisResultRepository {
+
+    /** Serialised results of one analysis run. */
+    public record StoredAnalysis(String ocrJson, String signalsJson) {
+    }
+
+    private final JdbcClient jdbcClient;
+
+    public AnalysisResultRepository(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    public Optional<StoredAnalysis> find(String contentHash, String analyserVersion) {
+        return jdbcClient.sql(
+                "SELECT OcrJson, SignalsJson FROM AnalysisResults WHERE ContentHash = :hash AND AnalyserVersion = :version")
+                .param("hash", contentHash)
+                .param("version", analyserVersion)
+                .query(StoredAnalysis.class)
+                .optional();
+    }
+
+    /** Inserts or replaces the result for this content and analyser version. */
+    public void save(String contentHash, String analyserVersion, String mimeType, String ocrJson,
+            String signalsJson) {
+        jdbcClient.sql(
+                "MERGE INTO AnalysisResults (ContentHash, AnalyserVersion, MimeType, OcrJson, SignalsJson, CreatedAt) KEY (ContentHash, AnalyserVersion) VALUES (:hash, :version, :mimeType, :ocrJson, :signalsJson, CURRENT_TIMESTAMP)")
+                .param("hash", contentHash)
+                .param("version", analyserVersion)
+                .param("mimeType", mimeType)
+                .param("ocrJson", ocrJson)
+                .param("signalsJson", signalsJson)
+                .update();
+    }
+
+    /** Drops results produced by any other analyser version. Returns the number of rows removed. */
+    public int deleteOtherVersions(String analyserVersion) {
+        return jdbcClient.sql("DELETE FROM AnalysisResults WHERE AnalyserVersion <> :version")
+                .param("version", analyserVersion)
+                .update();
+    }
+}
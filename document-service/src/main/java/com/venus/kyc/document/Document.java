@@ -12,5 +12,6 @@ public record Document(
                 String comment,
                 byte[] data,
                 LocalDateTime uploadDate,
-                int version) {
+                int version,
+                String contentHash) {
 }
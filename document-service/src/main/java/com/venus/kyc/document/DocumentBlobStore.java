@@ -0,0 +1,198 @@
+package com.venus.kyc.document;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.FileNotFoundException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Content-addressed storage for document bytes in the shared {@code DocumentBlobs} table.
+ *
+ * Each blob is one row keyed by its SHA-256, so identical uploads — another version, another
+ * case, the same file sent twice — share one row, and every instance of the service sees every
+ * blob. Uploads are spooled to a local temp file while they are hashed and then streamed into
+ * the row; downloads stream from the row. Neither holds the content in memory.
+ */
+@Component
+public class DocumentBlobStore {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentBlobStore.class);
+
+    /** A stored blob: its SHA-256 (hex) and length in bytes. */
+    public record StoredBlob(String contentHash, long size) {
+    }
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    public DocumentBlobStore(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /** Streams {@code in} to the store while hashing it. Never holds the content in memory. */
+    public StoredBlob store(InputStream in) throws IOException {
+        Path tmp = Files.createTempFile("document-upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (InputStream hashing = new DigestInputStream(in, digest);
+                    OutputStream out = Files.newOutputStream(tmp)) {
+                size = hashing.transferTo(out);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+
+            if (exists(hash)) {
+                log.debug("Blob {} already stored, sharing it", hash);
+            } else {
+                insert(hash, size, tmp);
+            }
+            return new StoredBlob(hash, size);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    public boolean exists(String contentHash) {
+        if (contentHash == null) return false;
+        checkHash(contentHash);
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM DocumentBlobs WHERE ContentHash = ?",
+                Integer.class, contentHash) > 0;
+    }
+
+    /** The blob as a streamable resource, if this hash is stored. Each read opens its own connection. */
+    public Optional<Resource> find(String contentHash) {
+        if (contentHash == null) return Optional.empty();
+        checkHash(contentHash);
+        List<Long> sizes = jdbcTemplate.queryForList("SELECT ContentLength FROM DocumentBlobs WHERE ContentHash = ?",
+                Long.class, contentHash);
+        return sizes.isEmpty() ? Optional.empty() : Optional.of(new BlobResource(contentHash, sizes.get(0)));
+    }
+
+    public byte[] readAllBytes(String contentHash) {
+        Resource blob = find(contentHash).orElseThrow(() -> new IllegalStateException("Blob not found: " + contentHash));
+        try (InputStream in = blob.getInputStream()) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read blob " + contentHash, e);
+        }
+    }
+
+    private void insert(String hash, long size, Path content) throws IOException {
+        try (InputStream in = Files.newInputStream(content)) {
+            jdbcTemplate.update("INSERT INTO DocumentBlobs (ContentHash, ContentLength, Data) VALUES (?, ?, ?)", ps -> {
+                ps.setString(1, hash);
+                ps.setLong(2, size);
+                ps.setBinaryStream(3, in, size);
+            });
+        } catch (DuplicateKeyException e) {
+            // a concurrent upload of the same content won; its row is identical
+        }
+    }
+
+    private static void checkHash(String hash) {
+        if (!hash.matches("[0-9a-f]{64}")) {
+            throw new IllegalArgumentException("Not a SHA-256 hex digest: " + hash);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A stored blob read straight from its row. The connection stays open until the stream is
+     * closed, which Spring MVC does once the response (or range) is written.
+     */
+    private final class BlobResource extends AbstractResource {
+
+        private final String contentHash;
+        private final long size;
+
+        BlobResource(String contentHash, long size) {
+            this.contentHash = contentHash;
+            this.size = size;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            Connection connection = DataSourceUtils.getConnection(dataSource);
+            PreparedStatement statement = null;
+            try {
+                statement = connection.prepareStatement("SELECT Data FROM DocumentBlobs WHERE ContentHash = ?");
+                statement.setString(1, contentHash);
+                ResultSet rs = statement.executeQuery();
+                if (rs.next()) {
+                    PreparedStatement opened = statement;
+                    return new FilterInputStream(rs.getBinaryStream(1)) {
+                        @Override
+                        public void close() throws IOException {
+                            try {
+                                super.close();
+                            } finally {
+                                release(opened, connection);
+                            }
+                        }
+                    };
+                }
+            } catch (SQLException e) {
+                release(statement, connection);
+                throw new IOException("Failed to read blob " + contentHash, e);
+            }
+            release(statement, connection);
+            throw new FileNotFoundException("Blob not found: " + contentHash);
+        }
+
+        @Override
+        public boolean exists() {
+            return true; // only handed out for a row that exists; blobs are never deleted
+        }
+
+        @Override
+        public long contentLength() {
+            return size;
+        }
+
+        @Override
+        public String getDescription() {
+            return "document blob " + contentHash;
+        }
+    }
+
+    private void release(PreparedStatement statement, Connection connection) {
+        try {
+            if (statement != null) statement.close();
+        } catch (SQLException e) {
+            log.debug("Closing blob statement failed", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.venus.kyc.document;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/** Resolves a document's bytes: from the blob store, or the inline Data column for rows that predate it. */
+@Component
+public class DocumentContent {
+
+    private final DocumentRepository repository;
+    private final DocumentBlobStore  blobStore;
+
+    public DocumentContent(DocumentRepository repository, DocumentBlobStore blobStore) {
+        this.repository = repository;
+        this.blobStore  = blobStore;
+    }
+
+    /** Streamable content (read from its DocumentBlobs row for blob-store documents), or empty if the bytes are gone. */
+    public Optional<Resource> resource(Document doc) {
+        Optional<Resource> blob = blobStore.find(doc.contentHash());
+        if (blob.isPresent()) return blob;
+        byte[] legacy = repository.findLegacyData(doc.documentID());
+        return Optional.ofNullable(legacy).map(ByteArrayResource::new);
+    }
+
+    /** Full content in memory, for the analysers. */
+    public byte[] bytes(Document doc) {
+        if (blobStore.exists(doc.contentHash())) {
+            return blobStore.readAllBytes(doc.contentHash());
+        }
+        byte[] legacy = repository.findLegacyData(doc.documentID());
+        if (legacy == null) throw new IllegalStateException("No content for document " + doc.documentID());
+        return legacy;
+    }
+}
@@ -1,8 +1,10 @@
 package com.venus.kyc.document;
 
+import com.venus.kyc.document.service.DocumentAnalysisService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.core.io.Resource;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -11,6 +13,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -21,9 +24,16 @@ public class DocumentController {
 
     private static final Logger logger = LoggerFactory.getLogger(DocumentController.class);
     private final DocumentRepository repository;
+    private final DocumentBlobStore blobStore;
+    private final DocumentContent content;
+    private final DocumentAnalysisService analysisService;
 
-    public DocumentController(DocumentRepository repository) {
+    public DocumentController(DocumentRepository repository, DocumentBlobStore blobStore, DocumentContent content,
+            DocumentAnalysisService analysisService) {
         this.repository = repository;
+        this.blobStore = blobStore;
+        this.content = content;
+        this.analysisService = analysisService;
     }
 
     @Operation(summary = "Get documents by case", description = "Returns all documents associated with a specific case")
@@ -39,14 +49,17 @@ public class DocumentController {
         return repository.findVersions(caseId, name);
     }
 
-    @Operation(summary = "Download a document", description = "Downloads the binary content of a document by its ID")
+    @Operation(summary = "Download a document", description = "Streams the binary content of a document by its ID; supports HTTP Range requests")
     @GetMapping("/{id}")
-    public ResponseEntity<byte[]> downloadDocument(@Parameter(description = "Document ID") @PathVariable Long id) {
+    public ResponseEntity<Resource> downloadDocument(@Parameter(description = "Document ID") @PathVariable Long id) {
+        // Returning a Resource lets Spring MVC stream it and answer Range requests with 206 Partial Content
         return repository.findById(id)
-                .map(doc -> ResponseEntity.ok()
-                        .contentType(MediaType.parseMediaType(doc.mimeType()))
-                        .header("Content-Disposition", "attachment; filename=\"" + doc.documentName() + "\"")
-                        .body(doc.data()))
+                .flatMap(doc -> content.resource(doc)
+                        .map(body -> ResponseEntity.ok()
+                                .contentType(MediaType.parseMediaType(doc.mimeType()))
+                                .header("Content-Disposition", "attachment; filename=\"" + doc.documentName() + "\"")
+                                .header("Accept-Ranges", "bytes")
+                                .body(body)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -62,6 +75,10 @@ public class DocumentController {
         try {
             String nameToUse = (documentName != null && !documentName.trim().isEmpty()) ? documentName
                     : file.getOriginalFilename();
+            DocumentBlobStore.StoredBlob blob;
+            try (InputStream in = file.getInputStream()) {
+                blob = blobStore.store(in);
+            }
             repository.save(
                     caseId,
                     nameToUse,
@@ -69,7 +86,10 @@ public class DocumentController {
                     file.getContentType(),
                     uploadedBy,
                     comment,
-                    file.getBytes());
+                    blob.contentHash());
+            // OCR + fraud signals are ready (or under way) by the time the viewer asks for them
+            analysisService.precompute(blob.contentHash(), file.getContentType(),
+                    () -> blobStore.readAllBytes(blob.contentHash()));
             return ResponseEntity.ok().build();
         } catch (Exception e) {
             logger.error("Upload failed", e);
@@ -6,9 +6,16 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * Document metadata. Content lives in {@link DocumentBlobStore} under {@code ContentHash};
+ * the {@code Data} column is only read for rows stored before the blob store existed, and
+ * no query here loads it except {@link #findLegacyData}.
+ */
 @Repository
 public class DocumentRepository {
 
+    private static final String METADATA_COLUMNS = "DocumentID, CaseID, DocumentName, Category, MimeType, UploadedBy, Comment, NULL as Data, UploadDate, Version, ContentHash";
+
     private final JdbcClient jdbcClient;
 
     public DocumentRepository(JdbcClient jdbcClient) {
@@ -17,48 +24,53 @@ public class DocumentRepository {
 
     public List<Document> findByCaseId(Long caseId) {
         return jdbcClient.sql(
-                "SELECT DocumentID, CaseID, DocumentName, Category, MimeType, UploadedBy, Comment, NULL as Data, UploadDate, Version FROM Documents d WHERE Version = (SELECT MAX(Version) FROM Documents d2 WHERE d2.CaseID = d.CaseID AND d2.DocumentName = d.DocumentName) AND CaseID = :caseId")
+                "SELECT " + METADATA_COLUMNS + " FROM Documents d WHERE Version = (SELECT MAX(Version) FROM Documents d2 WHERE d2.CaseID = d.CaseID AND d2.DocumentName = d.DocumentName) AND CaseID = :caseId")
                 .param("caseId", caseId)
                 .query(Document.class)
                 .list();
     }
 
+    /**
+     * Records a new version of the document whose content is already in the blob store.
+     * The next version number is computed by the INSERT itself, in one round trip.
+     */
     public void save(Long caseId, String name, String category, String mimeType, String uploadedBy,
-            String comment, byte[] data) {
-        Integer maxVersion = jdbcClient
-                .sql("SELECT COALESCE(MAX(Version), 0) FROM Documents WHERE CaseID = :caseId AND DocumentName = :name")
-                .param("caseId", caseId)
-                .param("name", name)
-                .query(Integer.class)
-                .single();
-        int nextVersion = maxVersion + 1;
-
+            String comment, String contentHash) {
         jdbcClient.sql(
-                "INSERT INTO Documents (CaseID, DocumentName, Category, MimeType, UploadedBy, Comment, Data, Version) VALUES (:caseId, :name, :category, :mimeType, :uploadedBy, :comment, :data, :version)")
+                "INSERT INTO Documents (CaseID, DocumentName, Category, MimeType, UploadedBy, Comment, Version, ContentHash) SELECT :caseId, :name, :category, :mimeType, :uploadedBy, :comment, COALESCE(MAX(Version), 0) + 1, :contentHash FROM Documents WHERE CaseID = :caseId AND DocumentName = :name")
                 .param("caseId", caseId)
                 .param("name", name)
                 .param("category", category)
                 .param("mimeType", mimeType)
                 .param("uploadedBy", uploadedBy)
                 .param("comment", comment)
-                .param("data", data)
-                .param("version", nextVersion)
+                .param("contentHash", contentHash)
                 .update();
     }
 
     public List<Document> findVersions(Long caseId, String name) {
         return jdbcClient.sql(
-                "SELECT DocumentID, CaseID, DocumentName, Category, MimeType, UploadedBy, Comment, NULL as Data, UploadDate, Version FROM Documents WHERE CaseID = :caseId AND DocumentName = :name ORDER BY Version DESC")
+                "SELECT " + METADATA_COLUMNS + " FROM Documents WHERE CaseID = :caseId AND DocumentName = :name ORDER BY Version DESC")
                 .param("caseId", caseId)
                 .param("name", name)
                 .query(Document.class)
                 .list();
     }
 
+    /** Metadata only; {@code data()} is always null. */
     public Optional<Document> findById(Long id) {
-        return jdbcClient.sql("SELECT * FROM Documents WHERE DocumentID = :id")
+        return jdbcClient.sql("SELECT " + METADATA_COLUMNS + " FROM Documents WHERE DocumentID = :id")
                 .param("id", id)
                 .query(Document.class)
                 .optional();
     }
+
+    /** Inline content of a row stored before the blob store, or null. */
+    public byte[] findLegacyData(Long id) {
+        return jdbcClient.sql("SELECT Data FROM Documents WHERE DocumentID = :id")
+                .param("id", id)
+                .query(byte[].class)
+                .optional()
+                .orElse(null);
+    }
 }
@@ -1,16 +1,20 @@
 package com.venus.kyc.document.controller;
 
+import com.venus.kyc.document.Document;
+import com.venus.kyc.document.DocumentContent;
 import com.venus.kyc.document.DocumentRepository;
+import com.venus.kyc.document.model.DocumentAnalysis;
 import com.venus.kyc.document.model.FraudSignals;
 import com.venus.kyc.document.model.OcrResult;
-import com.venus.kyc.document.service.FraudSignalService;
-import com.venus.kyc.document.service.OcrService;
-import com.venus.kyc.document.service.TikaService;
+import com.venus.kyc.document.service.DocumentAnalysisService;
+import com.venus.kyc.document.service.TesseractPool.PoolExhaustedException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -29,19 +33,16 @@ public class DocumentAnalysisController {
 
     private static final Logger log = LoggerFactory.getLogger(DocumentAnalysisController.class);
 
-    private final DocumentRepository  repository;
-    private final OcrService          ocrService;
-    private final FraudSignalService  fraudSignalService;
-    private final TikaService         tikaService;
+    private final DocumentRepository      repository;
+    private final DocumentContent         content;
+    private final DocumentAnalysisService analysisService;
 
     public DocumentAnalysisController(DocumentRepository repository,
-                                      OcrService ocrService,
-                                      FraudSignalService fraudSignalService,
-                                      TikaService tikaService) {
-        this.repository        = repository;
-        this.ocrService        = ocrService;
-        this.fraudSignalService = fraudSignalService;
-        this.tikaService       = tikaService;
+                                      DocumentContent content,
+                                      DocumentAnalysisService analysisService) {
+        this.repository      = repository;
+        this.content         = content;
+        this.analysisService = analysisService;
     }
 
     // ── OCR ──────────────────────────────────────────────────────────────────
@@ -51,17 +52,14 @@ public class DocumentAnalysisController {
      * GET /api/internal/documents/{id}/ocr
      */
     @Operation(summary = "Get OCR data for a stored document",
-               description = "Runs the full OCR pipeline (MRZ + barcode + Tesseract) on the stored document bytes and returns extracted fields.")
+               description = "Returns the fields extracted by the OCR pipeline (MRZ + barcode + Tesseract), computed once per document content and analyser version.")
     @GetMapping("/{id}/ocr")
     public ResponseEntity<OcrResult> getOcr(
             @Parameter(description = "Document ID") @PathVariable Long id) {
 
         return repository.findById(id)
-                .map(doc -> {
-                    String mime = resolveMime(doc.data(), doc.mimeType());
-                    OcrResult result = ocrService.analyseDocument(doc.data(), mime);
-                    return ResponseEntity.ok(result);
-                })
+                .map(doc -> ResponseEntity.ok(
+                        analyse(doc).ocr()))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -78,12 +76,8 @@ public class DocumentAnalysisController {
             @Parameter(description = "Document ID") @PathVariable Long id) {
 
         return repository.findById(id)
-                .map(doc -> {
-                    String mime = resolveMime(doc.data(), doc.mimeType());
-                    OcrResult ocr = ocrService.analyseDocument(doc.data(), mime);
-                    FraudSignals signals = fraudSignalService.analyse(doc.data(), mime, ocr);
-                    return ResponseEntity.ok(signals);
-                })
+                .map(doc -> ResponseEntity.ok(
+                        analyse(doc).signals()))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -102,9 +96,10 @@ public class DocumentAnalysisController {
             @RequestParam("file") MultipartFile file) {
         try {
             byte[] data = file.getBytes();
-            String mime = resolveMime(data, file.getContentType());
-            OcrResult result = ocrService.analyseDocument(data, mime);
+            OcrResult result = analysisService.analyse(data, file.getContentType()).ocr();
             return ResponseEntity.ok(result);
+        } catch (PoolExhaustedException e) {
+            throw e; // answered by ocrBusy
         } catch (Exception e) {
             log.error("OCR preview failed", e);
             return ResponseEntity.internalServerError().build();
@@ -122,23 +117,31 @@ public class DocumentAnalysisController {
             @RequestParam("file") MultipartFile file) {
         try {
             byte[] data = file.getBytes();
-            String mime = resolveMime(data, file.getContentType());
-            OcrResult ocr = ocrService.analyseDocument(data, mime);
-            FraudSignals signals = fraudSignalService.analyse(data, mime, ocr);
+            FraudSignals signals = analysisService.analyse(data, file.getContentType()).signals();
             return ResponseEntity.ok(signals);
+        } catch (PoolExhaustedException e) {
+            throw e; // answered by ocrBusy
         } catch (Exception e) {
             log.error("Signals preview failed", e);
             return ResponseEntity.internalServerError().build();
         }
     }
 
+    // ── Errors ───────────────────────────────────────────────────────────────
+
+    /** Every Tesseract engine stayed busy for the whole borrow timeout: ask the caller to retry. */
+    @ExceptionHandler(PoolExhaustedException.class)
+    public ResponseEntity<Void> ocrBusy(PoolExhaustedException e) {
+        log.warn("OCR capacity exhausted: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .build();
+    }
+
     // ── Helper ───────────────────────────────────────────────────────────────
 
-    /** Use Tika to detect MIME from raw bytes; fall back to stored mimeType. */
-    private String resolveMime(byte[] data, String storedMime) {
-        if (data == null) return storedMime;
-        String detected = tikaService.detectMimeType(data);
-        return (detected != null && !detected.equals("application/octet-stream"))
-                ? detected : storedMime;
+    /** Cached analysis; the document's bytes are only loaded on a cache miss. */
+    private DocumentAnalysis analyse(Document doc) {
+        return analysisService.analyse(doc.contentHash(), doc.mimeType(), () -> content.bytes(doc));
     }
 }
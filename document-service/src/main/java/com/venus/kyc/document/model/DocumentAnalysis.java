@@ -0,0 +1,4 @@
+package com.venus.kyc.document.model;
+
+/** OCR and fraud-signal results for one document content, computed together. */
+public record DocumentAnalysis(OcrResult ocr, FraudSignals signals) {}
@@ -1,5 +1,7 @@
 package com.venus.kyc.document.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 public class OcrResult {
     private OcrField surname;
     private OcrField givenNames;
@@ -15,6 +17,8 @@ public class OcrResult {
     private String rawText;          // full extracted text (PDF or OCR)
     private String barcodeData;      // decoded PDF417/QR if present
     private String source;           // "PDF_TEXT", "OCR", "MRZ", "BARCODE", "MOCK"
+    @JsonIgnore
+    private boolean degraded;        // part of the document could not be read; never cached
 
     public OcrResult() {}
 
@@ -59,4 +63,8 @@ public class OcrResult {
 
     public String getSource() { return source; }
     public void setSource(String source) { this.source = source; }
+
+    @JsonIgnore
+    public boolean isDegraded() { return degraded; }
+    public void setDegraded(boolean degraded) { this.degraded = degraded; }
 }
@@ -5,6 +5,8 @@ import com.google.zxing.client.j2se.BufferedImageLuminanceSource;
 import com.google.zxing.common.HybridBinarizer;
 import com.google.zxing.multi.GenericMultipleBarcodeReader;
 import com.google.zxing.multi.MultipleBarcodeReader;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.bytedeco.javacpp.BytePointer;
 import org.bytedeco.javacpp.PointerPointer;
 import org.bytedeco.javacpp.SizeTPointer;
@@ -25,6 +27,7 @@ import static org.bytedeco.leptonica.global.leptonica.*;
 /**
  * Decodes 1D/2D barcodes from images using ZXing.
  * Supports: PDF417 (driver licences), QR Code, Code 128, Code 39, EAN/UPC.
+ * Each decode is timed as document.barcode.decode, tagged with whether a barcode was found.
  */
 @Service
 public class BarcodeService {
@@ -47,6 +50,12 @@ public class BarcodeService {
         HINTS = Collections.unmodifiableMap(h);
     }
 
+    private final MeterRegistry meterRegistry;
+
+    public BarcodeService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     /**
      * Attempt to decode all barcodes in an image.
      *
@@ -58,20 +67,38 @@ public class BarcodeService {
         try {
             BufferedImage image = readImage(imageData);
             if (image == null) return List.of();
+            return decodeAllBarcodes(image);
+
+        } catch (Exception e) {
+            log.warn("Barcode decode failed: {}", e.getMessage());
+            return List.of();
+        }
+    }
 
+    /**
+     * Attempt to decode all barcodes in an already decoded image (e.g. a rendered PDF page).
+     *
+     * @return list of decoded barcode texts; empty if none found
+     */
+    public List<String> decodeAllBarcodes(BufferedImage image) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        List<String> found = List.of();
+        try {
             // Try at original size first, then progressively downscaled.
             // ZXing struggles with very high-resolution images (e.g. PDFs rendered at 300 DPI
             // produce ~3000-4000px images). Scaling to ~1500px on the long side is the sweet spot.
             for (double scale : candidateScales(image)) {
                 BufferedImage candidate = scale == 1.0 ? image : scaleImage(image, scale);
-                List<String> found = tryDecodeImage(candidate);
+                found = tryDecodeImage(candidate);
                 if (!found.isEmpty()) return found;
             }
-            return List.of();
+            return found;
 
         } catch (Exception e) {
             log.warn("Barcode decode failed: {}", e.getMessage());
-            return List.of();
+            return found;
+        } finally {
+            sample.stop(meterRegistry.timer("document.barcode.decode", "found", String.valueOf(!found.isEmpty())));
         }
     }
 
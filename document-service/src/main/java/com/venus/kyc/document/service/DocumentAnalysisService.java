@@ -0,0 +1,222 @@
+package com.venus.kyc.document.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.venus.kyc.document.AnalysisResultRepository;
+import com.venus.kyc.document.AnalysisResultRepository.StoredAnalysis;
+import com.venus.kyc.document.ContentHash;
+import com.venus.kyc.document.model.DocumentAnalysis;
+import com.venus.kyc.document.model.FraudSignals;
+import com.venus.kyc.document.model.OcrResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Runs the OCR + fraud-signal pipeline at most once per document content.
+ *
+ * Results are stored in {@code AnalysisResults} under the SHA-256 of the document bytes and
+ * the analyser version, so repeat requests — and the same file uploaded again, or
+ * previewed before upload — are served from the table. Uploads are analysed in the
+ * background so the first request usually finds the result ready.
+ *
+ * Only complete analyses are stored: a result marked degraded by {@link OcrService} (a
+ * page or Tesseract call failed) is returned to the caller but recomputed next time.
+ *
+ * Bump {@link #ANALYSER_VERSION} whenever a change to OCR, MRZ/barcode parsing or fraud
+ * signals would change results: older rows are then ignored and purged at startup.
+ */
+@Service
+public class DocumentAnalysisService {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentAnalysisService.class);
+
+    static final String ANALYSER_VERSION = "2";
+
+    private static final ObjectMapper JSON = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Value("${ocr.mock:true}")
+    private boolean mockMode;
+
+    @Value("${ocr.language:eng}")
+    private String ocrLanguage;
+
+    // Background analyses of fresh uploads
+    @Value("${document.analysis.workers:2}")
+    private int workers;
+
+    private final OcrService               ocrService;
+    private final FraudSignalService       fraudSignalService;
+    private final TikaService              tikaService;
+    private final AnalysisResultRepository results;
+    private final MeterRegistry            meterRegistry;
+
+    // Analyses running right now, so a request arriving during the upload precompute waits for it
+    private final ConcurrentHashMap<String, CompletableFuture<DocumentAnalysis>> inFlight = new ConcurrentHashMap<>();
+
+    private ThreadPoolTaskExecutor executor;
+    private String analyserVersion;
+
+    public DocumentAnalysisService(OcrService ocrService,
+                                   FraudSignalService fraudSignalService,
+                                   TikaService tikaService,
+                                   AnalysisResultRepository results,
+                                   MeterRegistry meterRegistry) {
+        this.ocrService         = ocrService;
+        this.fraudSignalService = fraudSignalService;
+        this.tikaService        = tikaService;
+        this.results            = results;
+        this.meterRegistry      = meterRegistry;
+    }
+
+    @PostConstruct
+    void start() {
+        // Mock OCR and each language produce different results, so they are cached apart
+        analyserVersion = ANALYSER_VERSION + "/" + (mockMode ? "mock" : ocrLanguage);
+        int purged = results.deleteOtherVersions(analyserVersion);
+        if (purged > 0) {
+            log.info("Purged {} analysis result(s) from other analyser versions", purged);
+        }
+
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("doc-analysis-");
+        executor.initialize();
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), "doc-analysis", List.of()).bindTo(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdown();
+    }
+
+    // ── Public API ───────────────────────────────────────────────────────────
+
+    /** OCR and fraud signals for uploaded bytes (previews), from the cache when this content was analysed before. */
+    public DocumentAnalysis analyse(byte[] data, String storedMime) {
+        return analyse(ContentHash.sha256(data), storedMime, () -> data);
+    }
+
+    /**
+     * OCR and fraud signals for stored content. {@code content} is only read when the result
+     * is not cached yet.
+     *
+     * @param contentHash SHA-256 hex of the content, or null for rows stored before hashing
+     */
+    public DocumentAnalysis analyse(String contentHash, String storedMime, Supplier<byte[]> content) {
+        if (contentHash == null) {
+            return analyse(content.get(), storedMime);
+        }
+
+        Optional<DocumentAnalysis> cached = load(contentHash);
+        if (cached.isPresent()) return cached.get();
+
+        CompletableFuture<DocumentAnalysis> mine = new CompletableFuture<>();
+        CompletableFuture<DocumentAnalysis> running = inFlight.putIfAbsent(contentHash, mine);
+        if (running != null) return await(running);
+
+        try {
+            DocumentAnalysis analysis = compute(contentHash, content.get(), storedMime);
+            mine.complete(analysis);
+            return analysis;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(contentHash, mine);
+        }
+    }
+
+    /**
+     * Analyse a freshly stored document in the background; {@code content} is read on the
+     * worker. Skipped (with a log line) when the queue is full.
+     */
+    public void precompute(String contentHash, String storedMime, Supplier<byte[]> content) {
+        try {
+            executor.execute(() -> {
+                try {
+                    analyse(contentHash, storedMime, content);
+                } catch (Exception e) {
+                    log.warn("Background analysis of {} failed: {}", contentHash, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.info("Analysis queue full; {} will be analysed on first request", contentHash);
+        }
+    }
+
+    /** Use Tika to detect MIME from raw bytes; fall back to stored mimeType. */
+    public String resolveMime(byte[] data, String storedMime) {
+        if (data == null) return storedMime;
+        String detected = tikaService.detectMimeType(data);
+        return (detected != null && !detected.equals("application/octet-stream"))
+                ? detected : storedMime;
+    }
+
+    // ── Internals ────────────────────────────────────────────────────────────
+
+    private DocumentAnalysis compute(String hash, byte[] data, String storedMime) {
+        String mime = resolveMime(data, storedMime);
+        OcrResult ocr = ocrService.analyseDocument(data, mime);
+        FraudSignals signals = fraudSignalService.analyse(data, mime, ocr);
+        if (ocr.isDegraded()) {
+            // a page or OCR call failed: serve this result but let the next request try again
+            log.info("Not caching degraded analysis of {}", hash);
+            return new DocumentAnalysis(ocr, signals);
+        }
+        try {
+            results.save(hash, analyserVersion, mime, JSON.writeValueAsString(ocr), JSON.writeValueAsString(signals));
+        } catch (Exception e) {
+            // the caller still gets its result; the next request recomputes
+            log.warn("Could not cache analysis of {}: {}", hash, e.getMessage());
+        }
+        return new DocumentAnalysis(ocr, signals);
+    }
+
+    private Optional<DocumentAnalysis> load(String hash) {
+        return results.find(hash, analyserVersion).flatMap(stored -> {
+            try {
+                return Optional.of(read(stored));
+            } catch (JsonProcessingException e) {
+                log.warn("Ignoring unreadable cached analysis of {}: {}", hash, e.getMessage());
+                return Optional.empty();
+            }
+        });
+    }
+
+    private static DocumentAnalysis read(StoredAnalysis stored) throws JsonProcessingException {
+        return new DocumentAnalysis(
+                JSON.readValue(stored.ocrJson(), OcrResult.class),
+                JSON.readValue(stored.signalsJson(), FraudSignals.class));
+    }
+
+    private static DocumentAnalysis await(CompletableFuture<DocumentAnalysis> running) {
+        try {
+            return running.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for document analysis", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -2,30 +2,48 @@ package com.venus.kyc.document.service;
 
 import com.venus.kyc.document.model.OcrField;
 import com.venus.kyc.document.model.OcrResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.bytedeco.javacpp.BytePointer;
+import org.bytedeco.javacpp.IntPointer;
 import org.bytedeco.leptonica.PIX;
-import org.bytedeco.tesseract.TessBaseAPI;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
+import java.awt.image.BufferedImage;
 import java.util.List;
 import java.util.Map;
 import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import static org.bytedeco.leptonica.global.leptonica.pixCreate;
 import static org.bytedeco.leptonica.global.leptonica.pixDestroy;
+import static org.bytedeco.leptonica.global.leptonica.pixGetData;
+import static org.bytedeco.leptonica.global.leptonica.pixGetWpl;
 import static org.bytedeco.leptonica.global.leptonica.pixReadMem;
 import static org.bytedeco.leptonica.global.leptonica.pixScale;
-import static org.bytedeco.tesseract.global.tesseract.OEM_LSTM_ONLY;
 
 /**
  * OCR pipeline using JavaCPP Tesseract — no OS installation required.
  * Native Tesseract binaries come from org.bytedeco:tesseract-platform.
  * Language models (eng.traineddata) are bundled in src/main/resources/tessdata/
  * and extracted to a temp directory at first use by {@link TessdataManager}.
+ * Initialised engines are reused through {@link TesseractPool}.
  *
  * Set ocr.mock=true to skip OCR and return synthetic data (useful in CI / offline).
+ *
+ * Metrics: document.ocr (whole document, tagged pdf/image), document.ocr.tesseract
+ * (one recognition call) and executor.* gauges for the ocr-page pool.
  */
 @Service
 public class OcrService {
@@ -35,22 +53,52 @@ public class OcrService {
     @Value("${ocr.mock:true}")
     private boolean mockMode;
 
-    @Value("${ocr.language:eng}")
-    private String ocrLanguage;
+    // Threads analysing scanned PDF pages, shared by all requests
+    @Value("${ocr.pdf.page-workers:4}")
+    private int pageWorkers;
+
+    // Rendered pages of one PDF held in memory at once (rendering waits for a free slot)
+    @Value("${ocr.pdf.max-pages-in-flight:4}")
+    private int maxPagesInFlight;
+
+    private ThreadPoolTaskExecutor pageExecutor;
 
     private final MrzParserService mrzParser;
     private final BarcodeService   barcodeService;
     private final PdfBoxService    pdfBoxService;
-    private final TessdataManager  tessdataManager;
+    private final TesseractPool    tesseractPool;
+    private final MeterRegistry    meterRegistry;
+    private final Timer            tesseractTimer;
 
     public OcrService(MrzParserService mrzParser,
                       BarcodeService barcodeService,
                       PdfBoxService pdfBoxService,
-                      TessdataManager tessdataManager) {
+                      TesseractPool tesseractPool,
+                      MeterRegistry meterRegistry) {
         this.mrzParser      = mrzParser;
         this.barcodeService = barcodeService;
         this.pdfBoxService  = pdfBoxService;
-        this.tessdataManager = tessdataManager;
+        this.tesseractPool  = tesseractPool;
+        this.meterRegistry  = meterRegistry;
+        this.tesseractTimer = meterRegistry.timer("document.ocr.tesseract");
+    }
+
+    @PostConstruct
+    void start() {
+        pageExecutor = new ThreadPoolTaskExecutor();
+        pageExecutor.setCorePoolSize(pageWorkers);
+        pageExecutor.setMaxPoolSize(pageWorkers);
+        pageExecutor.setQueueCapacity(100);
+        // When every worker is busy and the queue is full, the request thread analyses the page itself
+        pageExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        pageExecutor.setThreadNamePrefix("ocr-page-");
+        pageExecutor.initialize();
+        new ExecutorServiceMetrics(pageExecutor.getThreadPoolExecutor(), "ocr-page", List.of()).bindTo(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        pageExecutor.shutdown();
     }
 
     // ── Public API ───────────────────────────────────────────────────────────
@@ -59,16 +107,31 @@ public class OcrService {
      * Full OCR pipeline for a document.
      *  PDF  → extract embedded text via PDFBox; attempt MRZ parse on text
      *  Image → run Tesseract (or mock); attempt MRZ + barcode parse
+     *
+     * A result is marked {@link OcrResult#isDegraded() degraded} when part of the document
+     * could not be read (missing content, a page that failed to render, a Tesseract error),
+     * so the same content may give a better result on another attempt.
      */
     public OcrResult analyseDocument(byte[] data, String mimeType) {
-        if (data == null || mimeType == null) return emptyResult("Unknown");
+        if (data == null) return degraded(emptyResult("Unknown"));
+        if (mimeType == null) return emptyResult("Unknown");
 
         boolean isPdf = pdfBoxService.isPdf(data) || "application/pdf".equalsIgnoreCase(mimeType);
 
         if (isPdf) {
-            return analysePdf(data);
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                return analysePdf(data);
+            } finally {
+                sample.stop(meterRegistry.timer("document.ocr", "type", "pdf"));
+            }
         } else if (mimeType.startsWith("image/")) {
-            return analyseImage(data);
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                return analyseImage(data);
+            } finally {
+                sample.stop(meterRegistry.timer("document.ocr", "type", "image"));
+            }
         }
 
         return emptyResult(mimeType);
@@ -92,36 +155,102 @@ public class OcrService {
             log.info("PDF has no embedded text; falling back to per-page image OCR");
         }
 
-        // Render every page and run image analysis on each.
-        // Scan pages in order, stopping as soon as MRZ fields are found.
-        // If no MRZ is found on any page, return the first page that had barcode data.
-        List<byte[]> pages = pdfBoxService.renderAllPagesAsBytes(data);
-        log.info("PDF has {} page(s) to scan for barcodes/MRZ", pages.size());
-
-        OcrResult barcodeResult = null; // best barcode-only result (no MRZ fields)
-
-        for (int i = 0; i < pages.size(); i++) {
-            byte[] pageBytes = pages.get(i);
-            if (pageBytes == null) continue;
-
-            OcrResult pageResult = analyseImage(pageBytes);
-            String pageLabel = mockMode ? "OCR/Mock" : "OCR/Scanned-PDF (page " + (i + 1) + ")";
-            pageResult.setSource(pageLabel);
+        return scanPages(data);
+    }
 
-            if (hasMrzFields(pageResult)) {
-                // MRZ found — stop immediately, no need to check further pages
-                log.info("MRZ fields found on page {}", i + 1);
-                return pageResult;
+    /**
+     * Render and analyse scanned pages as a pipeline: this thread renders pages one at a
+     * time from a single loaded document (PDFBox is not thread-safe) while the page
+     * executor runs barcode + OCR on pages already rendered. At most
+     * ocr.pdf.max-pages-in-flight rendered pages exist at once, so memory does not grow
+     * with page count. No new page is rendered once any page yields MRZ or barcode data.
+     *
+     * Result: the first page (in page order) with MRZ fields, otherwise the first page
+     * that had barcode data, otherwise an empty result. Fails with
+     * {@link TesseractPool.PoolExhaustedException} when a page could not get an engine.
+     */
+    private OcrResult scanPages(byte[] data) {
+        try (PdfBoxService.PdfPages pages = pdfBoxService.openPages(data)) {
+            int pageCount = pages.pageCount();
+            log.info("PDF has {} page(s) to scan for barcodes/MRZ", pageCount);
+
+            OcrResult[] results = new OcrResult[pageCount];
+            Semaphore inFlight = new Semaphore(maxPagesInFlight);
+            AtomicBoolean found = new AtomicBoolean();
+            AtomicBoolean noEngine = new AtomicBoolean();
+            AtomicBoolean pageFailed = new AtomicBoolean();
+            List<Future<?>> pending = new ArrayList<>();
+
+            for (int i = 0; i < pageCount && !found.get() && !noEngine.get(); i++) {
+                inFlight.acquire();
+                boolean wanted = !found.get() && !noEngine.get();
+                BufferedImage image = wanted ? pages.render(i) : null;
+                if (image == null) {
+                    if (wanted) pageFailed.set(true); // render logged why
+                    inFlight.release();
+                    continue;
+                }
+                int page = i;
+                pending.add(pageExecutor.submit(() -> {
+                    try {
+                        OcrResult pageResult = analyseImage(image);
+                        pageResult.setSource(mockMode ? "OCR/Mock" : "OCR/Scanned-PDF (page " + (page + 1) + ")");
+                        results[page] = pageResult;
+                        if (pageResult.isDegraded()) pageFailed.set(true);
+                        if (hasMrzFields(pageResult) || pageResult.getBarcodeData() != null) {
+                            found.set(true);
+                        }
+                    } catch (TesseractPool.PoolExhaustedException e) {
+                        noEngine.set(true);
+                        throw e;
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
             }
-
-            if (pageResult.getBarcodeData() != null && barcodeResult == null) {
-                // Keep the first page that yielded barcode data as a fallback
-                barcodeResult = pageResult;
+            TesseractPool.PoolExhaustedException exhausted = null;
+            for (Future<?> f : pending) {
+                try {
+                    f.get();
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof TesseractPool.PoolExhaustedException pe) {
+                        exhausted = pe;
+                    } else {
+                        log.warn("PDF page analysis failed: {}", e.getCause().getMessage());
+                        pageFailed.set(true);
+                    }
+                }
             }
+            // A page that could not get an engine was never read, so "nothing found" would be wrong
+            if (exhausted != null) throw exhausted;
+
+            OcrResult barcodeResult = null; // first barcode-only result (no MRZ fields)
+            OcrResult chosen = null;
+            for (int i = 0; i < pageCount && chosen == null; i++) {
+                OcrResult pageResult = results[i];
+                if (pageResult == null) continue;
+                if (hasMrzFields(pageResult)) {
+                    log.info("MRZ fields found on page {}", i + 1);
+                    chosen = pageResult;
+                } else if (pageResult.getBarcodeData() != null && barcodeResult == null) {
+                    barcodeResult = pageResult;
+                }
+            }
+            // No MRZ on any scanned page — return barcode result if we got one, otherwise empty
+            if (chosen == null) chosen = barcodeResult != null ? barcodeResult : emptyResult("PDF");
+            // A page that failed might have held a better (or earlier) match
+            if (pageFailed.get()) chosen.setDegraded(true);
+            return chosen;
+
+        } catch (TesseractPool.PoolExhaustedException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted scanning PDF pages", e);
+        } catch (Exception e) {
+            log.warn("PDF render failed: {}", e.getMessage());
+            return degraded(emptyResult("PDF"));
         }
-
-        // No MRZ on any page — return barcode result if we got one, otherwise empty
-        return barcodeResult != null ? barcodeResult : emptyResult("PDF");
     }
 
     /** True when the result has at least one parsed identity field from an MRZ or barcode. */
@@ -134,10 +263,29 @@ public class OcrService {
     private OcrResult analyseImage(byte[] data) {
         // 1. Barcode decode (fast — before slow OCR)
         List<String> barcodes = barcodeService.decodeAllBarcodes(data);
-        String barcodeText = barcodes.isEmpty() ? null : String.join("\n", barcodes);
 
         // 2. OCR
-        String rawText = mockMode ? mockOcrText() : runTesseract(data);
+        if (mockMode) return buildResult(mockOcrText(), barcodes);
+        try {
+            return buildResult(runTesseract(data), barcodes);
+        } catch (TesseractFailedException e) {
+            return degraded(buildResult(null, barcodes));
+        }
+    }
+
+    /** Same as {@link #analyseImage(byte[])} for a rendered page, without an encode/decode round trip. */
+    private OcrResult analyseImage(BufferedImage image) {
+        List<String> barcodes = barcodeService.decodeAllBarcodes(image);
+        if (mockMode) return buildResult(mockOcrText(), barcodes);
+        try {
+            return buildResult(runTesseract(image), barcodes);
+        } catch (TesseractFailedException e) {
+            return degraded(buildResult(null, barcodes));
+        }
+    }
+
+    private OcrResult buildResult(String rawText, List<String> barcodes) {
+        String barcodeText = barcodes.isEmpty() ? null : String.join("\n", barcodes);
 
         // 3. MRZ parse from OCR text
         OcrResult result = null;
@@ -168,35 +316,33 @@ public class OcrService {
      * Uses in-memory leptonica pixReadMem to avoid writing temp files.
      */
     private String runTesseract(byte[] data) {
-        TessBaseAPI api = null;
-        PIX pix = null;
-        BytePointer textPtr = null;
-
-        try {
-            String tessdataPath = tessdataManager.getTessdataPath();
-
-            api = new TessBaseAPI();
-            // Init with OEM_LSTM_ONLY — tessdata_fast contains only LSTM models,
-            // so OEM_DEFAULT would fail trying to load the (absent) legacy model.
-            // dataPath must be the parent of the "tessdata" folder.
-            if (api.Init(tessdataPath, ocrLanguage, OEM_LSTM_ONLY) != 0) {
-                log.error("Tesseract Init failed — check tessdata path: {}", tessdataPath);
-                return null;
-            }
+        // Load image directly from byte array via leptonica — no temp file needed
+        BytePointer imgBytes = new BytePointer(data);
+        PIX pix = pixReadMem(imgBytes, data.length);
+        imgBytes.deallocate();
 
-            // PSM 6 = assume uniform block of text (good for document pages)
-            api.SetPageSegMode(6);
-
-            // Load image directly from byte array via leptonica — no temp file needed
-            BytePointer imgBytes = new BytePointer(data);
-            pix = pixReadMem(imgBytes, data.length);
-            imgBytes.deallocate();
+        if (pix == null || pix.isNull()) {
+            log.warn("Leptonica could not decode image ({} bytes)", data.length);
+            return null;
+        }
+        return runTesseract(pix);
+    }
 
-            if (pix == null || pix.isNull()) {
-                log.warn("Leptonica could not decode image ({} bytes)", data.length);
-                return null;
-            }
+    /** Run Tesseract on a rendered image, copying its pixels straight into a leptonica PIX. */
+    private String runTesseract(BufferedImage image) {
+        return runTesseract(toPix(image));
+    }
 
+    /**
+     * Recognise text in {@code pix} with an engine from {@link TesseractPool}, already
+     * initialised. Takes ownership of {@code pix} and destroys it.
+     *
+     * @throws TesseractPool.PoolExhaustedException if no engine became free in time
+     * @throws IllegalStateException if interrupted while waiting for an engine
+     * @throws TesseractFailedException if recognition itself failed
+     */
+    private String runTesseract(PIX pix) {
+        try {
             // Upscale small images — Tesseract LSTM needs ~30px per character height.
             // Documents smaller than 1000px on their longest side (e.g. 250×175 thumbnail
             // passports) produce too few pixels per character for reliable OCR.
@@ -209,19 +355,49 @@ public class OcrService {
                 pix = scaled;
             }
 
-            api.SetImage(pix);
-            textPtr = api.GetUTF8Text();
-
-            return (textPtr != null && !textPtr.isNull()) ? textPtr.getString() : null;
-
+            PIX image = pix;
+            return tesseractTimer.recordCallable(() -> tesseractPool.execute(api -> {
+                api.SetImage(image);
+                BytePointer textPtr = api.GetUTF8Text();
+                try {
+                    return (textPtr != null && !textPtr.isNull()) ? textPtr.getString() : null;
+                } finally {
+                    if (textPtr != null && !textPtr.isNull()) textPtr.deallocate();
+                }
+            }));
+
+        } catch (TesseractPool.PoolExhaustedException e) {
+            throw e; // the caller answers 503 rather than reporting an empty document
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for a Tesseract engine", e);
         } catch (Exception e) {
             log.error("Tesseract OCR failed: {}", e.getMessage(), e);
-            return null;
+            throw new TesseractFailedException(e);
         } finally {
-            if (textPtr != null && !textPtr.isNull()) textPtr.deallocate();
-            if (pix     != null && !pix.isNull())     pixDestroy(pix);
-            if (api     != null && !api.isNull())     api.End();
+            if (pix != null && !pix.isNull()) pixDestroy(pix);
+        }
+    }
+
+    /**
+     * Copy an image into a 32 bpp PIX. Leptonica keeps each pixel as one 0xRRGGBBAA
+     * word, so rows are copied as ints and byte order never matters.
+     */
+    static PIX toPix(BufferedImage image) {
+        int w = image.getWidth();
+        int h = image.getHeight();
+        PIX pix = pixCreate(w, h, 32);
+        IntPointer words = pixGetData(pix);
+        int wpl = pixGetWpl(pix);
+        int[] row = new int[w];
+        for (int y = 0; y < h; y++) {
+            image.getRGB(0, y, w, 1, row, 0, w);
+            for (int x = 0; x < w; x++) {
+                row[x] = (row[x] << 8) | 0xff;
+            }
+            words.position((long) y * wpl).put(row);
         }
+        return pix;
     }
 
     // ── Mock data ────────────────────────────────────────────────────────────
@@ -269,4 +445,16 @@ public class OcrService {
         r.setSource(source);
         return r;
     }
+
+    private static OcrResult degraded(OcrResult r) {
+        r.setDegraded(true);
+        return r;
+    }
+
+    /** Recognition failed for this image; the rest of the result (barcodes) is still usable. */
+    private static class TesseractFailedException extends RuntimeException {
+        TesseractFailedException(Throwable cause) {
+            super(cause);
+        }
+    }
 }
@@ -16,6 +16,7 @@ import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.List;
 
 @Service
@@ -80,28 +81,45 @@ public class PdfBoxService {
     }
 
     /**
-     * Render every page of a PDF to PNG bytes.
-     * Returns one entry per page; entries are null if a page failed to render.
+     * Open a PDF for page-by-page rendering. Pages are rendered only when asked for,
+     * so memory is bounded by how many rendered pages the caller holds, not by page count.
      */
-    public List<byte[]> renderAllPagesAsBytes(byte[] pdfData) {
-        List<byte[]> pages = new java.util.ArrayList<>();
-        try (PDDocument doc = Loader.loadPDF(pdfData)) {
-            PDFRenderer renderer = new PDFRenderer(doc);
-            for (int i = 0; i < doc.getNumberOfPages(); i++) {
-                try {
-                    BufferedImage image = renderer.renderImageWithDPI(i, 300, ImageType.RGB);
-                    ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                    ImageIO.write(image, "PNG", baos);
-                    pages.add(baos.toByteArray());
-                } catch (Exception e) {
-                    log.warn("PDF page {} render failed: {}", i, e.getMessage());
-                    pages.add(null);
-                }
+    public PdfPages openPages(byte[] pdfData) throws IOException {
+        return new PdfPages(Loader.loadPDF(pdfData));
+    }
+
+    /**
+     * A loaded PDF whose pages are rendered on demand at 300 DPI.
+     * PDFBox documents are not thread-safe: render from one thread at a time.
+     */
+    public static final class PdfPages implements AutoCloseable {
+
+        private final PDDocument doc;
+        private final PDFRenderer renderer;
+
+        private PdfPages(PDDocument doc) {
+            this.doc = doc;
+            this.renderer = new PDFRenderer(doc);
+        }
+
+        public int pageCount() {
+            return doc.getNumberOfPages();
+        }
+
+        /** Render one page (0-based). Returns null if the page failed to render. */
+        public BufferedImage render(int pageIndex) {
+            try {
+                return renderer.renderImageWithDPI(pageIndex, 300, ImageType.RGB);
+            } catch (Exception e) {
+                log.warn("PDF page {} render failed: {}", pageIndex, e.getMessage());
+                return null;
             }
-        } catch (Exception e) {
-            log.warn("PDF render failed: {}", e.getMessage());
         }
-        return pages;
+
+        @Override
+        public void close() throws IOException {
+            doc.close();
+        }
     }
 
     public boolean isPdf(byte[] data) {
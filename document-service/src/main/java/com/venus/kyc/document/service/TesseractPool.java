@@ -0,0 +1,169 @@
+package com.venus.kyc.document.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bytedeco.tesseract.TessBaseAPI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.bytedeco.tesseract.global.tesseract.OEM_LSTM_ONLY;
+
+/**
+ * Bounded pool of initialised Tesseract engines.
+ *
+ * Loading the LSTM model in {@code TessBaseAPI.Init} costs far more than recognising a
+ * typical ID document, so engines are initialised once and reused. A {@link TessBaseAPI}
+ * is not thread-safe: each engine is handed to exactly one caller at a time via
+ * {@link #execute}, and is {@code Clear}ed before it goes back to the pool.
+ *
+ * ocr.pool.size              maximum number of engines (and concurrent OCR calls)
+ * ocr.pool.borrow-timeout-ms how long a caller waits for a free engine before failing
+ */
+@Component
+public class TesseractPool {
+
+    private static final Logger log = LoggerFactory.getLogger(TesseractPool.class);
+
+    /** Thrown when no engine became free within {@code ocr.pool.borrow-timeout-ms}. */
+    public static class PoolExhaustedException extends RuntimeException {
+        public PoolExhaustedException(String message) {
+            super(message);
+        }
+    }
+
+    private final TessdataManager tessdataManager;
+    private final boolean mockMode;
+    private final String  ocrLanguage;
+    private final int     poolSize;
+    private final long    borrowTimeoutMs;
+
+    // Most recently returned engine first, so a lightly loaded service keeps reusing warm engines
+    private final Deque<TessBaseAPI> idle = new ConcurrentLinkedDeque<>();
+    private Semaphore permits;
+    private volatile boolean closed;
+
+    public TesseractPool(TessdataManager tessdataManager,
+                         @Value("${ocr.mock:true}") boolean mockMode,
+                         @Value("${ocr.language:eng}") String ocrLanguage,
+                         @Value("${ocr.pool.size:4}") int poolSize,
+                         @Value("${ocr.pool.borrow-timeout-ms:30000}") long borrowTimeoutMs) {
+        this.tessdataManager = tessdataManager;
+        this.mockMode        = mockMode;
+        this.ocrLanguage     = ocrLanguage;
+        this.poolSize        = poolSize;
+        this.borrowTimeoutMs = borrowTimeoutMs;
+    }
+
+    // ── Lifecycle ────────────────────────────────────────────────────────────
+
+    @PostConstruct
+    public void start() {
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("ocr.pool.size must be positive, got " + poolSize);
+        }
+        permits = new Semaphore(poolSize, true);
+        if (mockMode) return; // no engine is ever needed
+
+        // Pre-initialise every engine so the first requests don't pay the model load.
+        // A failure here is not fatal: engines are created on demand later, and that
+        // request reports the error instead.
+        try {
+            for (int i = 0; i < poolSize; i++) {
+                idle.push(createEngine());
+            }
+            log.info("Initialised {} Tesseract engine(s) for language '{}'", poolSize, ocrLanguage);
+        } catch (Exception e) {
+            log.error("Tesseract warm-up failed, engines will be created on demand: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Waits (up to the borrow timeout) for in-flight OCR calls to return their engines,
+     * then releases the native memory of every engine.
+     */
+    @PreDestroy
+    public void shutdown() {
+        closed = true;
+        boolean drained = false;
+        try {
+            drained = permits.tryAcquire(poolSize, borrowTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!drained) {
+            log.warn("Tesseract pool shut down with OCR calls still running; their engines end on return");
+        }
+        TessBaseAPI api;
+        while ((api = idle.poll()) != null) {
+            api.End();
+        }
+    }
+
+    // ── Borrowing ────────────────────────────────────────────────────────────
+
+    /**
+     * Runs {@code work} with an engine that no other thread can touch until it returns.
+     * The engine must not escape {@code work}.
+     *
+     * @throws PoolExhaustedException if no engine became free within the borrow timeout
+     * @throws IllegalStateException  if the pool is shut down or an engine cannot be initialised
+     */
+    public <T> T execute(Function<TessBaseAPI, T> work) throws InterruptedException {
+        if (closed) throw new IllegalStateException("Tesseract pool is shut down");
+        if (!permits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+            throw new PoolExhaustedException(
+                    "No Tesseract engine free after " + borrowTimeoutMs + " ms (ocr.pool.size=" + poolSize + ")");
+        }
+        try {
+            TessBaseAPI api = idle.poll();
+            if (api == null) api = createEngine();
+
+            boolean reusable = false;
+            try {
+                T result = work.apply(api);
+                api.Clear(); // drop the image and recognition results, keep the loaded model
+                reusable = true;
+                return result;
+            } finally {
+                if (reusable && !closed) {
+                    idle.push(api);
+                } else {
+                    api.End(); // state unknown after a failure, or nobody left to end it later
+                }
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /** Loads a new engine; package-private so tests can supply engines without tessdata. */
+    TessBaseAPI createEngine() {
+        String tessdataPath;
+        try {
+            tessdataPath = tessdataManager.getTessdataPath();
+        } catch (IOException e) {
+            throw new IllegalStateException("Tessdata is not available: " + e.getMessage(), e);
+        }
+
+        TessBaseAPI api = new TessBaseAPI();
+        // Init with OEM_LSTM_ONLY — tessdata_fast contains only LSTM models,
+        // so OEM_DEFAULT would fail trying to load the (absent) legacy model.
+        // dataPath must be the parent of the "tessdata" folder.
+        if (api.Init(tessdataPath, ocrLanguage, OEM_LSTM_ONLY) != 0) {
+            api.End();
+            throw new IllegalStateException("Tesseract Init failed — check tessdata path: " + tessdataPath);
+        }
+        // PSM 6 = assume uniform block of text (good for document pages); survives Clear()
+        api.SetPageSegMode(6);
+        return api;
+    }
+}
@@ -21,6 +21,8 @@ public class TikaService {
 
     private static final Logger log = LoggerFactory.getLogger(TikaService.class);
     private final Tika tika = new Tika();
+    // Thread-safe; building one loads every parser via the service registry, so do it once
+    private final AutoDetectParser parser = new AutoDetectParser();
 
     /** Detect MIME type from raw bytes (ignores file extension). */
     public String detectMimeType(byte[] data) {
@@ -38,7 +40,6 @@ public class TikaService {
         try {
             Metadata metadata = new Metadata();
             BodyContentHandler handler = new BodyContentHandler(-1);
-            AutoDetectParser parser = new AutoDetectParser();
             parser.parse(new ByteArrayInputStream(data), handler, metadata);
 
             for (String name : metadata.names()) {
@@ -6,7 +6,34 @@ CREATE TABLE IF NOT EXISTS Documents (
     MimeType VARCHAR(100),
     UploadedBy VARCHAR(50),
     Comment TEXT,
-    Data BLOB,
+    Data BLOB, -- only rows stored before the blob store; newer content is in DocumentBlobs
     UploadDate TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    Version INT DEFAULT 1
+    Version INT DEFAULT 1,
+    ContentHash CHAR(64)
+);
+
+-- Databases created before content hashing; rows without a hash are hashed on first analysis
+ALTER TABLE Documents ADD COLUMN IF NOT EXISTS ContentHash CHAR(64);
+
+-- Document content, one row per distinct SHA-256 (hex); identical uploads share it
+CREATE TABLE IF NOT EXISTS DocumentBlobs (
+    ContentHash CHAR(64) PRIMARY KEY,
+    ContentLength BIGINT NOT NULL,
+    Data BLOB NOT NULL,
+    CreatedAt TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Latest-version lookups (listings, next version on save)
+CREATE INDEX IF NOT EXISTS IX_Documents_Case_Name_Version ON Documents (CaseID, DocumentName, Version);
+
+-- OCR + fraud-signal results, keyed by document content (SHA-256 hex) and analyser version.
+-- Identical bytes uploaded twice (or under another case) share one row.
+CREATE TABLE IF NOT EXISTS AnalysisResults (
+    ContentHash CHAR(64) NOT NULL,
+    AnalyserVersion VARCHAR(50) NOT NULL,
+    MimeType VARCHAR(100),
+    OcrJson CLOB,
+    SignalsJson CLOB,
+    CreatedAt TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (ContentHash, AnalyserVersion)
 );
@@ -0,0 +1,191 @@
+package com.venus.kyc.document;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link DocumentBlobStore} against the real {@code DocumentBlobs} table in an embedded H2 database.
+ */
+class DocumentBlobStoreTest {
+
+    private static final byte[] CONTENT = "scanned passport".getBytes(StandardCharsets.UTF_8);
+
+    private EmbeddedDatabase db;
+
+    @BeforeEach
+    void setUp() {
+        db = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName("blobs-" + UUID.randomUUID())
+                .addScript("classpath:schema.sql")
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.shutdown();
+    }
+
+    private DocumentBlobStore store() {
+        return new DocumentBlobStore(db);
+    }
+
+    private long blobCount() {
+        return JdbcClient.create(db).sql("SELECT COUNT(*) FROM DocumentBlobs").query(Long.class).single();
+    }
+
+    @Test
+    void storesContentUnderItsSha256() throws Exception {
+        DocumentBlobStore store = store();
+
+        DocumentBlobStore.StoredBlob blob = store.store(new ByteArrayInputStream(CONTENT));
+
+        String hash = ContentHash.sha256(CONTENT);
+        assertEquals(hash, blob.contentHash());
+        assertEquals(CONTENT.length, blob.size());
+        assertTrue(store.exists(hash));
+        assertEquals(CONTENT.length, store.find(hash).orElseThrow().contentLength());
+        assertArrayEquals(CONTENT, store.readAllBytes(hash));
+    }
+
+    @Test
+    void blobsStoredByOneInstanceAreReadableFromAnother() throws Exception {
+        String hash = store().store(new ByteArrayInputStream(CONTENT)).contentHash();
+
+        Resource blob = store().find(hash).orElseThrow();
+
+        // read twice, as a Range request does
+        for (int i = 0; i < 2; i++) {
+            try (InputStream in = blob.getInputStream()) {
+                assertArrayEquals(CONTENT, in.readAllBytes());
+            }
+        }
+    }
+
+    @Test
+    void identicalUploadsShareOneBlob() throws Exception {
+        DocumentBlobStore store = store();
+
+        DocumentBlobStore.StoredBlob first = store.store(new ByteArrayInputStream(CONTENT));
+        DocumentBlobStore.StoredBlob second = store.store(new ByteArrayInputStream(CONTENT));
+        store.store(new ByteArrayInputStream("another document".getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(first, second);
+        assertEquals(2, blobCount());
+    }
+
+    @Test
+    void concurrentUploadsOfTheSameContentStoreItOnce() throws Exception {
+        DocumentBlobStore store = store();
+        ExecutorService uploaders = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<DocumentBlobStore.StoredBlob>> uploads = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                uploads.add(uploaders.submit(() -> store.store(new ByteArrayInputStream(CONTENT))));
+            }
+            for (Future<DocumentBlobStore.StoredBlob> upload : uploads) {
+                assertEquals(ContentHash.sha256(CONTENT), upload.get(10, TimeUnit.SECONDS).contentHash());
+            }
+        } finally {
+            uploaders.shutdownNow();
+        }
+        assertEquals(1, blobCount());
+        assertArrayEquals(CONTENT, store.readAllBytes(ContentHash.sha256(CONTENT)));
+    }
+
+    @Test
+    void streamsLargeUploadsInSmallReads() throws Exception {
+        long size = 50L * 1024 * 1024; // spring.servlet.multipart.max-file-size
+        GeneratedStream in = new GeneratedStream(size);
+        DocumentBlobStore store = store();
+
+        DocumentBlobStore.StoredBlob blob = store.store(in);
+
+        assertEquals(size, blob.size());
+        assertEquals(GeneratedStream.sha256(size), blob.contentHash());
+        assertTrue(in.largestRead <= 64 * 1024, "largest single read: " + in.largestRead);
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        long read = 0;
+        try (InputStream stored = store.find(blob.contentHash()).orElseThrow().getInputStream()) {
+            byte[] chunk = new byte[64 * 1024];
+            for (int n; (n = stored.read(chunk)) > 0; read += n) {
+                digest.update(chunk, 0, n);
+            }
+        }
+        assertEquals(size, read);
+        assertEquals(blob.contentHash(), HexFormat.of().formatHex(digest.digest()));
+    }
+
+    @Test
+    void rejectsHashesThatAreNotSha256Hex() {
+        DocumentBlobStore store = store();
+
+        assertTrue(store.find(null).isEmpty());
+        assertTrue(store.find(ContentHash.sha256(CONTENT)).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> store.find("' OR '1'='1"));
+        assertThrows(IllegalStateException.class, () -> store.readAllBytes(ContentHash.sha256(CONTENT)));
+    }
+
+    /** Produces {@code size} deterministic bytes without holding them, recording the largest read asked for. */
+    private static final class GeneratedStream extends InputStream {
+
+        private final long size;
+        private long position;
+        int largestRead;
+
+        GeneratedStream(long size) {
+            this.size = size;
+        }
+
+        static byte valueAt(long position) {
+            return (byte) (position * 31 + (position >>> 12));
+        }
+
+        static String sha256(long size) throws Exception {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] chunk = new byte[8192];
+            for (long p = 0; p < size; ) {
+                int n = (int) Math.min(chunk.length, size - p);
+                for (int i = 0; i < n; i++) chunk[i] = valueAt(p + i);
+                digest.update(chunk, 0, n);
+                p += n;
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        }
+
+        @Override
+        public int read() {
+            return position < size ? valueAt(position++) & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            largestRead = Math.max(largestRead, len);
+            if (position >= size) return -1;
+            int n = (int) Math.min(len, size - position);
+            for (int i = 0; i < n; i++) b[off + i] = valueAt(position++);
+            return n;
+        }
+    }
+}
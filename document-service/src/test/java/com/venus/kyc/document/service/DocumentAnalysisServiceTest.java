@@ -0,0 +1,156 @@
+package com.venus.kyc.document.service;
+
+import com.venus.kyc.document.AnalysisResultRepository;
+import com.venus.kyc.document.ContentHash;
+import com.venus.kyc.document.model.DocumentAnalysis;
+import com.venus.kyc.document.model.FraudSignals;
+import com.venus.kyc.document.model.OcrField;
+import com.venus.kyc.document.model.OcrResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Content-hash caching of {@link DocumentAnalysisService} against the real {@code AnalysisResults}
+ * table in an embedded H2 database, with OCR and fraud signals mocked.
+ */
+class DocumentAnalysisServiceTest {
+
+    private static final byte[] PASSPORT = "passport scan".getBytes(StandardCharsets.UTF_8);
+
+    private final OcrService ocrService = mock(OcrService.class);
+    private final FraudSignalService fraudSignalService = mock(FraudSignalService.class);
+    private final TikaService tikaService = mock(TikaService.class);
+
+    private EmbeddedDatabase db;
+    private AnalysisResultRepository results;
+    private final List<DocumentAnalysisService> services = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        db = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName("analysis-" + UUID.randomUUID())
+                .addScript("classpath:schema.sql")
+                .build();
+        results = new AnalysisResultRepository(JdbcClient.create(db));
+        when(tikaService.detectMimeType(any())).thenReturn("image/png");
+        when(fraudSignalService.analyse(any(), anyString(), any())).thenReturn(new FraudSignals());
+    }
+
+    @AfterEach
+    void tearDown() {
+        services.forEach(DocumentAnalysisService::stop);
+        db.shutdown();
+    }
+
+    private DocumentAnalysisService service() {
+        DocumentAnalysisService service = new DocumentAnalysisService(
+                ocrService, fraudSignalService, tikaService, results, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "mockMode", true);
+        ReflectionTestUtils.setField(service, "ocrLanguage", "eng");
+        ReflectionTestUtils.setField(service, "workers", 1);
+        service.start();
+        services.add(service);
+        return service;
+    }
+
+    private static OcrResult passport(boolean degraded) {
+        OcrResult ocr = new OcrResult();
+        ocr.setSurname(new OcrField("ERIKSSON", 0.9, "MRZ"));
+        ocr.setSource("OCR/Tesseract");
+        ocr.setDegraded(degraded);
+        return ocr;
+    }
+
+    @Test
+    void sameContentIsAnalysedOnceAndServedFromTheTable() {
+        when(ocrService.analyseDocument(any(), anyString())).thenReturn(passport(false));
+
+        DocumentAnalysis first = service().analyse(PASSPORT, "image/png");
+        // a fresh instance (e.g. after a restart) still finds the stored row
+        DocumentAnalysis second = service().analyse(ContentHash.sha256(PASSPORT), "image/png",
+                () -> fail("content must not be read on a cache hit"));
+
+        assertEquals("ERIKSSON", first.ocr().getSurname().value());
+        assertEquals("ERIKSSON", second.ocr().getSurname().value());
+        verify(ocrService, times(1)).analyseDocument(any(), anyString());
+    }
+
+    @Test
+    void degradedAnalysesAreReturnedButNotCached() {
+        when(ocrService.analyseDocument(any(), anyString()))
+                .thenReturn(passport(true))
+                .thenReturn(passport(false));
+        DocumentAnalysisService service = service();
+
+        assertTrue(service.analyse(PASSPORT, "image/png").ocr().isDegraded());
+        assertTrue(results.find(ContentHash.sha256(PASSPORT), "2/mock").isEmpty());
+
+        assertFalse(service.analyse(PASSPORT, "image/png").ocr().isDegraded());
+        assertFalse(service.analyse(PASSPORT, "image/png").ocr().isDegraded());
+        verify(ocrService, times(2)).analyseDocument(any(), anyString());
+    }
+
+    @Test
+    void concurrentRequestsForTheSameContentShareOneAnalysis() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        when(ocrService.analyseDocument(any(), anyString())).thenAnswer(inv -> {
+            started.countDown();
+            finish.await(5, TimeUnit.SECONDS);
+            return passport(false);
+        });
+        DocumentAnalysisService service = service();
+        ExecutorService callers = Executors.newFixedThreadPool(3);
+        try {
+            List<Future<DocumentAnalysis>> calls = new ArrayList<>();
+            calls.add(callers.submit(() -> service.analyse(PASSPORT, "image/png")));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            calls.add(callers.submit(() -> service.analyse(PASSPORT, "image/png")));
+            calls.add(callers.submit(() -> service.analyse(PASSPORT, "image/png")));
+            Thread.sleep(50);
+            finish.countDown();
+
+            for (Future<DocumentAnalysis> call : calls) {
+                assertEquals("ERIKSSON", call.get(5, TimeUnit.SECONDS).ocr().getSurname().value());
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        verify(ocrService, times(1)).analyseDocument(any(), anyString());
+    }
+
+    @Test
+    void resultsOfOtherAnalyserVersionsArePurgedAtStartup() {
+        results.save(ContentHash.sha256(PASSPORT), "1/mock", "image/png", "{}", "{}");
+
+        service();
+
+        assertTrue(results.find(ContentHash.sha256(PASSPORT), "1/mock").isEmpty());
+    }
+}
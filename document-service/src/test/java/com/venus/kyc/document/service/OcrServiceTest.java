@@ -0,0 +1,154 @@
+package com.venus.kyc.document.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link OcrService} with real PDFBox, barcode and MRZ parsing and a mocked {@link TesseractPool}.
+ */
+class OcrServiceTest {
+
+    private static final String PASSPORT_MRZ = """
+            P<UTOERIKSSON<<ANNA<MARIA<<<<<<<<<<<<<<<<<<<
+            L898902C36UTO7408122F1204159ZE184226B<<<<<10
+            """;
+
+    private final TesseractPool tesseractPool = mock(TesseractPool.class);
+    private OcrService service;
+
+    private OcrService service(boolean mockMode) {
+        service = new OcrService(new MrzParserService(), new BarcodeService(new SimpleMeterRegistry()),
+                new PdfBoxService(), tesseractPool, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "mockMode", mockMode);
+        ReflectionTestUtils.setField(service, "pageWorkers", 4);
+        ReflectionTestUtils.setField(service, "maxPagesInFlight", 2);
+        service.start();
+        return service;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) service.stop();
+    }
+
+    @Test
+    void poolExhaustionReachesTheCallerForImages() throws Exception {
+        when(tesseractPool.execute(any())).thenThrow(new TesseractPool.PoolExhaustedException("busy"));
+
+        assertThrows(TesseractPool.PoolExhaustedException.class,
+                () -> service(false).analyseDocument(png(), "image/png"));
+    }
+
+    @Test
+    void poolExhaustionReachesTheCallerForScannedPdfs() throws Exception {
+        when(tesseractPool.execute(any())).thenThrow(new TesseractPool.PoolExhaustedException("busy"));
+
+        assertThrows(TesseractPool.PoolExhaustedException.class,
+                () -> service(false).analyseDocument(blankPdf(3), "application/pdf"));
+    }
+
+    @Test
+    void interruptWhileWaitingForAnEngineFailsAndKeepsTheFlag() throws Exception {
+        when(tesseractPool.execute(any())).thenThrow(new InterruptedException());
+
+        try {
+            assertThrows(IllegalStateException.class, () -> service(false).analyseDocument(png(), "image/png"));
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    void tesseractFailureMarksTheResultDegraded() throws Exception {
+        when(tesseractPool.execute(any())).thenThrow(new IllegalStateException("Tesseract Init failed"));
+        OcrService ocr = service(false);
+
+        assertTrue(ocr.analyseDocument(png(), "image/png").isDegraded());
+        assertTrue(ocr.analyseDocument(blankPdf(2), "application/pdf").isDegraded());
+        assertTrue(ocr.analyseDocument("not a pdf".getBytes(), "application/pdf").isDegraded());
+    }
+
+    @Test
+    void scannedPdfReturnsTheFirstMrzPageInPageOrderAndStopsRendering() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        when(tesseractPool.execute(any())).thenAnswer(inv -> {
+            calls.incrementAndGet();
+            return PASSPORT_MRZ;
+        });
+
+        var result = service(false).analyseDocument(blankPdf(8), "application/pdf");
+
+        assertEquals("ERIKSSON", result.getSurname().value());
+        assertEquals("OCR/Scanned-PDF (page 1)", result.getSource());
+        // every page has an MRZ, so nothing past the pages already in flight is rendered
+        assertTrue(calls.get() <= 2, "pages analysed: " + calls.get());
+    }
+
+    @Test
+    void scannedPdfKeepsAtMostMaxPagesInFlight() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger calls = new AtomicInteger();
+        when(tesseractPool.execute(any())).thenAnswer(inv -> {
+            calls.incrementAndGet();
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+            return "no document text here";
+        });
+        // four page workers, but only two rendered pages may exist at once
+        var result = service(false).analyseDocument(blankPdf(6), "application/pdf");
+
+        assertEquals("PDF", result.getSource());
+        assertNull(result.getSurname());
+        assertFalse(result.isDegraded());
+        assertEquals(6, calls.get());
+        assertTrue(maxRunning.get() <= 2, "pages in flight: " + maxRunning.get());
+    }
+
+    @Test
+    void mockModeScansPdfPagesWithoutTesseract() throws Exception {
+        var result = service(true).analyseDocument(blankPdf(2), "application/pdf");
+
+        assertNotNull(result);
+        verify(tesseractPool, never()).execute(any());
+    }
+
+    static byte[] png() throws IOException {
+        BufferedImage image = new BufferedImage(120, 80, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    /** A PDF of {@code pages} small pages with no text, so it goes through per-page OCR. */
+    static byte[] blankPdf(int pages) throws IOException {
+        try (PDDocument doc = new PDDocument()) {
+            for (int i = 0; i < pages; i++) {
+                doc.addPage(new PDPage(new PDRectangle(100, 100)));
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            doc.save(out);
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.venus.kyc.document.service;
+
+import org.bytedeco.tesseract.TessBaseAPI;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bounds and borrowing rules of {@link TesseractPool}, with uninitialised engines so no
+ * tessdata or model load is needed.
+ */
+class TesseractPoolTest {
+
+    private final List<TessBaseAPI> created = new ArrayList<>();
+    private ExecutorService callers;
+
+    @AfterEach
+    void tearDown() {
+        if (callers != null) callers.shutdownNow();
+    }
+
+    private TesseractPool pool(int size, long borrowTimeoutMs) {
+        TesseractPool pool = new TesseractPool(null, true, "eng", size, borrowTimeoutMs) {
+            @Override
+            synchronized TessBaseAPI createEngine() {
+                TessBaseAPI api = new TessBaseAPI(); // never initialised: Clear and End are no-ops
+                created.add(api);
+                return api;
+            }
+        };
+        pool.start();
+        return pool;
+    }
+
+    @Test
+    void rejectsNonPositiveSize() {
+        assertThrows(IllegalArgumentException.class, () -> pool(0, 100));
+    }
+
+    @Test
+    void neverRunsMoreCallsThanEnginesAndReusesThem() throws Exception {
+        TesseractPool pool = pool(2, 5_000);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        callers = Executors.newFixedThreadPool(6);
+
+        List<Future<String>> calls = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            calls.add(callers.submit(() -> pool.execute(api -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                return "text";
+            })));
+        }
+        for (Future<String> call : calls) {
+            assertEquals("text", call.get(10, TimeUnit.SECONDS));
+        }
+
+        assertTrue(maxRunning.get() <= 2, "at most ocr.pool.size concurrent calls, saw " + maxRunning.get());
+        assertTrue(created.size() <= 2, "engines are reused, created " + created.size());
+    }
+
+    @Test
+    void failsWithPoolExhaustedWhenNoEngineFreesUpInTime() throws Exception {
+        TesseractPool pool = pool(1, 50);
+        CountDownLatch borrowed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        callers = Executors.newSingleThreadExecutor();
+
+        Future<String> holder = callers.submit(() -> pool.execute(api -> {
+            borrowed.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "first";
+        }));
+        assertTrue(borrowed.await(5, TimeUnit.SECONDS));
+
+        assertThrows(TesseractPool.PoolExhaustedException.class, () -> pool.execute(api -> "second"));
+
+        release.countDown();
+        assertEquals("first", holder.get(5, TimeUnit.SECONDS));
+        assertEquals("third", pool.execute(api -> "third"));
+        assertEquals(1, created.size());
+    }
+
+    @Test
+    void replacesAnEngineWhoseCallFailed() throws Exception {
+        TesseractPool pool = pool(1, 1_000);
+
+        assertThrows(IllegalStateException.class, () -> pool.execute(api -> {
+            throw new IllegalStateException("recognition failed");
+        }));
+
+        TessBaseAPI[] used = new TessBaseAPI[2];
+        pool.execute(api -> used[0] = api);
+        pool.execute(api -> used[1] = api);
+        assertEquals(2, created.size());
+        assertNotSame(created.get(0), used[0]);
+        assertSame(used[0], used[1]);
+    }
+
+    @Test
+    void refusesNewCallsAfterShutdown() throws Exception {
+        TesseractPool pool = pool(2, 1_000);
+        pool.execute(api -> "warm");
+
+        pool.shutdown();
+
+        assertThrows(IllegalStateException.class, () -> pool.execute(api -> "late"));
+    }
+}
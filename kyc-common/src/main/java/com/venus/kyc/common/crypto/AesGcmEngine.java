@@ -0,0 +1,117 @@
+package com.venus.kyc.common.crypto;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * Reusable AES-GCM engine for PII field encryption, shared by the viewer {@code EncryptionService}
+ * and the orchestration {@code AttributeEncryptor}.
+ *
+ * <p>Storage format: Base64( IV[12 bytes] || ciphertext+tag[n+16 bytes] ). The key length (16, 24 or 32 bytes)
+ * selects AES-128/192/256.
+ *
+ * <p>{@link Cipher#getInstance} is paid once per thread rather than once per call, the {@link SecretKeySpec} is
+ * built once, and IVs come from a single {@link SecureRandom} seeded at construction. A fresh random IV is used for
+ * every encryption, so reusing the per-thread cipher never repeats a key/IV pair. Instances are thread-safe.
+ */
+public final class AesGcmEngine {
+
+    private static final String ALGORITHM = "AES/GCM/NoPadding";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH_BITS = 128;
+
+    private final SecretKeySpec key;
+    private final SecureRandom random;
+    private final ThreadLocal<Cipher> cipher = ThreadLocal.withInitial(AesGcmEngine::newCipher);
+
+    public AesGcmEngine(byte[] keyBytes) {
+        if (keyBytes.length != 16 && keyBytes.length != 24 && keyBytes.length != 32) {
+            throw new IllegalArgumentException("AES key must be 16, 24 or 32 bytes, got " + keyBytes.length);
+        }
+        this.key = new SecretKeySpec(keyBytes, "AES");
+        this.random = new SecureRandom();
+        this.random.nextBytes(new byte[IV_LENGTH]); // force self-seeding now rather than on the first request
+    }
+
+    /** Encrypts a UTF-8 string. Returns null for null input. */
+    public String encrypt(String plaintext) {
+        if (plaintext == null) return null;
+        byte[] input = plaintext.getBytes(StandardCharsets.UTF_8);
+        byte[] iv = new byte[IV_LENGTH];
+        random.nextBytes(iv);
+        byte[] combined = new byte[IV_LENGTH + input.length + TAG_LENGTH_BITS / 8];
+        System.arraycopy(iv, 0, combined, 0, IV_LENGTH);
+        try {
+            Cipher c = cipher.get();
+            c.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH_BITS, iv));
+            c.doFinal(input, 0, input.length, combined, IV_LENGTH);
+        } catch (GeneralSecurityException e) {
+            throw new CryptoException("Encryption failed", e);
+        }
+        return Base64.getEncoder().encodeToString(combined);
+    }
+
+    /**
+     * Decrypts a value produced by {@link #encrypt}. Returns null and empty input unchanged.
+     *
+     * @throws CryptoException if the value is not valid Base64, too short, or fails authentication
+     */
+    public String decrypt(String encoded) {
+        if (encoded == null || encoded.isEmpty()) return encoded;
+        try {
+            byte[] combined = Base64.getDecoder().decode(encoded);
+            if (combined.length < IV_LENGTH + TAG_LENGTH_BITS / 8) {
+                throw new CryptoException("Ciphertext too short: " + combined.length + " bytes", null);
+            }
+            Cipher c = cipher.get();
+            c.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH_BITS, combined, 0, IV_LENGTH));
+            byte[] plain = c.doFinal(combined, IV_LENGTH, combined.length - IV_LENGTH);
+            return new String(plain, StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new CryptoException("Decryption failed", e);
+        }
+    }
+
+    /**
+     * Decrypts every value in iteration order on the calling thread's cipher.
+     *
+     * @throws CryptoException on the first value that cannot be decrypted
+     */
+    public List<String> decryptAll(Collection<String> values) {
+        return decryptAll(values, null);
+    }
+
+    /**
+     * Decrypts every value in iteration order. A value that cannot be decrypted is replaced by
+     * {@code onFailure.apply(value)}; with a null {@code onFailure} the {@link CryptoException} propagates.
+     */
+    public List<String> decryptAll(Collection<String> values, UnaryOperator<String> onFailure) {
+        List<String> result = new ArrayList<>(values.size());
+        for (String value : values) {
+            try {
+                result.add(decrypt(value));
+            } catch (CryptoException e) {
+                if (onFailure == null) throw e;
+                result.add(onFailure.apply(value));
+            }
+        }
+        return result;
+    }
+
+    private static Cipher newCipher() {
+        try {
+            return Cipher.getInstance(ALGORITHM);
+        } catch (GeneralSecurityException e) {
+            throw new CryptoException("AES/GCM not available", e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.venus.kyc.common.crypto;
+
+/**
+ * Unchecked failure of an {@link AesGcmEngine} operation (bad key, corrupt or tampered ciphertext).
+ */
+public class CryptoException extends IllegalStateException {
+
+    public CryptoException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
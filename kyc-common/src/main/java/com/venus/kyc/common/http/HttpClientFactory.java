@@ -0,0 +1,125 @@
+package com.venus.kyc.common.http;
+
+import org.apache.hc.client5.http.ConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.DefaultHttpRequestRetryStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.Method;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Pooled Apache HttpClient 5 connections for inter-service calls, one pool per downstream service.
+ *
+ * <p>Give every {@code RestClient.Builder} / {@code RestTemplate} the request factory of the service it
+ * calls, e.g. {@code builder.requestFactory(httpClients.requestFactory("risk-service"))}. Each pool is
+ * created on first use with the {@link HttpClientSettings} resolved for that service name, and reused by
+ * every client of that service. Instances are thread-safe; {@link #close()} releases all pools.
+ */
+public final class HttpClientFactory implements AutoCloseable {
+
+    private static final TimeValue RETRY_INTERVAL = TimeValue.ofMilliseconds(200);
+
+    private final UnaryOperator<String> properties;
+    private final ConcurrentMap<String, HttpComponentsClientHttpRequestFactory> factories = new ConcurrentHashMap<>();
+
+    /**
+     * @param properties property lookup returning null when unset, e.g. {@code environment::getProperty}
+     */
+    public HttpClientFactory(UnaryOperator<String> properties) {
+        this.properties = properties;
+    }
+
+    /** The shared request factory for calls to {@code service}. */
+    public ClientHttpRequestFactory requestFactory(String service) {
+        return factories.computeIfAbsent(service,
+                name -> new HttpComponentsClientHttpRequestFactory(createHttpClient(settings(name))));
+    }
+
+    public HttpClientSettings settings(String service) {
+        return HttpClientSettings.resolve(service, properties);
+    }
+
+    @Override
+    public void close() {
+        for (HttpComponentsClientHttpRequestFactory factory : factories.values()) {
+            try {
+                factory.destroy();
+            } catch (Exception e) {
+                // closing a pool only fails on I/O while shutting sockets; nothing left to do
+            }
+        }
+        factories.clear();
+    }
+
+    /** A pooled client configured with {@code settings}; the caller owns and closes it. */
+    public static CloseableHttpClient createHttpClient(HttpClientSettings settings) {
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(settings.connectTimeout()))
+                .setSocketTimeout(Timeout.of(settings.readTimeout()))
+                .build();
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(settings.pendingAcquireTimeout()))
+                .setResponseTimeout(Timeout.of(settings.readTimeout()))
+                .build();
+        TimeValue keepAlive = TimeValue.of(settings.keepAlive());
+
+        return HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnPerRoute(settings.maxConnectionsPerRoute())
+                        .setMaxConnTotal(settings.maxConnections())
+                        .setDefaultConnectionConfig(connectionConfig)
+                        .build())
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy(cappedKeepAlive(keepAlive))
+                .evictExpiredConnections()
+                .evictIdleConnections(keepAlive)
+                .setRetryStrategy(new GetRetryStrategy(settings.maxGetRetries()))
+                .build();
+    }
+
+    /** The server's Keep-Alive hint, but never longer than our own limit. */
+    private static ConnectionKeepAliveStrategy cappedKeepAlive(TimeValue max) {
+        return (response, context) -> {
+            TimeValue offered = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return TimeValue.isPositive(offered) && offered.compareTo(max) < 0 ? offered : max;
+        };
+    }
+
+    /**
+     * Retries GET and HEAD only, after an I/O error such as a reset pooled connection or a 429/503,
+     * honouring Retry-After. Connect failures and timeouts are not retried, so a struggling service is
+     * not hit harder. Writes are never retried: the first attempt may already have taken effect.
+     */
+    private static final class GetRetryStrategy extends DefaultHttpRequestRetryStrategy {
+
+        GetRetryStrategy(int maxRetries) {
+            super(maxRetries, RETRY_INTERVAL);
+        }
+
+        @Override
+        protected boolean handleAsIdempotent(HttpRequest request) {
+            return Method.GET.isSame(request.getMethod()) || Method.HEAD.isSame(request.getMethod());
+        }
+
+        @Override
+        public boolean retryRequest(HttpResponse response, int execCount, HttpContext context) {
+            HttpRequest request = HttpClientContext.castOrCreate(context).getRequest();
+            return request != null && handleAsIdempotent(request) && super.retryRequest(response, execCount, context);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.venus.kyc.common.http;
+
+import java.time.Duration;
+import java.util.function.UnaryOperator;
+
+/**
+ * Connection pool, timeout and retry settings for the calls to one downstream service.
+ *
+ * <p>Resolved from properties of the form {@code kyc.http.<service>.<setting>}, falling back to
+ * {@code kyc.http.default.<setting>} and then to {@link #DEFAULTS}:
+ * <pre>
+ * max-connections-per-route   connections kept open to one host:port
+ * max-connections             connections across all routes of this service
+ * keep-alive-ms               how long an idle connection is kept for reuse, unless the server says less
+ * connect-timeout-ms          TCP connect
+ * read-timeout-ms             wait for response data (socket timeout)
+ * pending-acquire-timeout-ms  wait for a free pooled connection when all are busy
+ * max-get-retries             retries of GET/HEAD after an I/O error, 429 or 503; other methods are never retried
+ * </pre>
+ */
+public record HttpClientSettings(
+        int maxConnectionsPerRoute,
+        int maxConnections,
+        Duration keepAlive,
+        Duration connectTimeout,
+        Duration readTimeout,
+        Duration pendingAcquireTimeout,
+        int maxGetRetries) {
+
+    public static final String PROPERTY_PREFIX = "kyc.http.";
+    public static final String DEFAULT_SERVICE = "default";
+
+    public static final HttpClientSettings DEFAULTS = new HttpClientSettings(
+            20, 50,
+            Duration.ofSeconds(30),
+            Duration.ofSeconds(2),
+            Duration.ofSeconds(10),
+            Duration.ofSeconds(2),
+            2);
+
+    public HttpClientSettings {
+        if (maxConnectionsPerRoute < 1 || maxConnections < maxConnectionsPerRoute) {
+            throw new IllegalArgumentException("Need 1 <= max-connections-per-route <= max-connections, got "
+                    + maxConnectionsPerRoute + " / " + maxConnections);
+        }
+        if (maxGetRetries < 0) {
+            throw new IllegalArgumentException("max-get-retries must not be negative, got " + maxGetRetries);
+        }
+    }
+
+    /**
+     * Settings for {@code service}.
+     *
+     * @param properties property lookup returning null when unset, e.g. {@code environment::getProperty}
+     */
+    public static HttpClientSettings resolve(String service, UnaryOperator<String> properties) {
+        Lookup lookup = new Lookup(service, properties);
+        return new HttpClientSettings(
+                lookup.integer("max-connections-per-route", DEFAULTS.maxConnectionsPerRoute),
+                lookup.integer("max-connections", DEFAULTS.maxConnections),
+                lookup.millis("keep-alive-ms", DEFAULTS.keepAlive),
+                lookup.millis("connect-timeout-ms", DEFAULTS.connectTimeout),
+                lookup.millis("read-timeout-ms", DEFAULTS.readTimeout),
+                lookup.millis("pending-acquire-timeout-ms", DEFAULTS.pendingAcquireTimeout),
+                lookup.integer("max-get-retries", DEFAULTS.maxGetRetries));
+    }
+
+    private record Lookup(String service, UnaryOperator<String> properties) {
+
+        int integer(String setting, int fallback) {
+            String value = raw(setting);
+            return value == null ? fallback : Integer.parseInt(value.trim());
+        }
+
+        Duration millis(String setting, Duration fallback) {
+            String value = raw(setting);
+            return value == null ? fallback : Duration.ofMillis(Long.parseLong(value.trim()));
+        }
+
+        private String raw(String setting) {
+            String value = properties.apply(PROPERTY_PREFIX + service + "." + setting);
+            if (value == null || value.isBlank()) {
+                value = properties.apply(PROPERTY_PREFIX + DEFAULT_SERVICE + "." + setting);
+            }
+            return value == null || value.isBlank() ? null : value;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.venus.kyc.common.http;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Predicate;
+
+/**
+ * Minimal reader for a {@code text/event-stream} response body, for services that follow another
+ * service's Server-Sent Events over a blocking HTTP client.
+ *
+ * <p>Handles the {@code event}, {@code id} and multi-line {@code data} fields and skips comments
+ * (such as keep-alives); {@code retry} is ignored.
+ */
+public final class ServerSentEventReader {
+
+    /** One dispatched event; {@code name} is "message" when the server did not set one. */
+    public record Event(String id, String name, String data) {
+    }
+
+    private ServerSentEventReader() {
+    }
+
+    /**
+     * Passes each event to {@code handler} until the stream ends or the handler returns false.
+     * Returns false if the handler stopped the read, true if the stream ended.
+     */
+    public static boolean read(InputStream body, Predicate<Event> handler) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String id = null;
+        String name = null;
+        StringBuilder data = null;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                if (data != null && !handler.test(new Event(id, name != null ? name : "message", data.toString()))) {
+                    return false;
+                }
+                name = null;
+                data = null;
+                continue;
+            }
+            if (line.startsWith(":")) {
+                continue;
+            }
+            int colon = line.indexOf(':');
+            String field = colon < 0 ? line : line.substring(0, colon);
+            String value = colon < 0 ? "" : line.substring(colon + 1);
+            if (value.startsWith(" ")) {
+                value = value.substring(1);
+            }
+            switch (field) {
+                case "event" -> name = value;
+                case "id" -> id = value;
+                case "data" -> data = data == null ? new StringBuilder(value) : data.append('\n').append(value);
+                default -> {
+                    // retry and unknown fields
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,29 @@
+package com.venus.kyc.common.paging;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is null on the last page.
+ *
+ * <p>Repositories fetch {@code limit + 1} rows and hand them to {@link #of}; the extra row only
+ * tells whether another page exists, which avoids a {@code COUNT(*)} per request.
+ */
+public record CursorPage<T>(List<T> content, String nextCursor) {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    /** Clamps a requested page size to 1..MAX_LIMIT. */
+    public static int limit(int requested) {
+        return Math.max(1, Math.min(requested, MAX_LIMIT));
+    }
+
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, PageCursor> cursorOf) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> content = rows.subList(0, limit);
+        return new CursorPage<>(List.copyOf(content), cursorOf.apply(content.get(limit - 1)).encode());
+    }
+}
@@ -0,0 +1,13 @@
+package com.venus.kyc.common.paging;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/** A cursor parameter that was not produced by the listing it was passed to; answered with 400. */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidPageCursorException extends IllegalArgumentException {
+
+    public InvalidPageCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,60 @@
+package com.venus.kyc.common.paging;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position in a keyset-paginated listing: the sort key and id of the last row of a page.
+ *
+ * <p>The next page is read with {@code WHERE sortKey < :sortKey OR (sortKey = :sortKey AND id < :id)}
+ * (the other way round for ascending order) over an index on {@code (sortKey, id)}, so a deep page
+ * costs one index seek, just like the first. {@code sortKey} is null when a listing is ordered by id
+ * alone. Clients receive the cursor as an opaque URL-safe token and pass it back unchanged.
+ */
+public record PageCursor(String sortKey, long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static PageCursor ofId(long id) {
+        return new PageCursor(null, id);
+    }
+
+    public static PageCursor of(LocalDateTime sortKey, long id) {
+        return new PageCursor(sortKey.toString(), id);
+    }
+
+    /** The sort key of a cursor made by {@link #of(LocalDateTime, long)}. */
+    public LocalDateTime timestampKey() {
+        try {
+            return LocalDateTime.parse(sortKey);
+        } catch (RuntimeException e) {
+            throw new InvalidPageCursorException("Page cursor has no timestamp sort key");
+        }
+    }
+
+    public String encode() {
+        String raw = sortKey == null ? Long.toString(id) : id + String.valueOf(SEPARATOR) + sortKey;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}; null or blank means "first page" and yields
+     * null. Throws InvalidPageCursorException for anything else that is not a cursor.
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                return ofId(Long.parseLong(raw));
+            }
+            return new PageCursor(raw.substring(separator + 1), Long.parseLong(raw.substring(0, separator)));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPageCursorException("Malformed page cursor: " + token);
+        }
+    }
+}
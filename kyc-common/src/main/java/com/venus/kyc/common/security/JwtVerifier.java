@@ -0,0 +1,138 @@
+package com.venus.kyc.common.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Verifies the platform's HMAC-signed JWTs and turns them into a Spring Security
+ * {@link Authentication}, shared by the viewer and auth-service authentication filters.
+ *
+ * <p>The signing key and parser are built once. A token is parsed once, and the resulting
+ * Authentication is cached under the SHA-256 of the token until the token's {@code exp}, so a
+ * client repeating the same bearer token pays for the signature check on its first request only.
+ * Authorities come from the comma-separated {@code auth} claim written at login; no lookup is
+ * made per request.
+ *
+ * <p>The cache holds at most {@code maxCachedTokens} entries. When it is full, expired entries are
+ * dropped; if none have expired the new token is verified but not cached. Instances are
+ * thread-safe.
+ */
+public final class JwtVerifier {
+
+    /** Claim holding the comma-separated authorities. */
+    public static final String AUTHORITIES_CLAIM = "auth";
+
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final Clock clock;
+    private final int maxCachedTokens;
+    private final ConcurrentMap<String, Verified> cache = new ConcurrentHashMap<>();
+
+    public JwtVerifier(String secret, int maxCachedTokens) {
+        this(secret, maxCachedTokens, Clock.systemUTC());
+    }
+
+    public JwtVerifier(String secret, int maxCachedTokens, Clock clock) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.clock = clock;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .setClock(() -> Date.from(clock.instant()))
+                .build();
+        this.maxCachedTokens = maxCachedTokens;
+    }
+
+    /** Key for signing tokens this verifier accepts. */
+    public SecretKey signingKey() {
+        return signingKey;
+    }
+
+    /**
+     * Returns the authentication carried by the token.
+     *
+     * @throws JwtException             if the token is malformed, badly signed or expired
+     * @throws IllegalArgumentException if the token is empty
+     */
+    public Authentication authenticate(String token) {
+        String hash = hash(token);
+        Verified cached = cache.get(hash);
+        if (cached != null) {
+            if (clock.millis() < cached.expiresAt()) {
+                return cached.authentication();
+            }
+            // expired: drop it and let the parser report why
+            cache.remove(hash, cached);
+        }
+
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                claims.getSubject(), null, authorities(claims.get(AUTHORITIES_CLAIM, String.class)));
+        if (claims.getExpiration() != null) {
+            remember(hash, new Verified(authentication, claims.getExpiration().getTime()));
+        }
+        return authentication;
+    }
+
+    /** Number of cached tokens. */
+    public int cachedTokens() {
+        return cache.size();
+    }
+
+    private void remember(String hash, Verified verified) {
+        if (cache.size() >= maxCachedTokens) {
+            long now = clock.millis();
+            cache.values().removeIf(entry -> entry.expiresAt() <= now);
+            if (cache.size() >= maxCachedTokens) {
+                return;
+            }
+        }
+        cache.put(hash, verified);
+    }
+
+    private static List<GrantedAuthority> authorities(String claim) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        if (claim == null) {
+            return authorities;
+        }
+        for (String authority : claim.split(",")) {
+            if (!authority.isBlank()) {
+                authorities.add(new SimpleGrantedAuthority(authority.trim()));
+            }
+        }
+        return authorities;
+    }
+
+    private static String hash(String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("JWT is empty");
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record Verified(Authentication authentication, long expiresAt) {
+    }
+}
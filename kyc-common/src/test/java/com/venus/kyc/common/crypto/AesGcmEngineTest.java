@@ -0,0 +1,74 @@
+package com.venus.kyc.common.crypto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AesGcmEngineTest {
+
+    private final AesGcmEngine engine = new AesGcmEngine(
+            Base64.getDecoder().decode("j5afag/9LpbAKCMfC9+eKRor5etIeRbD7J7KiHkc0sk="));
+
+    @Test
+    void encryptDecrypt_roundTrip_preservesUtf8() {
+        String original = "Zo\u00eb M\u00fcller-\u0141ukasz";
+        assertEquals(original, engine.decrypt(engine.encrypt(original)));
+    }
+
+    @Test
+    void encrypt_usesFreshIvPerCall() {
+        assertNotEquals(engine.encrypt("Jane"), engine.encrypt("Jane"));
+    }
+
+    @Test
+    void decrypt_tamperedCiphertext_throws() {
+        byte[] bytes = Base64.getDecoder().decode(engine.encrypt("Jane"));
+        bytes[bytes.length - 1] ^= 1;
+        String tampered = Base64.getEncoder().encodeToString(bytes);
+        assertThrows(CryptoException.class, () -> engine.decrypt(tampered));
+    }
+
+    @Test
+    void decryptAll_appliesFallbackPerValue() {
+        List<String> result = engine.decryptAll(
+                Arrays.asList(engine.encrypt("John"), null, "legacy plaintext", engine.encrypt("Doe")),
+                raw -> raw);
+        assertEquals(Arrays.asList("John", null, "legacy plaintext", "Doe"), result);
+    }
+
+    @Test
+    void decryptAll_withoutFallback_propagatesFailure() {
+        assertThrows(CryptoException.class, () -> engine.decryptAll(List.of("not-a-ciphertext")));
+    }
+
+    @Test
+    void engine_isSafeAcrossThreads() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = pool.invokeAll(java.util.Collections.nCopies(64, () -> {
+                for (int i = 0; i < 200; i++) {
+                    String value = Thread.currentThread().getName() + i;
+                    if (!value.equals(engine.decrypt(engine.encrypt(value)))) return false;
+                }
+                return true;
+            }));
+            for (Future<Boolean> r : results) {
+                assertTrue(r.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void constructor_rejectsInvalidKeyLength() {
+        assertThrows(IllegalArgumentException.class, () -> new AesGcmEngine(new byte[20]));
+    }
+}
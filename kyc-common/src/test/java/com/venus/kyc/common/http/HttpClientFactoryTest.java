@@ -0,0 +1,124 @@
+package com.venus.kyc.common.http;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpClientFactoryTest {
+
+    private HttpServer server;
+    private String baseUrl;
+    private final AtomicInteger hits = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/unavailable", exchange -> {
+            hits.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            byte[] body = "busy".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(503, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(2_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void settings_serviceOverridesDefaultOverridesBuiltIn() {
+        Map<String, String> props = Map.of(
+                "kyc.http.default.read-timeout-ms", "4000",
+                "kyc.http.default.max-get-retries", "1",
+                "kyc.http.risk-service.read-timeout-ms", "30000");
+
+        HttpClientSettings risk = HttpClientSettings.resolve("risk-service", props::get);
+        HttpClientSettings other = HttpClientSettings.resolve("screening-service", props::get);
+
+        assertEquals(Duration.ofSeconds(30), risk.readTimeout());
+        assertEquals(Duration.ofSeconds(4), other.readTimeout());
+        assertEquals(1, risk.maxGetRetries());
+        assertEquals(HttpClientSettings.DEFAULTS.connectTimeout(), risk.connectTimeout());
+        assertEquals(HttpClientSettings.DEFAULTS.maxConnectionsPerRoute(), other.maxConnectionsPerRoute());
+    }
+
+    @Test
+    void settings_rejectsPerRouteAboveTotal() {
+        Map<String, String> props = Map.of(
+                "kyc.http.default.max-connections-per-route", "10",
+                "kyc.http.default.max-connections", "5");
+
+        assertThrows(IllegalArgumentException.class, () -> HttpClientSettings.resolve("x", props::get));
+    }
+
+    @Test
+    void get_retriedUpToLimit() {
+        try (HttpClientFactory factory = new HttpClientFactory(Map.of("kyc.http.svc.max-get-retries", "2")::get)) {
+            RestClient client = RestClient.builder().requestFactory(factory.requestFactory("svc")).build();
+
+            assertThrows(HttpServerErrorException.class,
+                    () -> client.get().uri(baseUrl + "/unavailable").retrieve().toBodilessEntity());
+            assertEquals(3, hits.get());
+        }
+    }
+
+    @Test
+    void post_neverRetried() {
+        try (HttpClientFactory factory = new HttpClientFactory(Map.of("kyc.http.svc.max-get-retries", "2")::get)) {
+            RestClient client = RestClient.builder().requestFactory(factory.requestFactory("svc")).build();
+
+            assertThrows(HttpServerErrorException.class,
+                    () -> client.post().uri(baseUrl + "/unavailable").body("x").retrieve().toBodilessEntity());
+            assertEquals(1, hits.get());
+        }
+    }
+
+    @Test
+    void readTimeout_appliesPerService() {
+        try (HttpClientFactory factory = new HttpClientFactory(Map.of("kyc.http.impatient.read-timeout-ms", "200")::get)) {
+            RestClient impatient = RestClient.builder().requestFactory(factory.requestFactory("impatient")).build();
+
+            long start = System.nanoTime();
+            assertThrows(ResourceAccessException.class,
+                    () -> impatient.get().uri(baseUrl + "/slow").retrieve().toBodilessEntity());
+            assertTrue(System.nanoTime() - start < 1_500_000_000L, "should give up after the read timeout");
+        }
+    }
+
+    @Test
+    void requestFactory_sharedPerService() {
+        try (HttpClientFactory factory = new HttpClientFactory(key -> null)) {
+            assertSame(factory.requestFactory("a"), factory.requestFactory("a"));
+            assertNotSame(factory.requestFactory("a"), factory.requestFactory("b"));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.venus.kyc.common.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerSentEventReaderTest {
+
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void read_parsesFieldsAndSkipsComments() throws IOException {
+        List<ServerSentEventReader.Event> events = new ArrayList<>();
+
+        boolean ended = ServerSentEventReader.read(stream("""
+                :keep-alive
+
+                event:status
+                id:1
+                data:{"a":1}
+
+                data: first
+                data: second
+
+                """), events::add);
+
+        assertTrue(ended);
+        assertEquals(List.of(
+                new ServerSentEventReader.Event("1", "status", "{\"a\":1}"),
+                new ServerSentEventReader.Event("1", "message", "first\nsecond")), events);
+    }
+
+    @Test
+    void read_handlerCanStopTheStream() throws IOException {
+        List<String> seen = new ArrayList<>();
+
+        boolean ended = ServerSentEventReader.read(stream("data:a\n\ndata:b\n\ndata:c\n\n"), event -> {
+            seen.add(event.data());
+            return !"b".equals(event.data());
+        });
+
+        assertFalse(ended);
+        assertEquals(List.of("a", "b"), seen);
+    }
+
+    @Test
+    void read_incompleteTrailingEventIsDropped() throws IOException {
+        List<ServerSentEventReader.Event> events = new ArrayList<>();
+
+        ServerSentEventReader.read(stream("data:done\n\ndata:partial"), events::add);
+
+        assertEquals(1, events.size());
+    }
+}
@@ -0,0 +1,46 @@
+package com.venus.kyc.common.paging;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageCursorTest {
+
+    @Test
+    void encode_roundTripsSortKeyAndId() {
+        PageCursor cursor = new PageCursor("2024-03-01T10:15:30|x", 42L);
+
+        PageCursor decoded = PageCursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+        assertEquals(PageCursor.ofId(7L), PageCursor.decode(PageCursor.ofId(7L).encode()));
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 10, 15, 30, 123_456_000);
+        assertEquals(createdAt, PageCursor.decode(PageCursor.of(createdAt, 9L).encode()).timestampKey());
+        assertTrue(cursor.encode().matches("[A-Za-z0-9_-]+"), "cursor must be URL-safe");
+    }
+
+    @Test
+    void decode_blankIsFirstPage_andGarbageIsRejected() {
+        assertNull(PageCursor.decode(null));
+        assertNull(PageCursor.decode(""));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("not a cursor!"));
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.decode("YWJj")); // "abc"
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.ofId(1L).timestampKey());
+    }
+
+    @Test
+    void of_setsNextCursorOnlyWhenAnExtraRowWasFetched() {
+        CursorPage<Long> last = CursorPage.of(List.of(3L, 2L), 2, PageCursor::ofId);
+        CursorPage<Long> more = CursorPage.of(List.of(3L, 2L, 1L), 2, PageCursor::ofId);
+
+        assertEquals(List.of(3L, 2L), last.content());
+        assertNull(last.nextCursor());
+        assertEquals(List.of(3L, 2L), more.content());
+        assertEquals(PageCursor.ofId(2L), PageCursor.decode(more.nextCursor()));
+        assertEquals(1, CursorPage.limit(0));
+        assertEquals(CursorPage.MAX_LIMIT, CursorPage.limit(10_000));
+    }
+}
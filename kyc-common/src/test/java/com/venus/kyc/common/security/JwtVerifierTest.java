@@ -0,0 +1,104 @@
+package com.venus.kyc.common.security;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtVerifierTest {
+
+    private static final String SECRET =
+            "test-secret-test-secret-test-secret-test-secret-test-secret-test-secret-0123456789";
+    private static final Instant NOW = Instant.parse("2024-03-01T10:00:00Z");
+
+    private final MutableClock clock = new MutableClock(NOW);
+    private final JwtVerifier verifier = new JwtVerifier(SECRET, 2, clock);
+
+    @Test
+    void authenticate_readsSubjectAndAuthorities_andCachesUntilExpiry() {
+        String token = token("alice", "ROLE_ANALYST,VIEW_CLIENTS", NOW.plusSeconds(60));
+
+        Authentication first = verifier.authenticate(token);
+
+        assertEquals("alice", first.getName());
+        assertTrue(first.isAuthenticated());
+        assertEquals(List.of("ROLE_ANALYST", "VIEW_CLIENTS"),
+                first.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        assertSame(first, verifier.authenticate(token), "second request must be served from the cache");
+        assertEquals(1, verifier.cachedTokens());
+
+        clock.now = NOW.plusSeconds(61);
+        assertThrows(ExpiredJwtException.class, () -> verifier.authenticate(token));
+        assertEquals(0, verifier.cachedTokens());
+    }
+
+    @Test
+    void authenticate_rejectsForeignSignatureAndGarbage() {
+        String foreign = Jwts.builder()
+                .setSubject("mallory")
+                .setExpiration(Date.from(NOW.plusSeconds(60)))
+                .signWith(new JwtVerifier(SECRET.replace('t', 'x'), 1).signingKey(), SignatureAlgorithm.HS512)
+                .compact();
+
+        assertThrows(JwtException.class, () -> verifier.authenticate(foreign));
+        assertThrows(JwtException.class, () -> verifier.authenticate("not.a.jwt"));
+        assertThrows(IllegalArgumentException.class, () -> verifier.authenticate(""));
+        assertEquals(0, verifier.cachedTokens());
+    }
+
+    @Test
+    void cache_isBounded_andMakesRoomByDroppingExpiredTokens() {
+        verifier.authenticate(token("a", "X", NOW.plusSeconds(10)));
+        verifier.authenticate(token("b", "X", NOW.plusSeconds(60)));
+        verifier.authenticate(token("c", "X", NOW.plusSeconds(60)));
+        assertEquals(2, verifier.cachedTokens(), "full cache must not grow");
+
+        clock.now = NOW.plusSeconds(20);
+        verifier.authenticate(token("d", "X", NOW.plusSeconds(60)));
+        assertEquals(2, verifier.cachedTokens());
+    }
+
+    private String token(String subject, String authorities, Instant expiresAt) {
+        return Jwts.builder()
+                .setSubject(subject)
+                .claim(JwtVerifier.AUTHORITIES_CLAIM, authorities)
+                .setIssuedAt(Date.from(clock.instant()))
+                .setExpiration(Date.from(expiresAt))
+                .signWith(verifier.signingKey(), SignatureAlgorithm.HS512)
+                .compact();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -1,30 +1,96 @@
 package com.venus.kyc.orchestration.client;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.venus.kyc.orchestration.dto.KycPrecheckRequest;
 import lombok.Data;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class RiskClient {
 
+    private static final String CALLER_SYSTEM = "KYC-ORCHESTRATION";
+    private static final String API_KEY_HEADER = "X-Internal-Api-Key";
+
     private final RestTemplate restTemplate;
-    private static final String RISK_URL = "http://RISK-SERVICE/api/internal/risk/calculate";
+    private final String riskUrl;
+    private final String internalApiKey;
+    private final boolean mock;
+
+    public RiskClient(@Qualifier("riskRestTemplate") RestTemplate restTemplate,
+                      @Value("${kyc.clients.risk-url:http://RISK-SERVICE/api/internal/risk/calculate}") String riskUrl,
+                      @Value("${kyc.clients.internal-api-key:dev-internal-kyc-key-change-in-prod}") String internalApiKey,
+                      @Value("${kyc.clients.mock:true}") boolean mock) {
+        this.restTemplate = restTemplate;
+        this.riskUrl = riskUrl;
+        this.internalApiKey = internalApiKey;
+        this.mock = mock;
+    }
+
+    /**
+     * Rates the client from its own data (CRRE pillars: residence, citizenship, occupation), so
+     * it does not have to wait for the screening outcome.
+     */
+    public RiskResult calculateRisk(KycPrecheckRequest request) {
+        log.info("Calling RiskService at {}", riskUrl);
+        if (mock) {
+            // Mocked response for scaffolding
+            RiskResult result = new RiskResult();
+            result.setRiskRequestId(UUID.randomUUID().toString());
+            result.setRiskRating("LOW");
+            return result;
+        }
+
+        String requestId = UUID.randomUUID().toString();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(API_KEY_HEADER, internalApiKey);
+        JsonNode response = restTemplate.postForObject(riskUrl,
+                new HttpEntity<>(buildRequest(request, requestId), headers), JsonNode.class);
+        if (response == null) {
+            throw new IllegalStateException("RiskService returned an empty response");
+        }
 
-    public RiskResult calculateRisk(Object riskPayload) {
-        log.info("Calling RiskService at {}", RISK_URL);
-        // Mocked response for scaffolding
         RiskResult result = new RiskResult();
-        result.setRiskRequestId(UUID.randomUUID().toString());
-        result.setRiskRating("LOW");
+        result.setRiskRequestId(response.path("header").path("requestID").asText(requestId));
+        result.setRiskRating(response.path("clientRiskRatingResponse").path(0)
+                .path("overallRiskAssessment").path("overallRiskLevel").asText("UNKNOWN"));
         return result;
     }
 
+    /** Minimal RiskDTOs.CalculateRiskRequest for a single natural person. */
+    private static Map<String, Object> buildRequest(KycPrecheckRequest request, String requestId) {
+        Map<String, Object> header = Map.of(
+                "callerSystem", CALLER_SYSTEM,
+                "dbBusinessline", request.getBusinessLine(),
+                "requestID", requestId,
+                "requestTimeStamp", LocalDateTime.now().toString());
+        Map<String, Object> clientDetails = Map.of(
+                "recordID", request.getUniqueClientID(),
+                "clientAdoptionCountry", request.getCountryOfResidence());
+        Map<String, Object> geoRisk = Map.of(
+                "partyAccount", List.of(Map.of(
+                        "countryOfNationality", request.getSecondCitizenship() == null
+                                ? List.of(request.getPrimaryCitizenship())
+                                : List.of(request.getPrimaryCitizenship(), request.getSecondCitizenship()),
+                        "addressType", Map.of("clientDomicile", request.getCountryOfResidence()))));
+        Map<String, Object> item = request.getOccupation() == null
+                ? Map.of("clientDetails", clientDetails, "geoRiskType", geoRisk)
+                : Map.of("clientDetails", clientDetails, "geoRiskType", geoRisk,
+                        "industryRiskType", Map.of("occupationCode", List.of(request.getOccupation())));
+        return Map.of("header", header, "clientRiskRatingRequest", List.of(item));
+    }
+
     @Data
     public static class RiskResult {
         private String riskRequestId;
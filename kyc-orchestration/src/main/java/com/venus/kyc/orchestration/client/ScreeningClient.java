@@ -1,30 +1,138 @@
 package com.venus.kyc.orchestration.client;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.venus.kyc.common.http.ServerSentEventReader;
 import com.venus.kyc.orchestration.dto.KycPrecheckRequest;
 import lombok.Data;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class ScreeningClient {
 
+    private static final String API_KEY_HEADER = "X-Internal-Api-Key";
+    private static final String COMPLETED = "COMPLETED";
+
     private final RestTemplate restTemplate;
-    private static final String SCREENING_URL = "http://SCREENING-SERVICE/api/internal/screening/initiate";
+    private final RestTemplate eventsRestTemplate;
+    private final ObjectMapper objectMapper;
+    private final String screeningUrl;
+    private final String statusStreamUrl;
+    private final String internalApiKey;
+    private final boolean mock;
+
+    public ScreeningClient(@Qualifier("screeningRestTemplate") RestTemplate restTemplate,
+                           @Qualifier("screeningEventsRestTemplate") RestTemplate eventsRestTemplate,
+                           ObjectMapper objectMapper,
+                           @Value("${kyc.clients.screening-url:http://SCREENING-SERVICE/api/internal/screening/initiate}") String screeningUrl,
+                           @Value("${kyc.clients.screening-status-stream-url:http://SCREENING-SERVICE/api/internal/screening/status/{requestId}/stream}") String statusStreamUrl,
+                           @Value("${kyc.clients.internal-api-key:dev-internal-kyc-key-change-in-prod}") String internalApiKey,
+                           @Value("${kyc.clients.mock:true}") boolean mock) {
+        this.restTemplate = restTemplate;
+        this.eventsRestTemplate = eventsRestTemplate;
+        this.objectMapper = objectMapper;
+        this.screeningUrl = screeningUrl;
+        this.statusStreamUrl = statusStreamUrl;
+        this.internalApiKey = internalApiKey;
+        this.mock = mock;
+    }
 
     public ScreeningResult initiateScreening(KycPrecheckRequest request) {
-        log.info("Calling ScreeningService at {}", SCREENING_URL);
-        // Mocked response for scaffolding
+        log.info("Calling ScreeningService at {}", screeningUrl);
+        if (mock) {
+            // Mocked response for scaffolding
+            ScreeningResult result = new ScreeningResult();
+            result.setScreeningRequestId(UUID.randomUUID().toString());
+            result.setHit(Math.random() > 0.5 ? "Hit" : "NoHit");
+            result.setHitContext(List.of("PEP"));
+            return result;
+        }
+
+        // ScreeningDTOs.ScreeningInternalRequest -> InitiateScreeningResponse
+        Map<String, Object> body = Map.of(
+                "firstName", request.getFirstName(),
+                "lastName", request.getLastName(),
+                "dateOfBirth", request.getDob(),
+                "citizenship", request.getPrimaryCitizenship());
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(API_KEY_HEADER, internalApiKey);
+        InitiateScreeningResponse response = restTemplate.postForObject(screeningUrl,
+                new HttpEntity<>(body, headers), InitiateScreeningResponse.class);
+        if (response == null) {
+            throw new IllegalStateException("ScreeningService returned an empty response");
+        }
+
+        ScreeningResult result = new ScreeningResult();
+        result.setScreeningRequestId(response.getRequestId());
+        result.setHit(response.isHit() ? "Hit" : "NoHit");
+        // Per-context results are only known once the vendor answers, see awaitResult
+        result.setHitContext(List.of());
+        return result;
+    }
+
+    /** False for the scaffolding responses, which have no screening behind them to follow. */
+    public boolean streamsStatus() {
+        return !mock;
+    }
+
+    /**
+     * Follows the screening's status stream until the vendor has answered every context and returns
+     * the final result. Returns null when the stream ends before that (server-side timeout, restart);
+     * the caller may simply reconnect, as the first event is always the current snapshot.
+     */
+    public ScreeningResult awaitResult(String screeningRequestId) {
+        return eventsRestTemplate.execute(statusStreamUrl, HttpMethod.GET,
+                request -> {
+                    request.getHeaders().setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+                    request.getHeaders().set(API_KEY_HEADER, internalApiKey);
+                },
+                response -> {
+                    AtomicReference<StatusSnapshot> completed = new AtomicReference<>();
+                    ServerSentEventReader.read(response.getBody(), event -> {
+                        StatusSnapshot snapshot = parse(event.data());
+                        if (!COMPLETED.equals(snapshot.getOverallStatus())) {
+                            return true;
+                        }
+                        completed.set(snapshot);
+                        return false;
+                    });
+                    return completed.get() == null ? null : toResult(completed.get());
+                },
+                screeningRequestId);
+    }
+
+    private StatusSnapshot parse(String json) {
+        try {
+            return objectMapper.readValue(json, StatusSnapshot.class);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Unreadable screening status event", e);
+        }
+    }
+
+    private static ScreeningResult toResult(StatusSnapshot snapshot) {
+        List<String> hitContext = snapshot.getResults() == null ? List.of() : snapshot.getResults().stream()
+                .filter(result -> "HIT".equals(result.getStatus()))
+                .map(ContextResult::getContextType)
+                .toList();
         ScreeningResult result = new ScreeningResult();
-        result.setScreeningRequestId(UUID.randomUUID().toString());
-        result.setHit(Math.random() > 0.5 ? "Hit" : "NoHit");
-        result.setHitContext(List.of("PEP"));
+        result.setScreeningRequestId(snapshot.getRequestId());
+        result.setHit(hitContext.isEmpty() ? "NoHit" : "Hit");
+        result.setHitContext(hitContext);
         return result;
     }
 
@@ -34,4 +142,26 @@ public class ScreeningClient {
         private String hit;
         private List<String> hitContext;
     }
+
+    @Data
+    static class InitiateScreeningResponse {
+        private boolean hit;
+        private String requestId;
+    }
+
+    // ScreeningDTOs.ScreeningStatusResponse, as sent on the status stream
+    @Data
+    static class StatusSnapshot {
+        private String requestId;
+        private long version;
+        private String overallStatus;
+        private List<ContextResult> results;
+    }
+
+    @Data
+    static class ContextResult {
+        private String contextType;
+        private String status;
+        private String alertMessage;
+    }
 }
@@ -1,28 +1,37 @@
 package com.venus.kyc.orchestration.client;
 
 import com.venus.kyc.orchestration.dto.KycPrecheckRequest;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.Map;
 import java.util.UUID;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class ViewerClient {
 
     private final RestTemplate restTemplate;
-    private static final String VIEWER_URL = "http://VIEWER/api/prospects/onboard";
+    private final String viewerUrl;
+    private final boolean mock;
+
+    public ViewerClient(@Qualifier("viewerRestTemplate") RestTemplate restTemplate,
+                        @Value("${kyc.clients.viewer-url:http://VIEWER/api/prospects/onboard}") String viewerUrl,
+                        @Value("${kyc.clients.mock:true}") boolean mock) {
+        this.restTemplate = restTemplate;
+        this.viewerUrl = viewerUrl;
+        this.mock = mock;
+    }
 
     public String onboardUser(KycPrecheckRequest request) {
-        log.info("Calling ViewerService at {}", VIEWER_URL);
-        try {
-            // Mocking RestTemplate call to onboard user. In reality:
-            // return restTemplate.postForObject(VIEWER_URL, request, String.class);
+        log.info("Calling ViewerService at {}", viewerUrl);
+        if (mock) {
             return UUID.randomUUID().toString();
+        }
+        try {
+            return restTemplate.postForObject(viewerUrl, request, String.class);
         } catch (Exception e) {
             log.error("ViewerService call failed: {}", e.getMessage());
             throw e;
@@ -1,12 +1,21 @@
 package com.venus.kyc.orchestration.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
+/**
+ * Executors for the orchestration's background work. Spring Boot Actuator binds every
+ * ThreadPoolTaskExecutor bean here to executor.* metrics (pool size, active threads, queued
+ * tasks, remaining queue capacity) tagged name=&lt;bean name&gt;; the virtual-thread executors
+ * used on Java 21+ have no pool or queue to report.
+ */
 @Configuration
 @EnableAsync
 public class AsyncConfig {
@@ -28,4 +37,66 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * Runs the downstream calls of each precheck (screening, risk, KYC-NCA ingestion). They spend
+     * nearly all their time blocked on HTTP, so on Java 21+ every call gets its own virtual thread.
+     * Older runtimes fall back to a pool of platform threads with no queue: when all are busy the
+     * request thread makes the call itself rather than letting it wait out its deadline in a queue.
+     */
+    @Bean(name = "kycPrecheckExecutor")
+    public Executor kycPrecheckExecutor(@Value("${kyc.precheck.platform-threads:200}") int platformThreads) {
+        if (Runtime.version().feature() >= 21) {
+            return new VirtualThreadTaskExecutor("kyc-precheck-");
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(platformThreads);
+        executor.setMaxPoolSize(platformThreads);
+        executor.setQueueCapacity(0);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("kyc-precheck-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Posts webhook deliveries claimed from the outbox, one batch at a time. The queue holds a
+     * whole batch; should it ever overflow, the dispatcher thread delivers the rest itself.
+     */
+    @Bean(name = "webhookDispatchExecutor")
+    public Executor webhookDispatchExecutor(@Value("${kyc.webhook.dispatch-threads:8}") int dispatchThreads,
+                                            @Value("${kyc.webhook.batch-size:32}") int batchSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(dispatchThreads);
+        executor.setMaxPoolSize(dispatchThreads);
+        executor.setQueueCapacity(batchSize);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("kyc-webhook-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Follows screening status streams after a precheck has answered, until the vendor result is
+     * in. Each follower sits blocked on its stream, so on Java 21+ each gets a virtual thread;
+     * older runtimes use a bounded pool and drop followers beyond it (the result is then only
+     * recorded when KYC-NCA reports the status).
+     */
+    @Bean(name = "screeningFollowExecutor")
+    public Executor screeningFollowExecutor(@Value("${kyc.screening.follow-threads:200}") int followThreads) {
+        if (Runtime.version().feature() >= 21) {
+            return new VirtualThreadTaskExecutor("kyc-screening-follow-");
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(followThreads);
+        executor.setMaxPoolSize(followThreads);
+        executor.setQueueCapacity(0);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setThreadNamePrefix("kyc-screening-follow-");
+        executor.initialize();
+        return executor;
+    }
 }
@@ -1,22 +1,60 @@
 package com.venus.kyc.orchestration.config;
 
+import com.venus.kyc.common.http.HttpClientFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class RestTemplateConfig {
 
     /**
-     * Load-balanced RestTemplate for calls to Eureka-registered services
-     * (ScreeningClient, RiskClient, ViewerClient).
+     * Pooled HTTP connections, one pool per downstream service, tuned with the
+     * kyc.http.&lt;service&gt;.* properties (see HttpClientSettings). Closed with the context.
      */
+    @Bean
+    public HttpClientFactory httpClientFactory(Environment environment) {
+        return new HttpClientFactory(environment::getProperty);
+    }
+
+    /*
+     * Load-balanced RestTemplates for calls to Eureka-registered services, one per
+     * service so each gets its own pool and timeouts.
+     */
+
+    @Bean
+    @LoadBalanced
+    @Qualifier("screeningRestTemplate")
+    public RestTemplate screeningRestTemplate(HttpClientFactory httpClients) {
+        return new RestTemplate(httpClients.requestFactory("screening-service"));
+    }
+
+    /**
+     * Screening status streams stay open until the vendor answers, so they get a pool of their
+     * own with a long read timeout (covering the heartbeat interval) and no retries.
+     */
+    @Bean
+    @LoadBalanced
+    @Qualifier("screeningEventsRestTemplate")
+    public RestTemplate screeningEventsRestTemplate(HttpClientFactory httpClients) {
+        return new RestTemplate(httpClients.requestFactory("screening-events"));
+    }
+
+    @Bean
+    @LoadBalanced
+    @Qualifier("riskRestTemplate")
+    public RestTemplate riskRestTemplate(HttpClientFactory httpClients) {
+        return new RestTemplate(httpClients.requestFactory("risk-service"));
+    }
+
     @Bean
     @LoadBalanced
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    @Qualifier("viewerRestTemplate")
+    public RestTemplate viewerRestTemplate(HttpClientFactory httpClients) {
+        return new RestTemplate(httpClients.requestFactory("viewer"));
     }
 
     /**
@@ -26,7 +64,7 @@ public class RestTemplateConfig {
      */
     @Bean
     @Qualifier("externalRestTemplate")
-    public RestTemplate externalRestTemplate() {
-        return new RestTemplate();
+    public RestTemplate externalRestTemplate(HttpClientFactory httpClients) {
+        return new RestTemplate(httpClients.requestFactory("webhook"));
     }
 }
@@ -0,0 +1,92 @@
+package com.venus.kyc.orchestration.controller;
+
+import com.venus.kyc.orchestration.dto.ErrorResponse;
+import com.venus.kyc.orchestration.dto.WebhookDeadLetterResponse;
+import com.venus.kyc.orchestration.service.WebhookDeadLetterService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Webhook Dead Letters", description = "Inspect and replay webhook notifications that could not be delivered")
+public class WebhookDeadLetterController {
+
+    private final WebhookDeadLetterService webhookDeadLetterService;
+
+    // -------------------------------------------------------------------------
+    // GET /api/v1/orchestration/webhooks/dead-letters
+    // -------------------------------------------------------------------------
+
+    @Operation(
+            summary = "List dead-lettered webhooks — internal",
+            description = """
+                    **Internal endpoint — for KYC Platform operations.**
+
+                    Lists webhook notifications whose delivery was given up, newest first: retries were \
+                    exhausted or the receiver rejected the call with a 4xx. Filter by `kycId` to find \
+                    the notification of one KYC record.
+                    """,
+            tags = {"Internal Callbacks"}
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Page of dead letters (possibly empty)")
+    @GetMapping("/api/v1/orchestration/webhooks/dead-letters")
+    public ResponseEntity<List<WebhookDeadLetterResponse>> listDeadLetters(
+            @Parameter(description = "Only dead letters for this KYC record", example = "nR7kW2pL")
+            @RequestParam(required = false) String kycId,
+            @Parameter(description = "Zero-based page number") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size, at most 500") @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(webhookDeadLetterService.list(kycId, page, size));
+    }
+
+    // -------------------------------------------------------------------------
+    // POST /api/v1/orchestration/webhooks/dead-letters/{id}/replay
+    // -------------------------------------------------------------------------
+
+    @Operation(
+            summary = "Replay a dead-lettered webhook — internal",
+            description = """
+                    **Internal endpoint — for KYC Platform operations.**
+
+                    Puts the notification back on the webhook outbox for immediate redelivery with a \
+                    fresh retry budget. The dead letter is kept and marked as replayed; a replay that \
+                    fails again is dead-lettered as a new entry.
+                    """,
+            tags = {"Internal Callbacks"}
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Notification queued for redelivery",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = WebhookDeadLetterResponse.class))),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "No dead letter exists for the supplied id",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/api/v1/orchestration/webhooks/dead-letters/{id}/replay")
+    public ResponseEntity<WebhookDeadLetterResponse> replayDeadLetter(@PathVariable Long id) {
+        log.info("Webhook dead letter replay requested: id={}", id);
+        return ResponseEntity.accepted().body(webhookDeadLetterService.replay(id));
+    }
+}
@@ -0,0 +1,49 @@
+package com.venus.kyc.orchestration.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A webhook notification that could not be delivered: retries were exhausted or the receiver
+ * rejected it outright. Kept for ops to inspect and replay via
+ * {@code /api/v1/orchestration/webhooks/dead-letters}.
+ */
+@Entity
+@Table(name = "webhook_dead_letter",
+        indexes = @Index(name = "idx_webhook_dead_letter_kyc_id", columnList = "kyc_id"))
+@Getter
+@Setter
+public class WebhookDeadLetter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "kyc_id")
+    private String kycId;
+
+    @Column(length = 2048, nullable = false)
+    private String webhookUrl;
+
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    private int attempts;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    /** When the notification was first queued. */
+    private LocalDateTime queuedAt;
+
+    private LocalDateTime deadLetteredAt;
+
+    /** Last time ops put this notification back on the outbox; null if never replayed. */
+    private LocalDateTime replayedAt;
+
+    private int replayCount;
+}
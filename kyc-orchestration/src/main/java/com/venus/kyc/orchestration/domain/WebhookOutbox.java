@@ -0,0 +1,61 @@
+package com.venus.kyc.orchestration.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A webhook notification waiting to be delivered. Written in the same transaction as the status
+ * change it reports, so a committed status change always has its notification queued, and
+ * removed once the receiver acknowledges it or it is moved to {@link WebhookDeadLetter}.
+ */
+@Entity
+@Table(name = "webhook_outbox",
+        indexes = @Index(name = "idx_webhook_outbox_next_attempt", columnList = "next_attempt_at"))
+@Getter
+@Setter
+public class WebhookOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String kycId;
+
+    @Column(length = 2048, nullable = false)
+    private String webhookUrl;
+
+    /** The serialized {@code KycStatusResponse}, posted verbatim. */
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    /** Delivery attempts made so far. */
+    private int attempts;
+
+    /** Not picked up by the dispatcher before this time (exponential back-off between attempts). */
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    /** Set while a dispatcher is delivering the message; other dispatchers skip it until then. */
+    private LocalDateTime lockedUntil;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    private LocalDateTime createdAt;
+
+    /** Guards against a dispatcher whose lease ran out recording an outcome over a newer claim. */
+    @Version
+    private long version;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+}
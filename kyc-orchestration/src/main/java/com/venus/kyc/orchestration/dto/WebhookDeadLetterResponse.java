@@ -0,0 +1,41 @@
+package com.venus.kyc.orchestration.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@Schema(description = "A webhook notification that could not be delivered and awaits replay.")
+public class WebhookDeadLetterResponse {
+
+    @Schema(description = "Dead-letter identifier, used to replay the notification.", example = "17")
+    private Long id;
+
+    @Schema(description = "Opaque KYC identifier the notification reports on.", example = "nR7kW2pL")
+    private String kycId;
+
+    @Schema(description = "Receiver URL registered at initiation.",
+            example = "https://eis-gateway.internal/api/kyc/callbacks/status")
+    private String webhookUrl;
+
+    @Schema(description = "Delivery attempts made before the notification was dead-lettered.", example = "6")
+    private int attempts;
+
+    @Schema(description = "Error returned by the last attempt.", example = "503 Service Unavailable")
+    private String lastError;
+
+    @Schema(description = "When the notification was first queued.")
+    private LocalDateTime queuedAt;
+
+    @Schema(description = "When delivery was given up.")
+    private LocalDateTime deadLetteredAt;
+
+    @Schema(description = "Last time the notification was replayed; null if never.")
+    private LocalDateTime replayedAt;
+
+    @Schema(description = "How often the notification has been replayed.", example = "0")
+    private int replayCount;
+}
@@ -0,0 +1,22 @@
+package com.venus.kyc.orchestration.exception;
+
+import lombok.Getter;
+
+/**
+ * A downstream dependency the precheck cannot complete without (screening, risk) failed
+ * or missed its deadline. The remaining precheck calls have already been cancelled.
+ */
+@Getter
+public class DependencyFailedException extends RuntimeException {
+
+    private final String dependency;
+    private final boolean timedOut;
+
+    public DependencyFailedException(String dependency, boolean timedOut, Throwable cause) {
+        super(timedOut
+                ? dependency + " did not answer within its deadline"
+                : dependency + " failed: " + cause.getMessage(), cause);
+        this.dependency = dependency;
+        this.timedOut = timedOut;
+    }
+}
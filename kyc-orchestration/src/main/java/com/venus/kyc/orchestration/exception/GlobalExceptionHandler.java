@@ -44,6 +44,20 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, ex.getStatusCode());
     }
 
+    @ExceptionHandler(DependencyFailedException.class)
+    public ResponseEntity<ErrorResponse> handleDependencyFailedException(DependencyFailedException ex) {
+        log.error("Precheck dependency failed: {}", ex.getMessage());
+        HttpStatus status = ex.isTimedOut() ? HttpStatus.GATEWAY_TIMEOUT : HttpStatus.BAD_GATEWAY;
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error("Downstream Service Error")
+                .message("KYC precheck could not be completed: " + ex.getDependency()
+                        + (ex.isTimedOut() ? " timed out" : " is unavailable"))
+                .build();
+        return new ResponseEntity<>(errorResponse, status);
+    }
+
     @ExceptionHandler(ResponseStatusException.class)
     public ResponseEntity<ErrorResponse> handleResponseStatusException(ResponseStatusException ex) {
         log.warn("ResponseStatusException: {}", ex.getMessage());
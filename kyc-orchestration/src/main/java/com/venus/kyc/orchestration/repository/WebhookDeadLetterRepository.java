@@ -0,0 +1,11 @@
+package com.venus.kyc.orchestration.repository;
+
+import com.venus.kyc.orchestration.domain.WebhookDeadLetter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface WebhookDeadLetterRepository extends JpaRepository<WebhookDeadLetter, Long> {
+
+    Page<WebhookDeadLetter> findByKycId(String kycId, Pageable pageable);
+}
@@ -0,0 +1,31 @@
+package com.venus.kyc.orchestration.repository;
+
+import com.venus.kyc.orchestration.domain.WebhookOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface WebhookOutboxRepository extends JpaRepository<WebhookOutbox, Long> {
+
+    /**
+     * Due messages not leased to another dispatcher, oldest first, row-locked with
+     * {@code FOR UPDATE SKIP LOCKED} (lock timeout -2) so concurrent dispatchers claim disjoint batches.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+            SELECT o FROM WebhookOutbox o
+            WHERE o.nextAttemptAt <= :now
+              AND (o.lockedUntil IS NULL OR o.lockedUntil < :now)
+            ORDER BY o.nextAttemptAt
+            """)
+    List<WebhookOutbox> findClaimable(@Param("now") LocalDateTime now, Pageable page);
+}
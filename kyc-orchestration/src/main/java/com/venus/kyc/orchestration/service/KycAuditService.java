@@ -12,6 +12,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Handles all transactional writes to the KYC audit table.
@@ -64,13 +65,43 @@ public class KycAuditService {
     /**
      * Transitions an existing audit record to a new orchestration status.
      * Used by the PATCH /orchestration/{id}/status callback from KYC-NCA.
-     * Returns the updated audit record so the caller can fire a webhook.
+     * Returns the updated audit record so the caller can queue a webhook; flushed so that
+     * {@code updatedAt} is already set in the payload.
      */
     @Transactional
     public KycTransactionAudit updateStatus(KycTransactionAudit audit, KycStatus newStatus) {
         audit.setKycStatus(newStatus);
-        KycTransactionAudit saved = auditRepository.save(audit);
+        KycTransactionAudit saved = auditRepository.saveAndFlush(audit);
         log.info("Orchestration status updated: id={} newStatus={}", audit.getId(), newStatus);
         return saved;
     }
+
+    /**
+     * Records the vendor's screening result, which arrives after the precheck has answered. A hit
+     * on an APPROVED record moves it ON_HOLD (KYC-F-10); onHeld is then called inside this
+     * transaction, so a webhook it queues commits together with the change.
+     */
+    @Transactional
+    public void applyScreeningResult(Long auditId,
+                                     ScreeningStatus screeningStatus,
+                                     List<String> screeningContext,
+                                     Consumer<KycTransactionAudit> onHeld) {
+        KycTransactionAudit audit = auditRepository.findById(auditId).orElse(null);
+        if (audit == null) {
+            log.warn("Screening result for unknown audit record id={} ignored", auditId);
+            return;
+        }
+        audit.setScreeningStatus(screeningStatus);
+        audit.setScreeningContext(screeningContext);
+        boolean held = screeningStatus == ScreeningStatus.HIT && audit.getKycStatus() == KycStatus.APPROVED;
+        if (held) {
+            audit.setKycStatus(KycStatus.ON_HOLD);
+        }
+        KycTransactionAudit saved = auditRepository.saveAndFlush(audit);
+        log.info("Screening result applied: id={} screeningStatus={} kycStatus={}",
+                auditId, screeningStatus, saved.getKycStatus());
+        if (held) {
+            onHeld.accept(saved);
+        }
+    }
 }
@@ -11,15 +11,20 @@ import com.venus.kyc.orchestration.dto.KycPrecheckRequest;
 import com.venus.kyc.orchestration.dto.KycPrecheckResponse;
 import com.venus.kyc.orchestration.dto.KycStatusResponse;
 import com.venus.kyc.orchestration.dto.KycStatusUpdateRequest;
+import com.venus.kyc.orchestration.exception.DependencyFailedException;
 import com.venus.kyc.orchestration.repository.KycTransactionAuditRepository;
 import com.venus.kyc.orchestration.util.PiiMaskingUtil;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.hashids.Hashids;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -39,7 +44,14 @@ public class KycOrchestrationService {
     private final KycTransactionAuditRepository auditRepository;
     private final WebhookNotificationService webhookNotificationService;
     private final Executor kycOrchestrationExecutor;
+    private final Executor precheckExecutor;
+    private final Executor screeningFollowExecutor;
     private final Hashids hashids;
+    private final Duration screeningDeadline;
+    private final Duration riskDeadline;
+    private final Duration viewerDeadline;
+    private final int screeningFollowAttempts;
+    private final MeterRegistry meterRegistry;
 
     public KycOrchestrationService(ViewerClient viewerClient,
                                    ScreeningClient screeningClient,
@@ -48,7 +60,14 @@ public class KycOrchestrationService {
                                    KycTransactionAuditRepository auditRepository,
                                    WebhookNotificationService webhookNotificationService,
                                    @Qualifier("kycOrchestrationExecutor") Executor kycOrchestrationExecutor,
-                                   Hashids hashids) {
+                                   @Qualifier("kycPrecheckExecutor") Executor precheckExecutor,
+                                   @Qualifier("screeningFollowExecutor") Executor screeningFollowExecutor,
+                                   Hashids hashids,
+                                   @Value("${kyc.precheck.deadline.screening:5s}") Duration screeningDeadline,
+                                   @Value("${kyc.precheck.deadline.risk:5s}") Duration riskDeadline,
+                                   @Value("${kyc.precheck.deadline.viewer:3s}") Duration viewerDeadline,
+                                   @Value("${kyc.screening.follow-attempts:3}") int screeningFollowAttempts,
+                                   MeterRegistry meterRegistry) {
         this.viewerClient = viewerClient;
         this.screeningClient = screeningClient;
         this.riskClient = riskClient;
@@ -56,7 +75,14 @@ public class KycOrchestrationService {
         this.auditRepository = auditRepository;
         this.webhookNotificationService = webhookNotificationService;
         this.kycOrchestrationExecutor = kycOrchestrationExecutor;
+        this.precheckExecutor = precheckExecutor;
+        this.screeningFollowExecutor = screeningFollowExecutor;
         this.hashids = hashids;
+        this.screeningDeadline = screeningDeadline;
+        this.riskDeadline = riskDeadline;
+        this.viewerDeadline = viewerDeadline;
+        this.screeningFollowAttempts = screeningFollowAttempts;
+        this.meterRegistry = meterRegistry;
     }
 
     public KycPrecheckResponse initiatePrecheck(KycPrecheckRequest request) {
@@ -107,41 +133,34 @@ public class KycOrchestrationService {
         String kycId = hashids.encode(savedAudit.getId());
         log.debug("Audit record persisted: id={} kycId={}", savedAudit.getId(), kycId);
 
-        // 2. Parallel execution: KYC-NCA ingestion (ViewerClient) + NLS screening
-        // ViewerClient — soft-fail: orchestration continues even if NCA ingestion fails
-        CompletableFuture<String> viewerFuture = CompletableFuture.supplyAsync(() -> {
-            try {
-                return viewerClient.onboardUser(request);
-            } catch (Exception e) {
-                log.warn("KYC-NCA ingestion failed for client={}, continuing: {}",
-                        request.getUniqueClientID(), e.getMessage());
-                return null;
-            }
-        }, kycOrchestrationExecutor).exceptionally(ex -> {
-            log.warn("KYC-NCA ingestion fallback for client={}: {}",
-                    request.getUniqueClientID(), ex.getMessage());
-            return null;
-        });
-
-        // ScreeningClient (NLS/NRTS) — fired off in parallel
-        CompletableFuture<ScreeningClient.ScreeningResult> screeningFuture = CompletableFuture.supplyAsync(
-                () -> screeningClient.initiateScreening(request), kycOrchestrationExecutor);
+        // 2. Fan out: KYC-NCA ingestion, NLS screening and CRRE risk rating all run at once. Risk is
+        // rated from the client data alone, so it need not wait for screening (KYC-F-06). A failed or
+        // late screening/risk call cancels the others; ingestion is soft-fail.
+        PrecheckScope.Subtask<String> viewer;
+        PrecheckScope.Subtask<ScreeningClient.ScreeningResult> screening;
+        PrecheckScope.Subtask<RiskClient.RiskResult> risk;
+        try (PrecheckScope scope = new PrecheckScope(precheckExecutor, meterRegistry)) {
+            screening = scope.fork("screening", screeningDeadline, () -> screeningClient.initiateScreening(request));
+            risk = scope.fork("risk", riskDeadline, () -> riskClient.calculateRisk(request));
+            viewer = scope.forkSoft("KYC-NCA ingestion", viewerDeadline, null, () -> viewerClient.onboardUser(request));
+            scope.join();
+        } catch (DependencyFailedException e) {
+            log.error("KYC Precheck aborted for client={} kycId={}: {}", request.getUniqueClientID(), kycId, e.getMessage());
+            throw e;
+        }
 
-        // 3. Await screening result before risk (sequential dependency per KYC-I-16)
-        LocalDateTime screeningStartAt = LocalDateTime.now();
-        ScreeningClient.ScreeningResult screeningResult = screeningFuture.join();
-        LocalDateTime screeningEndAt = LocalDateTime.now();
+        ScreeningClient.ScreeningResult screeningResult = screening.get();
+        RiskClient.RiskResult riskResult = risk.get();
+        String userId = viewer.get();
+        LocalDateTime screeningStartAt = screening.startedAt();
+        LocalDateTime screeningEndAt = screening.finishedAt();
+        LocalDateTime riskStartAt = risk.startedAt();
+        LocalDateTime riskEndAt = risk.finishedAt();
 
         log.info("Screening complete for client={}: hit={}", request.getUniqueClientID(), screeningResult.getHit());
-
-        // 4. Invoke CRRE risk rating immediately after screening (KYC-F-06)
-        LocalDateTime riskStartAt = LocalDateTime.now();
-        RiskClient.RiskResult riskResult = riskClient.calculateRisk(screeningResult);
-        LocalDateTime riskEndAt = LocalDateTime.now();
-
         log.info("Risk rating complete for client={}: rating={}", request.getUniqueClientID(), riskResult.getRiskRating());
 
-        // 5. Derive orchestration outcome (KYC-F-10)
+        // 3. Derive orchestration outcome (KYC-F-10)
         boolean onHold = "Hit".equalsIgnoreCase(screeningResult.getHit())
                 || "HIGH".equalsIgnoreCase(riskResult.getRiskRating());
         KycStatus orchStatus = onHold ? KycStatus.ON_HOLD : KycStatus.APPROVED;
@@ -151,11 +170,8 @@ public class KycOrchestrationService {
 
         log.info("Orchestration outcome for client={}: status={}", request.getUniqueClientID(), orchStatus);
 
-        // Viewer catch-up: zero additional latency if already finished during screening+risk
-        String userId = viewerFuture.join();
-
-        // 6. Finalize audit asynchronously — do not block the response
-        CompletableFuture.runAsync(() ->
+        // 4. Finalize audit asynchronously — do not block the response
+        CompletableFuture<Void> finalized = CompletableFuture.runAsync(() ->
                 kycAuditService.finalizeAudit(
                         savedAudit,
                         orchStatus, screeningStatus,
@@ -171,6 +187,18 @@ public class KycOrchestrationService {
             return null;
         });
 
+        // 5. The screening call only acknowledges the request; follow its status stream and record
+        // the vendor result once it is in. Started after finalizing so the two cannot interleave.
+        if (screeningClient.streamsStatus()) {
+            finalized.thenRunAsync(() -> followScreening(savedAudit.getId(), kycId,
+                            screeningResult.getScreeningRequestId()), screeningFollowExecutor)
+                    .exceptionally(ex -> {
+                        log.error("Failed to follow screening {} for kycId={}: {}",
+                                screeningResult.getScreeningRequestId(), kycId, ex.getMessage());
+                        return null;
+                    });
+        }
+
         log.info("KYC Precheck response dispatched: kycId={} name={} status={}",
                 kycId, PiiMaskingUtil.mask(request.getFirstName()), orchStatus);
 
@@ -195,6 +223,11 @@ public class KycOrchestrationService {
         return toStatusResponse(audit, kycId);
     }
 
+    /**
+     * Applies the status transition and queues the webhook in one transaction: the notification is
+     * sent if and only if the new status is committed.
+     */
+    @Transactional
     public KycStatusResponse updateKycStatus(String kycId, KycStatusUpdateRequest updateRequest) {
         KycTransactionAudit audit = findAuditOrThrow(kycId);
 
@@ -212,7 +245,7 @@ public class KycOrchestrationService {
         KycTransactionAudit updated = kycAuditService.updateStatus(audit, newStatus);
         KycStatusResponse response = toStatusResponse(updated, kycId);
 
-        // Fire webhook asynchronously if a URL was registered
+        // Queue the webhook in the outbox if a URL was registered; WebhookOutboxDispatcher delivers it
         webhookNotificationService.notify(updated.getWebhookUrl(), response);
 
         return response;
@@ -222,6 +255,28 @@ public class KycOrchestrationService {
     // Private helpers
     // ---------------------------------------------------------------------------
 
+    /**
+     * Waits on the screening status stream for the vendor result and records it. A hit on an
+     * APPROVED record puts it ON_HOLD (KYC-F-10), and the webhook is queued with that change.
+     */
+    private void followScreening(Long auditId, String kycId, String screeningRequestId) {
+        for (int attempt = 1; attempt <= screeningFollowAttempts; attempt++) {
+            ScreeningClient.ScreeningResult result = screeningClient.awaitResult(screeningRequestId);
+            if (result != null) {
+                ScreeningStatus screeningStatus = "Hit".equalsIgnoreCase(result.getHit())
+                        ? ScreeningStatus.HIT : ScreeningStatus.NO_HIT;
+                kycAuditService.applyScreeningResult(auditId, screeningStatus, result.getHitContext(),
+                        held -> webhookNotificationService.notify(held.getWebhookUrl(), toStatusResponse(held, kycId)));
+                log.info("Screening result recorded for kycId={}: {}", kycId, screeningStatus);
+                return;
+            }
+            log.debug("Screening status stream for kycId={} ended early (attempt {}/{})",
+                    kycId, attempt, screeningFollowAttempts);
+        }
+        log.warn("Screening {} for kycId={} still in progress after {} stream(s); result not recorded",
+                screeningRequestId, kycId, screeningFollowAttempts);
+    }
+
     /**
      * Decodes the opaque Hashids kycId back to the DB primary key and loads the record.
      * Returns 404 for any kycId that is syntactically invalid or not present in the DB.
@@ -0,0 +1,220 @@
+package com.venus.kyc.orchestration.service;
+
+import com.venus.kyc.orchestration.exception.DependencyFailedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Scoped fan-out for the downstream calls of one precheck, modelled on
+ * {@code StructuredTaskScope.ShutdownOnFailure}: every call is forked inside the scope with its
+ * own deadline, and none outlives the scope.
+ *
+ * <ul>
+ *   <li>{@link #fork} — a hard dependency. If it fails or misses its deadline, every sibling still
+ *       running is cancelled (its thread interrupted) and {@link #join()} throws
+ *       {@link DependencyFailedException} naming it.</li>
+ *   <li>{@link #forkSoft} — the precheck can do without it: on failure or deadline it yields the
+ *       fallback value and leaves its siblings alone.</li>
+ * </ul>
+ *
+ * Each subtask is timed from fork to completion as {@code kyc.precheck.dependency}, tagged with
+ * the dependency and its outcome (success, failure, timeout or cancelled), so queueing for a
+ * thread counts against it just as it counts against its deadline.
+ *
+ * Fork from the owning thread only, then {@link #join()}, then read the subtasks.
+ */
+@Slf4j
+final class PrecheckScope implements AutoCloseable {
+
+    private final Executor executor;
+    private final MeterRegistry meterRegistry;
+    private final List<Subtask<?>> subtasks = new ArrayList<>();
+    // completes once a subtask's outcome has been recorded, not merely once its result is in
+    private final List<CompletableFuture<?>> settled = new ArrayList<>();
+    private final AtomicReference<DependencyFailedException> failure = new AtomicReference<>();
+
+    PrecheckScope(Executor executor, MeterRegistry meterRegistry) {
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    <T> Subtask<T> fork(String dependency, Duration deadline, Callable<T> task) {
+        return start(new Subtask<>(dependency, task, false, null), deadline);
+    }
+
+    <T> Subtask<T> forkSoft(String dependency, Duration deadline, T fallback, Callable<T> task) {
+        return start(new Subtask<>(dependency, task, true, fallback), deadline);
+    }
+
+    /**
+     * Waits until every subtask has finished, failed, timed out or been cancelled.
+     *
+     * @throws DependencyFailedException for the first hard dependency that failed
+     */
+    void join() {
+        try {
+            CompletableFuture.allOf(settled.toArray(CompletableFuture[]::new)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelAll();
+            throw new IllegalStateException("Interrupted waiting for precheck dependencies", e);
+        } catch (ExecutionException e) {
+            // a subtask failed; hard failures were recorded as they happened
+        }
+        DependencyFailedException failed = failure.get();
+        if (failed != null) throw failed;
+    }
+
+    /** Cancels whatever is still running, e.g. when the owner leaves before {@link #join()}. */
+    @Override
+    public void close() {
+        cancelAll();
+    }
+
+    // ── Internals ────────────────────────────────────────────────────────────
+
+    private <T> Subtask<T> start(Subtask<T> subtask, Duration deadline) {
+        subtasks.add(subtask);
+        if (failure.get() != null) {
+            subtask.cancel(); // the scope already failed; don't start more work
+            settled.add(subtask.result);
+            return subtask;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        settled.add(subtask.result.orTimeout(deadline.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((value, error) -> {
+                    Throwable cause = error == null ? null : unwrap(error);
+                    sample.stop(meterRegistry.timer("kyc.precheck.dependency",
+                            "dependency", subtask.dependency, "outcome", outcome(cause)));
+                    if (cause != null) onFailure(subtask, cause);
+                }));
+        try {
+            executor.execute(subtask::run);
+        } catch (RejectedExecutionException e) {
+            subtask.result.completeExceptionally(e);
+        }
+        return subtask;
+    }
+
+    private void onFailure(Subtask<?> subtask, Throwable error) {
+        if (error instanceof CancellationException) return; // we cancelled it
+        boolean timedOut = error instanceof TimeoutException;
+        if (timedOut) subtask.interruptRunner(); // its result no longer matters
+
+        if (subtask.soft) {
+            log.warn("{} failed, continuing without it: {}", subtask.dependency,
+                    timedOut ? "deadline exceeded" : error.getMessage());
+            return;
+        }
+        if (failure.compareAndSet(null, new DependencyFailedException(subtask.dependency, timedOut, error))) {
+            log.warn("{} failed, cancelling the rest of the precheck", subtask.dependency);
+            cancelAll();
+        }
+    }
+
+    private void cancelAll() {
+        for (Subtask<?> subtask : subtasks) {
+            subtask.cancel();
+        }
+    }
+
+    private static String outcome(Throwable error) {
+        if (error == null) return "success";
+        if (error instanceof TimeoutException) return "timeout";
+        if (error instanceof CancellationException) return "cancelled";
+        return "failure";
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    // ── Subtask ──────────────────────────────────────────────────────────────
+
+    /** One forked call. Read it only after {@link PrecheckScope#join()} has returned normally. */
+    static final class Subtask<T> {
+
+        private final String dependency;
+        private final Callable<T> task;
+        private final boolean soft;
+        private final T fallback;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private Thread runner;           // guarded by this
+        private boolean interruptedByUs; // guarded by this
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+
+        private Subtask(String dependency, Callable<T> task, boolean soft, T fallback) {
+            this.dependency = dependency;
+            this.task = task;
+            this.soft = soft;
+            this.fallback = fallback;
+        }
+
+        /** The value, or the fallback of a soft subtask that failed. */
+        T get() {
+            if (soft && result.isCompletedExceptionally()) return fallback;
+            return result.join();
+        }
+
+        LocalDateTime startedAt() {
+            return startedAt;
+        }
+
+        LocalDateTime finishedAt() {
+            return finishedAt;
+        }
+
+        private void run() {
+            synchronized (this) {
+                if (result.isDone()) return; // cancelled or timed out while queued
+                runner = Thread.currentThread();
+            }
+            startedAt = LocalDateTime.now();
+            try {
+                T value = task.call();
+                finishedAt = LocalDateTime.now();
+                result.complete(value);
+            } catch (Throwable e) {
+                finishedAt = LocalDateTime.now();
+                result.completeExceptionally(e);
+            } finally {
+                synchronized (this) {
+                    runner = null;
+                    // Executors may run this on the caller's thread: don't leak our interrupt to it
+                    if (interruptedByUs) Thread.interrupted();
+                }
+            }
+        }
+
+        private void cancel() {
+            if (result.completeExceptionally(new CancellationException(dependency + " cancelled"))) {
+                interruptRunner();
+            }
+        }
+
+        private synchronized void interruptRunner() {
+            if (runner != null) {
+                interruptedByUs = true;
+                runner.interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.venus.kyc.orchestration.service;
+
+import com.venus.kyc.orchestration.domain.WebhookDeadLetter;
+import com.venus.kyc.orchestration.domain.WebhookOutbox;
+import com.venus.kyc.orchestration.dto.WebhookDeadLetterResponse;
+import com.venus.kyc.orchestration.repository.WebhookDeadLetterRepository;
+import com.venus.kyc.orchestration.repository.WebhookOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Ops access to dead-lettered webhooks: list them, and replay one by putting it back on the
+ * outbox for {@link WebhookOutboxDispatcher} with a fresh retry budget.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WebhookDeadLetterService {
+
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "deadLetteredAt");
+
+    private final WebhookDeadLetterRepository deadLetterRepository;
+    private final WebhookOutboxRepository outboxRepository;
+
+    /** Dead letters, newest first, optionally only those for kycId; size is capped at 500. */
+    @Transactional(readOnly = true)
+    public List<WebhookDeadLetterResponse> list(String kycId, int page, int size) {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE), NEWEST_FIRST);
+        Page<WebhookDeadLetter> result = kycId == null || kycId.isBlank()
+                ? deadLetterRepository.findAll(pageable)
+                : deadLetterRepository.findByKycId(kycId, pageable);
+        return result.map(WebhookDeadLetterService::toResponse).getContent();
+    }
+
+    /**
+     * Queues the dead-lettered notification for immediate redelivery. The dead letter is kept, marked
+     * as replayed; if the replay fails again it is dead-lettered as a new entry.
+     */
+    @Transactional
+    public WebhookDeadLetterResponse replay(Long id) {
+        WebhookDeadLetter deadLetter = deadLetterRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Webhook dead letter not found for id: " + id));
+
+        WebhookOutbox message = new WebhookOutbox();
+        message.setKycId(deadLetter.getKycId());
+        message.setWebhookUrl(deadLetter.getWebhookUrl());
+        message.setPayload(deadLetter.getPayload());
+        outboxRepository.save(message);
+
+        deadLetter.setReplayedAt(LocalDateTime.now());
+        deadLetter.setReplayCount(deadLetter.getReplayCount() + 1);
+        log.info("Webhook dead letter replayed: id={} kycId={} outboxId={}",
+                id, deadLetter.getKycId(), message.getId());
+        return toResponse(deadLetter);
+    }
+
+    private static WebhookDeadLetterResponse toResponse(WebhookDeadLetter deadLetter) {
+        return WebhookDeadLetterResponse.builder()
+                .id(deadLetter.getId())
+                .kycId(deadLetter.getKycId())
+                .webhookUrl(deadLetter.getWebhookUrl())
+                .attempts(deadLetter.getAttempts())
+                .lastError(deadLetter.getLastError())
+                .queuedAt(deadLetter.getQueuedAt())
+                .deadLetteredAt(deadLetter.getDeadLetteredAt())
+                .replayedAt(deadLetter.getReplayedAt())
+                .replayCount(deadLetter.getReplayCount())
+                .build();
+    }
+}
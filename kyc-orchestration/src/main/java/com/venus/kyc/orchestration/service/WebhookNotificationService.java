@@ -1,82 +1,55 @@
 package com.venus.kyc.orchestration.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.venus.kyc.orchestration.domain.WebhookOutbox;
 import com.venus.kyc.orchestration.dto.KycStatusResponse;
+import com.venus.kyc.orchestration.repository.WebhookOutboxRepository;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executor;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
- * Fires a webhook POST to the caller-supplied URL when an orchestration status is finalized.
- * All calls are async and non-blocking. Retries up to 3 times with exponential back-off.
- * On exhaustion the event is dead-lettered to the error log for ops alerting (KYC-NF-06).
+ * Queues a webhook POST to the caller-supplied URL when an orchestration status is finalized.
+ * The notification is written to the {@code webhook_outbox} table in the caller's transaction, so
+ * it is queued exactly when the status change commits. Delivery, retries with exponential
+ * back-off and dead-lettering are left to {@link WebhookOutboxDispatcher} (KYC-NF-06).
  */
 @Service
 @Slf4j
 public class WebhookNotificationService {
 
-    private static final int MAX_RETRIES = 3;
-    private static final long INITIAL_BACKOFF_MS = 1_000;
-
-    private final RestTemplate externalRestTemplate;
-    private final Executor kycOrchestrationExecutor;
+    private final WebhookOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
 
-    public WebhookNotificationService(
-            @Qualifier("externalRestTemplate") RestTemplate externalRestTemplate,
-            @Qualifier("kycOrchestrationExecutor") Executor kycOrchestrationExecutor) {
-        this.externalRestTemplate = externalRestTemplate;
-        this.kycOrchestrationExecutor = kycOrchestrationExecutor;
+    public WebhookNotificationService(WebhookOutboxRepository outboxRepository, ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
     }
 
     /**
-     * Asynchronously POSTs the status payload to webhookUrl.
-     * Returns immediately; retries happen on the kycOrchestrationExecutor thread pool.
+     * Adds the status payload for webhookUrl to the outbox. Must run inside the transaction that
+     * changes the status; does nothing when no URL was registered.
      */
+    @Transactional(propagation = Propagation.MANDATORY)
     public void notify(String webhookUrl, KycStatusResponse payload) {
         if (webhookUrl == null || webhookUrl.isBlank()) {
             return;
         }
-        CompletableFuture.runAsync(() -> postWithRetry(webhookUrl, payload), kycOrchestrationExecutor);
-    }
-
-    private void postWithRetry(String webhookUrl, KycStatusResponse payload) {
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.set("X-KYC-Id", payload.getKycId());
-        HttpEntity<KycStatusResponse> request = new HttpEntity<>(payload, headers);
-
-        long backoffMs = INITIAL_BACKOFF_MS;
-        for (int attempt = 1; attempt <= MAX_RETRIES; attempt++) {
-            try {
-                externalRestTemplate.postForEntity(webhookUrl, request, Void.class);
-                log.info("Webhook delivered: kycId={} url={} attempt={}",
-                        payload.getKycId(), webhookUrl, attempt);
-                return;
-            } catch (Exception ex) {
-                log.warn("Webhook attempt {}/{} failed for kycId={} url={}: {}",
-                        attempt, MAX_RETRIES, payload.getKycId(), webhookUrl, ex.getMessage());
-                if (attempt < MAX_RETRIES) {
-                    sleep(backoffMs);
-                    backoffMs *= 2;
-                }
-            }
-        }
-        // Dead-letter: all retries exhausted
-        log.error("DEAD-LETTER: Webhook delivery failed after {} attempts. kycId={} url={}",
-                MAX_RETRIES, payload.getKycId(), webhookUrl);
+        WebhookOutbox message = new WebhookOutbox();
+        message.setKycId(payload.getKycId());
+        message.setWebhookUrl(webhookUrl);
+        message.setPayload(serialize(payload));
+        outboxRepository.save(message);
+        log.debug("Webhook queued: kycId={} url={}", payload.getKycId(), webhookUrl);
     }
 
-    private void sleep(long ms) {
+    private String serialize(KycStatusResponse payload) {
         try {
-            Thread.sleep(ms);
-        } catch (InterruptedException ie) {
-            Thread.currentThread().interrupt();
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize webhook payload for kycId=" + payload.getKycId(), e);
         }
     }
 }
@@ -0,0 +1,202 @@
+package com.venus.kyc.orchestration.service;
+
+import com.venus.kyc.orchestration.domain.WebhookDeadLetter;
+import com.venus.kyc.orchestration.domain.WebhookOutbox;
+import com.venus.kyc.orchestration.repository.WebhookDeadLetterRepository;
+import com.venus.kyc.orchestration.repository.WebhookOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Delivers queued webhooks from the {@code webhook_outbox} table.
+ *
+ * <p>Each poll claims a batch of due messages in a short transaction ({@code FOR UPDATE SKIP LOCKED}
+ * plus a lease in {@code lockedUntil}), so several orchestration instances can poll the same table
+ * without delivering a message twice, and no row lock is held during HTTP calls. The batch is then
+ * posted in parallel on the {@code webhookDispatchExecutor}. A delivered message is deleted; a
+ * failed one is rescheduled with exponential back-off via {@code nextAttemptAt}, and moved to
+ * {@code webhook_dead_letter} once attempts are exhausted or the receiver rejects it with a 4xx.
+ */
+@Service
+@Slf4j
+public class WebhookOutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final WebhookOutboxRepository outboxRepository;
+    private final WebhookDeadLetterRepository deadLetterRepository;
+    private final RestTemplate externalRestTemplate;
+    private final Executor dispatchExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final int batchSize;
+
+    public WebhookOutboxDispatcher(WebhookOutboxRepository outboxRepository,
+                                   WebhookDeadLetterRepository deadLetterRepository,
+                                   @Qualifier("externalRestTemplate") RestTemplate externalRestTemplate,
+                                   @Qualifier("webhookDispatchExecutor") Executor dispatchExecutor,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${kyc.webhook.max-attempts:6}") int maxAttempts,
+                                   @Value("${kyc.webhook.initial-backoff:1s}") Duration initialBackoff,
+                                   @Value("${kyc.webhook.max-backoff:5m}") Duration maxBackoff,
+                                   @Value("${kyc.webhook.lease:2m}") Duration lease,
+                                   @Value("${kyc.webhook.batch-size:32}") int batchSize) {
+        this.outboxRepository = outboxRepository;
+        this.deadLetterRepository = deadLetterRepository;
+        this.externalRestTemplate = externalRestTemplate;
+        this.dispatchExecutor = dispatchExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.lease = lease;
+        this.batchSize = batchSize;
+    }
+
+    /** Drains everything currently due, one batch at a time. */
+    @Scheduled(fixedDelayString = "${kyc.webhook.poll-interval-ms:1000}")
+    public void poll() {
+        int dispatched;
+        do {
+            dispatched = dispatchDue();
+        } while (dispatched == batchSize);
+    }
+
+    /**
+     * Claims one batch of due messages, delivers them in parallel and records each outcome.
+     * Returns the number of messages claimed.
+     */
+    public int dispatchDue() {
+        List<WebhookOutbox> batch = claim();
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        CompletableFuture<?>[] deliveries = batch.stream()
+                .map(message -> CompletableFuture.runAsync(() -> deliver(message), dispatchExecutor)
+                        .exceptionally(ex -> {
+                            // the lease expires and the message is picked up again
+                            log.error("Webhook dispatch failed: outboxId={} kycId={}: {}",
+                                    message.getId(), message.getKycId(), ex.getMessage());
+                            return null;
+                        }))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(deliveries).join();
+        return batch.size();
+    }
+
+    // ---------------------------------------------------------------------------
+    // Private helpers
+    // ---------------------------------------------------------------------------
+
+    private List<WebhookOutbox> claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<WebhookOutbox> due = outboxRepository.findClaimable(now, PageRequest.of(0, batchSize));
+            due.forEach(message -> message.setLockedUntil(now.plus(lease)));
+            return due;
+        });
+    }
+
+    private void deliver(WebhookOutbox message) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-KYC-Id", message.getKycId());
+        headers.set("X-Webhook-Delivery-Id", String.valueOf(message.getId()));
+        int attempt = message.getAttempts() + 1;
+
+        try {
+            externalRestTemplate.postForEntity(message.getWebhookUrl(),
+                    new HttpEntity<>(message.getPayload(), headers), Void.class);
+        } catch (Exception ex) {
+            recordFailure(message, attempt, ex);
+            return;
+        }
+        record(message, () -> outboxRepository.delete(message));
+        log.info("Webhook delivered: kycId={} url={} attempt={}", message.getKycId(), message.getWebhookUrl(), attempt);
+    }
+
+    private void recordFailure(WebhookOutbox message, int attempt, Exception ex) {
+        message.setAttempts(attempt);
+        message.setLastError(truncate(ex.getMessage()));
+        message.setLockedUntil(null);
+
+        if (attempt >= maxAttempts || isRejected(ex)) {
+            record(message, () -> {
+                outboxRepository.delete(message);
+                deadLetterRepository.save(toDeadLetter(message));
+            });
+            log.error("DEAD-LETTER: Webhook delivery failed after {} attempt(s). kycId={} url={}: {}",
+                    attempt, message.getKycId(), message.getWebhookUrl(), ex.getMessage());
+            return;
+        }
+
+        Duration delay = backoff(attempt);
+        message.setNextAttemptAt(LocalDateTime.now().plus(delay));
+        record(message, () -> outboxRepository.save(message));
+        log.warn("Webhook attempt {}/{} failed for kycId={} url={}, next attempt in {}: {}",
+                attempt, maxAttempts, message.getKycId(), message.getWebhookUrl(), delay, ex.getMessage());
+    }
+
+    /** Writes an outcome unless the lease ran out and another dispatcher has claimed the message since. */
+    private void record(WebhookOutbox message, Runnable outcome) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> outcome.run());
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("Webhook outboxId={} was reclaimed after its lease expired; outcome discarded", message.getId());
+        }
+    }
+
+    /** initialBackoff, doubled per failed attempt, capped at maxBackoff. */
+    Duration backoff(int attempt) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempt - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    /** A 4xx other than 408/429 will not succeed on retry. */
+    private static boolean isRejected(Exception ex) {
+        return ex instanceof HttpClientErrorException e
+                && !e.getStatusCode().isSameCodeAs(HttpStatus.REQUEST_TIMEOUT)
+                && !e.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    private static WebhookDeadLetter toDeadLetter(WebhookOutbox message) {
+        WebhookDeadLetter deadLetter = new WebhookDeadLetter();
+        deadLetter.setKycId(message.getKycId());
+        deadLetter.setWebhookUrl(message.getWebhookUrl());
+        deadLetter.setPayload(message.getPayload());
+        deadLetter.setAttempts(message.getAttempts());
+        deadLetter.setLastError(message.getLastError());
+        deadLetter.setQueuedAt(message.getCreatedAt());
+        deadLetter.setDeadLetteredAt(LocalDateTime.now());
+        return deadLetter;
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
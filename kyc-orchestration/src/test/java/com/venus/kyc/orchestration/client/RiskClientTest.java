@@ -0,0 +1,70 @@
+package com.venus.kyc.orchestration.client;
+
+import com.venus.kyc.orchestration.dto.KycPrecheckRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.jsonPath;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class RiskClientTest {
+
+    private static final String RISK_URL = "http://risk-service/api/internal/risk/calculate";
+
+    private MockRestServiceServer server;
+    private RiskClient client;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        client = new RiskClient(restTemplate, RISK_URL, "test-internal-key", false);
+    }
+
+    private static KycPrecheckRequest buildRequest() {
+        KycPrecheckRequest request = new KycPrecheckRequest();
+        request.setUniqueClientID("CL-001");
+        request.setBusinessLine("EIS");
+        request.setPrimaryCitizenship("DE");
+        request.setCountryOfResidence("DE");
+        return request;
+    }
+
+    @Test
+    void calculateRisk_sendsInternalApiKeyAndReadsRating() {
+        server.expect(requestTo(RISK_URL))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(header("X-Internal-Api-Key", "test-internal-key"))
+                .andExpect(jsonPath("$.clientRiskRatingRequest[0].clientDetails.recordID").value("CL-001"))
+                .andRespond(withSuccess(
+                        "{\"header\":{\"requestID\":\"rsk-1\"},"
+                                + "\"clientRiskRatingResponse\":[{\"overallRiskAssessment\":{\"overallRiskLevel\":\"HIGH\"}}]}",
+                        MediaType.APPLICATION_JSON));
+
+        RiskClient.RiskResult result = client.calculateRisk(buildRequest());
+
+        assertEquals("rsk-1", result.getRiskRequestId());
+        assertEquals("HIGH", result.getRiskRating());
+        server.verify();
+    }
+
+    @Test
+    void calculateRisk_mock_makesNoCall() {
+        RestTemplate restTemplate = new RestTemplate();
+        MockRestServiceServer untouched = MockRestServiceServer.bindTo(restTemplate).build();
+
+        RiskClient.RiskResult result = new RiskClient(restTemplate, RISK_URL, "test-internal-key", true)
+                .calculateRisk(buildRequest());
+
+        assertEquals("LOW", result.getRiskRating());
+        untouched.verify();
+    }
+}
@@ -5,24 +5,30 @@ import com.venus.kyc.orchestration.client.ScreeningClient;
 import com.venus.kyc.orchestration.client.ViewerClient;
 import com.venus.kyc.orchestration.domain.KycTransactionAudit;
 import com.venus.kyc.orchestration.domain.enums.KycStatus;
+import com.venus.kyc.orchestration.domain.enums.ScreeningStatus;
 import com.venus.kyc.orchestration.dto.KycPrecheckRequest;
 import com.venus.kyc.orchestration.dto.ResidentialAddress;
 import com.venus.kyc.orchestration.dto.KycPrecheckResponse;
 import com.venus.kyc.orchestration.dto.KycStatusResponse;
 import com.venus.kyc.orchestration.dto.KycStatusUpdateRequest;
+import com.venus.kyc.orchestration.exception.DependencyFailedException;
 import com.venus.kyc.orchestration.repository.KycTransactionAuditRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.hashids.Hashids;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -39,6 +45,8 @@ class KycOrchestrationServiceTest {
     @Mock KycTransactionAuditRepository auditRepository;
     @Mock WebhookNotificationService webhookNotificationService;
 
+    private static final Duration DEADLINE = Duration.ofSeconds(5);
+
     private Hashids hashids;
     private Executor executor;
     private KycOrchestrationService service;
@@ -48,7 +56,8 @@ class KycOrchestrationServiceTest {
         hashids = new Hashids("test-salt", 8);
         executor = Runnable::run; // synchronous for deterministic tests
         service = new KycOrchestrationService(viewerClient, screeningClient, riskClient,
-                kycAuditService, auditRepository, webhookNotificationService, executor, hashids);
+                kycAuditService, auditRepository, webhookNotificationService, executor, executor, executor, hashids,
+                DEADLINE, DEADLINE, DEADLINE, 3, new SimpleMeterRegistry());
     }
 
     // -------------------------------------------------------------------------
@@ -183,6 +192,73 @@ class KycOrchestrationServiceTest {
                 eq(savedAudit), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
     }
 
+    @Test
+    void initiatePrecheck_viewerFails_continuesWithoutUserId() {
+        KycTransactionAudit savedAudit = buildSavedAudit(1L);
+        when(kycAuditService.saveInitial(any())).thenReturn(savedAudit);
+        when(viewerClient.onboardUser(any())).thenThrow(new IllegalStateException("viewer down"));
+        when(screeningClient.initiateScreening(any())).thenReturn(buildScreeningResult("NoHit"));
+        when(riskClient.calculateRisk(any())).thenReturn(buildRiskResult("LOW"));
+
+        KycPrecheckResponse response = service.initiatePrecheck(buildRequest());
+
+        assertEquals("APPROVED", response.getKycStatus());
+        assertNull(response.getUserId());
+    }
+
+    @Test
+    void initiatePrecheck_screeningFails_abortsWithoutFinalizing() {
+        KycTransactionAudit savedAudit = buildSavedAudit(1L);
+        when(kycAuditService.saveInitial(any())).thenReturn(savedAudit);
+        when(screeningClient.initiateScreening(any())).thenThrow(new IllegalStateException("screening down"));
+
+        DependencyFailedException ex = assertThrows(DependencyFailedException.class,
+                () -> service.initiatePrecheck(buildRequest()));
+
+        assertEquals("screening", ex.getDependency());
+        assertFalse(ex.isTimedOut());
+        // the sibling calls are never started once screening has failed
+        verifyNoInteractions(riskClient, viewerClient);
+        verify(kycAuditService, never()).finalizeAudit(
+                any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void initiatePrecheck_followsScreeningStream_andRecordsLateHit() {
+        KycTransactionAudit savedAudit = buildSavedAudit(1L);
+        when(kycAuditService.saveInitial(any())).thenReturn(savedAudit);
+        when(viewerClient.onboardUser(any())).thenReturn("usr-001");
+        when(screeningClient.initiateScreening(any())).thenReturn(buildScreeningResult("NoHit"));
+        when(riskClient.calculateRisk(any())).thenReturn(buildRiskResult("LOW"));
+        when(screeningClient.streamsStatus()).thenReturn(true);
+        // the first stream ends before the vendor answers; the reconnect sees the result
+        when(screeningClient.awaitResult("scr-001")).thenReturn(null, buildScreeningResult("Hit"));
+
+        service.initiatePrecheck(buildRequest());
+
+        ArgumentCaptor<Consumer<KycTransactionAudit>> onHeld = ArgumentCaptor.captor();
+        verify(kycAuditService).applyScreeningResult(eq(1L), eq(ScreeningStatus.HIT), eq(List.of("PEP")), onHeld.capture());
+
+        KycTransactionAudit held = buildSavedAudit(1L);
+        held.setWebhookUrl("https://gateway.example/kyc");
+        onHeld.getValue().accept(held);
+        verify(webhookNotificationService).notify(eq("https://gateway.example/kyc"), any(KycStatusResponse.class));
+    }
+
+    @Test
+    void initiatePrecheck_mockedScreening_isNotFollowed() {
+        KycTransactionAudit savedAudit = buildSavedAudit(1L);
+        when(kycAuditService.saveInitial(any())).thenReturn(savedAudit);
+        when(viewerClient.onboardUser(any())).thenReturn("usr-001");
+        when(screeningClient.initiateScreening(any())).thenReturn(buildScreeningResult("NoHit"));
+        when(riskClient.calculateRisk(any())).thenReturn(buildRiskResult("LOW"));
+
+        service.initiatePrecheck(buildRequest());
+
+        verify(screeningClient, never()).awaitResult(any());
+        verify(kycAuditService, never()).applyScreeningResult(any(), any(), any(), any());
+    }
+
     // -------------------------------------------------------------------------
     // getKycStatus tests
     // -------------------------------------------------------------------------
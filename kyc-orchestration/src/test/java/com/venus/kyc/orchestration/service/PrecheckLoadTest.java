@@ -0,0 +1,220 @@
+package com.venus.kyc.orchestration.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.venus.kyc.common.http.HttpClientFactory;
+import com.venus.kyc.orchestration.client.RiskClient;
+import com.venus.kyc.orchestration.client.ScreeningClient;
+import com.venus.kyc.orchestration.client.ViewerClient;
+import com.venus.kyc.orchestration.config.AsyncConfig;
+import com.venus.kyc.orchestration.domain.KycTransactionAudit;
+import com.venus.kyc.orchestration.dto.KycPrecheckRequest;
+import com.venus.kyc.orchestration.dto.KycPrecheckResponse;
+import com.venus.kyc.orchestration.dto.ResidentialAddress;
+import com.venus.kyc.orchestration.repository.KycTransactionAuditRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hashids.Hashids;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Load test for {@code POST /kyc/initiate} orchestration against local stub servers standing in
+ * for screening, risk and viewer, each answering after {@link #STUB_LATENCY_MS}. KYC-NF-03 asks
+ * for 20 requests/second; the fan-out must sustain several times that. With screening, risk and
+ * viewer in parallel a precheck costs one stub round trip, not two.
+ *
+ * The throughput check is tagged {@code perf} and runs with {@code gradle :kyc-orchestration:perfTest};
+ * the concurrency check runs with the regular tests.
+ */
+class PrecheckLoadTest {
+
+    private static final int STUB_LATENCY_MS = 50;
+    private static final int CALLERS = 64;
+    private static final int REQUESTS = 1_000;
+    // 3x KYC-NF-03 as a floor that holds on a single-core CI runner, where client, stubs and
+    // orchestration share the CPU
+    private static final double REQUIRED_RPS = 3 * 20.0;
+
+    private static String previousNoDelay;
+
+    private HttpServer stubs;
+    private ExecutorService stubThreads;
+    private HttpClientFactory httpClients;
+    private Executor precheckExecutor;
+    private KycOrchestrationService service;
+
+    @BeforeAll
+    static void disableNagle() {
+        // answer in one segment; otherwise Nagle + delayed ACK add ~40 ms per call on loopback
+        previousNoDelay = System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    @AfterAll
+    static void restoreNagle() {
+        if (previousNoDelay == null) {
+            System.clearProperty("sun.net.httpserver.nodelay");
+        } else {
+            System.setProperty("sun.net.httpserver.nodelay", previousNoDelay);
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stubThreads = Executors.newFixedThreadPool(256);
+        stubs = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 512);
+        stubs.createContext("/screening", ex -> respond(ex, "application/json", "{\"hit\":false,\"requestId\":\"scr-1\"}"));
+        stubs.createContext("/risk", ex -> respond(ex, "application/json",
+                "{\"header\":{\"requestID\":\"rsk-1\"},"
+                        + "\"clientRiskRatingResponse\":[{\"overallRiskAssessment\":{\"overallRiskLevel\":\"LOW\"}}]}"));
+        stubs.createContext("/viewer", ex -> respond(ex, "text/plain", "usr-1"));
+        stubs.setExecutor(stubThreads);
+        stubs.start();
+        String base = "http://127.0.0.1:" + stubs.getAddress().getPort();
+
+        httpClients = new HttpClientFactory(Map.of(
+                "kyc.http.stubs.max-connections-per-route", String.valueOf(3 * CALLERS),
+                "kyc.http.stubs.max-connections", String.valueOf(3 * CALLERS))::get);
+        RestTemplate restTemplate = new RestTemplate(httpClients.requestFactory("stubs"));
+        KycAuditService auditService = mock(KycAuditService.class);
+        AtomicLong ids = new AtomicLong();
+        when(auditService.saveInitial(any())).thenAnswer(inv -> {
+            KycTransactionAudit audit = inv.getArgument(0);
+            audit.setId(ids.incrementAndGet());
+            return audit;
+        });
+
+        precheckExecutor = new AsyncConfig().kycPrecheckExecutor(200);
+        service = new KycOrchestrationService(
+                new ViewerClient(restTemplate, base + "/viewer", false),
+                new ScreeningClient(restTemplate, restTemplate, new ObjectMapper(), base + "/screening",
+                        base + "/screening/{requestId}/stream", "load-test", false),
+                new RiskClient(restTemplate, base + "/risk", "load-test", false),
+                auditService, mock(KycTransactionAuditRepository.class), mock(WebhookNotificationService.class),
+                Runnable::run, precheckExecutor, task -> { }, new Hashids("load-test", 8),
+                Duration.ofSeconds(5), Duration.ofSeconds(5), Duration.ofSeconds(5), 3, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        httpClients.close();
+        stubs.stop(0);
+        stubThreads.shutdownNow();
+        if (precheckExecutor instanceof DisposableBean disposable) {
+            disposable.destroy();
+        }
+    }
+
+    @Test
+    @Tag("perf")
+    void sustainsWellAboveNf03Target() throws Exception {
+        // warm up connections, JIT and thread pools
+        runPrechecks(CALLERS * 2);
+
+        long start = System.nanoTime();
+        List<KycPrecheckResponse> responses = runPrechecks(REQUESTS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        double rps = REQUESTS / seconds;
+
+        assertEquals(REQUESTS, responses.size());
+        for (KycPrecheckResponse response : responses) {
+            assertEquals("APPROVED", response.getKycStatus());
+            assertEquals("scr-1", response.getScreeningRequestId());
+            assertEquals("rsk-1", response.getRiskRequestId());
+            assertEquals("usr-1", response.getUserId());
+        }
+        assertTrue(rps >= REQUIRED_RPS, String.format("%.0f req/s is below %.0f req/s", rps, REQUIRED_RPS));
+    }
+
+    @Test
+    void dependenciesRunConcurrently() {
+        KycPrecheckResponse response = service.initiatePrecheck(buildRequest());
+
+        // risk no longer waits for screening: both start before either could have answered
+        assertTrue(response.getRiskStartAt().isBefore(response.getScreeningEndAt()));
+        assertTrue(response.getScreeningStartAt().isBefore(response.getRiskEndAt()));
+    }
+
+    // -------------------------------------------------------------------------
+    // Helpers
+    // -------------------------------------------------------------------------
+
+    private List<KycPrecheckResponse> runPrechecks(int count) throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<KycPrecheckResponse>> futures = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                futures.add(callers.submit(() -> service.initiatePrecheck(buildRequest())));
+            }
+            List<KycPrecheckResponse> responses = new ArrayList<>(count);
+            for (Future<KycPrecheckResponse> future : futures) {
+                responses.add(future.get());
+            }
+            return responses;
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, String contentType, String body) throws IOException {
+        try (exchange) {
+            exchange.getRequestBody().readAllBytes();
+            try {
+                Thread.sleep(STUB_LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    private static KycPrecheckRequest buildRequest() {
+        ResidentialAddress address = new ResidentialAddress();
+        address.setAddressLine1("123 Main Street");
+        address.setCity("Berlin");
+        address.setZip("10115");
+
+        KycPrecheckRequest request = new KycPrecheckRequest();
+        request.setUniqueClientID("CL-001");
+        request.setFirstName("Jane");
+        request.setLastName("Smith");
+        request.setDob("1990-01-01");
+        request.setBusinessLine("EIS");
+        request.setCityOfBirth("Hamburg");
+        request.setPrimaryCitizenship("DE");
+        request.setResidentialAddress(address);
+        request.setCountryOfResidence("DE");
+        return request;
+    }
+}
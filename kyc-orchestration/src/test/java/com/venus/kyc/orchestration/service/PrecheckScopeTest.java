@@ -0,0 +1,140 @@
+package com.venus.kyc.orchestration.service;
+
+import com.venus.kyc.orchestration.exception.DependencyFailedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrecheckScopeTest {
+
+    private static final Duration LONG = Duration.ofSeconds(10);
+
+    private ExecutorService executor;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newCachedThreadPool();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void join_allSucceed_returnsValues() {
+        PrecheckScope.Subtask<String> a;
+        PrecheckScope.Subtask<Integer> b;
+        try (PrecheckScope scope = new PrecheckScope(executor, meterRegistry)) {
+            a = scope.fork("a", LONG, () -> "A");
+            b = scope.fork("b", LONG, () -> 42);
+            scope.join();
+        }
+
+        assertEquals("A", a.get());
+        assertEquals(42, b.get());
+        assertNotNull(a.startedAt());
+        assertNotNull(a.finishedAt());
+    }
+
+    @Test
+    void hardFailure_cancelsAndInterruptsRunningSibling() throws Exception {
+        CountDownLatch siblingStarted = new CountDownLatch(1);
+        CountDownLatch siblingInterrupted = new CountDownLatch(1);
+
+        long start = System.nanoTime();
+        DependencyFailedException ex;
+        try (PrecheckScope scope = new PrecheckScope(executor, meterRegistry)) {
+            scope.fork("slow", LONG, () -> {
+                siblingStarted.countDown();
+                try {
+                    Thread.sleep(LONG.toMillis());
+                } catch (InterruptedException e) {
+                    siblingInterrupted.countDown();
+                    throw e;
+                }
+                return "never";
+            });
+            scope.fork("broken", LONG, () -> {
+                siblingStarted.await();
+                throw new IllegalStateException("boom");
+            });
+            ex = assertThrows(DependencyFailedException.class, scope::join);
+        }
+
+        assertEquals("broken", ex.getDependency());
+        assertFalse(ex.isTimedOut());
+        assertTrue(siblingInterrupted.await(5, TimeUnit.SECONDS), "running sibling should be interrupted");
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5), "join must not wait for the cancelled sibling");
+    }
+
+    @Test
+    void hardDeadline_failsAsTimeout() {
+        DependencyFailedException ex;
+        try (PrecheckScope scope = new PrecheckScope(executor, meterRegistry)) {
+            scope.fork("late", Duration.ofMillis(100), () -> {
+                Thread.sleep(LONG.toMillis());
+                return "never";
+            });
+            ex = assertThrows(DependencyFailedException.class, scope::join);
+        }
+
+        assertEquals("late", ex.getDependency());
+        assertTrue(ex.isTimedOut());
+    }
+
+    @Test
+    void softFailureAndDeadline_yieldFallbackWithoutFailingScope() {
+        PrecheckScope.Subtask<String> broken;
+        PrecheckScope.Subtask<String> late;
+        PrecheckScope.Subtask<String> hard;
+        try (PrecheckScope scope = new PrecheckScope(executor, meterRegistry)) {
+            broken = scope.forkSoft("broken", LONG, "fallback", () -> {
+                throw new IllegalStateException("boom");
+            });
+            late = scope.forkSoft("late", Duration.ofMillis(100), "fallback", () -> {
+                Thread.sleep(LONG.toMillis());
+                return "never";
+            });
+            hard = scope.fork("hard", LONG, () -> "ok");
+            scope.join();
+        }
+
+        assertEquals("fallback", broken.get());
+        assertEquals("fallback", late.get());
+        assertEquals("ok", hard.get());
+        assertEquals(1, dependencyCalls("broken", "failure"));
+        assertEquals(1, dependencyCalls("late", "timeout"));
+        assertEquals(1, dependencyCalls("hard", "success"));
+    }
+
+    @Test
+    void callerRunsSubtask_interruptDoesNotLeakToCaller() {
+        // Runnable::run stands in for a saturated pool running the call on the request thread
+        try (PrecheckScope scope = new PrecheckScope(Runnable::run, meterRegistry)) {
+            scope.fork("broken", LONG, () -> {
+                throw new IllegalStateException("boom");
+            });
+            scope.fork("skipped", LONG, () -> fail("must not start after a hard failure"));
+            assertThrows(DependencyFailedException.class, scope::join);
+        }
+
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    private long dependencyCalls(String dependency, String outcome) {
+        return meterRegistry.get("kyc.precheck.dependency")
+                .tags("dependency", dependency, "outcome", outcome).timer().count();
+    }
+}
@@ -1,90 +1,66 @@
 package com.venus.kyc.orchestration.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.venus.kyc.orchestration.domain.WebhookOutbox;
+import com.venus.kyc.orchestration.domain.enums.KycStatus;
 import com.venus.kyc.orchestration.dto.KycStatusResponse;
+import com.venus.kyc.orchestration.repository.WebhookOutboxRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class WebhookNotificationServiceTest {
 
-    @Mock RestTemplate externalRestTemplate;
+    @Mock WebhookOutboxRepository outboxRepository;
 
     private WebhookNotificationService service;
 
     @BeforeEach
     void setUp() {
-        service = new WebhookNotificationService(externalRestTemplate, Runnable::run);
+        service = new WebhookNotificationService(outboxRepository, new ObjectMapper().findAndRegisterModules());
     }
 
     private KycStatusResponse buildPayload(String kycId) {
         return KycStatusResponse.builder()
                 .kycId(kycId)
+                .kycStatus(KycStatus.APPROVED)
+                .updatedAt(LocalDateTime.of(2026, 4, 11, 14, 32))
                 .build();
     }
 
     @Test
-    void notify_nullUrl_noInteraction() {
+    void notify_nullUrl_nothingQueued() {
         service.notify(null, buildPayload("x3Yq9mZ1"));
-        verifyNoInteractions(externalRestTemplate);
+        verifyNoInteractions(outboxRepository);
     }
 
     @Test
-    void notify_blankUrl_noInteraction() {
+    void notify_blankUrl_nothingQueued() {
         service.notify("   ", buildPayload("x3Yq9mZ1"));
-        verifyNoInteractions(externalRestTemplate);
+        verifyNoInteractions(outboxRepository);
     }
 
     @Test
-    @SuppressWarnings("unchecked")
-    void notify_validUrl_postsPayload() {
-        when(externalRestTemplate.postForEntity(any(String.class), any(), eq(Void.class)))
-                .thenReturn(ResponseEntity.ok(null));
-
+    void notify_validUrl_queuesSerializedPayload() {
         service.notify("https://example.com/callback", buildPayload("x3Yq9mZ1"));
 
-        verify(externalRestTemplate, times(1))
-                .postForEntity(eq("https://example.com/callback"), any(), eq(Void.class));
-    }
-
-    @Test
-    @SuppressWarnings("unchecked")
-    void notify_checksKycIdHeader() {
-        when(externalRestTemplate.postForEntity(any(String.class), any(), eq(Void.class)))
-                .thenReturn(ResponseEntity.ok(null));
-
-        KycStatusResponse payload = buildPayload("x3Yq9mZ1");
-        service.notify("https://example.com/callback", payload);
-
-        ArgumentCaptor<HttpEntity<?>> captor = ArgumentCaptor.forClass(HttpEntity.class);
-        verify(externalRestTemplate).postForEntity(any(String.class), captor.capture(), eq(Void.class));
-
-        HttpEntity<?> captured = captor.getValue();
-        assertEquals("x3Yq9mZ1", captured.getHeaders().getFirst("X-KYC-Id"));
-    }
-
-    @Test
-    @SuppressWarnings("unchecked")
-    void notify_firstAttemptFails_retriesAndSucceeds() {
-        when(externalRestTemplate.postForEntity(any(String.class), any(), eq(Void.class)))
-                .thenThrow(new RestClientException("Connection refused"))
-                .thenReturn(ResponseEntity.ok(null));
-
-        service.notify("https://example.com/callback", buildPayload("x3Yq9mZ1"));
+        ArgumentCaptor<WebhookOutbox> captor = ArgumentCaptor.forClass(WebhookOutbox.class);
+        verify(outboxRepository, times(1)).save(captor.capture());
 
-        verify(externalRestTemplate, times(2))
-                .postForEntity(eq("https://example.com/callback"), any(), eq(Void.class));
+        WebhookOutbox queued = captor.getValue();
+        assertEquals("x3Yq9mZ1", queued.getKycId());
+        assertEquals("https://example.com/callback", queued.getWebhookUrl());
+        assertEquals(0, queued.getAttempts());
+        assertTrue(queued.getPayload().contains("\"kycId\":\"x3Yq9mZ1\""));
+        assertTrue(queued.getPayload().contains("\"kycStatus\":\"APPROVED\""));
     }
 }
@@ -0,0 +1,210 @@
+package com.venus.kyc.orchestration.service;
+
+import com.venus.kyc.orchestration.domain.WebhookDeadLetter;
+import com.venus.kyc.orchestration.domain.WebhookOutbox;
+import com.venus.kyc.orchestration.dto.WebhookDeadLetterResponse;
+import com.venus.kyc.orchestration.repository.WebhookDeadLetterRepository;
+import com.venus.kyc.orchestration.repository.WebhookOutboxRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the dispatcher against the real outbox tables. Not transactional, so every claim and
+ * outcome commits exactly as in production.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WebhookOutboxDispatcherTest {
+
+    private static final String URL = "https://example.com/callback";
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int BATCH_SIZE = 8;
+
+    @Autowired WebhookOutboxRepository outboxRepository;
+    @Autowired WebhookDeadLetterRepository deadLetterRepository;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private ExecutorService dispatchThreads;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAll();
+        deadLetterRepository.deleteAll();
+        dispatchThreads = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatchThreads.shutdownNow();
+    }
+
+    private WebhookOutboxDispatcher dispatcher(Duration initialBackoff) {
+        return new WebhookOutboxDispatcher(outboxRepository, deadLetterRepository, restTemplate, dispatchThreads,
+                transactionManager, MAX_ATTEMPTS, initialBackoff, Duration.ofMinutes(5), Duration.ofMinutes(2),
+                BATCH_SIZE);
+    }
+
+    private WebhookOutbox queue(String kycId) {
+        WebhookOutbox message = new WebhookOutbox();
+        message.setKycId(kycId);
+        message.setWebhookUrl(URL);
+        message.setPayload("{\"kycId\":\"" + kycId + "\"}");
+        return outboxRepository.save(message);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void delivered_postsPayloadWithHeadersAndRemovesMessage() {
+        when(restTemplate.postForEntity(any(String.class), any(), eq(Void.class))).thenReturn(ResponseEntity.ok(null));
+        WebhookOutbox message = queue("x3Yq9mZ1");
+
+        assertEquals(1, dispatcher(Duration.ofSeconds(1)).dispatchDue());
+
+        ArgumentCaptor<HttpEntity<String>> captor = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate).postForEntity(eq(URL), captor.capture(), eq(Void.class));
+        assertEquals("{\"kycId\":\"x3Yq9mZ1\"}", captor.getValue().getBody());
+        assertEquals("x3Yq9mZ1", captor.getValue().getHeaders().getFirst("X-KYC-Id"));
+        assertEquals(String.valueOf(message.getId()), captor.getValue().getHeaders().getFirst("X-Webhook-Delivery-Id"));
+        assertEquals(0, outboxRepository.count());
+    }
+
+    @Test
+    void failedAttempt_rescheduledWithBackoffInsteadOfBlocking() {
+        when(restTemplate.postForEntity(any(String.class), any(), eq(Void.class)))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+        queue("x3Yq9mZ1");
+        WebhookOutboxDispatcher dispatcher = dispatcher(Duration.ofMinutes(1));
+
+        LocalDateTime before = LocalDateTime.now();
+        assertEquals(1, dispatcher.dispatchDue());
+
+        WebhookOutbox rescheduled = outboxRepository.findAll().get(0);
+        assertEquals(1, rescheduled.getAttempts());
+        assertEquals("Connection refused", rescheduled.getLastError());
+        assertNull(rescheduled.getLockedUntil());
+        assertFalse(rescheduled.getNextAttemptAt().isBefore(before.plusMinutes(1)));
+
+        // not due yet
+        assertEquals(0, dispatcher.dispatchDue());
+        verify(restTemplate, times(1)).postForEntity(any(String.class), any(), eq(Void.class));
+    }
+
+    @Test
+    void retriesExhausted_movedToDeadLetter() {
+        when(restTemplate.postForEntity(any(String.class), any(), eq(Void.class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS));
+        queue("x3Yq9mZ1");
+        WebhookOutboxDispatcher dispatcher = dispatcher(Duration.ZERO);
+
+        for (int i = 0; i < MAX_ATTEMPTS; i++) {
+            assertEquals(1, dispatcher.dispatchDue());
+        }
+
+        assertEquals(0, outboxRepository.count());
+        WebhookDeadLetter deadLetter = deadLetterRepository.findAll().get(0);
+        assertEquals("x3Yq9mZ1", deadLetter.getKycId());
+        assertEquals(MAX_ATTEMPTS, deadLetter.getAttempts());
+        assertEquals("{\"kycId\":\"x3Yq9mZ1\"}", deadLetter.getPayload());
+        assertNotNull(deadLetter.getQueuedAt());
+        assertNotNull(deadLetter.getDeadLetteredAt());
+    }
+
+    @Test
+    void rejectedByReceiver_deadLetteredWithoutRetry() {
+        when(restTemplate.postForEntity(any(String.class), any(), eq(Void.class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+        queue("x3Yq9mZ1");
+
+        dispatcher(Duration.ZERO).dispatchDue();
+
+        assertEquals(0, outboxRepository.count());
+        assertEquals(1, deadLetterRepository.findAll().get(0).getAttempts());
+    }
+
+    @Test
+    void leasedMessage_notClaimedAgain() {
+        WebhookOutbox message = queue("x3Yq9mZ1");
+        message.setLockedUntil(LocalDateTime.now().plusMinutes(1));
+        outboxRepository.save(message);
+
+        assertEquals(0, dispatcher(Duration.ZERO).dispatchDue());
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void batch_deliveredInParallel() throws Exception {
+        CountDownLatch allInFlight = new CountDownLatch(4);
+        when(restTemplate.postForEntity(any(String.class), any(), eq(Void.class))).thenAnswer(inv -> {
+            allInFlight.countDown();
+            // only returns once all four posts are in flight at the same time
+            assertTrue(allInFlight.await(5, TimeUnit.SECONDS), "deliveries ran one after another");
+            return ResponseEntity.ok(null);
+        });
+        for (int i = 0; i < 4; i++) {
+            queue("kyc-" + i);
+        }
+
+        assertEquals(4, dispatcher(Duration.ZERO).dispatchDue());
+        assertEquals(0, outboxRepository.count());
+    }
+
+    @Test
+    void replay_requeuesDeadLetterForDelivery() {
+        when(restTemplate.postForEntity(any(String.class), any(), eq(Void.class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.GONE))
+                .thenReturn(ResponseEntity.ok(null));
+        queue("x3Yq9mZ1");
+        WebhookOutboxDispatcher dispatcher = dispatcher(Duration.ZERO);
+        dispatcher.dispatchDue();
+
+        WebhookDeadLetterService deadLetters = new WebhookDeadLetterService(deadLetterRepository, outboxRepository);
+        List<WebhookDeadLetterResponse> listed = deadLetters.list("x3Yq9mZ1", 0, 10);
+        assertEquals(1, listed.size());
+        assertTrue(deadLetters.list("other", 0, 10).isEmpty());
+
+        WebhookDeadLetterResponse replayed = deadLetters.replay(listed.get(0).getId());
+        assertEquals(1, replayed.getReplayCount());
+        assertNotNull(replayed.getReplayedAt());
+
+        assertEquals(1, dispatcher.dispatchDue());
+        assertEquals(0, outboxRepository.count());
+        verify(restTemplate, times(2)).postForEntity(eq(URL), any(), eq(Void.class));
+    }
+
+    @Test
+    void backoff_doublesUpToCap() {
+        WebhookOutboxDispatcher dispatcher = dispatcher(Duration.ofSeconds(1));
+
+        assertEquals(Duration.ofSeconds(1), dispatcher.backoff(1));
+        assertEquals(Duration.ofSeconds(2), dispatcher.backoff(2));
+        assertEquals(Duration.ofSeconds(4), dispatcher.backoff(3));
+        assertEquals(Duration.ofMinutes(5), dispatcher.backoff(30));
+    }
+}
@@ -1,5 +1,7 @@
 package com.venus.kyc.risk;
 
+import com.venus.kyc.common.paging.CursorPage;
+import com.venus.kyc.common.paging.PageCursor;
 import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
@@ -66,16 +68,35 @@ public class RiskAssessmentRepository {
                 .update();
     }
 
-    public List<RiskAssessmentLog> findAllLogs() {
-        return jdbcClient.sql("SELECT * FROM RiskAssessmentLogs")
-                .query(RiskAssessmentLog.class)
-                .list();
+    /**
+     * Logs newest first, continuing after the cursor's (CreatedAt, LogID) with a seek on
+     * IX_RiskAssessmentLogs_CreatedAt, so later pages cost the same as the first.
+     */
+    public CursorPage<RiskAssessmentLog> findLogs(PageCursor after, int limit) {
+        var query = jdbcClient.sql("SELECT * FROM RiskAssessmentLogs"
+                + (after != null ? " WHERE (CreatedAt < :createdAt OR (CreatedAt = :createdAt AND LogID < :afterId))" : "")
+                + " ORDER BY CreatedAt DESC, LogID DESC LIMIT :limit")
+                .param("limit", limit + 1);
+        if (after != null) {
+            query.param("createdAt", after.timestampKey())
+                    .param("afterId", after.id());
+        }
+        return CursorPage.of(query.query(RiskAssessmentLog.class).list(), limit,
+                l -> PageCursor.of(l.createdAt(), l.logID()));
     }
 
-    public List<RiskAssessment> findAllAssessments() {
-        return jdbcClient.sql("SELECT * FROM RiskAssessments")
-                .query(RiskAssessment.class)
-                .list();
+    /** Assessments newest first, paged like {@link #findLogs} over IX_RiskAssessments_CreatedAt. */
+    public CursorPage<RiskAssessment> findAssessments(PageCursor after, int limit) {
+        var query = jdbcClient.sql("SELECT * FROM RiskAssessments"
+                + (after != null ? " WHERE (CreatedAt < :createdAt OR (CreatedAt = :createdAt AND AssessmentID < :afterId))" : "")
+                + " ORDER BY CreatedAt DESC, AssessmentID DESC LIMIT :limit")
+                .param("limit", limit + 1);
+        if (after != null) {
+            query.param("createdAt", after.timestampKey())
+                    .param("afterId", after.id());
+        }
+        return CursorPage.of(query.query(RiskAssessment.class).list(), limit,
+                a -> PageCursor.of(a.createdAt(), a.assessmentID()));
     }
 
     public List<RiskAssessment> findAssessmentsByRecordId(String recordId) {
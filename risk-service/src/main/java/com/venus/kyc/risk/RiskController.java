@@ -1,5 +1,8 @@
 package com.venus.kyc.risk;
 
+import com.venus.kyc.common.http.HttpClientFactory;
+import com.venus.kyc.common.paging.CursorPage;
+import com.venus.kyc.common.paging.PageCursor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -24,9 +27,11 @@ public class RiskController {
   public RiskController(
           RiskAssessmentRepository repository,
           RestClient.Builder restClientBuilder,
+          HttpClientFactory httpClients,
           @Value("${internal.api.key}") String internalApiKey) {
     this.repository = repository;
     this.restClient = restClientBuilder
+            .requestFactory(httpClients.requestFactory("crre"))
             .defaultHeader("X-Internal-Api-Key", internalApiKey)
             .build();
   }
@@ -125,16 +130,20 @@ public class RiskController {
         rc.localRuleApplied());
   }
 
-  @Operation(summary = "Get all risk assessment logs", description = "Returns the full history of risk assessment API calls including request/response payloads and status")
+  @Operation(summary = "Get risk assessment logs", description = "Returns the history of risk assessment API calls including request/response payloads and status, newest first, one page at a time; pass nextCursor back as cursor for the next page")
   @GetMapping("/logs")
-  public java.util.List<RiskAssessmentLog> getLogs() {
-    return repository.findAllLogs();
+  public CursorPage<RiskAssessmentLog> getLogs(
+      @Parameter(description = "nextCursor of the previous page") @RequestParam(required = false) String cursor,
+      @Parameter(description = "Page size, at most 500") @RequestParam(defaultValue = "50") int size) {
+    return repository.findLogs(PageCursor.decode(cursor), CursorPage.limit(size));
   }
 
-  @Operation(summary = "Get all risk assessments", description = "Returns all stored risk assessment results with overall risk scores and levels")
+  @Operation(summary = "Get risk assessments", description = "Returns stored risk assessment results with overall risk scores and levels, newest first, one page at a time; pass nextCursor back as cursor for the next page")
   @GetMapping("/assessments")
-  public java.util.List<RiskAssessment> getAllAssessments() {
-    return repository.findAllAssessments();
+  public CursorPage<RiskAssessment> getAllAssessments(
+      @Parameter(description = "nextCursor of the previous page") @RequestParam(required = false) String cursor,
+      @Parameter(description = "Page size, at most 500") @RequestParam(defaultValue = "50") int size) {
+    return repository.findAssessments(PageCursor.decode(cursor), CursorPage.limit(size));
   }
 
   @Operation(summary = "Get assessments by record ID", description = "Returns risk assessments for a specific client record ID")
@@ -1,5 +1,7 @@
 package com.venus.kyc.risk.batch;
 
+import com.venus.kyc.common.paging.CursorPage;
+import com.venus.kyc.common.paging.PageCursor;
 import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
@@ -34,10 +36,21 @@ public class BatchRepository {
         return extractKey(keyHolder, "BatchID");
     }
 
-    public List<BatchRun> findAll() {
-        return jdbcClient.sql("SELECT * FROM BatchRuns ORDER BY CreatedAt DESC")
-                .query(BatchRun.class)
-                .list();
+    /**
+     * Runs newest first, continuing after the cursor's (CreatedAt, BatchID) with a seek on
+     * IX_BatchRuns_CreatedAt, so later pages cost the same as the first.
+     */
+    public CursorPage<BatchRun> findPage(PageCursor after, int limit) {
+        var query = jdbcClient.sql("SELECT * FROM BatchRuns"
+                + (after != null ? " WHERE (CreatedAt < :createdAt OR (CreatedAt = :createdAt AND BatchID < :afterId))" : "")
+                + " ORDER BY CreatedAt DESC, BatchID DESC LIMIT :limit")
+                .param("limit", limit + 1);
+        if (after != null) {
+            query.param("createdAt", after.timestampKey())
+                    .param("afterId", after.id());
+        }
+        return CursorPage.of(query.query(BatchRun.class).list(), limit,
+                run -> PageCursor.of(run.createdAt(), run.batchID()));
     }
 
     private Long extractKey(KeyHolder keyHolder, String keyName) {
@@ -1,6 +1,7 @@
 package com.venus.kyc.risk.batch;
 
 import com.venus.kyc.risk.batch.model.Client;
+import com.venus.kyc.common.paging.CursorPage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -35,10 +36,12 @@ public class BatchRiskController {
         return ResponseEntity.ok().build();
     }
 
-    @Operation(summary = "Get batch run history", description = "Returns a list of all previous batch risk assessment runs with their statuses")
+    @Operation(summary = "Get batch run history", description = "Returns previous batch risk assessment runs with their statuses, newest first, one page at a time; pass nextCursor back as cursor for the next page")
     @GetMapping("/history")
-    public ResponseEntity<List<BatchRun>> getHistory() {
-        return ResponseEntity.ok(batchRiskService.getBatchHistory());
+    public ResponseEntity<CursorPage<BatchRun>> getHistory(
+            @Parameter(description = "nextCursor of the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most 500") @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(batchRiskService.getBatchHistory(cursor, size));
     }
 
     @Operation(summary = "Initiate batch risk assessment", description = "Creates and processes a batch risk assessment for the given list of clients in one step")
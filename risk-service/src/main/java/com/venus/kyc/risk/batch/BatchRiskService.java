@@ -3,6 +3,8 @@ package com.venus.kyc.risk.batch;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.venus.kyc.common.paging.CursorPage;
+import com.venus.kyc.common.paging.PageCursor;
 import com.venus.kyc.risk.batch.model.Client;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -33,6 +35,12 @@ public class BatchRiskService {
 
     private final BatchRepository batchRepository;
 
+    /**
+     * Plan compiled from the last mapping rows seen. RiskMappings has no version column, so the rows themselves are
+     * the version: the plan is recompiled only when a fresh load differs from the one it was built from.
+     */
+    private volatile RiskMappingPlan mappingPlan;
+
     public BatchRiskService(RiskMappingRepository mappingRepository, ObjectMapper objectMapper,
             SftpService sftpService, CompressionService compressionService, BatchRepository batchRepository) {
         this.mappingRepository = mappingRepository;
@@ -43,7 +51,7 @@ public class BatchRiskService {
     }
 
     public String generateTestJson(Client client) throws Exception {
-        ObjectNode root = createClientRequest(client, mappingRepository.findAll());
+        ObjectNode root = createClientRequest(client, mappingPlanFor(mappingRepository.findAll()));
         return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(root);
     }
 
@@ -68,8 +76,8 @@ public class BatchRiskService {
         return batchBaseName;
     }
 
-    public List<BatchRun> getBatchHistory() {
-        return batchRepository.findAll();
+    public CursorPage<BatchRun> getBatchHistory(String cursor, int size) {
+        return batchRepository.findPage(PageCursor.decode(cursor), CursorPage.limit(size));
     }
 
     public void generateBatchJsonl(String batchId) throws Exception {
@@ -82,11 +90,11 @@ public class BatchRiskService {
                 objectMapper.getTypeFactory().constructCollectionType(List.class, Client.class));
 
         File jsonlFile = new File(batchDir, "clients.jsonl");
-        List<RiskMapping> mappings = mappingRepository.findAll();
+        RiskMappingPlan plan = mappingPlanFor(mappingRepository.findAll());
 
         try (PrintWriter writer = new PrintWriter(new FileWriter(jsonlFile))) {
             for (Client client : clients) {
-                ObjectNode clientJson = createClientRequest(client, mappings);
+                ObjectNode clientJson = createClientRequest(client, plan);
                 writer.println(objectMapper.writeValueAsString(clientJson));
             }
         }
@@ -160,7 +168,16 @@ public class BatchRiskService {
         return sb.toString();
     }
 
-    private ObjectNode createClientRequest(Client client, List<RiskMapping> mappings) {
+    RiskMappingPlan mappingPlanFor(List<RiskMapping> mappings) {
+        RiskMappingPlan plan = mappingPlan;
+        if (plan == null || !plan.compiledFrom(mappings)) {
+            plan = RiskMappingPlan.compile(mappings);
+            mappingPlan = plan;
+        }
+        return plan;
+    }
+
+    private ObjectNode createClientRequest(Client client, RiskMappingPlan plan) {
         ObjectNode root = objectMapper.createObjectNode();
 
         // Header
@@ -186,31 +203,11 @@ public class BatchRiskService {
         // Defaults required by schema
         ((ObjectNode) clientData.get("clientDetails")).putArray("additionalRule");
 
-        for (RiskMapping mapping : mappings) {
-            String value = getValueFromClient(client, mapping);
-            if (value == null)
-                value = mapping.defaultValue();
-
-            if (value != null) {
-                setMappedValue(clientData, mapping.targetPath(), value);
-            }
-        }
+        plan.apply(client, clientData);
 
         return root;
     }
 
-    private String getValueFromClient(Client client, RiskMapping mapping) {
-        if (mapping.sourceField() == null)
-            return null;
-        try {
-            java.lang.reflect.Method method = Client.class.getMethod(mapping.sourceField());
-            Object result = method.invoke(client);
-            return result != null ? String.valueOf(result) : null;
-        } catch (Exception e) {
-            return null;
-        }
-    }
-
     public String getFileContent(String batchName, String fileType) throws IOException {
         File batchDir = new File(workDir, batchName);
         File file = null;
@@ -230,37 +227,4 @@ public class BatchRiskService {
         }
         return "File not found";
     }
-
-    private void setMappedValue(ObjectNode request, String targetPath, String value) {
-        String[] parts = targetPath.split("\\.");
-
-        // Navigate to the correct section based on targetPath
-        // Example path: clientDetails.recordID
-        if (targetPath.startsWith("clientDetails.")) {
-            ((ObjectNode) request.get("clientDetails")).put(parts[1], value);
-        } else if (targetPath.startsWith("entityRiskType.")) {
-            ((ObjectNode) request.get("entityRiskType")).put(parts[1], value);
-        } else if (targetPath.startsWith("industryRiskType.")) {
-            ((ObjectNode) request.get("industryRiskType")).put(parts[1], value);
-        } else if (targetPath.startsWith("geoRiskType.")) {
-            if (parts.length > 2 && parts[1].equals("addressType")) {
-                ObjectNode addr = (ObjectNode) ((ObjectNode) request.get("geoRiskType")).get("addressType");
-                if (addr == null)
-                    addr = ((ObjectNode) request.get("geoRiskType")).putObject("addressType");
-                addr.put(parts[2], value);
-            } else {
-                ((ObjectNode) request.get("geoRiskType")).put(parts[1], value);
-            }
-        } else if (targetPath.startsWith("channelRiskType.")) {
-            ((ObjectNode) request.get("channelRiskType")).put(parts[1], value);
-        } else if (targetPath.startsWith("productRiskType.")) {
-            ArrayNode arr = (ArrayNode) request.get("productRiskType");
-            ObjectNode item;
-            if (arr.size() == 0)
-                item = arr.addObject();
-            else
-                item = (ObjectNode) arr.get(0);
-            item.put(parts[1], value);
-        }
-    }
 }
@@ -0,0 +1,123 @@
+package com.venus.kyc.risk.batch;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.venus.kyc.risk.batch.model.Client;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * A list of {@link RiskMapping}s compiled once into getter/setter steps.
+ *
+ * <p>Source fields are resolved to {@link MethodHandle}s on {@link Client} and target paths are split and
+ * dispatched to a section setter at compile time, so applying the plan to a request does no reflection or
+ * string handling. Plans are immutable and safe to share between threads.
+ */
+public final class RiskMappingPlan {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.publicLookup();
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Client.class);
+
+    private record Step(MethodHandle getter, String defaultValue, BiConsumer<ObjectNode, String> setter) {
+    }
+
+    private final List<RiskMapping> mappings;
+    private final Step[] steps;
+
+    private RiskMappingPlan(List<RiskMapping> mappings, Step[] steps) {
+        this.mappings = mappings;
+        this.steps = steps;
+    }
+
+    public static RiskMappingPlan compile(List<RiskMapping> mappings) {
+        List<Step> steps = new ArrayList<>(mappings.size());
+        for (RiskMapping mapping : mappings) {
+            BiConsumer<ObjectNode, String> setter = setterFor(mapping.targetPath());
+            if (setter != null) {
+                steps.add(new Step(getterFor(mapping.sourceField()), mapping.defaultValue(), setter));
+            }
+        }
+        return new RiskMappingPlan(List.copyOf(mappings), steps.toArray(new Step[0]));
+    }
+
+    /** True if this plan was compiled from exactly these mapping rows. */
+    public boolean compiledFrom(List<RiskMapping> mappings) {
+        return this.mappings.equals(mappings);
+    }
+
+    /** Writes every mapped value of {@code client} into the {@code clientRiskRatingRequest} entry. */
+    public void apply(Client client, ObjectNode clientData) {
+        for (Step step : steps) {
+            String value = read(step.getter, client);
+            if (value == null)
+                value = step.defaultValue;
+            if (value != null) {
+                step.setter.accept(clientData, value);
+            }
+        }
+    }
+
+    private static String read(MethodHandle getter, Client client) {
+        if (getter == null)
+            return null;
+        try {
+            Object result = (Object) getter.invokeExact(client);
+            return result != null ? String.valueOf(result) : null;
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    private static MethodHandle getterFor(String sourceField) {
+        if (sourceField == null)
+            return null;
+        try {
+            return LOOKUP.unreflect(Client.class.getMethod(sourceField)).asType(GETTER_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null; // unknown field: the default value applies
+        }
+    }
+
+    // Example path: clientDetails.recordID
+    private static BiConsumer<ObjectNode, String> setterFor(String targetPath) {
+        if (targetPath == null)
+            return null;
+        String[] parts = targetPath.split("\\.");
+        if (parts.length < 2)
+            return null;
+        String section = parts[0];
+        String field = parts[1];
+        switch (section) {
+            case "clientDetails":
+            case "entityRiskType":
+            case "industryRiskType":
+            case "channelRiskType":
+                return (request, value) -> ((ObjectNode) request.get(section)).put(field, value);
+            case "geoRiskType":
+                if (parts.length > 2 && field.equals("addressType")) {
+                    String addressField = parts[2];
+                    return (request, value) -> {
+                        ObjectNode geo = (ObjectNode) request.get(section);
+                        ObjectNode addr = (ObjectNode) geo.get("addressType");
+                        if (addr == null)
+                            addr = geo.putObject("addressType");
+                        addr.put(addressField, value);
+                    };
+                }
+                return (request, value) -> ((ObjectNode) request.get(section)).put(field, value);
+            case "productRiskType":
+                return (request, value) -> {
+                    ArrayNode arr = (ArrayNode) request.get(section);
+                    ObjectNode item = arr.size() == 0 ? arr.addObject() : (ObjectNode) arr.get(0);
+                    item.put(field, value);
+                };
+            default:
+                return null;
+        }
+    }
+}
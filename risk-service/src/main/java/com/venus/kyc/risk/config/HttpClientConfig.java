@@ -0,0 +1,19 @@
+package com.venus.kyc.risk.config;
+
+import com.venus.kyc.common.http.HttpClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+@Configuration
+public class HttpClientConfig {
+
+    /**
+     * Pooled HTTP connections to the external CRRE risk engine, one pool per
+     * service, tuned with the kyc.http.&lt;service&gt;.* properties. Closed with the context.
+     */
+    @Bean
+    public HttpClientFactory httpClientFactory(Environment environment) {
+        return new HttpClientFactory(environment::getProperty);
+    }
+}
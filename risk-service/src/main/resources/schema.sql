@@ -6,6 +6,9 @@ CREATE TABLE RiskAssessmentLogs (
     CreatedAt TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Keyset paging newest first; the id makes the key unique
+CREATE INDEX IX_RiskAssessmentLogs_CreatedAt ON RiskAssessmentLogs (CreatedAt, LogID);
+
 CREATE TABLE RiskAssessments (
     AssessmentID INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     LogID INTEGER,
@@ -19,6 +22,8 @@ CREATE TABLE RiskAssessments (
     FOREIGN KEY (LogID) REFERENCES RiskAssessmentLogs(LogID)
 );
 
+CREATE INDEX IX_RiskAssessments_CreatedAt ON RiskAssessments (CreatedAt, AssessmentID);
+
 CREATE TABLE RiskAssessmentDetails (
     DetailID INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     AssessmentID INTEGER,
@@ -48,3 +53,5 @@ CREATE TABLE BatchRuns (
     CreatedAt TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     UpdatedAt TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
+
+CREATE INDEX IX_BatchRuns_CreatedAt ON BatchRuns (CreatedAt, BatchID);
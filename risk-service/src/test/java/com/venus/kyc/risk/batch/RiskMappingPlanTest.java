@@ -0,0 +1,65 @@
+package com.venus.kyc.risk.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.venus.kyc.risk.batch.model.Client;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RiskMappingPlanTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void apply_shouldWriteIntoTargetSections() {
+        RiskMappingPlan plan = RiskMappingPlan.compile(List.of(
+                new RiskMapping(1L, "clientDetails.recordID", "clientID", null, null),
+                new RiskMapping(2L, "clientDetails.dateOfBirth", "dateOfBirth", null, null),
+                new RiskMapping(3L, "geoRiskType.addressType.country", "country", "US", null),
+                new RiskMapping(4L, "geoRiskType.nationality", "nationality", null, null),
+                new RiskMapping(5L, "productRiskType.productCode", null, "EQ", null),
+                new RiskMapping(6L, "entityRiskType.type", "noSuchField", "IND", null),
+                new RiskMapping(7L, "unknownSection.x", null, "ignored", null)));
+
+        ObjectNode clientData = emptyRequest();
+        plan.apply(client(7L, LocalDate.of(1990, 1, 2), null, "DE"), clientData);
+
+        assertEquals("7", clientData.get("clientDetails").get("recordID").asText());
+        assertEquals("1990-01-02", clientData.get("clientDetails").get("dateOfBirth").asText());
+        assertEquals("US", clientData.get("geoRiskType").get("addressType").get("country").asText());
+        assertEquals("DE", clientData.get("geoRiskType").get("nationality").asText());
+        assertEquals("EQ", clientData.get("productRiskType").get(0).get("productCode").asText());
+        assertEquals("IND", clientData.get("entityRiskType").get("type").asText());
+        assertNull(clientData.get("unknownSection"));
+    }
+
+    @Test
+    void compiledFrom_shouldTrackMappingRows() {
+        List<RiskMapping> mappings = List.of(new RiskMapping(1L, "clientDetails.recordID", "clientID", null, null));
+        RiskMappingPlan plan = RiskMappingPlan.compile(mappings);
+
+        assertTrue(plan.compiledFrom(List.of(new RiskMapping(1L, "clientDetails.recordID", "clientID", null, null))));
+        assertFalse(plan.compiledFrom(List.of(new RiskMapping(1L, "clientDetails.recordID", "lastName", null, null))));
+    }
+
+    private ObjectNode emptyRequest() {
+        ObjectNode clientData = objectMapper.createObjectNode();
+        clientData.putObject("clientDetails");
+        clientData.putObject("entityRiskType");
+        clientData.putObject("industryRiskType");
+        clientData.putObject("geoRiskType");
+        clientData.putArray("productRiskType");
+        clientData.putObject("channelRiskType");
+        return clientData;
+    }
+
+    private static Client client(Long id, LocalDate dob, String country, String nationality) {
+        return new Client(id, null, "Jane", null, "Doe", null, null, null, null, "ACTIVE", null, null, null, dob,
+                null, null, null, null, null, null, null, null, null, null, country, nationality, null, null, null,
+                null, null);
+    }
+}
@@ -3,8 +3,11 @@ package com.venus.kyc.screening;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -30,11 +33,35 @@ public class ScreeningController {
         }
     }
 
-    @Operation(summary = "Get screening status", description = "Returns the current status of a screening request by its unique request ID")
+    @Operation(summary = "Get screening status", description = "Returns the stored result snapshot of a screening request. "
+            + "The ETag is the snapshot version; send it as If-None-Match to get 304 while nothing has changed")
     @GetMapping("/status/{requestId}")
     public ResponseEntity<ScreeningDTOs.ScreeningStatusResponse> getStatus(
+            @Parameter(description = "Screening request ID") @PathVariable String requestId,
+            WebRequest webRequest) {
+        ScreeningDTOs.ScreeningStatusResponse snapshot = service.checkStatus(requestId);
+        String etag = "\"" + snapshot.version() + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(snapshot);
+    }
+
+    @Operation(summary = "Stream screening status", description = "Server-Sent Events: a 'status' event with the current snapshot, "
+            + "then one per new version; the stream ends once the screening is COMPLETED")
+    @GetMapping(value = "/status/{requestId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStatus(
             @Parameter(description = "Screening request ID") @PathVariable String requestId) {
-        return ResponseEntity.ok(service.checkStatus(requestId));
+        return service.streamStatus(requestId);
+    }
+
+    @Operation(summary = "Provider result callback", description = "Accepts results pushed by the screening provider. "
+            + "Only contexts whose result changed are written; repeating a callback is harmless")
+    @PostMapping("/callback/{requestId}")
+    public ResponseEntity<ScreeningDTOs.ScreeningStatusResponse> providerCallback(
+            @Parameter(description = "Screening request ID") @PathVariable String requestId,
+            @RequestBody List<ScreeningDTOs.ContextResult> results) {
+        return ResponseEntity.ok(service.applyProviderResults(requestId, results));
     }
 
     @Operation(summary = "Get screening history", description = "Returns the complete screening history for a specific client")
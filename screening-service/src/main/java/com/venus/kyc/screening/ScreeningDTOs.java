@@ -17,8 +17,14 @@ public class ScreeningDTOs {
             String requestId) {
     }
 
+    /**
+     * Snapshot of a screening's results. {@code version} grows with every change, so a consumer can
+     * drop a snapshot older than one it already holds.
+     */
     public record ScreeningStatusResponse(
             String requestId,
+            long version,
+            String overallStatus, // IN_PROGRESS, COMPLETED
             List<ContextResult> results) {
     }
 
@@ -9,5 +9,7 @@ public record ScreeningLog(
         String responsePayload,
         String overallStatus,
         String externalRequestID,
-        LocalDateTime createdAt) {
+        LocalDateTime createdAt,
+        Long resultVersion, // bumped on every change to the results
+        LocalDateTime updatedAt) {
 }
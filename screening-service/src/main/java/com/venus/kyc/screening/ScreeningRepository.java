@@ -6,6 +6,8 @@ import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -94,9 +96,59 @@ public class ScreeningRepository {
         return ((Number) key).longValue();
     }
 
-    public void deleteResultsByLogId(Long logId) {
-        String sql = "DELETE FROM ScreeningResults WHERE ScreeningLogID = :logId";
-        jdbcClient.sql(sql).param("logId", logId).update();
+    public void updateResult(ScreeningResult result) {
+        jdbcClient.sql("UPDATE ScreeningResults SET Status = :status, AlertStatus = :alertStatus, "
+                        + "AlertMessage = :alertMessage, AlertID = :alertID WHERE ResultID = :resultId")
+                .param("status", result.status())
+                .param("alertStatus", result.alertStatus())
+                .param("alertMessage", result.alertMessage())
+                .param("alertID", result.alertID())
+                .param("resultId", result.resultID())
+                .update();
+    }
+
+    /**
+     * Records a new result version, provided the log is still at {@code expectedVersion}.
+     * Returns false if a concurrent writer got there first.
+     */
+    public boolean advanceResultVersion(Long logId, long expectedVersion, String responsePayload, String overallStatus) {
+        return jdbcClient.sql("UPDATE ScreeningLogs SET ResultVersion = ResultVersion + 1, ResponsePayload = :responsePayload, "
+                        + "OverallStatus = :overallStatus, UpdatedAt = :updatedAt "
+                        + "WHERE LogID = :logId AND ResultVersion = :expectedVersion")
+                .param("responsePayload", responsePayload)
+                .param("overallStatus", overallStatus)
+                .param("updatedAt", LocalDateTime.now())
+                .param("logId", logId)
+                .param("expectedVersion", expectedVersion)
+                .update() == 1;
+    }
+
+    /** Logs in overallStatus, never-polled first and then least recently polled, so none is starved. */
+    public List<ScreeningLog> findLogsByStatus(String overallStatus, int limit) {
+        return jdbcClient.sql("SELECT * FROM ScreeningLogs WHERE OverallStatus = :overallStatus "
+                        + "ORDER BY LastPolledAt NULLS FIRST, LogID LIMIT :limit")
+                .param("overallStatus", overallStatus)
+                .param("limit", limit)
+                .query(ScreeningLog.class)
+                .list();
+    }
+
+    public void markPolled(Long logId) {
+        jdbcClient.sql("UPDATE ScreeningLogs SET LastPolledAt = :now WHERE LogID = :logId")
+                .param("now", LocalDateTime.now())
+                .param("logId", logId)
+                .update();
+    }
+
+    /** Current ResultVersion of each of the given requests that exists, by external request ID. */
+    public Map<String, Long> findResultVersions(Collection<String> externalIds) {
+        Map<String, Long> versions = new HashMap<>();
+        jdbcClient.sql("SELECT ExternalRequestID, ResultVersion FROM ScreeningLogs WHERE ExternalRequestID IN (:externalIds)")
+                .param("externalIds", externalIds)
+                .query(rs -> {
+                    versions.put(rs.getString("ExternalRequestID"), rs.getLong("ResultVersion"));
+                });
+        return versions;
     }
 
     public List<ScreeningLog> findLogsByClientId(Long clientId) {
@@ -114,7 +166,7 @@ public class ScreeningRepository {
     }
 
     public List<ScreeningResult> findResultsByLogId(Long logId) {
-        return jdbcClient.sql("SELECT * FROM ScreeningResults WHERE ScreeningLogID = :logId")
+        return jdbcClient.sql("SELECT * FROM ScreeningResults WHERE ScreeningLogID = :logId ORDER BY ResultID")
                 .param("logId", logId)
                 .query(ScreeningResult.class)
                 .list();
@@ -3,23 +3,40 @@ package com.venus.kyc.screening;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 
 @Service
 public class ScreeningService {
 
+    static final String IN_PROGRESS = "IN_PROGRESS";
+    static final String COMPLETED = "COMPLETED";
+    private static final int MAX_APPLY_ATTEMPTS = 3;
+
     private final ScreeningRepository repository;
     private final ObjectMapper objectMapper;
     private final ScreeningProvider screeningProvider;
+    private final ScreeningStatusBroadcaster broadcaster;
+    private final TransactionTemplate transactionTemplate;
 
     public ScreeningService(ScreeningRepository repository,
-            ObjectMapper objectMapper, ScreeningProvider screeningProvider) {
+            ObjectMapper objectMapper, ScreeningProvider screeningProvider,
+            ScreeningStatusBroadcaster broadcaster, PlatformTransactionManager transactionManager) {
         this.repository = repository;
         this.objectMapper = objectMapper;
         this.screeningProvider = screeningProvider;
+        this.broadcaster = broadcaster;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     public ScreeningDTOs.InitiateScreeningResponse initiateScreening(ScreeningDTOs.ScreeningInternalRequest request) {
@@ -40,13 +57,15 @@ public class ScreeningService {
         String externalRequestId = screeningProvider.initiate(externalRequest);
 
         // 3. Save Log
-        ScreeningLog log = new ScreeningLog(null, request.clientId(), requestJson, null, "IN_PROGRESS",
+        ScreeningLog log = new ScreeningLog(null, request.clientId(), requestJson, null, IN_PROGRESS,
                 externalRequestId,
-                LocalDateTime.now());
-        Long logId = repository.saveLog(log);
+                LocalDateTime.now(), 0L, null);
+        transactionTemplate.executeWithoutResult(status -> {
+            Long logId = repository.saveLog(log);
 
-        // Initialize empty results as IN_PROGRESS
-        saveInitialResults(logId);
+            // Initialize empty results as IN_PROGRESS
+            saveInitialResults(logId);
+        });
 
         // Note: Audit logging is handled by caller (Viewer) or separate mechanism
         // System.out.println("Initiated screening for client " + request.clientId());
@@ -57,53 +76,158 @@ public class ScreeningService {
     private void saveInitialResults(Long logId) {
         String[] contexts = { "PEP", "ADM", "INT", "SAN" };
         for (String ctx : contexts) {
-            repository.saveResult(new ScreeningResult(null, logId, ctx, "IN_PROGRESS", null, null, null));
+            repository.saveResult(new ScreeningResult(null, logId, ctx, IN_PROGRESS, null, null, null));
         }
     }
 
+    /**
+     * The stored result snapshot. A plain read: provider results arrive through
+     * {@link #applyProviderResults} (callback or {@link ScreeningStatusPoller}), not through status reads.
+     */
     public ScreeningDTOs.ScreeningStatusResponse checkStatus(String requestId) {
-        ScreeningLog log = repository.findLogByExternalId(requestId);
-        if (log == null) {
-            throw new RuntimeException("Request ID not found: " + requestId);
+        return toSnapshot(findLogOrThrow(requestId));
+    }
+
+    /** Opens a Server-Sent Event stream of result snapshots for requestId. */
+    public SseEmitter streamStatus(String requestId) {
+        findLogOrThrow(requestId);
+        return broadcaster.subscribe(requestId, () -> checkStatus(requestId));
+    }
+
+    /**
+     * Publishes to the stream subscribers on this instance the snapshots another instance has written since they
+     * were last sent one. That instance published only to its own subscribers, and this one's poller sees no change
+     * to write, so without this a stream attached here would stay idle until it times out.
+     */
+    public void publishChangesFromOtherInstances() {
+        Map<String, Long> delivered = broadcaster.deliveredVersions();
+        if (delivered.isEmpty()) {
+            return;
         }
+        repository.findResultVersions(delivered.keySet()).forEach((requestId, version) -> {
+            if (version > delivered.get(requestId)) {
+                broadcaster.publish(checkStatus(requestId));
+            }
+        });
+    }
 
-        // 1. Check DB first to see if already done?
-        List<ScreeningResult> currentResults = repository.findResultsByLogId(log.logID());
-        boolean anyInProgress = currentResults.stream().anyMatch(r -> "IN_PROGRESS".equals(r.status()));
+    /** In-progress screenings the poller should ask the provider about, least recently polled first. */
+    public List<ScreeningLog> findInProgress(int limit) {
+        return repository.findLogsByStatus(IN_PROGRESS, limit);
+    }
 
-        if (!anyInProgress) {
-            // Already completed, just return DB results
-            List<ScreeningDTOs.ContextResult> dtoResults = currentResults.stream()
-                    .map(r -> new ScreeningDTOs.ContextResult(r.contextType(), r.status(), r.alertMessage()))
-                    .toList();
-            return new ScreeningDTOs.ScreeningStatusResponse(requestId, dtoResults);
+    /** Asks the provider for the results of an in-progress screening and applies them, if any. */
+    public void refreshFromProvider(ScreeningLog log) {
+        // recorded before asking, so a log the provider keeps failing on still moves to the back of the queue
+        repository.markPolled(log.logID());
+        List<ScreeningDTOs.ContextResult> results = screeningProvider.checkStatus(log.externalRequestID());
+        if (!results.isEmpty()) {
+            applyProviderResults(log.externalRequestID(), results);
         }
+    }
 
-        // 2. Poll Provider
-        List<ScreeningDTOs.ContextResult> newResults = screeningProvider.checkStatus(requestId);
+    /**
+     * Applies provider results to the stored snapshot. Writes only the contexts whose result changed and
+     * bumps the version once; identical results (a repeated callback, a poll with nothing new) write
+     * nothing. Subscribers are notified after the change has committed.
+     */
+    public ScreeningDTOs.ScreeningStatusResponse applyProviderResults(String requestId,
+            List<ScreeningDTOs.ContextResult> results) {
+        for (int attempt = 1; ; attempt++) {
+            ScreeningLog log = findLogOrThrow(requestId);
+            Boolean changed = transactionTemplate.execute(status -> writeChanges(log, results));
+            if (Boolean.TRUE.equals(changed)) {
+                ScreeningDTOs.ScreeningStatusResponse snapshot = checkStatus(requestId);
+                broadcaster.publish(snapshot);
+                return snapshot;
+            }
+            if (changed != null) {
+                return checkStatus(requestId);
+            }
+            // null: another writer advanced the version first; re-read and compare against its result
+            if (attempt == MAX_APPLY_ATTEMPTS) {
+                throw new IllegalStateException("Concurrent result updates for request " + requestId);
+            }
+        }
+    }
 
-        if (!newResults.isEmpty()) {
-            // Provider returned results, update DB
-            repository.deleteResultsByLogId(log.logID()); // Clear old (or in_progress)
+    /** TRUE if written, FALSE if nothing changed, null (rolled back) if the version moved underneath us. */
+    private Boolean writeChanges(ScreeningLog log, List<ScreeningDTOs.ContextResult> results) {
+        Map<String, ScreeningResult> current = new LinkedHashMap<>();
+        for (ScreeningResult result : repository.findResultsByLogId(log.logID())) {
+            current.put(result.contextType(), result);
+        }
 
-            for (ScreeningDTOs.ContextResult res : newResults) {
-                repository.saveResult(new ScreeningResult(null, log.logID(), res.contextType(),
-                        res.status(),
-                        "HIT".equals(res.status()) ? "OPEN" : null,
-                        res.alertMessage(),
-                        "HIT".equals(res.status()) ? "ALT-" + UUID.randomUUID().toString().substring(0, 5) : null));
+        List<ScreeningResult> toUpdate = new ArrayList<>();
+        List<ScreeningResult> toInsert = new ArrayList<>();
+        for (ScreeningDTOs.ContextResult res : results) {
+            ScreeningResult existing = current.get(res.contextType());
+            if (existing == null) {
+                toInsert.add(new ScreeningResult(null, log.logID(), res.contextType(), res.status(),
+                        alertStatus(res), res.alertMessage(), alertId(res, null)));
+            } else if (!Objects.equals(existing.status(), res.status())
+                    || !Objects.equals(existing.alertMessage(), res.alertMessage())) {
+                toUpdate.add(new ScreeningResult(existing.resultID(), log.logID(), res.contextType(), res.status(),
+                        alertStatus(res), res.alertMessage(), alertId(res, existing)));
             }
+        }
+        if (toUpdate.isEmpty() && toInsert.isEmpty()) {
+            return false;
+        }
 
-            // Update Log Status
-            repository.updateLog(log.logID(), "[Provider Response]", "COMPLETED");
+        Map<String, String> merged = new HashMap<>();
+        current.forEach((ctx, result) -> merged.put(ctx, result.status()));
+        results.forEach(result -> merged.put(result.contextType(), result.status()));
+        String overallStatus = merged.containsValue(IN_PROGRESS) ? IN_PROGRESS : COMPLETED;
 
-            return new ScreeningDTOs.ScreeningStatusResponse(requestId, newResults);
-        } else {
-            // Still in progress
-            List<ScreeningDTOs.ContextResult> dtoResults = currentResults.stream()
-                    .map(r -> new ScreeningDTOs.ContextResult(r.contextType(), r.status(), r.alertMessage()))
-                    .toList();
-            return new ScreeningDTOs.ScreeningStatusResponse(requestId, dtoResults);
+        if (!repository.advanceResultVersion(log.logID(), versionOf(log), serialize(results), overallStatus)) {
+            return null;
+        }
+        toUpdate.forEach(repository::updateResult);
+        toInsert.forEach(repository::saveResult);
+        return true;
+    }
+
+    private ScreeningLog findLogOrThrow(String requestId) {
+        ScreeningLog log = repository.findLogByExternalId(requestId);
+        if (log == null) {
+            throw new RuntimeException("Request ID not found: " + requestId);
+        }
+        return log;
+    }
+
+    private ScreeningDTOs.ScreeningStatusResponse toSnapshot(ScreeningLog log) {
+        List<ScreeningDTOs.ContextResult> results = repository.findResultsByLogId(log.logID()).stream()
+                .map(r -> new ScreeningDTOs.ContextResult(r.contextType(), r.status(), r.alertMessage()))
+                .toList();
+        return new ScreeningDTOs.ScreeningStatusResponse(log.externalRequestID(), versionOf(log),
+                log.overallStatus(), results);
+    }
+
+    private static long versionOf(ScreeningLog log) {
+        return log.resultVersion() != null ? log.resultVersion() : 0L;
+    }
+
+    private static String alertStatus(ScreeningDTOs.ContextResult result) {
+        return "HIT".equals(result.status()) ? "OPEN" : null;
+    }
+
+    /** Keeps the alert ID of a context that was already a hit, so re-applied results do not re-key alerts. */
+    private static String alertId(ScreeningDTOs.ContextResult result, ScreeningResult existing) {
+        if (!"HIT".equals(result.status())) {
+            return null;
+        }
+        if (existing != null && existing.alertID() != null) {
+            return existing.alertID();
+        }
+        return "ALT-" + UUID.randomUUID().toString().substring(0, 5);
+    }
+
+    private String serialize(List<ScreeningDTOs.ContextResult> results) {
+        try {
+            return objectMapper.writeValueAsString(results);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize provider results", e);
         }
     }
 
@@ -0,0 +1,153 @@
+package com.venus.kyc.screening;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Pushes screening result snapshots to Server-Sent Event subscribers, keyed by external request ID.
+ *
+ * <p>A subscriber gets the current snapshot on connect and every later version as it is written;
+ * versions only ever go up per subscriber, so a snapshot racing the initial one is never delivered
+ * out of order. The stream is completed once the screening is {@code COMPLETED}. A comment line is
+ * sent to idle streams every heartbeat so proxies keep them open and dead ones are noticed.
+ *
+ * <p>Subscribers are held per instance, and {@link #publish} is only called by the instance that
+ * wrote the change. Changes written by another instance reach the subscribers here through
+ * {@link ScreeningService#publishChangesFromOtherInstances}, which compares the stored versions
+ * against {@link #deliveredVersions}.
+ */
+@Component
+public class ScreeningStatusBroadcaster {
+
+    static final String EVENT_NAME = "status";
+    static final String TERMINAL_STATUS = "COMPLETED";
+
+    private static final Logger log = LoggerFactory.getLogger(ScreeningStatusBroadcaster.class);
+
+    private final ConcurrentMap<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final long streamTimeoutMs;
+
+    public ScreeningStatusBroadcaster(@Value("${screening.status.stream-timeout-ms:300000}") long streamTimeoutMs) {
+        this.streamTimeoutMs = streamTimeoutMs;
+    }
+
+    /**
+     * Opens a stream for requestId. Registers before reading {@code current}, so a change committed in
+     * between is still delivered.
+     */
+    public SseEmitter subscribe(String requestId, Supplier<ScreeningDTOs.ScreeningStatusResponse> current) {
+        Subscriber subscriber = new Subscriber(requestId, new SseEmitter(streamTimeoutMs));
+        subscribers.computeIfAbsent(requestId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(() -> remove(subscriber));
+        subscriber.emitter.onError(e -> remove(subscriber));
+        try {
+            subscriber.send(current.get());
+        } catch (RuntimeException e) {
+            remove(subscriber);
+            throw e;
+        }
+        return subscriber.emitter;
+    }
+
+    /** Sends snapshot to everyone following its request. */
+    public void publish(ScreeningDTOs.ScreeningStatusResponse snapshot) {
+        Set<Subscriber> following = subscribers.get(snapshot.requestId());
+        if (following != null) {
+            following.forEach(subscriber -> subscriber.send(snapshot));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${screening.status.stream-heartbeat-ms:15000}")
+    public void heartbeat() {
+        subscribers.values().forEach(following -> following.forEach(Subscriber::ping));
+    }
+
+    /** For each request with subscribers here, the lowest version any of them has been sent. */
+    Map<String, Long> deliveredVersions() {
+        Map<String, Long> delivered = new HashMap<>();
+        subscribers.forEach((requestId, following) -> following.forEach(subscriber ->
+                delivered.merge(requestId, subscriber.lastVersion(), Math::min)));
+        return delivered;
+    }
+
+    int subscriberCount(String requestId) {
+        Set<Subscriber> following = subscribers.get(requestId);
+        return following == null ? 0 : following.size();
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.requestId, (id, following) -> {
+            following.remove(subscriber);
+            return following.isEmpty() ? null : following;
+        });
+    }
+
+    private final class Subscriber {
+
+        private final String requestId;
+        private final SseEmitter emitter;
+        private long lastVersion = -1;
+        private boolean closed;
+
+        Subscriber(String requestId, SseEmitter emitter) {
+            this.requestId = requestId;
+            this.emitter = emitter;
+        }
+
+        synchronized void send(ScreeningDTOs.ScreeningStatusResponse snapshot) {
+            if (closed || snapshot.version() <= lastVersion) {
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event()
+                        .name(EVENT_NAME)
+                        .id(String.valueOf(snapshot.version()))
+                        .data(snapshot));
+                lastVersion = snapshot.version();
+                if (TERMINAL_STATUS.equals(snapshot.overallStatus())) {
+                    close();
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // client went away; the emitter's error callback is not guaranteed to fire for us
+                log.debug("Dropping screening status subscriber for {}: {}", requestId, e.getMessage());
+                close();
+                emitter.completeWithError(e);
+            }
+        }
+
+        synchronized long lastVersion() {
+            return lastVersion;
+        }
+
+        synchronized void ping() {
+            if (closed) {
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+            } catch (IOException | IllegalStateException e) {
+                close();
+                emitter.completeWithError(e);
+            }
+        }
+
+        private void close() {
+            closed = true;
+            remove(this);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.venus.kyc.screening;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Server-side stand-in for a provider that does not call back: asks the provider about every
+ * in-progress screening on a fixed delay and applies whatever it returns. Unchanged results write
+ * nothing, so callers never need to poll the provider through {@code /status}.
+ */
+@Component
+public class ScreeningStatusPoller {
+
+    private static final Logger log = LoggerFactory.getLogger(ScreeningStatusPoller.class);
+
+    private final ScreeningService screeningService;
+    private final int batchSize;
+
+    public ScreeningStatusPoller(ScreeningService screeningService,
+            @Value("${screening.status.poll-batch-size:100}") int batchSize) {
+        this.screeningService = screeningService;
+        this.batchSize = batchSize;
+    }
+
+    /** Relays results another instance wrote to the streams open on this one. */
+    @Scheduled(fixedDelayString = "${screening.status.relay-interval-ms:1000}")
+    public void relayChangesFromOtherInstances() {
+        try {
+            screeningService.publishChangesFromOtherInstances();
+        } catch (Exception e) {
+            log.warn("Failed to relay screening results written by other instances: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${screening.status.poll-interval-ms:2000}")
+    public void pollInProgress() {
+        for (ScreeningLog screening : screeningService.findInProgress(batchSize)) {
+            try {
+                screeningService.refreshFromProvider(screening);
+            } catch (Exception e) {
+                log.warn("Failed to refresh screening {} from provider: {}",
+                        screening.externalRequestID(), e.getMessage());
+            }
+        }
+    }
+}
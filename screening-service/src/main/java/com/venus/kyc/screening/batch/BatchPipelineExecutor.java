@@ -0,0 +1,280 @@
+package com.venus.kyc.screening.batch;
+
+import com.venus.kyc.screening.batch.model.Client;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs a submitted screening batch end to end inside the service, instead of a caller driving it step by step.
+ *
+ * <p>{@link #submit} stages the clients (checkpoint {@code STAGE}) and returns the batch ID; the rest runs on a
+ * bounded worker pool as a single streamed pass (checkpoint {@code TRANSMIT}): the feed XML is rendered, hashed,
+ * zipped and PGP-encrypted by {@link BatchScreeningService#writePackage} into a pipe that an upload thread feeds to
+ * SFTP as it fills. No intermediate XML, checksum, zip or encrypted file is written. The upload goes to a
+ * {@code .part} name and is renamed once both ends have finished, so a broken pass never leaves a complete-looking
+ * file for the vendor.
+ *
+ * <p>Up to {@code batch.pipeline.workers} batches (by default one per core) run at once, each in its own
+ * {@link BatchWorkspace} directory. The free disk space and the batch's quota are checked before it stages and again
+ * before it transmits, and its directory is removed as soon as it is UPLOADED.
+ *
+ * <p>Checkpoints live in {@code BatchRunSteps}. {@link #resumeInterrupted} periodically picks up batches that never
+ * got past their last completed step (the instance died, its queue was full, or the step failed and has attempts
+ * left) and runs them again from there.
+ *
+ * <p>Each pass is timed as {@code screening.batch.pipeline}, tagged with its outcome; the worker pool reports as
+ * {@code executor.*} with {@code name=batch-pipeline}.
+ */
+@Service
+public class BatchPipelineExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchPipelineExecutor.class);
+
+    /** Bytes the packaging pass may run ahead of the SFTP upload. */
+    private static final int PIPE_BUFFER_SIZE = 256 * 1024;
+
+    private final BatchScreeningService batchScreeningService;
+    private final BatchRepository batchRepository;
+    private final BatchRunStepRepository steps;
+    private final SftpService sftpService;
+    private final BatchWorkspace workspace;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${batch.sftp.upload.dir:upload}")
+    private String sftpUploadDir;
+
+    @Value("${batch.sftp.mock:true}")
+    private boolean sftpMock;
+
+    /** Batches transmitted at once; 0 means one per available processor. */
+    @Value("${batch.pipeline.workers:0}")
+    private int workers;
+
+    @Value("${batch.pipeline.queue-capacity:50}")
+    private int queueCapacity;
+
+    /** A RUNNING step older than this is assumed to belong to a dead worker and may be taken over. */
+    @Value("${batch.pipeline.stale-claim-minutes:30}")
+    private long staleClaimMinutes;
+
+    @Value("${batch.pipeline.max-attempts:3}")
+    private int maxAttempts;
+
+    /** Batches queued or running on this instance, so a resume pass doesn't queue them twice. */
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    private ThreadPoolTaskExecutor executor;
+    private ThreadPoolTaskExecutor uploads;
+
+    public BatchPipelineExecutor(BatchScreeningService batchScreeningService, BatchRepository batchRepository,
+            BatchRunStepRepository steps, SftpService sftpService, BatchWorkspace workspace, MeterRegistry meterRegistry) {
+        this.batchScreeningService = batchScreeningService;
+        this.batchRepository = batchRepository;
+        this.steps = steps;
+        this.sftpService = sftpService;
+        this.workspace = workspace;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void start() {
+        int threads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("batch-pipeline-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), "batch-pipeline", List.of()).bindTo(meterRegistry);
+
+        // one reader per running pass, so never more than the pipeline workers
+        uploads = new ThreadPoolTaskExecutor();
+        uploads.setCorePoolSize(threads);
+        uploads.setMaxPoolSize(threads);
+        uploads.setQueueCapacity(0);
+        uploads.setThreadNamePrefix("batch-upload-");
+        uploads.initialize();
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdown();
+        uploads.shutdown();
+    }
+
+    /**
+     * Creates a batch for the clients and queues the rest of its pipeline. Returns the batch ID as soon as the
+     * clients are staged; progress is visible in the batch's steps and run status.
+     */
+    public Long submit(List<Client> clients, String source, String createdBy) {
+        return submit(clients, source, createdBy, null);
+    }
+
+    /**
+     * Like {@link #submit(List, String, String)}, but a submission under a key that already created a batch returns
+     * that batch instead of creating another one, so a caller may safely retry a submit whose answer it never got.
+     */
+    public Long submit(List<Client> clients, String source, String createdBy, String submissionKey) {
+        if (submissionKey != null) {
+            Long existing = batchRepository.findIdBySubmissionKey(submissionKey);
+            if (existing != null) {
+                log.info("Submission {} already created batch {}", submissionKey, existing);
+                return existing;
+            }
+        }
+        Long batchId;
+        try {
+            batchId = batchScreeningService.createBatch(clients, source, createdBy, submissionKey);
+        } catch (DuplicateKeyException e) {
+            // a concurrent submit with the same key got there first
+            Long existing = submissionKey != null ? batchRepository.findIdBySubmissionKey(submissionKey) : null;
+            if (existing == null) {
+                throw e;
+            }
+            return existing;
+        }
+        steps.markCompleted(batchId, BatchRunStepRepository.STAGE, null);
+        dispatch(batchId);
+        return batchId;
+    }
+
+    /** Queues the batch's remaining steps unless it is already queued here. Returns whether it was queued. */
+    boolean dispatch(Long batchId) {
+        if (!inFlight.add(batchId)) {
+            return false;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    transmit(batchId);
+                } finally {
+                    inFlight.remove(batchId);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(batchId);
+            log.info("Batch pipeline queue full, batch {} will be picked up by a later resume pass", batchId);
+            return false;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${batch.pipeline.resume-interval-ms:60000}")
+    public void resumeInterrupted() {
+        LocalDateTime staleBefore = LocalDateTime.now().minusMinutes(staleClaimMinutes);
+        for (Long batchId : steps.findResumable(staleBefore, maxAttempts)) {
+            if (dispatch(batchId)) {
+                log.info("Resuming batch {} after its last completed step", batchId);
+            }
+        }
+    }
+
+    /** Claims and runs the TRANSMIT step of a staged batch. Returns whether this call transmitted it. Never throws. */
+    boolean transmit(Long batchId) {
+        LocalDateTime staleBefore = LocalDateTime.now().minusMinutes(staleClaimMinutes);
+        if (!steps.claim(batchId, BatchRunStepRepository.TRANSMIT, staleBefore, maxAttempts)) {
+            return false;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            BatchRun run = batchRepository.findById(batchId);
+            if (run == null)
+                throw new IllegalStateException("Batch not found");
+            workspace.checkQuota(workspace.dirOf(run), BatchRunStepRepository.TRANSMIT);
+            String xmlSha256 = sftpMock ? writeLocally(run) : upload(run);
+            steps.markCompleted(batchId, BatchRunStepRepository.TRANSMIT, xmlSha256);
+            batchRepository.updateBatchStatus(batchId, "UPLOADED", null, null);
+            workspace.cleanup(run);
+            outcome = "success";
+            return true;
+        } catch (Exception e) {
+            log.error("Batch {} failed to transmit", batchId, e);
+            steps.markFailed(batchId, BatchRunStepRepository.TRANSMIT, e.getMessage());
+            batchRepository.updateBatchStatus(batchId, "FAILED", null, null);
+            return false;
+        } finally {
+            sample.stop(meterRegistry.timer("screening.batch.pipeline", "outcome", outcome));
+        }
+    }
+
+    private String writeLocally(BatchRun run) throws Exception {
+        File encryptedFile = new File(workspace.outbox(), run.batchName() + ".zip.gpg");
+        String xmlSha256 = batchScreeningService.writePackage(run.batchID(),
+                new BufferedOutputStream(new FileOutputStream(encryptedFile)));
+        log.warn("SFTP mock mode enabled. Skipping upload for batch {}. File ready at: {}", run.batchName(),
+                encryptedFile.getAbsolutePath());
+        return xmlSha256;
+    }
+
+    private String upload(BatchRun run) throws Exception {
+        String fileName = run.batchName() + ".zip.gpg";
+        String partName = fileName + ".part";
+        PipedInputStream in = new PipedInputStream(PIPE_BUFFER_SIZE);
+        PipedOutputStream out = new PipedOutputStream(in);
+        // closing the reader when the upload ends makes a packaging pass still writing fail instead of block
+        Future<?> upload = uploads.submit(() -> {
+            try (in) {
+                sftpService.uploadFile(in, sftpUploadDir, partName);
+            }
+            return null;
+        });
+
+        String xmlSha256;
+        try {
+            xmlSha256 = batchScreeningService.writePackage(run.batchID(), out);
+        } catch (Exception e) {
+            // writePackage may fail before it opened (and so could close) the stream chain, e.g. on a bad key;
+            // the upload would then wait for more bytes forever
+            closeQuietly(out);
+            Exception uploadFailure = awaitUpload(upload);
+            // a dead upload is what broke the pipe; report that instead of "Pipe closed"
+            throw uploadFailure != null ? uploadFailure : e;
+        }
+        Exception uploadFailure = awaitUpload(upload);
+        if (uploadFailure != null) {
+            throw uploadFailure;
+        }
+        sftpService.moveFile(sftpUploadDir + "/" + partName, sftpUploadDir, fileName);
+        log.info("Batch {} streamed to SFTP as {}/{}", run.batchName(), sftpUploadDir, fileName);
+        return xmlSha256;
+    }
+
+    private static void closeQuietly(OutputStream out) {
+        try {
+            out.close();
+        } catch (IOException e) {
+            log.debug("Closing the package pipe failed", e);
+        }
+    }
+
+    private static Exception awaitUpload(Future<?> upload) throws InterruptedException {
+        try {
+            upload.get();
+            return null;
+        } catch (ExecutionException e) {
+            return e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+}
@@ -1,10 +1,18 @@
 package com.venus.kyc.screening.batch;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import com.venus.kyc.common.paging.CursorPage;
+import com.venus.kyc.common.paging.PageCursor;
 import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.Types;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -12,14 +20,36 @@ import java.util.Map;
 @Repository
 public class BatchRepository {
 
+    private static final String INSERT_ERROR = "INSERT INTO BatchRunErrors (BatchID, RecordID, ErrorCode, ErrorMessage) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_FEEDBACK_RESULT = "INSERT INTO BatchFeedbackResults (BatchID, RecordID, MatchID, MatchName, MatchScore, Status) VALUES (?, ?, ?, ?, ?, ?)";
+
     private final JdbcClient jdbcClient;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
 
-    public BatchRepository(JdbcClient jdbcClient) {
+    public BatchRepository(JdbcClient jdbcClient, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${batch.persist.chunk-size:1000}") int chunkSize) {
         this.jdbcClient = jdbcClient;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("batch.persist.chunk-size must be positive, got " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
     }
 
     public Long saveBatchRun(BatchRun run) {
-        String sql = "INSERT INTO BatchRuns (BatchName, RunStatus, NotificationStatus, FeedbackCount, CreatedAt, UpdatedAt, MappingSnapshotID, ClientCount) VALUES (:batchName, :runStatus, :notificationStatus, :feedbackCount, :createdAt, :updatedAt, :mappingSnapshotID, :clientCount)";
+        return saveBatchRun(run, null);
+    }
+
+    /**
+     * Inserts the run under the caller's submission key, if any. Throws {@code DuplicateKeyException} if another run
+     * already has that key.
+     */
+    public Long saveBatchRun(BatchRun run, String submissionKey) {
+        String sql = "INSERT INTO BatchRuns (BatchName, RunStatus, NotificationStatus, FeedbackCount, CreatedAt, UpdatedAt, MappingSnapshotID, ClientCount, SubmissionKey) VALUES (:batchName, :runStatus, :notificationStatus, :feedbackCount, :createdAt, :updatedAt, :mappingSnapshotID, :clientCount, :submissionKey)";
         KeyHolder keyHolder = new GeneratedKeyHolder();
 
         jdbcClient.sql(sql)
@@ -31,6 +61,7 @@ public class BatchRepository {
                 .param("updatedAt", run.updatedAt() != null ? run.updatedAt() : LocalDateTime.now())
                 .param("mappingSnapshotID", run.mappingSnapshotID())
                 .param("clientCount", run.clientCount())
+                .param("submissionKey", submissionKey)
                 .update(keyHolder);
 
         return extractKey(keyHolder, "BatchID");
@@ -54,6 +85,14 @@ public class BatchRepository {
                 .optional().orElse(null);
     }
 
+    /** ID of the run created under the submission key, or null if there is none. */
+    public Long findIdBySubmissionKey(String submissionKey) {
+        return jdbcClient.sql("SELECT BatchID FROM BatchRuns WHERE SubmissionKey = :submissionKey")
+                .param("submissionKey", submissionKey)
+                .query(Long.class)
+                .optional().orElse(null);
+    }
+
     public BatchRun findById(Long batchId) {
         return jdbcClient.sql("SELECT * FROM BatchRuns WHERE BatchID = :batchId")
                 .param("batchId", batchId)
@@ -61,10 +100,21 @@ public class BatchRepository {
                 .optional().orElse(null);
     }
 
-    public List<BatchRun> findAll() {
-        return jdbcClient.sql("SELECT * FROM BatchRuns ORDER BY CreatedAt DESC")
-                .query(BatchRun.class)
-                .list();
+    /**
+     * Runs newest first, continuing after the cursor's (CreatedAt, BatchID) with a seek on
+     * IX_BatchRuns_CreatedAt, so later pages cost the same as the first.
+     */
+    public CursorPage<BatchRun> findPage(PageCursor after, int limit) {
+        var query = jdbcClient.sql("SELECT * FROM BatchRuns"
+                + (after != null ? " WHERE (CreatedAt < :createdAt OR (CreatedAt = :createdAt AND BatchID < :afterId))" : "")
+                + " ORDER BY CreatedAt DESC, BatchID DESC LIMIT :limit")
+                .param("limit", limit + 1);
+        if (after != null) {
+            query.param("createdAt", after.timestampKey())
+                    .param("afterId", after.id());
+        }
+        return CursorPage.of(query.query(BatchRun.class).list(), limit,
+                run -> PageCursor.of(run.createdAt(), run.batchID()));
     }
 
     public void saveError(BatchRunError error) {
@@ -89,6 +139,42 @@ public class BatchRepository {
                 .update();
     }
 
+    /**
+     * Inserts errors with JDBC batching, {@code batch.persist.chunk-size} rows per round trip and one transaction
+     * per chunk. A failing chunk rolls back on its own; chunks before it stay committed. Returns the rows written.
+     */
+    public int saveErrors(List<BatchRunError> errors) {
+        return batchInsert(INSERT_ERROR, errors, (ps, error) -> {
+            ps.setObject(1, error.batchID(), Types.BIGINT);
+            ps.setString(2, error.recordID());
+            ps.setString(3, error.errorCode());
+            ps.setString(4, error.errorMessage());
+        });
+    }
+
+    /** Batched counterpart of {@link #saveFeedbackResult}; chunked and committed like {@link #saveErrors}. */
+    public int saveFeedbackResults(List<BatchFeedbackResult> results) {
+        return batchInsert(INSERT_FEEDBACK_RESULT, results, (ps, result) -> {
+            ps.setObject(1, result.batchID(), Types.BIGINT);
+            ps.setString(2, result.recordID());
+            ps.setString(3, result.matchID());
+            ps.setString(4, result.matchName());
+            ps.setString(5, result.matchScore());
+            ps.setString(6, result.status());
+        });
+    }
+
+    private <T> int batchInsert(String sql, List<T> rows, ParameterizedPreparedStatementSetter<T> setter) {
+        int written = 0;
+        for (int from = 0; from < rows.size(); from += chunkSize) {
+            List<T> chunk = rows.subList(from, Math.min(from + chunkSize, rows.size()));
+            transactionTemplate.executeWithoutResult(
+                    status -> jdbcTemplate.batchUpdate(sql, chunk, chunk.size(), setter));
+            written += chunk.size();
+        }
+        return written;
+    }
+
     // ── Mapping Config Snapshots ─────────────────────────────────
 
     public Long saveSnapshot(MappingConfigSnapshot snapshot) {
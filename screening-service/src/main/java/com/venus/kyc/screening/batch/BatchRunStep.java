@@ -0,0 +1,14 @@
+package com.venus.kyc.screening.batch;
+
+import java.time.LocalDateTime;
+
+public record BatchRunStep(
+        Long batchID,
+        String step,
+        String status,
+        Integer attempts,
+        LocalDateTime startedAt,
+        LocalDateTime completedAt,
+        String detail,
+        String errorMessage) {
+}
@@ -0,0 +1,128 @@
+package com.venus.kyc.screening.batch;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Checkpoints of the submitted batch pipeline in {@code BatchRunSteps}. A step is claimed before it runs, so a batch
+ * is worked on by one worker at a time even when several instances resume interrupted batches.
+ */
+@Repository
+public class BatchRunStepRepository {
+
+    /** Clients snapshotted to the batch's work directory and the BatchRuns row written. */
+    public static final String STAGE = "STAGE";
+    /** Request package streamed to SFTP. */
+    public static final String TRANSMIT = "TRANSMIT";
+
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    private final JdbcClient jdbcClient;
+
+    public BatchRunStepRepository(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    /**
+     * Atomically claims a step of a batch. A step not reached yet is claimed by inserting it; an existing one only if
+     * it FAILED fewer than {@code maxAttempts} times or its RUNNING claim is older than {@code staleBefore} (the
+     * worker died). Returns false if another worker owns the step or it has already completed.
+     */
+    public boolean claim(Long batchId, String step, LocalDateTime staleBefore, int maxAttempts) {
+        try {
+            jdbcClient.sql("INSERT INTO BatchRunSteps (BatchID, Step, Status, StartedAt) VALUES (:batchId, :step, :status, :now)")
+                    .param("batchId", batchId)
+                    .param("step", step)
+                    .param("status", RUNNING)
+                    .param("now", LocalDateTime.now())
+                    .update();
+            return true;
+        } catch (DuplicateKeyException e) {
+            return jdbcClient.sql("""
+                    UPDATE BatchRunSteps
+                    SET Status = :running, Attempts = Attempts + 1, StartedAt = :now, ErrorMessage = NULL
+                    WHERE BatchID = :batchId AND Step = :step
+                      AND ((Status = :failed AND Attempts < :maxAttempts)
+                        OR (Status = :running AND StartedAt < :staleBefore))
+                    """)
+                    .param("running", RUNNING)
+                    .param("failed", FAILED)
+                    .param("now", LocalDateTime.now())
+                    .param("batchId", batchId)
+                    .param("step", step)
+                    .param("maxAttempts", maxAttempts)
+                    .param("staleBefore", staleBefore)
+                    .update() == 1;
+        }
+    }
+
+    /** Records the step as COMPLETED, whether or not it was claimed first. */
+    public void markCompleted(Long batchId, String step, String detail) {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = jdbcClient.sql("UPDATE BatchRunSteps SET Status = :status, CompletedAt = :now, Detail = :detail, ErrorMessage = NULL WHERE BatchID = :batchId AND Step = :step")
+                .param("status", COMPLETED)
+                .param("now", now)
+                .param("detail", detail)
+                .param("batchId", batchId)
+                .param("step", step)
+                .update();
+        if (updated == 0) {
+            jdbcClient.sql("INSERT INTO BatchRunSteps (BatchID, Step, Status, StartedAt, CompletedAt, Detail) VALUES (:batchId, :step, :status, :now, :now, :detail)")
+                    .param("batchId", batchId)
+                    .param("step", step)
+                    .param("status", COMPLETED)
+                    .param("now", now)
+                    .param("detail", detail)
+                    .update();
+        }
+    }
+
+    public void markFailed(Long batchId, String step, String errorMessage) {
+        String message = errorMessage != null && errorMessage.length() > 1000 ? errorMessage.substring(0, 1000) : errorMessage;
+        jdbcClient.sql("UPDATE BatchRunSteps SET Status = :status, ErrorMessage = :errorMessage WHERE BatchID = :batchId AND Step = :step")
+                .param("status", FAILED)
+                .param("errorMessage", message)
+                .param("batchId", batchId)
+                .param("step", step)
+                .update();
+    }
+
+    public List<BatchRunStep> findByBatchId(Long batchId) {
+        return jdbcClient.sql("SELECT * FROM BatchRunSteps WHERE BatchID = :batchId ORDER BY StartedAt")
+                .param("batchId", batchId)
+                .query(BatchRunStep.class)
+                .list();
+    }
+
+    /**
+     * Staged batches whose TRANSMIT step can be claimed: never started although staged before {@code staleBefore}
+     * (the submitting instance died, or its queue was full), RUNNING since before {@code staleBefore}, or FAILED fewer
+     * than {@code maxAttempts} times. Oldest first.
+     */
+    public List<Long> findResumable(LocalDateTime staleBefore, int maxAttempts) {
+        return jdbcClient.sql("""
+                SELECT s.BatchID FROM BatchRunSteps s
+                LEFT JOIN BatchRunSteps t ON t.BatchID = s.BatchID AND t.Step = :transmit
+                WHERE s.Step = :stage AND s.Status = :completed
+                  AND ((t.BatchID IS NULL AND s.CompletedAt < :staleBefore)
+                    OR (t.Status = :running AND t.StartedAt < :staleBefore)
+                    OR (t.Status = :failed AND t.Attempts < :maxAttempts))
+                ORDER BY s.BatchID
+                """)
+                .param("transmit", TRANSMIT)
+                .param("stage", STAGE)
+                .param("completed", COMPLETED)
+                .param("running", RUNNING)
+                .param("failed", FAILED)
+                .param("staleBefore", staleBefore)
+                .param("maxAttempts", maxAttempts)
+                .query(Long.class)
+                .list();
+    }
+}
@@ -1,5 +1,6 @@
 package com.venus.kyc.screening.batch;
 
+import com.venus.kyc.common.paging.CursorPage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -14,11 +15,16 @@ import java.util.List;
 public class BatchScreeningController {
 
     private final BatchScreeningService batchScreeningService;
+    private final BatchPipelineExecutor batchPipelineExecutor;
+    private final BatchRunStepRepository batchRunStepRepository;
     private final MappingConfigRepository mappingConfigRepository;
 
     public BatchScreeningController(BatchScreeningService batchScreeningService,
+            BatchPipelineExecutor batchPipelineExecutor, BatchRunStepRepository batchRunStepRepository,
             MappingConfigRepository mappingConfigRepository) {
         this.batchScreeningService = batchScreeningService;
+        this.batchPipelineExecutor = batchPipelineExecutor;
+        this.batchRunStepRepository = batchRunStepRepository;
         this.mappingConfigRepository = mappingConfigRepository;
     }
 
@@ -35,10 +41,12 @@ public class BatchScreeningController {
         return ResponseEntity.ok().build();
     }
 
-    @Operation(summary = "Get batch run history", description = "Returns a list of all previous batch screening runs with their statuses")
+    @Operation(summary = "Get batch run history", description = "Returns previous batch screening runs with their statuses, newest first, one page at a time; pass nextCursor back as cursor for the next page")
     @GetMapping("/history")
-    public ResponseEntity<List<BatchRun>> getHistory() {
-        return ResponseEntity.ok(batchScreeningService.getBatchHistory());
+    public ResponseEntity<CursorPage<BatchRun>> getHistory(
+            @Parameter(description = "nextCursor of the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most 500") @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(batchScreeningService.getBatchHistory(cursor, size));
     }
 
     @Operation(summary = "Create a new batch", description = "Creates a new batch run record for the given clients without processing")
@@ -56,6 +64,29 @@ public class BatchScreeningController {
         }
     }
 
+    @Operation(summary = "Submit a batch", description = "Creates a batch for the given clients and processes it in the background: XML, checksum, zip, encryption and SFTP upload run as one streamed pass. Returns 202 with the batch ID; follow progress via /{batchId}/steps or the history")
+    @PostMapping("/submit")
+    public ResponseEntity<String> submitBatch(
+            @RequestBody List<com.venus.kyc.screening.batch.model.Client> clients,
+            @RequestParam(required = false, defaultValue = "MANUAL") String source,
+            @RequestParam(required = false, defaultValue = "SYSTEM") String createdBy,
+            @Parameter(description = "Caller-chosen key; a repeated submit with the same key returns the batch the first one created") @RequestParam(required = false) String submissionKey) {
+        try {
+            Long batchId = batchPipelineExecutor.submit(clients, source, createdBy, submissionKey);
+            return ResponseEntity.accepted().body(String.valueOf(batchId));
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.internalServerError().body("Failed: " + e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Get batch pipeline steps", description = "Returns the checkpoints a submitted batch has reached, with status, attempts and any error")
+    @GetMapping("/{batchId}/steps")
+    public ResponseEntity<List<BatchRunStep>> getSteps(
+            @Parameter(description = "Batch run ID") @PathVariable Long batchId) {
+        return ResponseEntity.ok(batchRunStepRepository.findByBatchId(batchId));
+    }
+
     @Operation(summary = "Generate XML for batch", description = "Generates the screening XML request file for the specified batch using configured field mappings")
     @PostMapping("/{batchId}/generate-xml")
     public ResponseEntity<String> generateBatchXml(
@@ -0,0 +1,110 @@
+package com.venus.kyc.screening.batch;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * The local work directories of request batches.
+ *
+ * <p>Every batch gets its own directory, {@code <batch.work.dir>/batches/<BatchID>}, so batches created in the same
+ * second, by different sources or on different workers never share files. Before each step writes to it,
+ * {@link #checkQuota} refuses to start if the file system is below {@code batch.work.min-free-mb} of usable space or
+ * the batch's directory already holds more than {@code batch.work.batch-quota-mb}; the step fails instead of filling
+ * the disk for every other batch. Once a batch is uploaded or its response has been applied, {@link #cleanup}
+ * removes its directory.
+ */
+@Component
+public class BatchWorkspace {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchWorkspace.class);
+    private static final long MB = 1024 * 1024;
+
+    @Value("${batch.work.dir:/tmp/screening-batch}")
+    private String workDir;
+
+    @Value("${batch.work.min-free-mb:512}")
+    private long minFreeMb;
+
+    /** 0 disables the per-batch limit. */
+    @Value("${batch.work.batch-quota-mb:1024}")
+    private long batchQuotaMb;
+
+    /** Creates the directory of a new batch. */
+    public File create(Long batchId) throws IOException {
+        File dir = new File(workDir, "batches/" + batchId);
+        Files.createDirectories(dir.toPath());
+        return dir;
+    }
+
+    /**
+     * The batch's directory. Batches created before directories were keyed by ID keep using
+     * {@code <batch.work.dir>/<BatchName>}.
+     */
+    public File dirOf(BatchRun run) {
+        File dir = new File(workDir, "batches/" + run.batchID());
+        if (!dir.exists()) {
+            File legacy = new File(workDir, run.batchName());
+            if (legacy.isDirectory()) {
+                return legacy;
+            }
+        }
+        return dir;
+    }
+
+    /** Where packages are left in SFTP mock mode, in place of the SFTP upload directory. */
+    public File outbox() throws IOException {
+        File dir = new File(workDir, "outbox");
+        Files.createDirectories(dir.toPath());
+        return dir;
+    }
+
+    /**
+     * Fails if {@code step} of a batch should not write to disk: too little usable space is left in the work
+     * directory's file system, or {@code batchDir} (may be null before the batch has one) is over its quota.
+     */
+    public void checkQuota(File batchDir, String step) throws IOException {
+        File root = new File(workDir);
+        Files.createDirectories(root.toPath());
+        long freeMb = root.getUsableSpace() / MB;
+        if (freeMb < minFreeMb) {
+            throw new IOException("Not starting " + step + ": " + freeMb + " MB free in " + root
+                    + ", below batch.work.min-free-mb=" + minFreeMb);
+        }
+        if (batchQuotaMb > 0 && batchDir != null && batchDir.isDirectory()) {
+            long usedMb = sizeOf(batchDir.toPath()) / MB;
+            if (usedMb > batchQuotaMb) {
+                throw new IOException("Not starting " + step + ": " + batchDir + " holds " + usedMb
+                        + " MB, over batch.work.batch-quota-mb=" + batchQuotaMb);
+            }
+        }
+    }
+
+    /** Removes the batch's directory and everything in it. Never throws. */
+    public void cleanup(BatchRun run) {
+        File dir = dirOf(run);
+        if (!dir.exists()) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir.toPath())) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            log.info("Removed work directory {} of batch {}", dir, run.batchName());
+        } catch (IOException e) {
+            log.warn("Could not clean up {}", dir, e);
+        }
+    }
+
+    private static long sizeOf(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            return paths.map(Path::toFile).filter(File::isFile).mapToLong(File::length).sum();
+        }
+    }
+}
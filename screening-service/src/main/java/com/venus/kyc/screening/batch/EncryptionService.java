@@ -23,47 +23,82 @@ public class EncryptionService {
     public void encryptFile(File inputFile, File outputFile, InputStream publicKeyStream) throws Exception {
         outputFile.getParentFile().mkdirs();
         try (OutputStream fos = new FileOutputStream(outputFile);
-                ArmoredOutputStream aos = new ArmoredOutputStream(fos)) {
-
-            PGPPublicKey publicKey = readPublicKey(publicKeyStream);
-
-            PGPEncryptedDataGenerator encGen = new PGPEncryptedDataGenerator(
-                    new JcePGPDataEncryptorBuilder(PGPEncryptedData.CAST5)
-                            .setWithIntegrityPacket(true)
-                            .setSecureRandom(new SecureRandom())
-                            .setProvider("BC"));
-
-            encGen.addMethod(new JcePublicKeyKeyEncryptionMethodGenerator(publicKey).setProvider("BC"));
-
-            OutputStream encOut = encGen.open(aos, new byte[4096]);
-
-            PGPCompressedDataGenerator comData = new PGPCompressedDataGenerator(PGPCompressedData.ZIP);
-            OutputStream comOut = comData.open(encOut);
+                OutputStream encrypted = openEncryptedStream(fos, publicKeyStream, inputFile.getName());
+                InputStream fis = new FileInputStream(inputFile)) {
+            fis.transferTo(encrypted);
+        }
+    }
 
-            PGPLiteralDataGenerator litData = new PGPLiteralDataGenerator();
-            OutputStream litOut = litData.open(comOut, PGPLiteralData.BINARY, inputFile.getName(), inputFile.length(),
-                    new java.util.Date());
+    /**
+     * Opens an armored, compressed and integrity-protected PGP message for the key's encryption subkey on top of
+     * {@code target}, so callers can encrypt data as they produce it instead of from a finished file. The literal
+     * data is written in partial packets, so its length need not be known up front. Closing the returned stream
+     * completes the message and closes {@code target}.
+     */
+    public OutputStream openEncryptedStream(OutputStream target, InputStream publicKeyStream, String fileName)
+            throws IOException, PGPException {
+        PGPPublicKey publicKey = readPublicKey(publicKeyStream);
+
+        PGPEncryptedDataGenerator encGen = new PGPEncryptedDataGenerator(
+                new JcePGPDataEncryptorBuilder(PGPEncryptedData.CAST5)
+                        .setWithIntegrityPacket(true)
+                        .setSecureRandom(new SecureRandom())
+                        .setProvider("BC"));
+        encGen.addMethod(new JcePublicKeyKeyEncryptionMethodGenerator(publicKey).setProvider("BC"));
+
+        ArmoredOutputStream aos = new ArmoredOutputStream(target);
+        OutputStream encOut = encGen.open(aos, new byte[4096]);
+        PGPCompressedDataGenerator comData = new PGPCompressedDataGenerator(PGPCompressedData.ZIP);
+        OutputStream comOut = comData.open(encOut);
+        OutputStream litOut = new PGPLiteralDataGenerator().open(comOut, PGPLiteralData.BINARY, fileName,
+                new java.util.Date(), new byte[4096]);
+
+        return new FilterOutputStream(litOut) {
+            private boolean closed;
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
 
-            try (InputStream fis = new FileInputStream(inputFile)) {
-                byte[] buffer = new byte[4096];
-                int len;
-                while ((len = fis.read(buffer)) > 0) {
-                    litOut.write(buffer, 0, len);
+            @Override
+            public void close() throws IOException {
+                if (closed)
+                    return;
+                closed = true;
+                // innermost layer first, each close writes that layer's trailer
+                try {
+                    litOut.close();
+                    comOut.close();
+                    encOut.close();
+                    aos.close();
+                } finally {
+                    target.close();
                 }
             }
-
-            litOut.close();
-            comOut.close();
-            encOut.close();
-        }
+        };
     }
 
     public void decryptFile(File inputFile, File outputFile, InputStream privateKeyStream, String passPhrase)
             throws Exception {
-        InputStream in = new BufferedInputStream(new FileInputStream(inputFile));
-        in = PGPUtil.getDecoderStream(in);
+        try (InputStream in = new BufferedInputStream(new FileInputStream(inputFile));
+                InputStream clear = openDecryptedStream(in, privateKeyStream, passPhrase);
+                OutputStream fOut = new BufferedOutputStream(new FileOutputStream(outputFile))) {
+            clear.transferTo(fOut);
+        }
+    }
 
-        JcaPGPObjectFactory pgpF = new JcaPGPObjectFactory(in);
+    /**
+     * Opens a streaming view of the literal data inside a PGP-encrypted message, so callers can unzip/parse it
+     * without first writing the plaintext to disk. The integrity packet can only be checked once all data has been
+     * read: {@code close()} drains any unread remainder and throws if the check fails, so a caller must close the
+     * stream successfully before trusting what it read.
+     */
+    public InputStream openDecryptedStream(InputStream encrypted, InputStream privateKeyStream, String passPhrase)
+            throws IOException, PGPException {
+        InputStream decoded = PGPUtil.getDecoderStream(encrypted);
+
+        JcaPGPObjectFactory pgpF = new JcaPGPObjectFactory(decoded);
         PGPEncryptedDataList enc;
 
         Object o = pgpF.nextObject();
@@ -106,27 +141,32 @@ public class EncryptionService {
         }
 
         if (message instanceof PGPLiteralData) {
-            PGPLiteralData ld = (PGPLiteralData) message;
-            InputStream unc = ld.getInputStream();
-            OutputStream fOut = new BufferedOutputStream(new FileOutputStream(outputFile));
-
-            byte[] buffer = new byte[4096];
-            int len;
-            while ((len = unc.read(buffer)) >= 0) {
-                fOut.write(buffer, 0, len);
-            }
-            fOut.close();
+            PGPPublicKeyEncryptedData encryptedData = pbe;
+            return new FilterInputStream(((PGPLiteralData) message).getInputStream()) {
+                private boolean closed;
+
+                @Override
+                public void close() throws IOException {
+                    if (closed)
+                        return;
+                    closed = true;
+                    try {
+                        in.transferTo(OutputStream.nullOutputStream());
+                        if (encryptedData.isIntegrityProtected() && !encryptedData.verify()) {
+                            throw new IOException("Message failed integrity check");
+                        }
+                    } catch (PGPException e) {
+                        throw new IOException("Message failed integrity check", e);
+                    } finally {
+                        super.close();
+                    }
+                }
+            };
         } else if (message instanceof PGPOnePassSignatureList) {
             throw new PGPException("Encrypted message contains a signed message - not literal data.");
         } else {
             throw new PGPException("Message is not a simple encrypted file - type unknown.");
         }
-
-        if (pbe.isIntegrityProtected()) {
-            if (!pbe.verify()) {
-                throw new PGPException("Message failed integrity check");
-            }
-        }
     }
 
     private PGPPublicKey readPublicKey(InputStream input) throws IOException, PGPException {
@@ -0,0 +1,15 @@
+package com.venus.kyc.screening.batch;
+
+import java.time.LocalDateTime;
+
+public record IngestedResponseFile(
+        Long fileID,
+        String fileName,
+        String contentHash,
+        String status,
+        String batchName,
+        Integer attempts,
+        LocalDateTime claimedAt,
+        LocalDateTime completedAt,
+        String errorMessage) {
+}
@@ -0,0 +1,80 @@
+package com.venus.kyc.screening.batch;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public class IngestedResponseFileRepository {
+
+    public static final String PROCESSING = "PROCESSING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    private final JdbcClient jdbcClient;
+
+    public IngestedResponseFileRepository(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    /**
+     * Atomically claims a response file for processing. A new name+hash is claimed by inserting it; an existing one
+     * only if it previously FAILED or its PROCESSING claim is older than {@code staleBefore} (the claiming worker
+     * died). Returns false if another worker owns the file or it has already been ingested.
+     */
+    public boolean claim(String fileName, String contentHash, LocalDateTime staleBefore) {
+        try {
+            jdbcClient.sql("INSERT INTO IngestedResponseFiles (FileName, ContentHash, Status, ClaimedAt) VALUES (:fileName, :contentHash, :status, :now)")
+                    .param("fileName", fileName)
+                    .param("contentHash", contentHash)
+                    .param("status", PROCESSING)
+                    .param("now", LocalDateTime.now())
+                    .update();
+            return true;
+        } catch (DuplicateKeyException e) {
+            return jdbcClient.sql("""
+                    UPDATE IngestedResponseFiles
+                    SET Status = :processing, Attempts = Attempts + 1, ClaimedAt = :now, ErrorMessage = NULL
+                    WHERE FileName = :fileName AND ContentHash = :contentHash
+                      AND (Status = :failed OR (Status = :processing AND ClaimedAt < :staleBefore))
+                    """)
+                    .param("processing", PROCESSING)
+                    .param("failed", FAILED)
+                    .param("now", LocalDateTime.now())
+                    .param("fileName", fileName)
+                    .param("contentHash", contentHash)
+                    .param("staleBefore", staleBefore)
+                    .update() == 1;
+        }
+    }
+
+    public void markCompleted(String fileName, String contentHash, String batchName) {
+        jdbcClient.sql("UPDATE IngestedResponseFiles SET Status = :status, BatchName = :batchName, CompletedAt = :now WHERE FileName = :fileName AND ContentHash = :contentHash")
+                .param("status", COMPLETED)
+                .param("batchName", batchName)
+                .param("now", LocalDateTime.now())
+                .param("fileName", fileName)
+                .param("contentHash", contentHash)
+                .update();
+    }
+
+    public void markFailed(String fileName, String contentHash, String errorMessage) {
+        String message = errorMessage != null && errorMessage.length() > 1000 ? errorMessage.substring(0, 1000) : errorMessage;
+        jdbcClient.sql("UPDATE IngestedResponseFiles SET Status = :status, ErrorMessage = :errorMessage WHERE FileName = :fileName AND ContentHash = :contentHash")
+                .param("status", FAILED)
+                .param("errorMessage", message)
+                .param("fileName", fileName)
+                .param("contentHash", contentHash)
+                .update();
+    }
+
+    public IngestedResponseFile find(String fileName, String contentHash) {
+        return jdbcClient.sql("SELECT * FROM IngestedResponseFiles WHERE FileName = :fileName AND ContentHash = :contentHash")
+                .param("fileName", fileName)
+                .param("contentHash", contentHash)
+                .query(IngestedResponseFile.class)
+                .optional().orElse(null);
+    }
+}
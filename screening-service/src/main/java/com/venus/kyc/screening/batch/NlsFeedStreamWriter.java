@@ -0,0 +1,137 @@
+package com.venus.kyc.screening.batch;
+
+import com.venus.kyc.screening.batch.model.Feedback;
+import com.venus.kyc.screening.batch.model.NLSFeed;
+import com.venus.kyc.screening.batch.model.Notification;
+import com.venus.kyc.screening.batch.model.Record;
+import com.venus.kyc.screening.batch.model.RequestMeta;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBElement;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Writes an NLS request feed one record at a time.
+ *
+ * <p>The envelope ({@code NLSFeed/Request/Recs}) is written directly with StAX; {@code Meta} and every {@code Rec}
+ * are marshalled as fragments on the shared {@link #FEED_CONTEXT}, so only the record currently being written is
+ * held in memory. The SHA-256 of the bytes written is computed in the same pass and returned by {@link #finish()}.
+ */
+class NlsFeedStreamWriter implements AutoCloseable {
+
+    static final String FEED_NS = "http://www.db.com/NLSFileDefinition";
+    static final String REQUEST_NS = "http://www.db.com/NLSRequest";
+
+    /** JAXBContext creation is expensive and the context is thread-safe, so it is built once per class. */
+    static final JAXBContext FEED_CONTEXT = newContext(NLSFeed.class);
+    static final JAXBContext RESPONSE_CONTEXT = newContext(Notification.class, Feedback.class);
+
+    private static final QName META = new QName(REQUEST_NS, "Meta");
+    private static final QName REC = new QName(REQUEST_NS, "Rec");
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+
+    private final MessageDigest digest;
+    private final OutputStream out;
+    private final XMLStreamWriter xml;
+    private final Marshaller marshaller;
+    private boolean recordsOpen;
+    private int recordCount;
+
+    NlsFeedStreamWriter(OutputStream target) throws JAXBException, XMLStreamException {
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        this.out = new DigestOutputStream(target, digest);
+        this.xml = OUTPUT_FACTORY.createXMLStreamWriter(out, StandardCharsets.UTF_8.name());
+        this.marshaller = FEED_CONTEXT.createMarshaller();
+        this.marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
+        this.marshaller.setProperty(Marshaller.JAXB_ENCODING, StandardCharsets.UTF_8.name());
+
+        xml.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+        xml.writeCharacters("\n");
+        xml.setPrefix("ns2", FEED_NS);
+        xml.setPrefix("ns3", REQUEST_NS);
+        xml.writeStartElement(FEED_NS, "NLSFeed");
+        xml.writeNamespace("ns2", FEED_NS);
+        xml.writeNamespace("ns3", REQUEST_NS);
+        xml.writeStartElement(FEED_NS, "Request");
+    }
+
+    /** Writes the request {@code Meta}; must be called once, before the first record. */
+    void writeMeta(RequestMeta meta) throws JAXBException, XMLStreamException {
+        if (recordsOpen) {
+            throw new IllegalStateException("Meta must precede the records");
+        }
+        newLine();
+        marshaller.marshal(new JAXBElement<>(META, RequestMeta.class, meta), xml);
+        newLine();
+        xml.writeStartElement(REQUEST_NS, "Recs");
+        recordsOpen = true;
+    }
+
+    void writeRecord(Record record) throws JAXBException, XMLStreamException {
+        if (!recordsOpen) {
+            throw new IllegalStateException("writeMeta must be called before writing records");
+        }
+        newLine();
+        marshaller.marshal(new JAXBElement<>(REC, Record.class, record), xml);
+        recordCount++;
+    }
+
+    int recordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Closes the envelope, flushes the underlying stream and returns the lower-case hex SHA-256 of everything
+     * written.
+     */
+    String finish() throws XMLStreamException, IOException {
+        if (!recordsOpen) {
+            throw new IllegalStateException("writeMeta must be called before finish");
+        }
+        newLine();
+        xml.writeEndElement(); // Recs
+        xml.writeEndElement(); // Request
+        xml.writeEndElement(); // NLSFeed
+        xml.writeEndDocument();
+        xml.flush();
+        out.flush();
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    @Override
+    public void close() throws XMLStreamException, IOException {
+        try {
+            xml.close();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void newLine() throws XMLStreamException {
+        xml.writeCharacters("\n");
+    }
+
+    private static JAXBContext newContext(Class<?>... classes) {
+        try {
+            return JAXBContext.newInstance(classes);
+        } catch (JAXBException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.venus.kyc.screening.batch;
+
+import com.venus.kyc.screening.batch.model.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+/**
+ * Computes the {@code ChkSum} of a request record: the upper-case hex SHA-256 of every non-null string in its
+ * {@link RecordData}, concatenated in the declaration order of the model's fields.
+ *
+ * <p>The walk is spelled out against the model's getters instead of discovered by reflection, and each string's
+ * UTF-8 bytes go straight into a reused digest instead of into one concatenated copy. A field added to a model class
+ * under {@code RecordData} has to be added here, in the same position, or it stays out of the checksum. Instances
+ * are not thread-safe; {@link #of} keeps one per thread.
+ */
+final class RecordChecksum {
+
+    private static final byte[] HEX_DIGITS = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+    private static final ThreadLocal<RecordChecksum> PER_THREAD = ThreadLocal.withInitial(RecordChecksum::new);
+
+    private final MessageDigest digest;
+    private byte[] buffer = new byte[128];
+
+    RecordChecksum() {
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** The checksum of {@code data}, computed with the calling thread's instance. */
+    static String of(RecordData data) {
+        return PER_THREAD.get().digest(data);
+    }
+
+    String digest(RecordData data) {
+        if (data != null) {
+            partyInfo(data.getPrtInfo());
+            juridicalInfo(data.getJuriInfo());
+            kycData(data.getKycData());
+            update(data.getComment());
+        }
+        return hex(digest.digest());
+    }
+
+    /** Upper-case hex through a digit table, without a formatter or a StringBuilder. */
+    static String hex(byte[] bytes) {
+        byte[] chars = new byte[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int b = bytes[i] & 0xFF;
+            chars[2 * i] = HEX_DIGITS[b >>> 4];
+            chars[2 * i + 1] = HEX_DIGITS[b & 0x0F];
+        }
+        return new String(chars, StandardCharsets.ISO_8859_1);
+    }
+
+    private void partyInfo(PartyInfo info) {
+        if (info == null)
+            return;
+        individual(info.getInd());
+        Account account = info.getAccount();
+        if (account != null) {
+            update(account.getType());
+            update(account.getNr());
+            update(account.getAi());
+            update(account.getSow());
+        }
+    }
+
+    private void individual(Individual ind) {
+        if (ind == null)
+            return;
+        if (ind.getNames() != null && ind.getNames().getNameList() != null) {
+            for (Name name : ind.getNames().getNameList()) {
+                if (name == null)
+                    continue;
+                update(name.getType());
+                update(name.getFull());
+                update(name.getTit());
+                update(name.getFir());
+                update(name.getMid());
+                update(name.getSur());
+                update(name.getMa());
+            }
+        }
+        update(ind.getGender());
+        update(ind.getDob());
+        update(ind.getPlaceOfBirth());
+        update(ind.getCntr());
+        update(ind.getOccupation());
+        if (ind.getNationalities() != null && ind.getNationalities().getNatList() != null) {
+            for (Nationality nationality : ind.getNationalities().getNatList()) {
+                if (nationality == null)
+                    continue;
+                update(nationality.getCntr());
+                update(nationality.getLegDoc());
+                update(nationality.getIdNr());
+                update(nationality.getCa());
+            }
+        }
+        if (ind.getAddresses() != null && ind.getAddresses().getAddrList() != null) {
+            for (Address address : ind.getAddresses().getAddrList()) {
+                if (address == null)
+                    continue;
+                update(address.getType());
+                update(address.getLine());
+                update(address.getCity());
+                update(address.getZipCode());
+                update(address.getProv());
+                update(address.getCntr());
+            }
+        }
+    }
+
+    private void juridicalInfo(JuridicalInfo juri) {
+        if (juri == null)
+            return;
+        List<BUInfo> bus = juri.getBu();
+        if (bus == null)
+            return;
+        for (BUInfo bu : bus) {
+            if (bu == null)
+                continue;
+            update(bu.getRelSrcId());
+            update(bu.getRecCntrOrg());
+            update(bu.getRecBD());
+            update(bu.getDble());
+            update(bu.getDbleLoc());
+            update(bu.getLbj());
+            update(bu.getLafcj());
+            update(bu.getBsrl());
+            update(bu.getRr());
+            update(bu.getHrpi());
+        }
+    }
+
+    private void kycData(KYCData kyc) {
+        if (kyc == null)
+            return;
+        update(kyc.getPepFlag());
+        if (kyc.getNextRvw() != null) {
+            update(kyc.getNextRvw().getKyc());
+        }
+    }
+
+    private void update(String value) {
+        if (value == null || value.isEmpty())
+            return;
+        int length = value.length();
+        if (length > buffer.length) {
+            buffer = new byte[Math.max(length, buffer.length * 2)];
+        }
+        // ASCII, the common case, is copied byte for byte; anything else goes through the UTF-8 encoder
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                digest.update(value.getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            buffer[i] = (byte) c;
+        }
+        digest.update(buffer, 0, length);
+    }
+}
@@ -0,0 +1,203 @@
+package com.venus.kyc.screening.batch;
+
+import com.venus.kyc.screening.batch.model.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * A list of {@link MappingConfig}s compiled once into getter/setter steps.
+ *
+ * <p>Source fields are resolved to {@link MethodHandle}s on {@link Client} and target paths to setter lambdas at
+ * compile time, so applying the plan to a record does no name lookups, reflection or path dispatch. Plans are
+ * immutable and safe to share between threads and batches.
+ */
+public final class RecordMappingPlan {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.publicLookup();
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Client.class);
+
+    /** The parts of the record under construction that mapped values are written into. */
+    public static final class Target {
+        final RecordMeta meta;
+        final RecordData data;
+        final Individual ind;
+        final Name name;
+
+        public Target(RecordMeta meta, RecordData data, Individual ind, Name name) {
+            this.meta = meta;
+            this.data = data;
+            this.ind = ind;
+            this.name = name;
+        }
+    }
+
+    private record Step(MethodHandle getter, boolean fullName, String defaultValue,
+            BiConsumer<Target, String> setter) {
+    }
+
+    private final Step[] steps;
+
+    private RecordMappingPlan(Step[] steps) {
+        this.steps = steps;
+    }
+
+    public static RecordMappingPlan compile(List<MappingConfig> mappings) {
+        List<Step> steps = new ArrayList<>(mappings.size());
+        for (MappingConfig config : mappings) {
+            BiConsumer<Target, String> setter = setterFor(config.targetPath());
+            if (setter == null) {
+                continue; // unknown target path: nothing would ever be written
+            }
+            boolean fullName = "fullName".equals(config.sourceField());
+            MethodHandle getter = fullName ? null : getterFor(config.sourceField());
+            steps.add(new Step(getter, fullName, config.defaultValue(), setter));
+        }
+        return new RecordMappingPlan(steps.toArray(new Step[0]));
+    }
+
+    /** Writes every mapped value of {@code client} into {@code target}, in mapping order. */
+    public void apply(Client client, Target target) {
+        for (Step step : steps) {
+            String value = step.fullName ? fullName(client) : read(step.getter, client);
+            if (value == null)
+                value = step.defaultValue;
+            if (value != null) {
+                step.setter.accept(target, value);
+            }
+        }
+    }
+
+    int size() {
+        return steps.length;
+    }
+
+    private static String read(MethodHandle getter, Client client) {
+        if (getter == null)
+            return null;
+        try {
+            Object result = (Object) getter.invokeExact(client);
+            return result != null ? String.valueOf(result) : null;
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    private static String fullName(Client client) {
+        StringBuilder fullName = new StringBuilder();
+        if (client.firstName() != null)
+            fullName.append(client.firstName()).append(" ");
+        if (client.middleName() != null && !client.middleName().isEmpty())
+            fullName.append(client.middleName()).append(" ");
+        if (client.lastName() != null)
+            fullName.append(client.lastName());
+        return fullName.toString().trim();
+    }
+
+    private static MethodHandle getterFor(String sourceField) {
+        if (sourceField == null)
+            return null;
+        try {
+            return LOOKUP.unreflect(Client.class.getMethod(sourceField)).asType(GETTER_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null; // unknown field: the default value applies, as before
+        }
+    }
+
+    private static BiConsumer<Target, String> setterFor(String targetPath) {
+        if (targetPath == null)
+            return null;
+        return switch (targetPath) {
+            case "record.uniRcrdId" -> (t, v) -> t.meta.setUniRcrdId(v);
+            case "record.type" -> (t, v) -> t.meta.setType(v);
+            case "record.recStat" -> (t, v) -> t.meta.setRecStat(v);
+            case "name.full" -> (t, v) -> t.name.setFull(v);
+            case "name.type" -> (t, v) -> t.name.setType(v);
+            case "name.tit" -> (t, v) -> t.name.setTit(v);
+            case "name.fir" -> (t, v) -> t.name.setFir(v);
+            case "name.mid" -> (t, v) -> t.name.setMid(v);
+            case "name.sur" -> (t, v) -> t.name.setSur(v);
+            case "name.ma" -> (t, v) -> t.name.setMa(v);
+            case "individual.gender" -> (t, v) -> t.ind.setGender(v);
+            case "individual.dob" -> (t, v) -> t.ind.setDob(v);
+            case "individual.placeOfBirth" -> (t, v) -> t.ind.setPlaceOfBirth(v);
+            case "individual.cntr" -> (t, v) -> t.ind.setCntr(v);
+            case "individual.occupation" -> (t, v) -> t.ind.setOccupation(v);
+            case "comment" -> (t, v) -> t.data.setComment(v);
+            // Simplified: first entry for lists
+            case "individual.nationality" -> (t, v) -> nationality(t).setCntr(v);
+            case "individual.nationality.legDoc" -> (t, v) -> nationality(t).setLegDoc(v);
+            case "individual.nationality.idNr" -> (t, v) -> nationality(t).setIdNr(v);
+            case "individual.nationality.ca" -> (t, v) -> nationality(t).setCa(v);
+            case "individual.address", "individual.address.line" -> (t, v) -> address(t).setLine(v);
+            case "individual.address.city" -> (t, v) -> address(t).setCity(v);
+            case "individual.address.zip" -> (t, v) -> address(t).setZipCode(v);
+            case "individual.address.prov" -> (t, v) -> address(t).setProv(v);
+            case "individual.address.cntr" -> (t, v) -> address(t).setCntr(v);
+            case "account.nr" -> (t, v) -> {
+                if (t.data.getPrtInfo().getAccount() == null)
+                    t.data.getPrtInfo().setAccount(new Account());
+                t.data.getPrtInfo().getAccount().setNr(v);
+            };
+            case "kyc.pepFlag" -> (t, v) -> kycData(t).setPepFlag(v);
+            case "kyc.nextRvw" -> (t, v) -> {
+                KYCData kyc = kycData(t);
+                if (kyc.getNextRvw() == null)
+                    kyc.setNextRvw(new NextReview());
+                kyc.getNextRvw().setKyc(v);
+            };
+            // Juridical Info
+            case "juridical.bu.relSrcId" -> (t, v) -> juridicalBu(t).setRelSrcId(v);
+            case "juridical.bu.recCntrOrg" -> (t, v) -> juridicalBu(t).setRecCntrOrg(v);
+            case "juridical.bu.recBD" -> (t, v) -> juridicalBu(t).setRecBD(v);
+            case "juridical.bu.dble" -> (t, v) -> juridicalBu(t).setDble(v);
+            case "juridical.bu.dbleLoc" -> (t, v) -> juridicalBu(t).setDbleLoc(v);
+            case "juridical.bu.lbj" -> (t, v) -> juridicalBu(t).setLbj(v);
+            case "juridical.bu.lafcj" -> (t, v) -> juridicalBu(t).setLafcj(v);
+            case "juridical.bu.bsrl" -> (t, v) -> juridicalBu(t).setBsrl(v);
+            case "juridical.bu.rr" -> (t, v) -> juridicalBu(t).setRr(v);
+            case "juridical.bu.hrpi" -> (t, v) -> juridicalBu(t).setHrpi(v);
+            default -> null;
+        };
+    }
+
+    private static Nationality nationality(Target t) {
+        if (t.ind.getNationalities() == null)
+            t.ind.setNationalities(new Nationalities());
+        if (t.ind.getNationalities().getNatList() == null)
+            t.ind.getNationalities().setNatList(new ArrayList<>());
+        if (t.ind.getNationalities().getNatList().isEmpty())
+            t.ind.getNationalities().getNatList().add(new Nationality());
+        return t.ind.getNationalities().getNatList().get(0);
+    }
+
+    private static Address address(Target t) {
+        if (t.ind.getAddresses() == null)
+            t.ind.setAddresses(new Addresses());
+        if (t.ind.getAddresses().getAddrList() == null)
+            t.ind.getAddresses().setAddrList(new ArrayList<>());
+        if (t.ind.getAddresses().getAddrList().isEmpty())
+            t.ind.getAddresses().getAddrList().add(new Address());
+        return t.ind.getAddresses().getAddrList().get(0);
+    }
+
+    private static KYCData kycData(Target t) {
+        if (t.data.getKycData() == null)
+            t.data.setKycData(new KYCData());
+        return t.data.getKycData();
+    }
+
+    private static BUInfo juridicalBu(Target t) {
+        if (t.data.getJuriInfo() == null)
+            t.data.setJuriInfo(new JuridicalInfo());
+        if (t.data.getJuriInfo().getBu() == null)
+            t.data.getJuriInfo().setBu(new ArrayList<>());
+        if (t.data.getJuriInfo().getBu().isEmpty())
+            t.data.getJuriInfo().getBu().add(new BUInfo());
+        return t.data.getJuriInfo().getBu().get(0);
+    }
+}
@@ -0,0 +1,305 @@
+package com.venus.kyc.screening.batch;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.xml.bind.Unmarshaller;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Ingests screening response files ({@code *.zip.gpg}) from the SFTP download directory.
+ *
+ * <p>Each file is handled on a bounded worker pool:
+ * <ol>
+ * <li>downloaded to a private work directory while its SHA-256 is computed;</li>
+ * <li>claimed in {@code IngestedResponseFiles} by name + hash, so a delivery is processed at most once even when
+ * several instances poll the same directory or the vendor re-sends it;</li>
+ * <li>decrypted, unzipped and parsed as one stream pipeline (no intermediate zip/XML files or byte[] copies);</li>
+ * <li>checked against the {@code .sha256sum} entry of the archive and the PGP integrity packet; only then are the
+ * parsed documents applied to their batch;</li>
+ * <li>moved to the archive directory, or the failed directory if anything went wrong.</li>
+ * </ol>
+ *
+ * <p>Each file's processing time is recorded as {@code screening.response.ingest}, tagged with its {@link Outcome};
+ * the worker pool reports as {@code executor.*} with {@code name=response-ingest}.
+ */
+@Service
+public class ResponseIngestionEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseIngestionEngine.class);
+
+    public enum Outcome {
+        /** Parsed, verified and applied. */
+        INGESTED,
+        /** This exact file (name + content) was ingested before; it has only been archived again. */
+        DUPLICATE,
+        /** Another worker currently holds the claim; left untouched. */
+        IN_PROGRESS,
+        /** Processing failed; the file was moved to the failed directory. */
+        FAILED
+    }
+
+    private final SftpService sftpService;
+    private final EncryptionService encryptionService;
+    private final BatchScreeningService batchScreeningService;
+    private final IngestedResponseFileRepository ingestedFiles;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${batch.work.dir:/tmp/screening-batch}")
+    private String workDir;
+
+    @Value("${batch.sftp.download.dir:download}")
+    private String downloadDir;
+
+    @Value("${batch.sftp.archive.dir:download/archive}")
+    private String archiveDir;
+
+    @Value("${batch.sftp.failed.dir:download/failed}")
+    private String failedDir;
+
+    @Value("${batch.privateKeyPath}")
+    private String privateKeyPath;
+
+    @Value("${batch.passphrase:}")
+    private String passphrase;
+
+    @Value("${batch.response.workers:4}")
+    private int workers;
+
+    @Value("${batch.response.queue-capacity:100}")
+    private int queueCapacity;
+
+    /** A PROCESSING claim older than this is assumed to belong to a dead worker and may be taken over. */
+    @Value("${batch.response.stale-claim-minutes:30}")
+    private long staleClaimMinutes;
+
+    /** Files submitted by this instance and not yet finished, so overlapping polls don't queue them twice. */
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    private ThreadPoolTaskExecutor executor;
+
+    public ResponseIngestionEngine(SftpService sftpService, EncryptionService encryptionService,
+            BatchScreeningService batchScreeningService, IngestedResponseFileRepository ingestedFiles,
+            MeterRegistry meterRegistry) {
+        this.sftpService = sftpService;
+        this.encryptionService = encryptionService;
+        this.batchScreeningService = batchScreeningService;
+        this.ingestedFiles = ingestedFiles;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void start() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("response-ingest-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), "response-ingest", List.of()).bindTo(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdown();
+    }
+
+    /**
+     * Lists the download directory and submits every response file not already in flight. Returns one future per
+     * submitted file. Files that don't fit in the worker queue are left on the server for the next poll.
+     */
+    public List<Future<Outcome>> poll() {
+        List<Future<Outcome>> submitted = new ArrayList<>();
+        for (String fileName : sftpService.listFiles(downloadDir)) {
+            if (!fileName.endsWith(".zip.gpg") || !inFlight.add(fileName)) {
+                continue;
+            }
+            try {
+                submitted.add(executor.submit(() -> {
+                    try {
+                        return ingest(fileName);
+                    } finally {
+                        inFlight.remove(fileName);
+                    }
+                }));
+            } catch (RejectedExecutionException e) {
+                inFlight.remove(fileName);
+                log.info("Response ingestion queue full, deferring remaining files to the next poll");
+                break;
+            }
+        }
+        return submitted;
+    }
+
+    /** Downloads, claims and processes a single response file. Never throws. */
+    public Outcome ingest(String fileName) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Outcome outcome = process(fileName);
+        sample.stop(meterRegistry.timer("screening.response.ingest", "outcome", outcome.name().toLowerCase()));
+        return outcome;
+    }
+
+    private Outcome process(String fileName) {
+        File localDir = new File(workDir, "responses/" + UUID.randomUUID());
+        String remotePath = downloadDir + "/" + fileName;
+        String contentHash = null;
+        try {
+            localDir.mkdirs();
+            File encryptedFile = new File(localDir, fileName);
+            contentHash = download(remotePath, encryptedFile);
+
+            LocalDateTime staleBefore = LocalDateTime.now().minusMinutes(staleClaimMinutes);
+            if (!ingestedFiles.claim(fileName, contentHash, staleBefore)) {
+                IngestedResponseFile existing = ingestedFiles.find(fileName, contentHash);
+                if (existing != null && IngestedResponseFileRepository.COMPLETED.equals(existing.status())) {
+                    log.info("Response file {} ({}) already ingested, archiving duplicate", fileName, contentHash);
+                    sftpService.moveFile(remotePath, archiveDir, fileName);
+                    return Outcome.DUPLICATE;
+                }
+                return Outcome.IN_PROGRESS;
+            }
+
+            String batchName = BatchScreeningService.batchNameOf(fileName);
+            List<Object> documents = readVerified(encryptedFile);
+            for (Object document : documents) {
+                batchScreeningService.applyResponse(document, batchName);
+            }
+            ingestedFiles.markCompleted(fileName, contentHash, batchName);
+            sftpService.moveFile(remotePath, archiveDir, fileName);
+            log.info("Ingested response file {} for batch {} ({} document(s))", fileName, batchName,
+                    documents.size());
+            return Outcome.INGESTED;
+        } catch (Exception e) {
+            log.error("Failed to ingest response file {}", fileName, e);
+            if (contentHash != null) {
+                ingestedFiles.markFailed(fileName, contentHash, e.getMessage());
+            }
+            try {
+                sftpService.moveFile(remotePath, failedDir, fileName);
+            } catch (Exception moveFailure) {
+                log.warn("Could not move {} to {}", fileName, failedDir, moveFailure);
+            }
+            return Outcome.FAILED;
+        } finally {
+            deleteRecursively(localDir);
+        }
+    }
+
+    private String download(String remotePath, File target) throws IOException {
+        MessageDigest digest = sha256();
+        try (OutputStream out = new DigestOutputStream(new BufferedOutputStream(new FileOutputStream(target)),
+                digest)) {
+            sftpService.downloadFile(remotePath, out);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Decrypts, unzips and parses the response in one pass. Every XML entry is hashed while it is parsed; the
+     * result is returned only after the PGP integrity check (on close) and the .sha256sum comparison succeed.
+     */
+    private List<Object> readVerified(File encryptedFile) throws Exception {
+        List<Object> documents = new ArrayList<>();
+        Map<String, String> actualHashes = new LinkedHashMap<>();
+        Map<String, String> expectedHashes = new HashMap<>();
+        Unmarshaller unmarshaller = NlsFeedStreamWriter.FEED_CONTEXT.createUnmarshaller();
+
+        try (InputStream encrypted = new BufferedInputStream(new FileInputStream(encryptedFile));
+                InputStream privateKey = new FileInputStream(privateKeyPath);
+                InputStream clear = encryptionService.openDecryptedStream(encrypted, privateKey, passphrase);
+                ZipInputStream zip = new ZipInputStream(clear)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                String name = new File(entry.getName()).getName();
+                if (name.endsWith(".xml")) {
+                    MessageDigest digest = sha256();
+                    InputStream entryStream = new DigestInputStream(new NonClosingInputStream(zip), digest);
+                    documents.add(unmarshaller.unmarshal(entryStream));
+                    entryStream.transferTo(OutputStream.nullOutputStream()); // hash trailing bytes the parser skipped
+                    actualHashes.put(name, HexFormat.of().formatHex(digest.digest()));
+                } else if (name.endsWith(".sha256sum")) {
+                    parseChecksumFile(new String(zip.readAllBytes(), StandardCharsets.UTF_8), expectedHashes);
+                }
+            }
+        }
+
+        if (actualHashes.isEmpty()) {
+            throw new IOException("Response archive contains no XML document");
+        }
+        for (Map.Entry<String, String> xml : actualHashes.entrySet()) {
+            String expected = expectedHashes.get(xml.getKey());
+            if (expected == null) {
+                log.warn("No checksum supplied for {}; accepting on PGP integrity check only", xml.getKey());
+            } else if (!expected.equalsIgnoreCase(xml.getValue())) {
+                throw new IOException("Checksum mismatch for " + xml.getKey() + ": expected " + expected
+                        + ", computed " + xml.getValue());
+            }
+        }
+        return documents;
+    }
+
+    /** Parses {@code sha256sum} output: one {@code <hex>  <file name>} line per file. */
+    private static void parseChecksumFile(String content, Map<String, String> into) {
+        for (String line : content.split("\\R")) {
+            String[] parts = line.trim().split("\\s+", 2);
+            if (parts.length == 2) {
+                into.put(new File(parts[1].replaceFirst("^\\*", "")).getName(), parts[0]);
+            }
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void deleteRecursively(File dir) {
+        try {
+            if (dir.exists()) {
+                try (var paths = Files.walk(dir.toPath())) {
+                    paths.sorted(Comparator.reverseOrder()).map(java.nio.file.Path::toFile).forEach(File::delete);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not clean up {}", dir, e);
+        }
+    }
+
+    /** Lets a parser read one zip entry without closing the whole archive when it finishes. */
+    private static final class NonClosingInputStream extends FilterInputStream {
+        NonClosingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public void close() {
+            // the ZipInputStream is closed by its owner
+        }
+    }
+}
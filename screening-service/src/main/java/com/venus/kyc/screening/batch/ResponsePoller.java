@@ -1,114 +1,57 @@
 package com.venus.kyc.screening.batch;
 
-import com.venus.kyc.screening.batch.model.NLSFeed;
-import com.venus.kyc.screening.batch.model.Feedback;
-import com.venus.kyc.screening.batch.model.Notification;
-import jakarta.xml.bind.JAXBContext;
-import jakarta.xml.bind.Unmarshaller;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.util.List;
-
+/**
+ * Periodically hands the SFTP download directory to the {@link ResponseIngestionEngine}. The poll itself only lists
+ * and submits; files are processed on the engine's worker pool.
+ *
+ * <p>Each poll is timed as {@code screening.response.poll} (SFTP listing latency, tagged with its outcome); submitted
+ * files are counted in {@code screening.response.files.submitted}.
+ */
 @Service
 public class ResponsePoller {
 
-    private final SftpService sftpService;
-    private final EncryptionService encryptionService;
-    private final CompressionService compressionService;
-
-    @Value("${batch.work.dir:/tmp/screening-batch}")
-    private String workDir;
-
-    @Value("${batch.sftp.download.dir:download}")
-    private String downloadDir;
+    private static final Logger log = LoggerFactory.getLogger(ResponsePoller.class);
 
-    @Value("${batch.privateKeyPath}")
-    private String privateKeyPath;
+    private final ResponseIngestionEngine ingestionEngine;
+    private final MeterRegistry meterRegistry;
+    private final Counter submittedFiles;
 
-    @Value("${batch.passphrase:}")
-    private String passphrase;
+    @Value("${batch.sftp.mock:true}")
+    private boolean sftpMock;
 
-    public ResponsePoller(SftpService sftpService, EncryptionService encryptionService,
-            CompressionService compressionService) {
-        this.sftpService = sftpService;
-        this.encryptionService = encryptionService;
-        this.compressionService = compressionService;
+    public ResponsePoller(ResponseIngestionEngine ingestionEngine, MeterRegistry meterRegistry) {
+        this.ingestionEngine = ingestionEngine;
+        this.meterRegistry = meterRegistry;
+        this.submittedFiles = meterRegistry.counter("screening.response.files.submitted");
     }
 
     @Scheduled(fixedDelay = 60000) // Poll every minute
     public void pollForResponses() {
-        try {
-            List<String> files = sftpService.listFiles(downloadDir);
-            for (String filename : files) {
-                if (filename.endsWith(".zip.gpg")) {
-                    processFile(filename);
-                }
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-    }
-
-    private void processFile(String filename) throws Exception {
-        System.out.println("Processing response file: " + filename);
-        File localWorkDir = new File(workDir, "response_" + System.currentTimeMillis());
-        localWorkDir.mkdirs();
-
-        // 1. Download
-        File encryptedFile = new File(localWorkDir, filename);
-        sftpService.downloadFile(downloadDir + "/" + filename, encryptedFile);
-
-        // 2. Decrypt
-        File zipFile = new File(localWorkDir, filename.replace(".gpg", ""));
-        try (FileInputStream keyIS = new FileInputStream(privateKeyPath)) {
-            encryptionService.decryptFile(encryptedFile, zipFile, keyIS, passphrase);
-        }
-
-        // 3. Unzip
-        File extractedDir = new File(localWorkDir, "extracted");
-        List<File> extractedFiles = compressionService.unzipFile(zipFile, extractedDir);
-
-        // 4. Parse XML
-        for (File file : extractedFiles) {
-            if (file.getName().endsWith(".xml")) {
-                parseAndProcess(file);
-            } else if (file.getName().endsWith(".sha256sum")) {
-                // Verify checksum logic here
-            }
+        if (sftpMock) {
+            return; // no SFTP server to poll
         }
-
-        // Cleanup? sftpService.deleteFile(downloadDir + "/" + filename);
-    }
-
-    private void parseAndProcess(File xmlFile) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
         try {
-            JAXBContext context = JAXBContext.newInstance(NLSFeed.class);
-            Unmarshaller unmarshaller = context.createUnmarshaller();
-            NLSFeed feed = (NLSFeed) unmarshaller.unmarshal(xmlFile);
-
-            if (feed.getNotification() != null) {
-                processNotification(feed.getNotification());
-            }
-            if (feed.getFeedback() != null) {
-                processFeedback(feed.getFeedback());
+            int submitted = ingestionEngine.poll().size();
+            submittedFiles.increment(submitted);
+            if (submitted > 0) {
+                log.info("Submitted {} response file(s) for ingestion", submitted);
             }
         } catch (Exception e) {
-            System.err.println("Failed to parse XML: " + xmlFile.getName());
-            e.printStackTrace();
+            outcome = "failure";
+            log.error("Failed to poll for screening responses", e);
+        } finally {
+            sample.stop(meterRegistry.timer("screening.response.poll", "outcome", outcome));
         }
     }
-
-    private void processNotification(Notification notification) {
-        System.out.println("Received Notification. Status: " + notification.getMeta().getStat());
-        // Update batch status in DB
-    }
-
-    private void processFeedback(Feedback feedback) {
-        System.out.println("Received Feedback. Records: " + feedback.getMeta().getNor());
-        // Update case/party status in DB
-    }
 }
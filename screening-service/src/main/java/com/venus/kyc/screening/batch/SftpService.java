@@ -7,6 +7,8 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -32,6 +34,27 @@ public class SftpService {
         });
     }
 
+    /**
+     * Streams {@code in} to {@code remoteDir/fileName} until it ends, creating the directory if needed. The caller
+     * owns (and closes) the stream.
+     */
+    public void uploadFile(InputStream in, String remoteDir, String fileName) {
+        sftpTemplate.execute(session -> {
+            if (!session.exists(remoteDir)) {
+                try {
+                    session.mkdir(remoteDir);
+                } catch (IOException e) {
+                    if (!session.exists(remoteDir)) {
+                        throw e;
+                    }
+                    // a concurrent upload created it first
+                }
+            }
+            session.write(in, remoteDir + "/" + fileName);
+            return null;
+        });
+    }
+
     public void downloadFile(String remoteFilePath, File localFile) {
         sftpTemplate.execute(session -> {
             try (FileOutputStream fos = new FileOutputStream(localFile)) {
@@ -41,6 +64,32 @@ public class SftpService {
         });
     }
 
+    /** Streams a remote file into {@code out}; the caller owns (and closes) the stream. */
+    public void downloadFile(String remoteFilePath, OutputStream out) {
+        sftpTemplate.execute(session -> {
+            session.read(remoteFilePath, out);
+            return null;
+        });
+    }
+
+    /** Moves a remote file, creating the target directory if needed and replacing an existing target file. */
+    public void moveFile(String remoteFilePath, String remoteDir, String fileName) {
+        sftpTemplate.execute(session -> {
+            if (!session.exists(remoteDir)) {
+                try {
+                    session.mkdir(remoteDir);
+                } catch (IOException e) {
+                    if (!session.exists(remoteDir)) {
+                        throw e;
+                    }
+                    // another ingestion worker created it first
+                }
+            }
+            session.rename(remoteFilePath, remoteDir + "/" + fileName);
+            return null;
+        });
+    }
+
     public List<String> listFiles(String remoteDir) {
         return Arrays.stream(sftpTemplate.list(remoteDir))
                 .map(f -> f.getFilename())
@@ -1,2 +1,3 @@
-INSERT INTO BatchRuns (BatchName, RunStatus, NotificationStatus, FeedbackCount, CreatedAt) VALUES ('SCREENING_BATCH_20260214100000', 'PROCESSED', 'SENT', 8, '2026-02-14T10:00:00');
-INSERT INTO BatchRuns (BatchName, RunStatus, NotificationStatus, FeedbackCount, CreatedAt) VALUES ('SCREENING_BATCH_20260215093000', 'UPLOADED', 'PENDING', 0, '2026-02-15T09:30:00');
+-- Runs on every start against a database that may already hold them, and BatchName is unique
+INSERT INTO BatchRuns (BatchName, RunStatus, NotificationStatus, FeedbackCount, CreatedAt) SELECT 'SCREENING_BATCH_20260214100000', 'PROCESSED', 'SENT', 8, '2026-02-14T10:00:00' WHERE NOT EXISTS (SELECT 1 FROM BatchRuns WHERE BatchName = 'SCREENING_BATCH_20260214100000');
+INSERT INTO BatchRuns (BatchName, RunStatus, NotificationStatus, FeedbackCount, CreatedAt) SELECT 'SCREENING_BATCH_20260215093000', 'UPLOADED', 'PENDING', 0, '2026-02-15T09:30:00' WHERE NOT EXISTS (SELECT 1 FROM BatchRuns WHERE BatchName = 'SCREENING_BATCH_20260215093000');
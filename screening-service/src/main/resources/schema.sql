@@ -29,6 +29,12 @@ CREATE TABLE IF NOT EXISTS BatchRuns (
     UpdatedAt TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Keyset paging of the batch history newest first
+CREATE INDEX IF NOT EXISTS IX_BatchRuns_CreatedAt ON BatchRuns (CreatedAt, BatchID);
+
+-- Response files are matched to their batch by name
+CREATE UNIQUE INDEX IF NOT EXISTS UX_BatchRuns_BatchName ON BatchRuns (BatchName);
+
 CREATE TABLE IF NOT EXISTS BatchRunErrors (
     ErrorID BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     BatchID BIGINT,
@@ -68,3 +74,47 @@ CREATE TABLE IF NOT EXISTS MappingConfigSnapshots (
 
 ALTER TABLE BatchRuns ADD COLUMN IF NOT EXISTS MappingSnapshotID BIGINT;
 ALTER TABLE BatchRuns ADD COLUMN IF NOT EXISTS ClientCount INT;
+-- Caller-chosen key of a submission, so a retried submit returns the batch the first one created
+ALTER TABLE BatchRuns ADD COLUMN IF NOT EXISTS SubmissionKey VARCHAR(100);
+CREATE UNIQUE INDEX IF NOT EXISTS UX_BatchRuns_SubmissionKey ON BatchRuns (SubmissionKey);
+
+-- Checkpoints of the submitted batch pipeline, one row per step reached: STAGE (clients staged in the work dir),
+-- TRANSMIT (XML, checksum, zip, PGP and SFTP upload as one streamed pass). A batch resumes after its last COMPLETED step.
+CREATE TABLE IF NOT EXISTS BatchRunSteps (
+    BatchID BIGINT NOT NULL,
+    Step VARCHAR(20) NOT NULL,
+    Status VARCHAR(20) NOT NULL, -- RUNNING, COMPLETED, FAILED
+    Attempts INT DEFAULT 1 NOT NULL,
+    StartedAt TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CompletedAt TIMESTAMP,
+    Detail VARCHAR(255),
+    ErrorMessage VARCHAR(1000),
+    PRIMARY KEY (BatchID, Step),
+    FOREIGN KEY (BatchID) REFERENCES BatchRuns(BatchID)
+);
+
+-- One row per response file seen on SFTP, keyed by name + SHA-256 of the downloaded (encrypted) bytes.
+-- Claiming a file is an INSERT, so the same delivery is never processed twice, even across instances.
+CREATE TABLE IF NOT EXISTS IngestedResponseFiles (
+    FileID BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    FileName VARCHAR(255) NOT NULL,
+    ContentHash CHAR(64) NOT NULL,
+    Status VARCHAR(20) NOT NULL, -- PROCESSING, COMPLETED, FAILED
+    BatchName VARCHAR(255),
+    Attempts INT DEFAULT 1 NOT NULL,
+    ClaimedAt TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CompletedAt TIMESTAMP,
+    ErrorMessage VARCHAR(1000),
+    CONSTRAINT UQ_IngestedResponseFiles_NameHash UNIQUE (FileName, ContentHash)
+);
+
+-- Versioned screening result snapshot: ResultVersion is bumped whenever a log's results actually change,
+-- so status readers and stream subscribers can tell a new result from one they have already seen.
+ALTER TABLE ScreeningLogs ADD COLUMN IF NOT EXISTS ResultVersion BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE ScreeningLogs ADD COLUMN IF NOT EXISTS UpdatedAt TIMESTAMP;
+CREATE INDEX IF NOT EXISTS IX_ScreeningLogs_ExternalRequestID ON ScreeningLogs (ExternalRequestID);
+CREATE INDEX IF NOT EXISTS IX_ScreeningLogs_OverallStatus ON ScreeningLogs (OverallStatus);
+-- When the status poller last asked the provider about a log; it polls the least recently polled first.
+ALTER TABLE ScreeningLogs ADD COLUMN IF NOT EXISTS LastPolledAt TIMESTAMP;
+CREATE INDEX IF NOT EXISTS IX_ScreeningLogs_OverallStatus_LastPolledAt ON ScreeningLogs (OverallStatus, LastPolledAt);
+CREATE INDEX IF NOT EXISTS IX_ScreeningResults_LogID ON ScreeningResults (ScreeningLogID);
@@ -0,0 +1,215 @@
+package com.venus.kyc.screening;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ScreeningStatusTest {
+
+    private static final List<ScreeningDTOs.ContextResult> NO_HITS = List.of(
+            new ScreeningDTOs.ContextResult("PEP", "NO_HIT", null),
+            new ScreeningDTOs.ContextResult("ADM", "NO_HIT", null),
+            new ScreeningDTOs.ContextResult("INT", "NO_HIT", null),
+            new ScreeningDTOs.ContextResult("SAN", "NO_HIT", null));
+
+    private EmbeddedDatabase database;
+    private JdbcClient jdbcClient;
+    private ScreeningRepository repository;
+    private StubProvider provider;
+    private ScreeningStatusBroadcaster broadcaster;
+    private ScreeningService service;
+
+    @BeforeEach
+    public void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName("screening-status-" + UUID.randomUUID())
+                .addScript("classpath:schema.sql")
+                .build();
+        jdbcClient = JdbcClient.create(database);
+        repository = new ScreeningRepository(jdbcClient);
+        provider = new StubProvider();
+        broadcaster = mock(ScreeningStatusBroadcaster.class);
+        service = new ScreeningService(repository, new ObjectMapper(), provider, broadcaster,
+                new DataSourceTransactionManager(database));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        database.shutdown();
+    }
+
+    private String initiate() {
+        return service.initiateScreening(
+                new ScreeningDTOs.ScreeningInternalRequest(7L, "Jane", "Smith", "1990-01-01", "DE")).requestId();
+    }
+
+    @Test
+    public void testCheckStatus_IsReadOnlyAndNeverCallsProvider() {
+        String requestId = initiate();
+
+        ScreeningDTOs.ScreeningStatusResponse snapshot = service.checkStatus(requestId);
+        service.checkStatus(requestId);
+
+        assertEquals(0, snapshot.version());
+        assertEquals("IN_PROGRESS", snapshot.overallStatus());
+        assertEquals(4, snapshot.results().size());
+        assertEquals(0, provider.checks);
+    }
+
+    @Test
+    public void testApplyProviderResults_BumpsVersionAndPublishesOnce() {
+        String requestId = initiate();
+
+        ScreeningDTOs.ScreeningStatusResponse applied = service.applyProviderResults(requestId, NO_HITS);
+
+        assertEquals(1, applied.version());
+        assertEquals("COMPLETED", applied.overallStatus());
+        assertTrue(applied.results().stream().allMatch(r -> "NO_HIT".equals(r.status())));
+        assertEquals(applied, service.checkStatus(requestId));
+        verify(broadcaster, times(1)).publish(applied);
+    }
+
+    @Test
+    public void testApplyProviderResults_UnchangedResultsWriteNothing() {
+        String requestId = initiate();
+        service.applyProviderResults(requestId, NO_HITS);
+        List<Long> resultIds = resultIds();
+
+        ScreeningDTOs.ScreeningStatusResponse again = service.applyProviderResults(requestId, NO_HITS);
+
+        assertEquals(1, again.version());
+        assertEquals(resultIds, resultIds(), "results must be updated in place, never deleted and re-inserted");
+        verify(broadcaster, times(1)).publish(any());
+    }
+
+    @Test
+    public void testApplyProviderResults_PartialChangeKeepsAlertId() {
+        String requestId = initiate();
+        List<ScreeningDTOs.ContextResult> hit = new ArrayList<>(NO_HITS);
+        hit.set(0, new ScreeningDTOs.ContextResult("PEP", "HIT", "PEP match"));
+        service.applyProviderResults(requestId, hit);
+        String alertId = alertId("PEP");
+
+        hit.set(0, new ScreeningDTOs.ContextResult("PEP", "HIT", "PEP match, updated"));
+        ScreeningDTOs.ScreeningStatusResponse updated = service.applyProviderResults(requestId, hit);
+
+        assertEquals(2, updated.version());
+        assertNotNull(alertId);
+        assertEquals(alertId, alertId("PEP"));
+        assertEquals("PEP match, updated", updated.results().get(0).alertMessage());
+    }
+
+    @Test
+    public void testApplyProviderResults_PartialResultsStayInProgress() {
+        String requestId = initiate();
+
+        ScreeningDTOs.ScreeningStatusResponse partial = service.applyProviderResults(requestId,
+                List.of(new ScreeningDTOs.ContextResult("SAN", "NO_HIT", null)));
+
+        assertEquals(1, partial.version());
+        assertEquals("IN_PROGRESS", partial.overallStatus());
+        assertEquals(1, service.findInProgress(10).size());
+    }
+
+    @Test
+    public void testRefreshFromProvider_OnlyWritesWhenProviderHasResults() {
+        String requestId = initiate();
+        ScreeningLog log = service.findInProgress(10).get(0);
+
+        service.refreshFromProvider(log);
+        assertEquals(0, service.checkStatus(requestId).version());
+
+        provider.results = NO_HITS;
+        service.refreshFromProvider(log);
+        assertEquals(1, service.checkStatus(requestId).version());
+        assertTrue(service.findInProgress(10).isEmpty());
+        assertEquals(2, provider.checks);
+    }
+
+    @Test
+    public void testPublishChangesFromOtherInstances_ReachesStreamsOpenOnAnotherInstance() {
+        ScreeningStatusBroadcaster writerStreams = new ScreeningStatusBroadcaster(60_000);
+        ScreeningStatusBroadcaster readerStreams = new ScreeningStatusBroadcaster(60_000);
+        ScreeningService writer = new ScreeningService(repository, new ObjectMapper(), provider, writerStreams,
+                new DataSourceTransactionManager(database));
+        ScreeningService reader = new ScreeningService(new ScreeningRepository(jdbcClient), new ObjectMapper(), provider,
+                readerStreams, new DataSourceTransactionManager(database));
+        String requestId = initiate();
+        reader.streamStatus(requestId);
+        assertEquals(Map.of(requestId, 0L), readerStreams.deliveredVersions());
+
+        writer.applyProviderResults(requestId, List.of(new ScreeningDTOs.ContextResult("SAN", "NO_HIT", null)));
+        assertEquals(Map.of(requestId, 0L), readerStreams.deliveredVersions(),
+                "the writer only publishes to its own subscribers");
+
+        reader.publishChangesFromOtherInstances();
+        assertEquals(Map.of(requestId, 1L), readerStreams.deliveredVersions());
+    }
+
+    @Test
+    public void testPoller_ReachesEveryStuckScreeningWhenMoreThanOneBatchIsStuck() {
+        List<String> stuck = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            stuck.add(initiate());
+        }
+        ScreeningStatusPoller poller = new ScreeningStatusPoller(service, 2);
+
+        Set<String> polled = new HashSet<>();
+        for (int cycle = 0; cycle < 3; cycle++) {
+            service.findInProgress(2).forEach(log -> polled.add(log.externalRequestID()));
+            poller.pollInProgress();
+        }
+
+        assertEquals(Set.copyOf(stuck), polled, "the provider never has results, yet newer screenings still get polled");
+        assertEquals(6, provider.checks);
+    }
+
+    @Test
+    public void testApplyProviderResults_UnknownRequest() {
+        assertThrows(RuntimeException.class, () -> service.applyProviderResults("missing", NO_HITS));
+    }
+
+    private List<Long> resultIds() {
+        return jdbcClient.sql("SELECT ResultID FROM ScreeningResults ORDER BY ResultID").query(Long.class).list();
+    }
+
+    private String alertId(String context) {
+        return jdbcClient.sql("SELECT AlertID FROM ScreeningResults WHERE ContextType = :ctx")
+                .param("ctx", context).query(String.class).single();
+    }
+
+    private static class StubProvider implements ScreeningProvider {
+
+        List<ScreeningDTOs.ContextResult> results = List.of();
+        int checks;
+
+        @Override
+        public String initiate(ScreeningDTOs.ExternalScreeningRequest request) {
+            return UUID.randomUUID().toString();
+        }
+
+        @Override
+        public List<ScreeningDTOs.ContextResult> checkStatus(String externalRequestId) {
+            checks++;
+            return results;
+        }
+    }
+}
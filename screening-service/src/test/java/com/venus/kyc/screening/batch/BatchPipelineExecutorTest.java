@@ -0,0 +1,369 @@
+package com.venus.kyc.screening.batch;
+
+import com.venus.kyc.screening.batch.model.Client;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.sshd.common.file.virtualfs.VirtualFileSystemFactory;
+import org.apache.sshd.server.SshServer;
+import org.apache.sshd.server.keyprovider.SimpleGeneratorHostKeyProvider;
+import org.apache.sshd.sftp.server.SftpSubsystemFactory;
+import org.bouncycastle.bcpg.HashAlgorithmTags;
+import org.bouncycastle.openpgp.PGPEncryptedData;
+import org.bouncycastle.openpgp.PGPKeyPair;
+import org.bouncycastle.openpgp.PGPPublicKey;
+import org.bouncycastle.openpgp.PGPSecretKey;
+import org.bouncycastle.openpgp.PGPSignature;
+import org.bouncycastle.openpgp.operator.PGPDigestCalculator;
+import org.bouncycastle.openpgp.operator.jcajce.JcaPGPContentSignerBuilder;
+import org.bouncycastle.openpgp.operator.jcajce.JcaPGPDigestCalculatorProviderBuilder;
+import org.bouncycastle.openpgp.operator.jcajce.JcaPGPKeyPair;
+import org.bouncycastle.openpgp.operator.jcajce.JcePBESecretKeyEncryptorBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.integration.sftp.session.DefaultSftpSessionFactory;
+import org.springframework.integration.sftp.session.SftpRemoteFileTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+
+/**
+ * Runs the submitted batch pipeline against an embedded Apache MINA SSHD SFTP server, real PGP keys and an in-memory
+ * H2 database.
+ */
+public class BatchPipelineExecutorTest {
+
+    private static final String PASSPHRASE = "test-passphrase";
+
+    @TempDir
+    Path tempDir;
+
+    private SshServer sshServer;
+    private EmbeddedDatabase database;
+    private JdbcClient jdbcClient;
+    private Path sftpRoot;
+    private Path workDir;
+    private File privateKey;
+    private EncryptionService encryptionService;
+    private BatchWorkspace workspace;
+    private BatchRepository batchRepository;
+    private SftpService sftpService;
+    private BatchScreeningService batchScreeningService;
+    private BatchRunStepRepository steps;
+    private BatchPipelineExecutor executor;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        sftpRoot = Files.createDirectories(tempDir.resolve("sftp"));
+        sshServer = SshServer.setUpDefaultServer();
+        sshServer.setHost("localhost");
+        sshServer.setPort(0);
+        sshServer.setKeyPairProvider(new SimpleGeneratorHostKeyProvider(tempDir.resolve("hostkey.ser")));
+        sshServer.setPasswordAuthenticator((user, password, session) -> "user".equals(user) && "secret".equals(password));
+        sshServer.setSubsystemFactories(List.of(new SftpSubsystemFactory()));
+        sshServer.setFileSystemFactory(new VirtualFileSystemFactory(sftpRoot));
+        sshServer.start();
+
+        DefaultSftpSessionFactory sessionFactory = new DefaultSftpSessionFactory();
+        sessionFactory.setHost("localhost");
+        sessionFactory.setPort(sshServer.getPort());
+        sessionFactory.setUser("user");
+        sessionFactory.setPassword("secret");
+        sessionFactory.setAllowUnknownKeys(true);
+        sftpService = new SftpService(new SftpRemoteFileTemplate(sessionFactory));
+
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName("pipeline-" + UUID.randomUUID())
+                .addScript("classpath:schema.sql")
+                .build();
+        jdbcClient = JdbcClient.create(database);
+        batchRepository = new BatchRepository(jdbcClient, new JdbcTemplate(database),
+                new DataSourceTransactionManager(database), 1000);
+
+        encryptionService = new EncryptionService(); // registers the BouncyCastle provider
+        privateKey = tempDir.resolve("secring.gpg").toFile();
+        File publicKey = tempDir.resolve("pubring.gpg").toFile();
+        generatePgpKeys(privateKey, publicKey);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        workDir = tempDir.resolve("work");
+        workspace = new BatchWorkspace();
+        ReflectionTestUtils.setField(workspace, "workDir", workDir.toString());
+        ReflectionTestUtils.setField(workspace, "minFreeMb", 0L);
+        ReflectionTestUtils.setField(workspace, "batchQuotaMb", 1L);
+        batchScreeningService = new BatchScreeningService(encryptionService, new CompressionService(), sftpService,
+                batchRepository, new MappingConfigRepository(jdbcClient), workspace, meterRegistry);
+        ReflectionTestUtils.setField(batchScreeningService, "workDir", workDir.toString());
+        ReflectionTestUtils.setField(batchScreeningService, "publicKeyPath", publicKey.getPath());
+
+        steps = new BatchRunStepRepository(jdbcClient);
+        executor = new BatchPipelineExecutor(batchScreeningService, batchRepository, steps, sftpService,
+                workspace, meterRegistry);
+        ReflectionTestUtils.setField(executor, "sftpUploadDir", "upload");
+        ReflectionTestUtils.setField(executor, "sftpMock", false);
+        ReflectionTestUtils.setField(executor, "workers", 2);
+        ReflectionTestUtils.setField(executor, "queueCapacity", 10);
+        ReflectionTestUtils.setField(executor, "staleClaimMinutes", 30L);
+        ReflectionTestUtils.setField(executor, "maxAttempts", 3);
+        executor.start();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        executor.stop();
+        sshServer.stop(true);
+        database.shutdown();
+    }
+
+    @Test
+    public void submit_shouldStreamAVerifiablePackageToSftpWithoutIntermediateFiles() throws Exception {
+        Long batchId = executor.submit(List.of(client(1L, "John", "Doe"), client(2L, "Jane", "Smith")), "TEST",
+                "tester");
+
+        BatchRunStep transmitted = awaitTransmitted(batchId);
+        String batchName = batchName(batchId);
+        Map<String, byte[]> entries = downloadAndOpen(batchName);
+
+        byte[] xml = entries.get(batchName + ".xml");
+        String xmlSha256 = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(xml));
+        assertEquals(xmlSha256 + "  " + batchName + ".xml",
+                new String(entries.get(batchName + ".sha256sum"), StandardCharsets.UTF_8));
+        assertEquals(xmlSha256, transmitted.detail());
+        String feed = new String(xml, StandardCharsets.UTF_8);
+        assertTrue(feed.contains("UniRcrdId>1</") && feed.contains("UniRcrdId>2</"), feed);
+
+        assertFalse(Files.exists(workDir.resolve("batches/" + batchId)), "work directory removed once uploaded");
+        assertFalse(Files.exists(sftpRoot.resolve("upload/" + batchName + ".zip.gpg.part")));
+        assertEquals("UPLOADED", runStatus(batchId));
+    }
+
+    @Test
+    public void submit_shouldRunConcurrentBatchesInTheirOwnDirectories() throws Exception {
+        Map<Long, Long> clientByBatch = new ConcurrentHashMap<>();
+        List<Thread> submitters = new ArrayList<>();
+        for (long i = 1; i <= 4; i++) {
+            long clientId = i;
+            Thread submitter = new Thread(() -> clientByBatch.put(executor.submit(
+                    List.of(client(clientId, "Client", "No" + clientId)), "SOURCE_" + clientId, "tester"), clientId));
+            submitter.start();
+            submitters.add(submitter);
+        }
+        for (Thread submitter : submitters) {
+            submitter.join();
+        }
+
+        assertEquals(4, clientByBatch.size());
+        Set<String> batchNames = new HashSet<>();
+        for (Map.Entry<Long, Long> batch : clientByBatch.entrySet()) {
+            awaitTransmitted(batch.getKey());
+            String batchName = batchName(batch.getKey());
+            assertTrue(batchNames.add(batchName), "duplicate batch name " + batchName);
+            String feed = new String(downloadAndOpen(batchName).get(batchName + ".xml"), StandardCharsets.UTF_8);
+            // each package holds its own client, not one staged by another batch created in the same second
+            for (long clientId = 1; clientId <= 4; clientId++) {
+                assertEquals(clientId == batch.getValue(), feed.contains("UniRcrdId>" + clientId + "</"), feed);
+            }
+        }
+        assertEquals(List.of(), List.of(workDir.resolve("batches").toFile().list()));
+    }
+
+    @Test
+    public void submit_shouldReturnTheSameBatchForARepeatedSubmissionKey() throws Exception {
+        Long first = executor.submit(List.of(client(3L, "Eve", "Ray")), "TEST", "tester", "run-1-shard-0");
+        Long retried = executor.submit(List.of(client(3L, "Eve", "Ray")), "TEST", "tester", "run-1-shard-0");
+        Long other = executor.submit(List.of(client(3L, "Eve", "Ray")), "TEST", "tester", "run-1-shard-1");
+
+        assertEquals(first, retried);
+        assertNotEquals(first, other);
+        assertEquals(1, jdbcClient.sql("SELECT COUNT(*) FROM BatchRuns WHERE SubmissionKey = 'run-1-shard-0'")
+                .query(Integer.class).single());
+        awaitTransmitted(first);
+        awaitTransmitted(other);
+    }
+
+    @Test
+    public void createBatch_shouldTakeTheNextNumberWhenAnotherInstanceTookTheNameFirst() {
+        BatchRepository racing = spy(batchRepository);
+        // the name check never sees what another instance inserted meanwhile; only the unique index does
+        doReturn(null).when(racing).findByBatchName(anyString());
+        BatchScreeningService service = new BatchScreeningService(encryptionService, new CompressionService(),
+                sftpService, racing, new MappingConfigRepository(jdbcClient), workspace, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "workDir", workDir.toString());
+        LocalDateTime now = LocalDateTime.now();
+        for (int seconds = 0; seconds < 3; seconds++) {
+            batchRepository.saveBatchRun(new BatchRun(null, "2475_RC_DELTA_"
+                    + now.plusSeconds(seconds).format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss")) + "_1",
+                    "CREATED", null, null, null, null));
+        }
+
+        Long batchId = service.createBatch(List.of(client(4L, "Ida", "Fox")), "TEST", "tester");
+
+        assertTrue(batchName(batchId).endsWith("_2"), batchName(batchId));
+    }
+
+    @Test
+    public void transmit_shouldRefuseABatchOverItsQuota() throws Exception {
+        Long batchId = batchScreeningService.createBatch(List.of(client(5L, "Al", "Ng")), "TEST", "tester");
+        steps.markCompleted(batchId, BatchRunStepRepository.STAGE, null);
+        Files.write(workDir.resolve("batches/" + batchId + "/filler.bin"), new byte[2 * 1024 * 1024]);
+
+        assertFalse(executor.transmit(batchId));
+
+        BatchRunStep transmit = steps.findByBatchId(batchId).stream()
+                .filter(step -> BatchRunStepRepository.TRANSMIT.equals(step.step())).findFirst().orElseThrow();
+        assertEquals(BatchRunStepRepository.FAILED, transmit.status());
+        assertTrue(transmit.errorMessage().contains("batch.work.batch-quota-mb"), transmit.errorMessage());
+        assertEquals("FAILED", runStatus(batchId));
+        assertFalse(Files.exists(sftpRoot.resolve("upload/" + batchName(batchId) + ".zip.gpg")));
+    }
+
+    @Test
+    public void transmit_shouldFailInsteadOfHangingWhenPackagingFailsBeforeWritingAByte() throws Exception {
+        File corruptKey = Files.writeString(tempDir.resolve("corrupt.gpg"), "not a PGP key").toFile();
+        ReflectionTestUtils.setField(batchScreeningService, "publicKeyPath", corruptKey.getPath());
+        Long batchId = batchScreeningService.createBatch(List.of(client(6L, "Cy", "Wu")), "TEST", "tester");
+        steps.markCompleted(batchId, BatchRunStepRepository.STAGE, null);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> assertFalse(executor.transmit(batchId)));
+
+        BatchRunStep transmit = steps.findByBatchId(batchId).stream()
+                .filter(step -> BatchRunStepRepository.TRANSMIT.equals(step.step())).findFirst().orElseThrow();
+        assertEquals(BatchRunStepRepository.FAILED, transmit.status());
+        assertEquals("FAILED", runStatus(batchId));
+        assertFalse(Files.exists(sftpRoot.resolve("upload/" + batchName(batchId) + ".zip.gpg")));
+    }
+
+    @Test
+    public void resumeInterrupted_shouldRerunTheStepAnInstanceDiedIn() throws Exception {
+        Long batchId = batchScreeningService.createBatch(List.of(client(7L, "Ann", "Lee")), "TEST", "tester");
+        steps.markCompleted(batchId, BatchRunStepRepository.STAGE, null);
+        // the instance that claimed TRANSMIT died two hours ago
+        jdbcClient.sql("INSERT INTO BatchRunSteps (BatchID, Step, Status, StartedAt) VALUES (:id, 'TRANSMIT', 'RUNNING', :at)")
+                .param("id", batchId)
+                .param("at", LocalDateTime.now().minusHours(2))
+                .update();
+
+        executor.resumeInterrupted();
+
+        BatchRunStep transmitted = awaitTransmitted(batchId);
+        assertEquals(2, transmitted.attempts());
+        assertTrue(downloadAndOpen(batchName(batchId)).containsKey(batchName(batchId) + ".xml"));
+        assertTrue(steps.findResumable(LocalDateTime.now().plusMinutes(1), 3).isEmpty());
+    }
+
+    @Test
+    public void claim_shouldNotTakeOverALiveStep() {
+        Long batchId = batchScreeningService.createBatch(List.of(client(9L, "Bo", "Ek")), "TEST", "tester");
+        steps.markCompleted(batchId, BatchRunStepRepository.STAGE, null);
+        LocalDateTime staleBefore = LocalDateTime.now().minusMinutes(30);
+
+        assertTrue(steps.claim(batchId, BatchRunStepRepository.TRANSMIT, staleBefore, 2));
+        assertFalse(steps.claim(batchId, BatchRunStepRepository.TRANSMIT, staleBefore, 2));
+        assertTrue(steps.findResumable(staleBefore, 2).isEmpty());
+
+        steps.markFailed(batchId, BatchRunStepRepository.TRANSMIT, "boom");
+        assertEquals(List.of(batchId), steps.findResumable(staleBefore, 2));
+        assertTrue(steps.claim(batchId, BatchRunStepRepository.TRANSMIT, staleBefore, 2));
+        steps.markFailed(batchId, BatchRunStepRepository.TRANSMIT, "boom again");
+        assertFalse(steps.claim(batchId, BatchRunStepRepository.TRANSMIT, staleBefore, 2), "attempts used up");
+    }
+
+    private BatchRunStep awaitTransmitted(Long batchId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (System.currentTimeMillis() < deadline) {
+            for (BatchRunStep step : steps.findByBatchId(batchId)) {
+                if (BatchRunStepRepository.TRANSMIT.equals(step.step())) {
+                    assertNotEquals(BatchRunStepRepository.FAILED, step.status(), step.errorMessage());
+                    if (BatchRunStepRepository.COMPLETED.equals(step.status())) {
+                        return step;
+                    }
+                }
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Batch " + batchId + " was not transmitted in time");
+    }
+
+    private Map<String, byte[]> downloadAndOpen(String batchName) throws Exception {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        try (InputStream encrypted = Files.newInputStream(sftpRoot.resolve("upload/" + batchName + ".zip.gpg"));
+                InputStream key = Files.newInputStream(privateKey.toPath());
+                InputStream clear = encryptionService.openDecryptedStream(encrypted, key, PASSPHRASE);
+                ZipInputStream zip = new ZipInputStream(clear)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), zip.readAllBytes());
+            }
+        }
+        return entries;
+    }
+
+    private String batchName(Long batchId) {
+        return jdbcClient.sql("SELECT BatchName FROM BatchRuns WHERE BatchID = :id").param("id", batchId)
+                .query(String.class).single();
+    }
+
+    private String runStatus(Long batchId) {
+        return jdbcClient.sql("SELECT RunStatus FROM BatchRuns WHERE BatchID = :id").param("id", batchId)
+                .query(String.class).single();
+    }
+
+    private static Client client(Long id, String firstName, String lastName) {
+        return new Client(id, null, firstName, null, lastName, null, null, null, null, null, null, null, "Male",
+                null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null,
+                null);
+    }
+
+    private static void generatePgpKeys(File secretKeyFile, File publicKeyFile) throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA", "BC");
+        generator.initialize(2048);
+        PGPKeyPair keyPair = new JcaPGPKeyPair(PGPPublicKey.RSA_GENERAL, generator.generateKeyPair(), new Date());
+        PGPDigestCalculator sha1 = new JcaPGPDigestCalculatorProviderBuilder().build().get(HashAlgorithmTags.SHA1);
+        PGPSecretKey secretKey = new PGPSecretKey(PGPSignature.DEFAULT_CERTIFICATION, keyPair, "screening-test",
+                sha1, null, null,
+                new JcaPGPContentSignerBuilder(keyPair.getPublicKey().getAlgorithm(), HashAlgorithmTags.SHA256),
+                new JcePBESecretKeyEncryptorBuilder(PGPEncryptedData.CAST5, sha1).setProvider("BC")
+                        .build(PASSPHRASE.toCharArray()));
+        try (OutputStream out = new FileOutputStream(secretKeyFile)) {
+            secretKey.encode(out);
+        }
+        try (OutputStream out = new FileOutputStream(publicKeyFile)) {
+            secretKey.getPublicKey().encode(out);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.venus.kyc.screening.batch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchRepositoryTest {
+
+    private EmbeddedDatabase database;
+    private JdbcClient jdbcClient;
+    private BatchRepository repository;
+    private Long batchId;
+
+    @BeforeEach
+    public void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName("batch-repo-" + UUID.randomUUID())
+                .addScript("classpath:schema.sql")
+                .build();
+        jdbcClient = JdbcClient.create(database);
+        repository = new BatchRepository(jdbcClient, new JdbcTemplate(database),
+                new DataSourceTransactionManager(database), 100);
+        batchId = repository.saveBatchRun(new BatchRun(null, "BATCH_REPO", "SENT", null, 0, null, null));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    public void testSaveBatchRun_RejectsATakenBatchName() {
+        assertThrows(DuplicateKeyException.class,
+                () -> repository.saveBatchRun(new BatchRun(null, "BATCH_REPO", "CREATED", null, 0, null, null)));
+    }
+
+    @Test
+    public void testSaveFeedbackResults_WritesEveryChunk() {
+        List<BatchFeedbackResult> results = new ArrayList<>();
+        for (int i = 0; i < 1050; i++) {
+            results.add(new BatchFeedbackResult(null, batchId, "R" + i, "M" + i, "Name " + i, "90", "OK"));
+        }
+
+        assertEquals(1050, repository.saveFeedbackResults(results));
+
+        assertEquals(1050, count("BatchFeedbackResults"));
+        assertEquals("Name 1049", jdbcClient
+                .sql("SELECT MatchName FROM BatchFeedbackResults WHERE RecordID = 'R1049'")
+                .query(String.class).single());
+    }
+
+    @Test
+    public void testSaveErrors_FailedChunkRollsBackAlone() {
+        List<BatchRunError> errors = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            // row 150 violates the BatchRuns foreign key, failing the second chunk
+            Long owner = i == 150 ? -1L : batchId;
+            errors.add(new BatchRunError(null, owner, "R" + i, "E01", "Invalid"));
+        }
+
+        assertThrows(DataAccessException.class, () -> repository.saveErrors(errors));
+
+        assertEquals(100, count("BatchRunErrors"));
+    }
+
+    @Test
+    public void testSaveErrors_EmptyList() {
+        assertEquals(0, repository.saveErrors(List.of()));
+        assertEquals(0, count("BatchRunErrors"));
+    }
+
+    private long count(String table) {
+        return jdbcClient.sql("SELECT COUNT(*) FROM " + table).query(Long.class).single();
+    }
+}
@@ -13,6 +13,7 @@ import java.nio.file.Files;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -120,7 +121,7 @@ public class BatchScreeningTest {
 
         // Verify
         verify(batchRepository).updateBatchStatus(eq(1L), eq("NOTIFICATION_RECEIVED"), eq("ACTC"), any());
-        verify(batchRepository).saveError(any(BatchRunError.class));
+        verify(batchRepository).saveErrors(argThat(errors -> errors.size() == 1));
     }
 
     @Test
@@ -159,7 +160,8 @@ public class BatchScreeningTest {
 
         // Verify
         verify(batchRepository).updateBatchStatus(eq(2L), eq("PROCESSED"), any(), eq(5));
-        verify(batchRepository).saveFeedbackResult(any(BatchFeedbackResult.class));
+        verify(batchRepository).saveFeedbackResults(argThat(results -> results.size() == 1
+                && "M1".equals(results.get(0).matchID())));
     }
 
     @Autowired
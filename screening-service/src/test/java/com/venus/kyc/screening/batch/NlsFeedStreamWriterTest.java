@@ -0,0 +1,82 @@
+package com.venus.kyc.screening.batch;
+
+import com.venus.kyc.screening.batch.model.NLSFeed;
+import com.venus.kyc.screening.batch.model.Record;
+import com.venus.kyc.screening.batch.model.RecordData;
+import com.venus.kyc.screening.batch.model.RecordMeta;
+import com.venus.kyc.screening.batch.model.RequestMeta;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class NlsFeedStreamWriterTest {
+
+    @Test
+    public void streamedFeed_shouldUnmarshalAsOneNlsFeed() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (NlsFeedStreamWriter writer = new NlsFeedStreamWriter(bytes)) {
+            writer.writeMeta(meta(3));
+            for (int i = 0; i < 3; i++) {
+                writer.writeRecord(record("ID-" + i));
+            }
+            writer.finish();
+        }
+
+        NLSFeed feed = (NLSFeed) NlsFeedStreamWriter.FEED_CONTEXT.createUnmarshaller()
+                .unmarshal(new ByteArrayInputStream(bytes.toByteArray()));
+
+        assertEquals("2475", feed.getRequest().getMeta().getSrcId());
+        assertEquals(3, feed.getRequest().getMeta().getNor());
+        assertEquals(3, feed.getRequest().getRecords().getRecList().size());
+        assertEquals("ID-2", feed.getRequest().getRecords().getRecList().get(2).getMeta().getUniRcrdId());
+        assertEquals("CHK-ID-1", feed.getRequest().getRecords().getRecList().get(1).getMeta().getChkSum());
+    }
+
+    @Test
+    public void finish_shouldReturnSha256OfWrittenBytes() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        String digest;
+        try (NlsFeedStreamWriter writer = new NlsFeedStreamWriter(bytes)) {
+            writer.writeMeta(meta(1));
+            writer.writeRecord(record("ID-0"));
+            digest = writer.finish();
+        }
+
+        String expected = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes.toByteArray()));
+        assertEquals(expected, digest);
+    }
+
+    @Test
+    public void writeRecord_shouldRequireMetaFirst() throws Exception {
+        try (NlsFeedStreamWriter writer = new NlsFeedStreamWriter(new ByteArrayOutputStream())) {
+            assertThrows(IllegalStateException.class, () -> writer.writeRecord(record("ID-0")));
+        }
+    }
+
+    private static RequestMeta meta(int recordCount) {
+        RequestMeta meta = new RequestMeta();
+        meta.setSrcId("2475");
+        meta.setTor("RCDelta");
+        meta.setNor(recordCount);
+        return meta;
+    }
+
+    private static Record record(String id) {
+        RecordMeta meta = new RecordMeta();
+        meta.setUniRcrdId(id);
+        meta.setType("PC");
+        meta.setChkSum("CHK-" + id);
+        RecordData data = new RecordData();
+        data.setComment("comment " + id);
+        Record record = new Record();
+        record.setMeta(meta);
+        record.setData(data);
+        return record;
+    }
+}
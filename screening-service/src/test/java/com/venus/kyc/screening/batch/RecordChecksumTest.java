@@ -0,0 +1,125 @@
+package com.venus.kyc.screening.batch;
+
+import com.venus.kyc.screening.batch.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RecordChecksumTest {
+
+    /** Checksums the vendor has already received for these records; the value must not change. */
+    private static final String FULL_RECORD = "B42707239F5DC3B17C1503286BE9AA970B86FF61C49A56D532038F96EE4A2C78";
+    private static final String EMPTY_RECORD = "E3B0C44298FC1C149AFBF4C8996FB92427AE41E4649B934CA495991B7852B855";
+
+    @Test
+    public void of_shouldDigestEveryStringInModelFieldOrder() {
+        assertEquals(FULL_RECORD, RecordChecksum.of(fullRecord()));
+        assertEquals(EMPTY_RECORD, RecordChecksum.of(new RecordData()));
+    }
+
+    @Test
+    public void digest_shouldBeReusableAcrossRecords() {
+        RecordChecksum checksum = new RecordChecksum();
+        RecordData changed = fullRecord();
+        changed.getPrtInfo().getInd().setOccupation("Physicist");
+
+        assertEquals(FULL_RECORD, checksum.digest(fullRecord()));
+        assertNotEquals(FULL_RECORD, checksum.digest(changed));
+        assertEquals(FULL_RECORD, checksum.digest(fullRecord()));
+    }
+
+    @Test
+    public void hex_shouldMatchHexFormat() {
+        byte[] bytes = new byte[256];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        assertEquals(HexFormat.of().withUpperCase().formatHex(bytes), RecordChecksum.hex(bytes));
+    }
+
+    /** Every field under RecordData set, with multi-byte and supplementary characters. */
+    private static RecordData fullRecord() {
+        List<Name> nameList = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            Name name = new Name();
+            name.setType("PN" + i);
+            name.setFull("Zoë Müller " + i);
+            name.setTit("Dr");
+            name.setFir("Zoë");
+            name.setMid("");
+            name.setSur("Müller");
+            name.setMa("Ma");
+            nameList.add(name);
+        }
+        Names names = new Names();
+        names.setNameList(nameList);
+
+        Nationality nationality = new Nationality();
+        nationality.setCntr("DE");
+        nationality.setLegDoc("PP");
+        nationality.setIdNr("X1");
+        nationality.setCa("BY");
+        Nationalities nationalities = new Nationalities();
+        nationalities.setNatList(new ArrayList<>(List.of(nationality)));
+
+        Address address = new Address();
+        address.setType("Residential");
+        address.setLine("Straße 1");
+        address.setCity("Berlin");
+        address.setZipCode("10115");
+        address.setProv("BE");
+        address.setCntr("DE");
+        Addresses addresses = new Addresses();
+        addresses.setAddrList(new ArrayList<>(List.of(address)));
+
+        Individual ind = new Individual();
+        ind.setNames(names);
+        ind.setGender("F");
+        ind.setDob("1980-01-02");
+        ind.setPlaceOfBirth("Köln");
+        ind.setCntr("DE");
+        ind.setOccupation("Chemist");
+        ind.setNationalities(nationalities);
+        ind.setAddresses(addresses);
+
+        Account account = new Account();
+        account.setType("CUR");
+        account.setNr("123");
+        account.setAi("AI");
+        account.setSow("Salary");
+        PartyInfo info = new PartyInfo();
+        info.setInd(ind);
+        info.setAccount(account);
+
+        BUInfo bu = new BUInfo();
+        bu.setRelSrcId("2475");
+        bu.setRecCntrOrg("US");
+        bu.setRecBD("BD");
+        bu.setDble("D");
+        bu.setDbleLoc("DL");
+        bu.setLbj("US");
+        bu.setLafcj("US");
+        bu.setBsrl("US");
+        bu.setRr("HIGH");
+        bu.setHrpi("H");
+        JuridicalInfo juri = new JuridicalInfo();
+        juri.setBu(new ArrayList<>(List.of(bu)));
+
+        NextReview nextReview = new NextReview();
+        nextReview.setKyc("2026-01-01");
+        KYCData kyc = new KYCData();
+        kyc.setPepFlag("Y");
+        kyc.setNextRvw(nextReview);
+
+        RecordData data = new RecordData();
+        data.setPrtInfo(info);
+        data.setJuriInfo(juri);
+        data.setKycData(kyc);
+        data.setComment("😀 comment");
+        return data;
+    }
+}
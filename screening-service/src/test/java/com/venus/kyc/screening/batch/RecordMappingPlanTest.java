@@ -0,0 +1,78 @@
+package com.venus.kyc.screening.batch;
+
+import com.venus.kyc.screening.batch.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RecordMappingPlanTest {
+
+    private final RecordMeta meta = new RecordMeta();
+    private final RecordData data = new RecordData();
+    private final Individual ind = new Individual();
+    private final Name name = new Name();
+
+    @Test
+    public void apply_shouldReadSourceFieldsAndFallBackToDefaults() {
+        RecordMappingPlan plan = RecordMappingPlan.compile(List.of(
+                new MappingConfig(null, "record.uniRcrdId", "clientID", null, null),
+                new MappingConfig(null, "name.full", "fullName", null, null),
+                new MappingConfig(null, "individual.dob", "dateOfBirth", null, null),
+                new MappingConfig(null, "individual.occupation", "occupation", "Unknown", null),
+                new MappingConfig(null, "individual.gender", "noSuchField", "U", null),
+                new MappingConfig(null, "juridical.bu.rr", null, "HIGH", null)));
+
+        plan.apply(client(42L, "John", "", "Doe", LocalDate.of(1980, 5, 1)), target());
+
+        assertEquals("42", meta.getUniRcrdId());
+        assertEquals("John Doe", name.getFull());
+        assertEquals("1980-05-01", ind.getDob());
+        assertEquals("Unknown", ind.getOccupation());
+        assertEquals("U", ind.getGender());
+        assertEquals("HIGH", data.getJuriInfo().getBu().get(0).getRr());
+    }
+
+    @Test
+    public void apply_shouldShareFirstListEntryAcrossPaths() {
+        RecordMappingPlan plan = RecordMappingPlan.compile(List.of(
+                new MappingConfig(null, "individual.nationality", null, "DE", null),
+                new MappingConfig(null, "individual.nationality.idNr", null, "X1", null),
+                new MappingConfig(null, "individual.address.city", null, "Berlin", null),
+                new MappingConfig(null, "individual.address.zip", null, "10115", null)));
+
+        plan.apply(client(1L, "A", null, "B", null), target());
+
+        assertEquals(1, ind.getNationalities().getNatList().size());
+        assertEquals("DE", ind.getNationalities().getNatList().get(0).getCntr());
+        assertEquals("X1", ind.getNationalities().getNatList().get(0).getIdNr());
+        assertEquals(1, ind.getAddresses().getAddrList().size());
+        assertEquals("Berlin", ind.getAddresses().getAddrList().get(0).getCity());
+        assertEquals("10115", ind.getAddresses().getAddrList().get(0).getZipCode());
+    }
+
+    @Test
+    public void compile_shouldDropUnknownTargetPaths() {
+        RecordMappingPlan plan = RecordMappingPlan.compile(List.of(
+                new MappingConfig(null, "no.such.path", "firstName", null, null),
+                new MappingConfig(null, "name.fir", "firstName", null, null)));
+
+        assertEquals(1, plan.size());
+    }
+
+    private RecordMappingPlan.Target target() {
+        PartyInfo info = new PartyInfo();
+        info.setInd(ind);
+        data.setPrtInfo(info);
+        return new RecordMappingPlan.Target(meta, data, ind, name);
+    }
+
+    private static Client client(Long id, String first, String middle, String last, LocalDate dob) {
+        return new Client(id, null, first, middle, last, null, null, null, null, "ACTIVE", null, null, null,
+                dob, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null,
+                null, null);
+    }
+}
@@ -0,0 +1,270 @@
+package com.venus.kyc.screening.batch;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.sshd.common.file.virtualfs.VirtualFileSystemFactory;
+import org.apache.sshd.server.SshServer;
+import org.apache.sshd.server.keyprovider.SimpleGeneratorHostKeyProvider;
+import org.apache.sshd.sftp.server.SftpSubsystemFactory;
+import org.bouncycastle.bcpg.HashAlgorithmTags;
+import org.bouncycastle.openpgp.PGPEncryptedData;
+import org.bouncycastle.openpgp.PGPKeyPair;
+import org.bouncycastle.openpgp.PGPPublicKey;
+import org.bouncycastle.openpgp.PGPSecretKey;
+import org.bouncycastle.openpgp.PGPSignature;
+import org.bouncycastle.openpgp.operator.PGPDigestCalculator;
+import org.bouncycastle.openpgp.operator.jcajce.JcaPGPContentSignerBuilder;
+import org.bouncycastle.openpgp.operator.jcajce.JcaPGPDigestCalculatorProviderBuilder;
+import org.bouncycastle.openpgp.operator.jcajce.JcaPGPKeyPair;
+import org.bouncycastle.openpgp.operator.jcajce.JcePBESecretKeyEncryptorBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.integration.sftp.session.DefaultSftpSessionFactory;
+import org.springframework.integration.sftp.session.SftpRemoteFileTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the ingestion engine against an embedded Apache MINA SSHD SFTP server, real PGP keys and an in-memory H2
+ * database.
+ */
+public class ResponseIngestionEngineTest {
+
+    private static final String PASSPHRASE = "test-passphrase";
+
+    @TempDir
+    Path tempDir;
+
+    private SshServer sshServer;
+    private EmbeddedDatabase database;
+    private JdbcClient jdbcClient;
+    private Path sftpRoot;
+    private File publicKey;
+    private ResponseIngestionEngine engine;
+    private CompressionService compressionService;
+    private EncryptionService encryptionService;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        sftpRoot = Files.createDirectories(tempDir.resolve("sftp"));
+        Files.createDirectories(sftpRoot.resolve("download"));
+        sshServer = SshServer.setUpDefaultServer();
+        sshServer.setHost("localhost");
+        sshServer.setPort(0);
+        sshServer.setKeyPairProvider(new SimpleGeneratorHostKeyProvider(tempDir.resolve("hostkey.ser")));
+        sshServer.setPasswordAuthenticator((user, password, session) -> "user".equals(user) && "secret".equals(password));
+        sshServer.setSubsystemFactories(List.of(new SftpSubsystemFactory()));
+        sshServer.setFileSystemFactory(new VirtualFileSystemFactory(sftpRoot));
+        sshServer.start();
+
+        DefaultSftpSessionFactory sessionFactory = new DefaultSftpSessionFactory();
+        sessionFactory.setHost("localhost");
+        sessionFactory.setPort(sshServer.getPort());
+        sessionFactory.setUser("user");
+        sessionFactory.setPassword("secret");
+        sessionFactory.setAllowUnknownKeys(true);
+        SftpService sftpService = new SftpService(new SftpRemoteFileTemplate(sessionFactory));
+
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName("ingest-" + UUID.randomUUID())
+                .addScript("classpath:schema.sql")
+                .build();
+        jdbcClient = JdbcClient.create(database);
+        BatchRepository batchRepository = new BatchRepository(jdbcClient, new JdbcTemplate(database),
+                new DataSourceTransactionManager(database), 1000);
+
+        encryptionService = new EncryptionService(); // registers the BouncyCastle provider
+        File privateKey = tempDir.resolve("secring.gpg").toFile();
+        publicKey = tempDir.resolve("pubring.gpg").toFile();
+        generatePgpKeys(privateKey, publicKey);
+
+        compressionService = new CompressionService();
+        meterRegistry = new SimpleMeterRegistry();
+        BatchScreeningService batchScreeningService = new BatchScreeningService(encryptionService,
+                compressionService, sftpService, batchRepository, new MappingConfigRepository(jdbcClient),
+                new BatchWorkspace(), meterRegistry);
+
+        engine = new ResponseIngestionEngine(sftpService, encryptionService, batchScreeningService,
+                new IngestedResponseFileRepository(jdbcClient), meterRegistry);
+        ReflectionTestUtils.setField(engine, "workDir", tempDir.resolve("work").toString());
+        ReflectionTestUtils.setField(engine, "downloadDir", "download");
+        ReflectionTestUtils.setField(engine, "archiveDir", "download/archive");
+        ReflectionTestUtils.setField(engine, "failedDir", "download/failed");
+        ReflectionTestUtils.setField(engine, "privateKeyPath", privateKey.getPath());
+        ReflectionTestUtils.setField(engine, "passphrase", PASSPHRASE);
+        ReflectionTestUtils.setField(engine, "workers", 3);
+        ReflectionTestUtils.setField(engine, "queueCapacity", 10);
+        ReflectionTestUtils.setField(engine, "staleClaimMinutes", 30L);
+        engine.start();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        engine.stop();
+        sshServer.stop(true);
+        database.shutdown();
+    }
+
+    @Test
+    public void poll_shouldIngestFilesInParallelAndArchiveThem() throws Exception {
+        for (int i = 1; i <= 4; i++) {
+            String batchName = "2475_RC_DELTA_2025010100000" + i + "_1";
+            insertBatchRun(batchName);
+            uploadResponse(batchName, notificationXml("ACTC", "REC-" + i), true);
+        }
+
+        List<Future<ResponseIngestionEngine.Outcome>> results = engine.poll();
+
+        assertEquals(4, results.size());
+        for (Future<ResponseIngestionEngine.Outcome> result : results) {
+            assertEquals(ResponseIngestionEngine.Outcome.INGESTED, result.get(30, TimeUnit.SECONDS));
+        }
+        assertEquals(4, count("SELECT COUNT(*) FROM BatchRuns WHERE RunStatus = 'NOTIFICATION_RECEIVED' AND NotificationStatus = 'ACTC'"));
+        assertEquals(4, count("SELECT COUNT(*) FROM BatchRunErrors"));
+        assertEquals(4, count("SELECT COUNT(*) FROM IngestedResponseFiles WHERE Status = 'COMPLETED'"));
+        assertEquals(0, remoteFiles("download").length);
+        assertEquals(4, remoteFiles("download/archive").length);
+    }
+
+    @Test
+    public void ingest_shouldNotProcessTheSameDeliveryTwice() throws Exception {
+        String batchName = "2475_RC_DELTA_20250102000000_1";
+        insertBatchRun(batchName);
+        byte[] delivery = uploadResponse(batchName, notificationXml("ACTC", "REC-1"), true);
+
+        assertEquals(ResponseIngestionEngine.Outcome.INGESTED, engine.ingest(batchName + ".zip.gpg"));
+
+        // the vendor re-sends the identical file
+        Files.write(sftpRoot.resolve("download/" + batchName + ".zip.gpg"), delivery);
+        assertEquals(ResponseIngestionEngine.Outcome.DUPLICATE, engine.ingest(batchName + ".zip.gpg"));
+
+        assertEquals(1, count("SELECT COUNT(*) FROM BatchRunErrors"));
+        assertEquals(1, count("SELECT COUNT(*) FROM IngestedResponseFiles"));
+        assertEquals(0, remoteFiles("download").length);
+        assertEquals(1, meterRegistry.get("screening.response.ingest").tag("outcome", "ingested").timer().count());
+        assertEquals(1, meterRegistry.get("screening.response.ingest").tag("outcome", "duplicate").timer().count());
+    }
+
+    @Test
+    public void ingest_shouldRejectChecksumMismatchWithoutApplyingIt() throws Exception {
+        String batchName = "2475_RC_DELTA_20250103000000_1";
+        insertBatchRun(batchName);
+        uploadResponse(batchName, notificationXml("ACTC", "REC-1"), false);
+
+        assertEquals(ResponseIngestionEngine.Outcome.FAILED, engine.ingest(batchName + ".zip.gpg"));
+
+        assertEquals(0, count("SELECT COUNT(*) FROM BatchRunErrors"));
+        assertEquals(0, count("SELECT COUNT(*) FROM BatchRuns WHERE RunStatus = 'NOTIFICATION_RECEIVED'"));
+        String error = jdbcClient.sql("SELECT ErrorMessage FROM IngestedResponseFiles WHERE Status = 'FAILED'")
+                .query(String.class).single();
+        assertTrue(error.startsWith("Checksum mismatch"), error);
+        assertEquals(1, remoteFiles("download/failed").length);
+    }
+
+    @Test
+    public void claim_shouldAllowRetryOfFailedAndStaleClaimsOnly() {
+        IngestedResponseFileRepository repository = new IngestedResponseFileRepository(jdbcClient);
+        LocalDateTime staleBefore = LocalDateTime.now().minusMinutes(30);
+
+        assertTrue(repository.claim("a.zip.gpg", "h1", staleBefore));
+        assertFalse(repository.claim("a.zip.gpg", "h1", staleBefore)); // still processing
+        assertTrue(repository.claim("a.zip.gpg", "h2", staleBefore)); // same name, new content
+
+        repository.markFailed("a.zip.gpg", "h1", "boom");
+        assertTrue(repository.claim("a.zip.gpg", "h1", staleBefore));
+        assertEquals(2, repository.find("a.zip.gpg", "h1").attempts());
+
+        repository.markCompleted("a.zip.gpg", "h1", "a");
+        assertFalse(repository.claim("a.zip.gpg", "h1", LocalDateTime.now().plusMinutes(1)));
+
+        // h2's PROCESSING claim is taken over once it is older than the stale cut-off
+        assertTrue(repository.claim("a.zip.gpg", "h2", LocalDateTime.now().plusMinutes(1)));
+    }
+
+    private byte[] uploadResponse(String batchName, String xml, boolean correctChecksum) throws Exception {
+        Path staging = Files.createDirectories(tempDir.resolve("staging-" + UUID.randomUUID()));
+        File xmlFile = staging.resolve(batchName + ".xml").toFile();
+        Files.writeString(xmlFile.toPath(), xml, StandardCharsets.UTF_8);
+        String sha256 = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest(xml.getBytes(StandardCharsets.UTF_8)));
+        if (!correctChecksum) {
+            sha256 = new StringBuilder(sha256).reverse().toString();
+        }
+        File checksumFile = staging.resolve(batchName + ".sha256sum").toFile();
+        Files.writeString(checksumFile.toPath(), sha256 + "  " + xmlFile.getName(), StandardCharsets.UTF_8);
+
+        File zipFile = staging.resolve(batchName + ".zip").toFile();
+        compressionService.zipFiles(List.of(xmlFile, checksumFile), zipFile);
+        File encryptedFile = staging.resolve(batchName + ".zip.gpg").toFile();
+        try (var key = Files.newInputStream(publicKey.toPath())) {
+            encryptionService.encryptFile(zipFile, encryptedFile, key);
+        }
+        byte[] bytes = Files.readAllBytes(encryptedFile.toPath());
+        Files.write(sftpRoot.resolve("download/" + encryptedFile.getName()), bytes);
+        return bytes;
+    }
+
+    private static String notificationXml(String status, String recordId) {
+        return "<Notification xmlns=\"http://www.db.com/NLSNotification\"><Meta><Stat>" + status
+                + "</Stat></Meta><RecordNoti><Rec><UniRcrdId>" + recordId
+                + "</UniRcrdId><Err><ErrCode>E01</ErrCode><ErrDesc>Error</ErrDesc></Err></Rec></RecordNoti></Notification>";
+    }
+
+    private void insertBatchRun(String batchName) {
+        jdbcClient.sql("INSERT INTO BatchRuns (BatchName, RunStatus) VALUES (:name, 'UPLOADED')")
+                .param("name", batchName).update();
+    }
+
+    private long count(String sql) {
+        return jdbcClient.sql(sql).query(Long.class).single();
+    }
+
+    private String[] remoteFiles(String dir) {
+        String[] names = sftpRoot.resolve(dir).toFile().list((d, name) -> name.endsWith(".zip.gpg"));
+        return names != null ? names : new String[0];
+    }
+
+    private static void generatePgpKeys(File secretKeyFile, File publicKeyFile) throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA", "BC");
+        generator.initialize(2048);
+        PGPKeyPair keyPair = new JcaPGPKeyPair(PGPPublicKey.RSA_GENERAL, generator.generateKeyPair(), new Date());
+        PGPDigestCalculator sha1 = new JcaPGPDigestCalculatorProviderBuilder().build().get(HashAlgorithmTags.SHA1);
+        PGPSecretKey secretKey = new PGPSecretKey(PGPSignature.DEFAULT_CERTIFICATION, keyPair, "screening-test",
+                sha1, null, null,
+                new JcaPGPContentSignerBuilder(keyPair.getPublicKey().getAlgorithm(), HashAlgorithmTags.SHA256),
+                new JcePBESecretKeyEncryptorBuilder(PGPEncryptedData.CAST5, sha1).setProvider("BC")
+                        .build(PASSPHRASE.toCharArray()));
+        try (OutputStream out = new FileOutputStream(secretKeyFile)) {
+            secretKey.encode(out);
+        }
+        try (OutputStream out = new FileOutputStream(publicKeyFile)) {
+            secretKey.getPublicKey().encode(out);
+        }
+    }
+}
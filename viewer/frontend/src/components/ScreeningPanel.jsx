@@ -111,17 +111,34 @@ const ScreeningPanel = ({ clientId, hasPermission }) => {
     const [analyzeResult, setAnalyzeResult] = useState(null);
     const [loadingAnalyze, setLoadingAnalyze] = useState(false);
 
-    // Auto-polling effect
+    // Follow an in-progress screening over SSE; poll only if the stream cannot be used
     useEffect(() => {
+        if (status !== 'IN_PROGRESS' || !currentRequestId) return;
+
+        let closed = false;
+        let completed = false;
+        let latestVersion = -1;
         let intervalId;
 
-        if (status === 'IN_PROGRESS' && currentRequestId) {
+        const stream = screeningService.streamStatus(currentRequestId, (snapshot) => {
+            if (snapshot.version < latestVersion) return;
+            latestVersion = snapshot.version;
+            completed = snapshot.overallStatus === 'COMPLETED';
+            applySnapshot(snapshot);
+        });
+
+        const fallBackToPolling = (e) => {
+            if (closed || completed) return;
+            if (e) console.error('Screening status stream failed, falling back to polling', e);
             intervalId = setInterval(async () => {
                 await checkStatus(currentRequestId);
             }, 2000); // Poll every 2 seconds
-        }
+        };
+        stream.done.then(() => fallBackToPolling(), fallBackToPolling);
 
         return () => {
+            closed = true;
+            stream.close();
             if (intervalId) clearInterval(intervalId);
         };
     }, [status, currentRequestId]);
@@ -204,24 +221,28 @@ const ScreeningPanel = ({ clientId, hasPermission }) => {
         }
     };
 
+    const applySnapshot = (res, silent = false) => {
+        setResults(res.results);
+
+        // Determine overall status
+        const anyInProgress = res.results.some(r => r.status === 'IN_PROGRESS');
+        const anyHit = res.results.some(r => r.status === 'HIT');
+
+        if (anyInProgress) {
+            // Keep following
+        } else if (anyHit) {
+            setStatus('HIT');
+            if (!silent) notify('Screening Completed: Alert Found', 'warning');
+        } else {
+            setStatus('NO_HIT');
+            if (!silent) notify('Screening Completed: No Hits', 'success');
+        }
+    };
+
     const checkStatus = async (requestId, silent = false) => {
         try {
             const res = await screeningService.getScreeningStatus(requestId);
-            setResults(res.results);
-
-            // Determine overall status
-            const anyInProgress = res.results.some(r => r.status === 'IN_PROGRESS');
-            const anyHit = res.results.some(r => r.status === 'HIT');
-
-            if (anyInProgress) {
-                // Keep polling
-            } else if (anyHit) {
-                setStatus('HIT');
-                if (!silent) notify('Screening Completed: Alert Found', 'warning');
-            } else {
-                setStatus('NO_HIT');
-                if (!silent) notify('Screening Completed: No Hits', 'success');
-            }
+            applySnapshot(res, silent);
         } catch (e) {
             console.error('Error checking status', e);
             // Don't stop polling immediately on one error, maybe transient network issue?
@@ -6,13 +6,16 @@ const AuditHistory = () => {
     const [audits, setAudits] = useState([]);
     const [loading, setLoading] = useState(true);
     const [error, setError] = useState(null);
+    const [nextCursor, setNextCursor] = useState(null);
+    const [loadingMore, setLoadingMore] = useState(false);
 
     useEffect(() => {
         const fetchAudits = async () => {
             setLoading(true);
             try {
-                const data = await auditService.getAudits();
-                setAudits(data);
+                const page = await auditService.getAudits();
+                setAudits(page.content);
+                setNextCursor(page.nextCursor);
             } catch (err) {
                 console.error("Failed to load audits:", err);
                 setError(err.message + (err.message.includes('403') ? " (Access Denied)" : ""));
@@ -24,6 +27,19 @@ const AuditHistory = () => {
         fetchAudits();
     }, []);
 
+    const loadMore = async () => {
+        setLoadingMore(true);
+        try {
+            const page = await auditService.getAudits(nextCursor);
+            setAudits(prev => [...prev, ...page.content]);
+            setNextCursor(page.nextCursor);
+        } catch (err) {
+            setError(err.message);
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
     const getActionBadgeStyle = (action) => {
         const a = action.toUpperCase();
         if (a.includes('LOGIN') || a.includes('AUTH')) return { backgroundColor: 'rgba(59, 130, 246, 0.1)', color: '#60a5fa', border: '1px solid rgba(59, 130, 246, 0.2)' };
@@ -137,6 +153,13 @@ const AuditHistory = () => {
                         </tbody>
                     </table>
                 </div>
+                {nextCursor && (
+                    <div style={{ padding: '1rem 1.5rem', textAlign: 'center', borderTop: '1px solid rgba(255,255,255,0.08)' }}>
+                        <Button variant="secondary" onClick={loadMore} disabled={loadingMore}>
+                            {loadingMore ? 'Loading...' : 'Load more'}
+                        </Button>
+                    </div>
+                )}
             </div>
             {error && (
                 <div style={{ marginTop: '1.5rem', padding: '1rem', borderRadius: '8px', background: 'rgba(239, 68, 68, 0.1)', border: '1px solid rgba(239, 68, 68, 0.2)', color: '#f87171', fontSize: '0.875rem' }}>
@@ -103,7 +103,7 @@ const ClientDetails = () => {
                 caseService.getCasesByClient(id).catch(() => []),
                 riskService.getRiskHistory(id).catch(() => []),
                 clientService.getClientChanges(id).catch(() => []),
-                import('../services/apiClient').then(m => m.default.get('/admin/audits')).catch(() => [])
+                import('../services/apiClient').then(m => m.default.get('/admin/audits?size=500')).then(p => p.content).catch(() => [])
             ]);
 
             setCases(casesData);
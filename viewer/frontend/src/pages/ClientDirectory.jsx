@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import { Link } from 'react-router-dom';
 import { clientService } from '../services/clientService';
 import Pagination from '../components/Pagination';
@@ -12,11 +12,14 @@ const ClientDirectory = () => {
     const [query, setQuery] = useState('');
     const [loading, setLoading] = useState(true);
     const [error, setError] = useState(null);
+    // nextCursor of each page already seen, so stepping forward seeks instead of skipping rows
+    const cursors = useRef([null]);
 
     const loadClients = async (page = 0, searchQuery = '') => {
         setLoading(true);
         try {
-            const result = await clientService.getClients(page, searchQuery);
+            const result = await clientService.getClients(page, searchQuery, cursors.current[page]);
+            cursors.current[page + 1] = result.nextCursor;
             setClients(result.content);
             setData(result);
             setError(null);
@@ -29,6 +32,7 @@ const ClientDirectory = () => {
 
     useEffect(() => {
         const timeout = setTimeout(() => {
+            cursors.current = [null];
             loadClients(0, query);
         }, 300);
         return () => clearTimeout(timeout);
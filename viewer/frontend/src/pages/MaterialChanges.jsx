@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import Pagination from '../components/Pagination';
 import apiClient from '../services/apiClient';
 
@@ -8,11 +8,16 @@ const MaterialChanges = () => {
     const [loading, setLoading] = useState(true);
     const [error, setError] = useState(null);
     const [page, setPage] = useState(0);
+    // nextCursor of each page already seen, so stepping forward seeks instead of skipping rows
+    const cursors = useRef([null]);
 
     const loadChanges = async (p = 0) => {
         setLoading(true);
         try {
-            const result = await apiClient.get(`/clients/changes?page=${p}`);
+            const cursor = cursors.current[p];
+            const after = cursor ? `&cursor=${encodeURIComponent(cursor)}` : '';
+            const result = await apiClient.get(`/clients/changes?page=${p}${after}`);
+            cursors.current[p + 1] = result.nextCursor;
             setChanges(result.content);
             setData(result);
             setPage(p);
@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import { Link, useNavigate } from 'react-router-dom';
 import { prospectService } from '../services/prospectService';
 import Pagination from '../components/Pagination';
@@ -14,6 +14,8 @@ const ProspectDirectory = () => {
     const [loading, setLoading] = useState(true);
     const [error, setError] = useState(null);
     const [page, setPage] = useState(0);
+    // nextCursor of each page already seen, so stepping forward seeks instead of skipping rows
+    const cursors = useRef([null]);
 
     // Modal state
     const [isModalOpen, setIsModalOpen] = useState(false);
@@ -33,7 +35,8 @@ const ProspectDirectory = () => {
     const loadProspects = async (p = 0) => {
         setLoading(true);
         try {
-            const result = await prospectService.getProspects(p);
+            const result = await prospectService.getProspects(p, 10, cursors.current[p]);
+            cursors.current[p + 1] = result.nextCursor;
             setProspects(result.content);
             setData(result);
             setError(null);
@@ -94,6 +97,7 @@ const ProspectDirectory = () => {
                 addressLine1: '', city: '', country: '', addressType: 'RESIDENTIAL'
             });
             setDocuments([]);
+            cursors.current = [null];
             loadProspects(0);
         } catch (err) {
             notify('Failed to create prospect: ' + err.message, 'error');
@@ -1,7 +1,9 @@
 import apiClient from './apiClient';
 
 export const auditService = {
-    async getAudits() {
-        return apiClient.get('/admin/audits');
+    // Newest first; pass the returned nextCursor to fetch the next page
+    async getAudits(cursor = null, size = 100) {
+        const query = cursor ? `&cursor=${encodeURIComponent(cursor)}` : '';
+        return apiClient.get(`/admin/audits?size=${size}${query}`);
     }
 };
@@ -36,12 +36,15 @@ export const batchService = {
         return apiClient.post(`${API_BASE_URL}/test-generate`, client);
     },
     // History
-    getRiskHistory: async () => {
-        return apiClient.get('/risk/batch/history');
+    // Latest runs first, one page of each
+    getRiskHistory: async (size = 100) => {
+        const page = await apiClient.get(`/risk/batch/history?size=${size}`);
+        return page.content;
     },
 
-    getScreeningHistory: async () => {
-        return apiClient.get('/screening/batch/history');
+    getScreeningHistory: async (size = 100) => {
+        const page = await apiClient.get(`/screening/batch/history?size=${size}`);
+        return page.content;
     },
 
     getMappingSnapshot: async (batchId) => {
@@ -4,8 +4,17 @@ const API_BASE_URL = '/cases';
 
 export const caseService = {
     getCases: async (page = 0) => {
-        const data = await apiClient.get(API_BASE_URL);
-        // Backend returns a plain list for now, wrap it to match expected pagination structure
+        // The list pages filter client-side, so walk the cursor pages and wrap the result
+        // to match the expected pagination structure
+        const data = [];
+        let cursor = null;
+        do {
+            const result = await apiClient.get(cursor
+                ? `${API_BASE_URL}?size=500&cursor=${encodeURIComponent(cursor)}`
+                : `${API_BASE_URL}?size=500`);
+            data.push(...result.content);
+            cursor = result.nextCursor;
+        } while (cursor);
         return {
             content: data,
             totalPages: 1,
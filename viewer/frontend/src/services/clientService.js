@@ -3,10 +3,12 @@ import apiClient from './apiClient';
 const API_BASE_URL = '/clients';
 
 export const clientService = {
-    getClients: async (page = 0, query = '') => {
+    // cursor is the nextCursor of the previous page; when known it takes precedence over page
+    getClients: async (page = 0, query = '', cursor = null) => {
+        const after = cursor ? `&cursor=${encodeURIComponent(cursor)}` : '';
         const url = query
-            ? `${API_BASE_URL}/search?query=${encodeURIComponent(query)}&page=${page}`
-            : `${API_BASE_URL}?page=${page}`;
+            ? `${API_BASE_URL}/search?query=${encodeURIComponent(query)}&page=${page}${after}`
+            : `${API_BASE_URL}?page=${page}${after}`;
         return apiClient.get(url);
     },
 
@@ -59,7 +61,8 @@ export const clientService = {
         return apiClient.post(`${API_BASE_URL}/admin/configs`, config);
     },
 
-    getMaterialChanges: async (page = 0, size = 10) => {
-        return apiClient.get(`${API_BASE_URL}/changes?page=${page}&size=${size}`);
+    getMaterialChanges: async (page = 0, size = 10, cursor = null) => {
+        const after = cursor ? `&cursor=${encodeURIComponent(cursor)}` : '';
+        return apiClient.get(`${API_BASE_URL}/changes?page=${page}&size=${size}${after}`);
     }
 };
@@ -3,8 +3,9 @@ import apiClient from './apiClient';
 const API_BASE_URL = '/prospects';
 
 export const prospectService = {
-    getProspects: async (page = 0, size = 10) => {
-        return apiClient.get(`${API_BASE_URL}?page=${page}&size=${size}`);
+    getProspects: async (page = 0, size = 10, cursor = null) => {
+        const after = cursor ? `&cursor=${encodeURIComponent(cursor)}` : '';
+        return apiClient.get(`${API_BASE_URL}?page=${page}&size=${size}${after}`);
     },
 
     onboardProspect: async (formData) => {
@@ -11,5 +11,45 @@ export const screeningService = {
 
     async getHistory(clientId) {
         return apiClient.get(`/screening/history/${clientId}`);
+    },
+
+    /**
+     * Follows a screening over Server-Sent Events, calling onSnapshot with every new result snapshot.
+     * Uses fetch rather than EventSource so the bearer token can be sent.
+     * Returns { close, done }: close() aborts the stream; done settles when the stream ends.
+     */
+    streamStatus(requestId, onSnapshot) {
+        const controller = new AbortController();
+        const done = (async () => {
+            const token = localStorage.getItem('token');
+            const response = await fetch(`${apiClient.BASE_URL}/screening/status/${requestId}/stream`, {
+                headers: {
+                    'Accept': 'text/event-stream',
+                    ...(token ? { 'Authorization': `Bearer ${token}` } : {})
+                },
+                signal: controller.signal
+            });
+            if (!response.ok) {
+                throw new Error(`Stream Error ${response.status}`);
+            }
+            const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+            let buffer = '';
+            for (;;) {
+                const { value, done: ended } = await reader.read();
+                if (ended) return;
+                buffer += value.replace(/\r\n/g, '\n');
+                let end;
+                while ((end = buffer.indexOf('\n\n')) >= 0) {
+                    const block = buffer.slice(0, end);
+                    buffer = buffer.slice(end + 2);
+                    const data = block.split('\n')
+                        .filter(line => line.startsWith('data:'))
+                        .map(line => line.slice(5).replace(/^ /, ''))
+                        .join('\n');
+                    if (data) onSnapshot(JSON.parse(data));
+                }
+            }
+        })();
+        return { close: () => controller.abort(), done };
     }
 };
@@ -1,10 +1,9 @@
 package com.venus.kyc.viewer;
 
+import com.venus.kyc.common.security.JwtVerifier;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -12,8 +11,6 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -24,15 +21,14 @@ import java.util.stream.Collectors;
 @Tag(name = "Viewer Authentication", description = "Authentication endpoints for the KYC viewer application")
 public class AuthController {
 
-    @Value("${app.jwtSecret}")
-    private String jwtSecret;
-
     private final UserRepository userRepository;
     private final UserAuditService userAuditService;
+    private final JwtVerifier jwtVerifier;
 
-    public AuthController(UserRepository userRepository, UserAuditService userAuditService) {
+    public AuthController(UserRepository userRepository, UserAuditService userAuditService, JwtVerifier jwtVerifier) {
         this.userRepository = userRepository;
         this.userAuditService = userAuditService;
+        this.jwtVerifier = jwtVerifier;
     }
 
     @Operation(summary = "User login", description = "Authenticates a user with username/password and returns a JWT access token with role and permissions")
@@ -101,14 +97,12 @@ public class AuthController {
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.joining(","));
 
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-
         return Jwts.builder()
                 .setSubject(username)
-                .claim("auth", authString)
+                .claim(JwtVerifier.AUTHORITIES_CLAIM, authString)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + 86400000)) // 24 hours
-                .signWith(key)
+                .signWith(jwtVerifier.signingKey())
                 .compact();
     }
 
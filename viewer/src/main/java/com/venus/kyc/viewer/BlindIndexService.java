@@ -0,0 +1,122 @@
+package com.venus.kyc.viewer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * HMAC-SHA256 blind index for searching AES-encrypted name fields.
+ *
+ * <p>Names are normalized (NFKD, diacritics stripped, lower-cased) and split into tokens. Each token yields a
+ * {@code T} term for the whole token and {@code P} terms for its prefixes of {@value #MIN_PREFIX} to
+ * {@value #MAX_PREFIX} characters. Terms are keyed with a secret separate from the encryption key and truncated
+ * to 128 bits, so the index reveals equality of terms but not their plaintext.
+ *
+ * <p>A query token matches a name token that starts with it. Tokens shorter than {@value #MIN_PREFIX} characters
+ * are ignored; tokens longer than {@value #MAX_PREFIX} characters must match a whole name token.
+ */
+@Service
+public class BlindIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(BlindIndexService.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int TERM_BYTES = 16;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    static final int MIN_PREFIX = 2;
+    static final int MAX_PREFIX = 12;
+
+    public record Term(String type, String hash) {
+    }
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> mac;
+
+    public BlindIndexService(@Value("${app.blindIndexKey}") String base64Key) {
+        byte[] keyBytes = Base64.getDecoder().decode(base64Key);
+        if (keyBytes.length < 32) {
+            throw new IllegalArgumentException(
+                "app.blindIndexKey must be a Base64-encoded key of at least 32 bytes, got " + keyBytes.length + " bytes");
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.mac = ThreadLocal.withInitial(this::newMac);
+        log.info("BlindIndexService initialized with {}", ALGORITHM);
+    }
+
+    /**
+     * Returns the distinct token and prefix terms for the given plaintext values. Null and blank values are skipped.
+     */
+    public Set<Term> indexTerms(String... values) {
+        Set<Term> terms = new LinkedHashSet<>();
+        for (String value : values) {
+            for (String token : tokenize(value)) {
+                terms.add(new Term("T", hash("T", token)));
+                for (int len = MIN_PREFIX; len <= Math.min(token.length(), MAX_PREFIX); len++) {
+                    terms.add(new Term("P", hash("P", token.substring(0, len))));
+                }
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Returns the term hashes a client must carry, all of them, to match the query. Empty when the query has no
+     * searchable token.
+     */
+    public List<String> queryTerms(String query) {
+        Set<String> hashes = new LinkedHashSet<>();
+        for (String token : tokenize(query)) {
+            if (token.length() < MIN_PREFIX) {
+                continue;
+            }
+            hashes.add(token.length() > MAX_PREFIX ? hash("T", token) : hash("P", token));
+        }
+        return new ArrayList<>(hashes);
+    }
+
+    static List<String> tokenize(String value) {
+        List<String> tokens = new ArrayList<>();
+        if (value == null || value.isBlank()) {
+            return tokens;
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(value, Normalizer.Form.NFKD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        for (String token : SEPARATORS.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private String hash(String type, String token) {
+        byte[] digest = mac.get().doFinal((type + ':' + token).getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, TERM_BYTES));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac m = Mac.getInstance(ALGORITHM);
+            m.init(key);
+            return m;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Blind index HMAC unavailable", e);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.venus.kyc.viewer;
 
+import com.venus.kyc.common.paging.CursorPage;
+import com.venus.kyc.common.paging.PageCursor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -41,10 +43,12 @@ public class CaseController {
                 .orElse("USER");
     }
 
-    @Operation(summary = "Get all cases", description = "Returns a list of all KYC cases in the system")
+    @Operation(summary = "Get cases", description = "Returns KYC cases newest first, one page at a time; pass nextCursor back as cursor for the next page")
     @GetMapping
-    public List<Case> getCases() {
-        return caseRepository.findAll();
+    public CursorPage<Case> getCases(
+            @Parameter(description = "nextCursor of the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most 500") @RequestParam(defaultValue = "100") int size) {
+        return caseRepository.findPage(PageCursor.decode(cursor), CursorPage.limit(size));
     }
 
     @Operation(summary = "Get case by ID", description = "Returns detailed information for a specific case and logs the view action")
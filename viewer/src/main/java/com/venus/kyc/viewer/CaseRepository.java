@@ -1,5 +1,7 @@
 package com.venus.kyc.viewer;
 
+import com.venus.kyc.common.paging.CursorPage;
+import com.venus.kyc.common.paging.PageCursor;
 import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.stereotype.Repository;
 
@@ -23,12 +25,11 @@ public class CaseRepository {
 
     /** Decrypt first+last individually then join — the DB columns hold AES ciphertext. */
     private Case mapCase(java.sql.ResultSet rs, int rowNum) throws java.sql.SQLException {
-        String firstName = enc.decrypt(rs.getString("FirstName"));
-        String lastName  = enc.decrypt(rs.getString("LastName"));
+        List<String> names = enc.decryptAll(java.util.Arrays.asList(rs.getString("FirstName"), rs.getString("LastName")));
         return new Case(
                 rs.getLong("CaseID"),
                 rs.getLong("ClientID"),
-                firstName + " " + lastName,
+                names.get(0) + " " + names.get(1),
                 rs.getObject("CreatedDate", LocalDateTime.class),
                 rs.getString("Reason"),
                 rs.getString("AssignedTo"),
@@ -45,10 +46,21 @@ public class CaseRepository {
             JOIN Clients cl ON c.ClientID = cl.ClientID
             """;
 
-    public List<Case> findAll() {
-        return jdbcClient.sql(CASE_SELECT)
-                .query(this::mapCase)
-                .list();
+    /**
+     * Cases newest first. Each page continues after the cursor's (CreatedDate, CaseID) with a seek on
+     * IX_Cases_CreatedDate, so later pages cost the same as the first.
+     */
+    public CursorPage<Case> findPage(PageCursor after, int limit) {
+        var query = jdbcClient.sql(CASE_SELECT
+                + (after != null ? " WHERE (c.CreatedDate < :createdDate OR (c.CreatedDate = :createdDate AND c.CaseID < :afterId))" : "")
+                + " ORDER BY c.CreatedDate DESC, c.CaseID DESC LIMIT :limit")
+                .param("limit", limit + 1);
+        if (after != null) {
+            query.param("createdDate", after.timestampKey())
+                    .param("afterId", after.id());
+        }
+        return CursorPage.of(query.query(this::mapCase).list(), limit,
+                c -> PageCursor.of(c.createdDate(), c.caseID()));
     }
 
     public List<Case> findByClientId(Long clientID) {
@@ -57,16 +57,17 @@ public class CaseService {
         variables.put("clientID", clientID);
         variables.put("initiator", userId);
 
+        // Create the local Case record first so its ID can be the case instance business key
+        Long caseId = caseRepository.create(clientID, reason, "KYC_ANALYST", null, null, "CMMN");
+        variables.put("caseId", caseId);
+
         CaseInstance caseInstance = cmmnRuntimeService.createCaseInstanceBuilder()
                 .caseDefinitionKey("kycCase")
+                .businessKey(String.valueOf(caseId))
                 .variables(variables)
                 .start();
 
-        // Create local Case record linked to case instance
-        Long caseId = caseRepository.create(clientID, reason, "KYC_ANALYST", null, caseInstance.getId(), "CMMN");
-
-        // Update case instance with database ID for reference
-        cmmnRuntimeService.setVariable(caseInstance.getId(), "caseId", caseId);
+        caseRepository.updateInstanceInfo(caseId, caseInstance.getId(), "CMMN");
 
         return caseId;
     }
@@ -115,15 +116,12 @@ public class CaseService {
     }
 
     public List<Map<String, Object>> getTasksForCase(Long caseId, String userId, List<String> groups) {
-        var caseInstances = cmmnRuntimeService.createCaseInstanceQuery()
-                .variableValueEquals("caseId", caseId)
-                .list();
-
-        if (caseInstances.isEmpty()) {
+        Optional<String> caseInstance = findCaseInstanceId(caseId);
+        if (caseInstance.isEmpty()) {
             return java.util.Collections.emptyList();
         }
 
-        String caseInstanceId = caseInstances.get(0).getId();
+        String caseInstanceId = caseInstance.get();
         var query = cmmnTaskService.createTaskQuery()
                 .caseInstanceId(caseInstanceId)
                 .includeCaseVariables();
@@ -168,12 +166,10 @@ public class CaseService {
         caseRepository.updateStatus(caseId, null, assignee);
 
         // 1. Try CMMN
-        var caseInstances = cmmnRuntimeService.createCaseInstanceQuery()
-                .variableValueEquals("caseId", caseId)
-                .list();
+        Optional<String> caseInstance = findCaseInstanceId(caseId);
 
-        if (!caseInstances.isEmpty()) {
-            String caseInstanceId = caseInstances.get(0).getId();
+        if (caseInstance.isPresent()) {
+            String caseInstanceId = caseInstance.get();
             List<Task> tasks = cmmnTaskService.createTaskQuery().caseInstanceId(caseInstanceId).active().list();
             if (!tasks.isEmpty()) {
                 handleAssignTask(tasks.get(0), assignee);
@@ -187,6 +183,22 @@ public class CaseService {
         // If CMMN failed or was empty, we can still return successfully as we updated the DB.
     }
 
+    /**
+     * Case instance of a case, looked up by business key. Instances started before the business
+     * key was set are found through the instance ID stored on the case row.
+     */
+    private Optional<String> findCaseInstanceId(Long caseId) {
+        List<CaseInstance> byBusinessKey = cmmnRuntimeService.createCaseInstanceQuery()
+                .caseInstanceBusinessKey(String.valueOf(caseId))
+                .list();
+        if (!byBusinessKey.isEmpty()) {
+            return Optional.of(byBusinessKey.get(0).getId());
+        }
+        return caseRepository.findById(caseId)
+                .map(Case::instanceID)
+                .filter(instanceId -> !instanceId.isEmpty());
+    }
+
     private void handleAssignTask(Task task, String assignee) {
         if (assignee != null && !assignee.isEmpty()) {
             // Use setAssignee to force assignment even if already claimed
@@ -301,6 +313,7 @@ public class CaseService {
 
         CaseInstance newInstance = cmmnRuntimeService.createCaseInstanceBuilder()
                 .caseDefinitionKey("kycCase")
+                .businessKey(String.valueOf(caseId))
                 .variables(variables)
                 .start();
 
@@ -358,10 +371,11 @@ public class CaseService {
         Map<String, Object> variables = new HashMap<>();
         variables.put("clientID", clientId);
         variables.put("initiator", userId);
-        variables.put("caseId", caseId); // Important for reverse lookup
+        variables.put("caseId", caseId);
 
         CaseInstance caseInstance = cmmnRuntimeService.createCaseInstanceBuilder()
                 .caseDefinitionKey("kycCase")
+                .businessKey(String.valueOf(caseId))
                 .variables(variables)
                 .start();
 
@@ -469,14 +483,11 @@ public class CaseService {
     public List<TimelineItem> getCaseTimeline(String caseInstanceId) {
         List<TimelineItem> timeline = new ArrayList<>();
 
-        // 1. Get Historical Plan Items (Completed/Terminated/etc.)
-        List<HistoricPlanItemInstance> allHistoricItems = cmmnHistoryService.createHistoricPlanItemInstanceQuery()
+        // 1. Get Historical Plan Items (Completed/Terminated/etc.), served by Flowable's case instance index
+        List<HistoricPlanItemInstance> historicItems = cmmnHistoryService.createHistoricPlanItemInstanceQuery()
+                .planItemInstanceCaseInstanceId(caseInstanceId)
                 .list();
 
-        List<HistoricPlanItemInstance> historicItems = allHistoricItems.stream()
-                .filter(item -> caseInstanceId.equals(item.getCaseInstanceId()))
-                .collect(Collectors.toList());
-
         for (HistoricPlanItemInstance item : historicItems) {
             timeline.add(new TimelineItem(
                     getPlanItemName(item.getName(), item.getPlanItemDefinitionId()),
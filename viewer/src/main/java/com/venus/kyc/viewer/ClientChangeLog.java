@@ -0,0 +1,123 @@
+package com.venus.kyc.viewer;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Append-only feed of material client changes. Every entry carries a sequence number; numbers are handed out in
+ * blocks from the ClientChangeLogHead row, whose lock the writer holds until it commits, so a consumer that has
+ * seen sequence N has seen everything before it. Consumers remember the highest number they have processed with
+ * {@link #acknowledge} and continue from there with {@link #readAfter}.
+ */
+@Repository
+public class ClientChangeLog {
+
+    private final JdbcClient jdbcClient;
+    private final JdbcTemplate jdbcTemplate;
+
+    public ClientChangeLog(JdbcClient jdbcClient, JdbcTemplate jdbcTemplate) {
+        this.jdbcClient = jdbcClient;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Appends the entries in one batched insert and returns them with their sequence numbers, in order. Joins the
+     * caller's transaction, so the entries become visible together with whatever else the caller writes.
+     */
+    @Transactional
+    public List<ClientChangeLogEntry> append(List<ClientChangeLogEntry> entries) {
+        if (entries.isEmpty()) {
+            return entries;
+        }
+        jdbcClient.sql("UPDATE ClientChangeLogHead SET LastSeq = LastSeq + :count WHERE ID = 1")
+                .param("count", entries.size())
+                .update();
+        long last = head();
+        long seq = last - entries.size();
+
+        List<ClientChangeLogEntry> appended = new ArrayList<>(entries.size());
+        List<Object[]> rows = new ArrayList<>(entries.size());
+        for (ClientChangeLogEntry entry : entries) {
+            ClientChangeLogEntry numbered = entry.withSeq(++seq);
+            appended.add(numbered);
+            rows.add(new Object[] { numbered.seq(), numbered.clientID(), numbered.entityID(), numbered.entityName(),
+                    numbered.columnName(), numbered.operationType(), numbered.oldValue(), numbered.newValue(),
+                    numbered.category(), numbered.configVersion() });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO ClientChangeLog (Seq, ClientID, EntityID, EntityName, ColumnName, "
+                + "OperationType, OldValue, NewValue, Category, ConfigVersion) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                rows);
+        return appended;
+    }
+
+    /** Highest sequence number appended and committed so far; 0 for an empty log. */
+    public long head() {
+        return jdbcClient.sql("SELECT LastSeq FROM ClientChangeLogHead WHERE ID = 1")
+                .query(Long.class)
+                .single();
+    }
+
+    /** Entries with {@code afterSeq < seq <= upToSeq} in one of the given categories, in sequence order. */
+    public List<ClientChangeLogEntry> readAfter(long afterSeq, long upToSeq, Collection<String> categories) {
+        return jdbcClient.sql("SELECT * FROM ClientChangeLog WHERE Seq > :after AND Seq <= :upTo "
+                + "AND Category IN (:categories) ORDER BY Seq")
+                .param("after", afterSeq)
+                .param("upTo", upToSeq)
+                .param("categories", categories)
+                .query(this::mapEntry)
+                .list();
+    }
+
+    /** Distinct clients with an entry in {@code (afterSeq, upToSeq]} in one of the given categories, ascending. */
+    public List<Long> clientIdsAfter(long afterSeq, long upToSeq, Collection<String> categories) {
+        return jdbcClient.sql("SELECT DISTINCT ClientID FROM ClientChangeLog WHERE Seq > :after AND Seq <= :upTo "
+                + "AND Category IN (:categories) ORDER BY ClientID")
+                .param("after", afterSeq)
+                .param("upTo", upToSeq)
+                .param("categories", categories)
+                .query(Long.class)
+                .list();
+    }
+
+    /** Highest sequence number the consumer has acknowledged; 0 if it has never acknowledged one. */
+    public long acknowledgedSeq(String consumer) {
+        return jdbcClient.sql("SELECT AckedSeq FROM ClientChangeLogConsumers WHERE Consumer = :consumer")
+                .param("consumer", consumer)
+                .query(Long.class)
+                .optional()
+                .orElse(0L);
+    }
+
+    /** Records that the consumer has processed every entry up to {@code seq}. Never moves the position back. */
+    public void acknowledge(String consumer, long seq) {
+        jdbcClient.sql("MERGE INTO ClientChangeLogConsumers (Consumer, AckedSeq) KEY(Consumer) "
+                + "VALUES (:consumer, GREATEST(:seq, COALESCE("
+                + "(SELECT AckedSeq FROM ClientChangeLogConsumers WHERE Consumer = :consumer), 0)))")
+                .param("consumer", consumer)
+                .param("seq", seq)
+                .update();
+    }
+
+    private ClientChangeLogEntry mapEntry(ResultSet rs, int rowNum) throws SQLException {
+        return new ClientChangeLogEntry(
+                rs.getLong("Seq"),
+                rs.getTimestamp("ChangeDate").toLocalDateTime(),
+                rs.getLong("ClientID"),
+                rs.getObject("EntityID", Long.class),
+                rs.getString("EntityName"),
+                rs.getString("ColumnName"),
+                rs.getString("OperationType"),
+                rs.getString("OldValue"),
+                rs.getString("NewValue"),
+                rs.getString("Category"),
+                rs.getLong("ConfigVersion"));
+    }
+}
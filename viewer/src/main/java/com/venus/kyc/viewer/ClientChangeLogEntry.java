@@ -0,0 +1,26 @@
+package com.venus.kyc.viewer;
+
+import java.time.LocalDateTime;
+
+/**
+ * One material change in the {@link ClientChangeLog}. {@code seq} and {@code changeDate} are null until the entry
+ * has been appended.
+ */
+public record ClientChangeLogEntry(
+        Long seq,
+        LocalDateTime changeDate,
+        Long clientID,
+        Long entityID,
+        String entityName,
+        String columnName,
+        String operationType,
+        String oldValue,
+        String newValue,
+        String category,
+        long configVersion) {
+
+    ClientChangeLogEntry withSeq(long seq) {
+        return new ClientChangeLogEntry(seq, changeDate, clientID, entityID, entityName, columnName, operationType,
+                oldValue, newValue, category, configVersion);
+    }
+}
@@ -1,8 +1,12 @@
 package com.venus.kyc.viewer;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.venus.kyc.common.paging.PageCursor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -10,8 +14,11 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/clients")
@@ -25,12 +32,14 @@ public class ClientController {
     private final MaterialChangeConfigRepository configRepository;
     private final com.venus.kyc.viewer.risk.RiskAssessmentService riskService;
     private final com.venus.kyc.viewer.screening.ScreeningService screeningService;
+    private final ObjectMapper objectMapper;
 
     public ClientController(ClientRepository clientRepository, MaterialChangeRepository materialChangeRepository,
             UserAuditService userAuditService, ClientDataChangeService clientDataChangeService,
             MaterialChangeConfigRepository configRepository,
             com.venus.kyc.viewer.risk.RiskAssessmentService riskService,
-            com.venus.kyc.viewer.screening.ScreeningService screeningService) {
+            com.venus.kyc.viewer.screening.ScreeningService screeningService,
+            ObjectMapper objectMapper) {
         this.clientRepository = clientRepository;
         this.materialChangeRepository = materialChangeRepository;
         this.userAuditService = userAuditService;
@@ -38,6 +47,7 @@ public class ClientController {
         this.configRepository = configRepository;
         this.riskService = riskService;
         this.screeningService = screeningService;
+        this.objectMapper = objectMapper;
     }
 
     @Operation(summary = "Get material changes", description = "Returns paginated material changes with optional date filtering and sorting")
@@ -49,20 +59,36 @@ public class ClientController {
             @org.springframework.web.bind.annotation.RequestParam(required = false) String endDate,
             @org.springframework.web.bind.annotation.RequestParam(required = false, defaultValue = "changeDate") String sortBy,
             @org.springframework.web.bind.annotation.RequestParam(required = false, defaultValue = "DESC") String sortDir,
+            @Parameter(description = "nextCursor of the previous page; takes precedence over page")
+            @org.springframework.web.bind.annotation.RequestParam(required = false) String cursor,
             org.springframework.security.core.Authentication authentication) {
         userAuditService.log(authentication.getName(), "VIEW_CHANGES", "Viewed material changes. Page: " + page);
-        return materialChangeRepository.findAllPaginated(page, size, startDate, endDate, sortBy, sortDir);
+        return materialChangeRepository.findAllPaginated(page, size, startDate, endDate, sortBy, sortDir,
+                PageCursor.decode(cursor));
     }
 
     @Operation(summary = "Export material changes", description = "Exports material changes as a flat list for download, with optional date filtering")
-    @GetMapping("/changes/export")
-    public List<MaterialChange> exportMaterialChanges(
+    @GetMapping(value = "/changes/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportMaterialChanges(
             @org.springframework.web.bind.annotation.RequestParam(required = false) String startDate,
             @org.springframework.web.bind.annotation.RequestParam(required = false) String endDate) {
         // Can't easily log user here if auth not passed, but usually security context
         // holds it.
         // Skipping specific log for export distinct from view for now unless requested.
-        return materialChangeRepository.findAllForExport(startDate, endDate);
+
+        // Rows are written to the response as they are read, so memory use does not grow with the export
+        StreamingResponseBody body = out -> {
+            try (Stream<MaterialChange> changes = materialChangeRepository.findAllForExport(startDate, endDate);
+                    JsonGenerator json = objectMapper.getFactory().createGenerator(out)
+                            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+                json.writeStartArray();
+                for (Iterator<MaterialChange> it = changes.iterator(); it.hasNext();) {
+                    json.writePOJO(it.next());
+                }
+                json.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @Operation(summary = "Get all clients", description = "Returns paginated client list with sensitive data masked for non-admin users")
@@ -70,14 +96,14 @@ public class ClientController {
     public PaginatedResponse<Client> getAllClients(
             @org.springframework.web.bind.annotation.RequestParam(defaultValue = "0") int page,
             @org.springframework.web.bind.annotation.RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "nextCursor of the previous page; takes precedence over page")
+            @org.springframework.web.bind.annotation.RequestParam(required = false) String cursor,
             org.springframework.security.core.Authentication authentication) {
-        PaginatedResponse<Client> response = clientRepository.findAllPaginated(page, size);
+        PaginatedResponse<Client> response = clientRepository.findAllPaginated(page, size, PageCursor.decode(cursor));
         if (isAdmin(authentication)) {
             return response;
         }
-        List<Client> maskedContent = response.content().stream().map(this::maskSensitiveData).toList();
-        return new PaginatedResponse<>(maskedContent, response.currentPage(), response.pageSize(),
-                response.totalElements(), response.totalPages());
+        return response.withContent(response.content().stream().map(this::maskSensitiveData).toList());
     }
 
     private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(ClientController.class);
@@ -121,14 +147,15 @@ public class ClientController {
             @org.springframework.web.bind.annotation.RequestParam String query,
             @org.springframework.web.bind.annotation.RequestParam(defaultValue = "0") int page,
             @org.springframework.web.bind.annotation.RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "nextCursor of the previous page; takes precedence over page")
+            @org.springframework.web.bind.annotation.RequestParam(required = false) String cursor,
             org.springframework.security.core.Authentication authentication) {
-        PaginatedResponse<Client> response = clientRepository.searchByNamePaginated(query, page, size);
+        PaginatedResponse<Client> response = clientRepository.searchByNamePaginated(query, page, size,
+                PageCursor.decode(cursor));
         if (isAdmin(authentication)) {
             return response;
         }
-        List<Client> maskedContent = response.content().stream().map(this::maskSensitiveData).toList();
-        return new PaginatedResponse<>(maskedContent, response.currentPage(), response.pageSize(),
-                response.totalElements(), response.totalPages());
+        return response.withContent(response.content().stream().map(this::maskSensitiveData).toList());
     }
 
     @Operation(summary = "Ingest client data change", description = "Processes a client data update, detecting and recording material changes")
@@ -0,0 +1,145 @@
+package com.venus.kyc.viewer;
+
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SimplePropertyRowMapper;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads the child collections of a page of clients with one query per collection.
+ *
+ * <p>Instead of issuing five queries per client (plus two per related party), each child table is read once
+ * with {@code WHERE ClientID IN (:ids)} and the rows are attached to their owning {@link Client} in memory.
+ * The number of statements per page is therefore constant regardless of the page size. Id lists are chunked
+ * so a large page stays under the driver's bind-parameter limit (2100 on SQL Server).
+ */
+@Component
+public class ClientGraphLoader {
+
+    static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
+    private static final RowMapper<Address> ADDRESS_MAPPER = new SimplePropertyRowMapper<>(Address.class);
+    private static final RowMapper<Identifier> IDENTIFIER_MAPPER = new SimplePropertyRowMapper<>(Identifier.class);
+    private static final RowMapper<Account> ACCOUNT_MAPPER = new SimplePropertyRowMapper<>(Account.class);
+    private static final RowMapper<Portfolio> PORTFOLIO_MAPPER = new SimplePropertyRowMapper<>(Portfolio.class);
+
+    private static final String CLIENT_ADDRESSES_SQL = """
+            SELECT ClientID, AddressID, AddressType, AddressLine1, AddressLine2, City, Zip, Country, AddressNumber, AddressSupplement
+            FROM ClientAddresses WHERE ClientID IN (:ids) ORDER BY AddressID""";
+    private static final String CLIENT_IDENTIFIERS_SQL = """
+            SELECT ClientID, IdentifierID, IdentifierType, IdentifierValue, IssuingAuthority, IdentifierNumber
+            FROM ClientIdentifiers WHERE ClientID IN (:ids) ORDER BY IdentifierID""";
+    private static final String ACCOUNTS_SQL = """
+            SELECT ClientID, AccountID, AccountNumber, AccountStatus
+            FROM Accounts WHERE ClientID IN (:ids) ORDER BY AccountID""";
+    private static final String PORTFOLIOS_SQL = """
+            SELECT PortfolioID, ClientID, AccountNumber, PortfolioText, OnboardingDate, OffboardingDate, Status
+            FROM Portfolios WHERE ClientID IN (:ids) ORDER BY PortfolioID""";
+    private static final String RELATED_PARTIES_SQL = """
+            SELECT RelatedPartyID, ClientID, RelationType, TitlePrefix, FirstName, MiddleName, LastName, TitleSuffix,
+                   Citizenship1, Citizenship2, OnboardingDate, Status, NameAtBirth, NickName, Gender, DateOfBirth,
+                   Language, Occupation, CountryOfTax, SourceOfFundsCountry, FATCAStatus, CRSStatus
+            FROM RelatedParties WHERE ClientID IN (:ids) ORDER BY RelatedPartyID""";
+    private static final String PARTY_ADDRESSES_SQL = """
+            SELECT RelatedPartyID, AddressID, AddressType, AddressLine1, AddressLine2, City, Zip, Country, AddressNumber, AddressSupplement
+            FROM RelatedPartyAddresses WHERE RelatedPartyID IN (:ids) ORDER BY AddressID""";
+    private static final String PARTY_IDENTIFIERS_SQL = """
+            SELECT RelatedPartyID, IdentifierID, IdentifierType, IdentifierValue, IssuingAuthority, IdentifierNumber
+            FROM RelatedPartyIdentifiers WHERE RelatedPartyID IN (:ids) ORDER BY IdentifierID""";
+
+    private final JdbcClient jdbcClient;
+
+    public ClientGraphLoader(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    /**
+     * Populates addresses, identifiers, related parties (with their addresses and identifiers), accounts and
+     * portfolios on the given clients. The clients' collections must be mutable.
+     */
+    public List<Client> loadGraph(List<Client> clients) {
+        if (clients.isEmpty()) {
+            return clients;
+        }
+        Map<Long, Client> byId = new LinkedHashMap<>();
+        for (Client client : clients) {
+            byId.put(client.clientID(), client);
+        }
+
+        forEachRow(CLIENT_ADDRESSES_SQL, "ClientID", byId.keySet(),
+                (rs, owner) -> byId.get(owner).addresses().add(ADDRESS_MAPPER.mapRow(rs, 0)));
+        forEachRow(CLIENT_IDENTIFIERS_SQL, "ClientID", byId.keySet(),
+                (rs, owner) -> byId.get(owner).identifiers().add(IDENTIFIER_MAPPER.mapRow(rs, 0)));
+        forEachRow(ACCOUNTS_SQL, "ClientID", byId.keySet(),
+                (rs, owner) -> byId.get(owner).accounts().add(ACCOUNT_MAPPER.mapRow(rs, 0)));
+        forEachRow(PORTFOLIOS_SQL, "ClientID", byId.keySet(),
+                (rs, owner) -> byId.get(owner).portfolios().add(PORTFOLIO_MAPPER.mapRow(rs, 0)));
+
+        Map<Long, RelatedParty> parties = new LinkedHashMap<>();
+        forEachRow(RELATED_PARTIES_SQL, "ClientID", byId.keySet(), (rs, owner) -> {
+            RelatedParty party = mapRelatedParty(rs);
+            parties.put(party.relatedPartyID(), party);
+            byId.get(owner).relatedParties().add(party);
+        });
+
+        if (!parties.isEmpty()) {
+            forEachRow(PARTY_ADDRESSES_SQL, "RelatedPartyID", parties.keySet(),
+                    (rs, owner) -> parties.get(owner).addresses().add(ADDRESS_MAPPER.mapRow(rs, 0)));
+            forEachRow(PARTY_IDENTIFIERS_SQL, "RelatedPartyID", parties.keySet(),
+                    (rs, owner) -> parties.get(owner).identifiers().add(IDENTIFIER_MAPPER.mapRow(rs, 0)));
+        }
+        return clients;
+    }
+
+    private void forEachRow(String sql, String ownerColumn, Collection<Long> ids, RowHandler handler) {
+        List<Long> all = new ArrayList<>(ids);
+        for (int from = 0; from < all.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            List<Long> chunk = all.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, all.size()));
+            jdbcClient.sql(sql)
+                    .param("ids", chunk)
+                    .query((RowCallbackHandler) rs -> handler.accept(rs, rs.getLong(ownerColumn)));
+        }
+    }
+
+    private static RelatedParty mapRelatedParty(ResultSet rs) throws SQLException {
+        return new RelatedParty(
+                rs.getLong("RelatedPartyID"),
+                rs.getLong("ClientID"),
+                rs.getString("RelationType"),
+                rs.getString("TitlePrefix"),
+                rs.getString("FirstName"),
+                rs.getString("MiddleName"),
+                rs.getString("LastName"),
+                rs.getString("TitleSuffix"),
+                rs.getString("Citizenship1"),
+                rs.getString("Citizenship2"),
+                rs.getDate("OnboardingDate") != null ? rs.getDate("OnboardingDate").toLocalDate() : null,
+                rs.getString("Status"),
+                rs.getString("NameAtBirth"),
+                rs.getString("NickName"),
+                rs.getString("Gender"),
+                rs.getDate("DateOfBirth") != null ? rs.getDate("DateOfBirth").toLocalDate() : null,
+                rs.getString("Language"),
+                rs.getString("Occupation"),
+                rs.getString("CountryOfTax"),
+                rs.getString("SourceOfFundsCountry"),
+                rs.getString("FATCAStatus"),
+                rs.getString("CRSStatus"),
+                new ArrayList<>(),
+                new ArrayList<>());
+    }
+
+    @FunctionalInterface
+    private interface RowHandler {
+        void accept(ResultSet rs, Long ownerId) throws SQLException;
+    }
+}
@@ -1,7 +1,10 @@
 package com.venus.kyc.viewer;
 
+import com.venus.kyc.common.paging.CursorPage;
+import com.venus.kyc.common.paging.PageCursor;
 import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -10,28 +13,66 @@ import java.util.Optional;
 public class ClientRepository {
 
         private final JdbcClient jdbcClient;
+        private final org.springframework.jdbc.core.JdbcTemplate jdbcTemplate;
         private final EncryptionService enc;
+        private final BlindIndexService blindIndex;
+        private final ClientGraphLoader graphLoader;
 
-        public ClientRepository(JdbcClient jdbcClient, EncryptionService enc) {
+        public ClientRepository(JdbcClient jdbcClient, org.springframework.jdbc.core.JdbcTemplate jdbcTemplate,
+                        EncryptionService enc, BlindIndexService blindIndex, ClientGraphLoader graphLoader) {
                 this.jdbcClient = jdbcClient;
+                this.jdbcTemplate = jdbcTemplate;
                 this.enc = enc;
+                this.blindIndex = blindIndex;
+                this.graphLoader = graphLoader;
         }
 
-        /** Decrypt all PII string fields on a client read from the DB. */
-        private Client decrypt(Client c) {
+        private static final String CLIENT_SELECT = "SELECT ClientID, TitlePrefix, FirstName, MiddleName, LastName, TitleSuffix, Citizenship1, Citizenship2, OnboardingDate, Status, NameAtBirth, NickName, Gender, DateOfBirth, Language, Occupation, CountryOfTax, SourceOfFundsCountry, FATCAStatus, CRSStatus, PlaceOfBirth, CityOfBirth, CountryOfBirth FROM Clients";
+
+        /** Clients carrying every requested blind-index term; bound with :terms and :termCount. */
+        private static final String NAME_MATCH_IDS = "SELECT ClientID FROM ClientNameIndex WHERE Term IN (:terms) GROUP BY ClientID HAVING COUNT(DISTINCT Term) = :termCount";
+
+        /** Map a Clients row and decrypt all PII string fields; child collections are left empty and mutable. */
+        private Client mapClient(java.sql.ResultSet rs, int rowNum) throws java.sql.SQLException {
+                List<String> pii = enc.decryptAll(java.util.Arrays.asList(
+                                rs.getString("FirstName"),
+                                rs.getString("MiddleName"),
+                                rs.getString("LastName"),
+                                rs.getString("NameAtBirth"),
+                                rs.getString("NickName"),
+                                rs.getString("PlaceOfBirth"),
+                                rs.getString("CityOfBirth")));
                 return new Client(
-                        c.clientID(), c.titlePrefix(),
-                        enc.decrypt(c.firstName()), enc.decrypt(c.middleName()), enc.decrypt(c.lastName()),
-                        c.titleSuffix(), c.citizenship1(), c.citizenship2(), c.onboardingDate(), c.status(),
-                        enc.decrypt(c.nameAtBirth()), enc.decrypt(c.nickName()), c.gender(), c.dateOfBirth(),
-                        c.language(), c.occupation(), c.countryOfTax(), c.sourceOfFundsCountry(),
-                        c.fatcaStatus(), c.crsStatus(),
-                        enc.decrypt(c.placeOfBirth()), enc.decrypt(c.cityOfBirth()), c.countryOfBirth(),
-                        c.addresses(), c.identifiers(), c.relatedParties(), c.accounts(), c.portfolios());
-        }
-
-        public List<Client> findAll() {
-                return findAllPaginated(0, Integer.MAX_VALUE).content();
+                                rs.getLong("ClientID"),
+                                rs.getString("TitlePrefix"),
+                                pii.get(0),
+                                pii.get(1),
+                                pii.get(2),
+                                rs.getString("TitleSuffix"),
+                                rs.getString("Citizenship1"),
+                                rs.getString("Citizenship2"),
+                                rs.getDate("OnboardingDate").toLocalDate(),
+                                rs.getString("Status"),
+                                pii.get(3),
+                                pii.get(4),
+                                rs.getString("Gender"),
+                                rs.getDate("DateOfBirth") != null
+                                                ? rs.getDate("DateOfBirth").toLocalDate()
+                                                : null,
+                                rs.getString("Language"),
+                                rs.getString("Occupation"),
+                                rs.getString("CountryOfTax"),
+                                rs.getString("SourceOfFundsCountry"),
+                                rs.getString("FATCAStatus"),
+                                rs.getString("CRSStatus"),
+                                pii.get(5),
+                                pii.get(6),
+                                rs.getString("CountryOfBirth"),
+                                new java.util.ArrayList<>(),
+                                new java.util.ArrayList<>(),
+                                new java.util.ArrayList<>(),
+                                new java.util.ArrayList<>(),
+                                new java.util.ArrayList<>());
         }
 
         public long countClients() {
@@ -41,165 +82,97 @@ public class ClientRepository {
         }
 
         public PaginatedResponse<Client> findAllPaginated(int page, int size) {
+                return findAllPaginated(page, size, null);
+        }
+
+        /**
+         * Clients in ClientID order. With a cursor the page starts right after it (a primary-key seek);
+         * without one, page is turned into an OFFSET, kept for callers that still jump to a page number.
+         */
+        public PaginatedResponse<Client> findAllPaginated(int page, int size, PageCursor after) {
+                size = CursorPage.limit(size);
                 long totalElements = countClients();
-                int totalPages = (int) Math.ceil((double) totalElements / size);
 
-                List<Client> clients = jdbcClient.sql(
-                                "SELECT ClientID, TitlePrefix, FirstName, MiddleName, LastName, TitleSuffix, Citizenship1, Citizenship2, OnboardingDate, Status, NameAtBirth, NickName, Gender, DateOfBirth, Language, Occupation, CountryOfTax, SourceOfFundsCountry, FATCAStatus, CRSStatus, PlaceOfBirth, CityOfBirth, CountryOfBirth FROM Clients LIMIT :limit OFFSET :offset")
-                                .param("limit", size)
-                                .param("offset", page * size)
-                                .query((rs, rowNum) -> decrypt(new Client(
-                                                rs.getLong("ClientID"),
-                                                rs.getString("TitlePrefix"),
-                                                rs.getString("FirstName"),
-                                                rs.getString("MiddleName"),
-                                                rs.getString("LastName"),
-                                                rs.getString("TitleSuffix"),
-                                                rs.getString("Citizenship1"),
-                                                rs.getString("Citizenship2"),
-                                                rs.getDate("OnboardingDate").toLocalDate(),
-                                                rs.getString("Status"),
-                                                rs.getString("NameAtBirth"),
-                                                rs.getString("NickName"),
-                                                rs.getString("Gender"),
-                                                rs.getDate("DateOfBirth") != null
-                                                                ? rs.getDate("DateOfBirth").toLocalDate()
-                                                                : null,
-                                                rs.getString("Language"),
-                                                rs.getString("Occupation"),
-                                                rs.getString("CountryOfTax"),
-                                                rs.getString("SourceOfFundsCountry"),
-                                                rs.getString("FATCAStatus"),
-                                                rs.getString("CRSStatus"),
-                                                rs.getString("PlaceOfBirth"),
-                                                rs.getString("CityOfBirth"),
-                                                rs.getString("CountryOfBirth"),
-                                                new java.util.ArrayList<>(),
-                                                new java.util.ArrayList<>(),
-                                                new java.util.ArrayList<>(),
-                                                new java.util.ArrayList<>(),
-                                                new java.util.ArrayList<>())))
+                List<Client> rows = jdbcClient.sql(
+                                CLIENT_SELECT + (after != null ? " WHERE ClientID > :afterId" : "")
+                                                + " ORDER BY ClientID LIMIT :limit OFFSET :offset")
+                                .param("afterId", after != null ? after.id() : null)
+                                .param("limit", size + 1)
+                                .param("offset", after != null ? 0 : page * size)
+                                .query(this::mapClient)
                                 .list();
 
-                for (Client client : clients) {
-                        client.addresses().addAll(fetchAddresses(client.clientID()));
-                        client.identifiers().addAll(fetchIdentifiers(client.clientID()));
-                        client.relatedParties().addAll(fetchRelatedParties(client.clientID()));
-                        client.accounts().addAll(fetchAccounts(client.clientID()));
-                        client.portfolios().addAll(fetchPortfolios(client.clientID()));
-                }
-
-                return new PaginatedResponse<>(clients, page, size, totalElements, totalPages);
+                return withGraph(PaginatedResponse.of(rows, page, size, totalElements, c -> PageCursor.ofId(c.clientID())));
         }
 
         public PaginatedResponse<Client> findProspectsPaginated(int page, int size) {
-                int limit = size;
-                int offset = page * size;
+                return findProspectsPaginated(page, size, null);
+        }
+
+        /** Prospects newest first (ClientID descending), paged like {@link #findAllPaginated(int, int, PageCursor)}. */
+        public PaginatedResponse<Client> findProspectsPaginated(int page, int size, PageCursor after) {
+                size = CursorPage.limit(size);
                 List<String> prospectStatuses = List.of("NEW", "SCREENING_IN_PROGRESS", "RISK_EVALUATION_IN_PROGRESS",
                                 "IN_REVIEW", "APPROVED", "REJECTED");
 
-                List<Client> content = jdbcClient
-                                .sql("SELECT ClientID, TitlePrefix, FirstName, MiddleName, LastName, TitleSuffix, Citizenship1, Citizenship2, OnboardingDate, Status, NameAtBirth, NickName, Gender, DateOfBirth, Language, Occupation, CountryOfTax, SourceOfFundsCountry, FATCAStatus, CRSStatus, PlaceOfBirth, CityOfBirth, CountryOfBirth FROM Clients WHERE Status IN (:statuses) ORDER BY ClientID DESC LIMIT :limit OFFSET :offset")
-                                .param("limit", limit)
-                                .param("offset", offset)
+                List<Client> rows = jdbcClient
+                                .sql(CLIENT_SELECT + " WHERE Status IN (:statuses)"
+                                                + (after != null ? " AND ClientID < :afterId" : "")
+                                                + " ORDER BY ClientID DESC LIMIT :limit OFFSET :offset")
                                 .param("statuses", prospectStatuses)
-                                .query((rs, rowNum) -> decrypt(new Client(
-                                                rs.getLong("ClientID"),
-                                                rs.getString("TitlePrefix"),
-                                                rs.getString("FirstName"),
-                                                rs.getString("MiddleName"),
-                                                rs.getString("LastName"),
-                                                rs.getString("TitleSuffix"),
-                                                rs.getString("Citizenship1"),
-                                                rs.getString("Citizenship2"),
-                                                rs.getDate("OnboardingDate").toLocalDate(),
-                                                rs.getString("Status"),
-                                                rs.getString("NameAtBirth"),
-                                                rs.getString("NickName"),
-                                                rs.getString("Gender"),
-                                                rs.getDate("DateOfBirth") != null
-                                                                ? rs.getDate("DateOfBirth").toLocalDate()
-                                                                : null,
-                                                rs.getString("Language"),
-                                                rs.getString("Occupation"),
-                                                rs.getString("CountryOfTax"),
-                                                rs.getString("SourceOfFundsCountry"),
-                                                rs.getString("FATCAStatus"),
-                                                rs.getString("CRSStatus"),
-                                                rs.getString("PlaceOfBirth"),
-                                                rs.getString("CityOfBirth"),
-                                                rs.getString("CountryOfBirth"),
-                                                new java.util.ArrayList<>(),
-                                                new java.util.ArrayList<>(),
-                                                new java.util.ArrayList<>(),
-                                                new java.util.ArrayList<>(),
-                                                new java.util.ArrayList<>())))
+                                .param("afterId", after != null ? after.id() : null)
+                                .param("limit", size + 1)
+                                .param("offset", after != null ? 0 : page * size)
+                                .query(this::mapClient)
                                 .list();
 
-                for (Client client : content) {
-                        client.addresses().addAll(fetchAddresses(client.clientID()));
-                        client.accounts().addAll(fetchAccounts(client.clientID()));
-                        client.identifiers().addAll(fetchIdentifiers(client.clientID()));
-                }
-
                 Long totalElements = jdbcClient.sql("SELECT COUNT(*) FROM Clients WHERE Status IN (:statuses)")
                                 .param("statuses", prospectStatuses)
                                 .query(Long.class)
                                 .single();
 
-                return new PaginatedResponse<>(content, page, size, totalElements,
-                                (int) Math.ceil((double) totalElements / size));
+                return withGraph(PaginatedResponse.of(rows, page, size, totalElements, c -> PageCursor.ofId(c.clientID())));
+        }
+
+        /** Loads child collections for the clients of a page (not for the look-ahead row). */
+        private PaginatedResponse<Client> withGraph(PaginatedResponse<Client> page) {
+                graphLoader.loadGraph(page.content());
+                return page;
         }
 
         public Optional<Client> findById(Long id) {
                 Optional<Client> clientOpt = jdbcClient.sql(
-                                "SELECT ClientID, TitlePrefix, FirstName, MiddleName, LastName, TitleSuffix, Citizenship1, Citizenship2, OnboardingDate, Status, NameAtBirth, NickName, Gender, DateOfBirth, Language, Occupation, CountryOfTax, SourceOfFundsCountry, FATCAStatus, CRSStatus, PlaceOfBirth, CityOfBirth, CountryOfBirth FROM Clients WHERE ClientID = :id")
+                                CLIENT_SELECT + " WHERE ClientID = :id")
                                 .param("id", id)
-                                .query((rs, rowNum) -> decrypt(new Client(
-                                                rs.getLong("ClientID"),
-                                                rs.getString("TitlePrefix"),
-                                                rs.getString("FirstName"),
-                                                rs.getString("MiddleName"),
-                                                rs.getString("LastName"),
-                                                rs.getString("TitleSuffix"),
-                                                rs.getString("Citizenship1"),
-                                                rs.getString("Citizenship2"),
-                                                rs.getDate("OnboardingDate").toLocalDate(),
-                                                rs.getString("Status"),
-                                                rs.getString("NameAtBirth"),
-                                                rs.getString("NickName"),
-                                                rs.getString("Gender"),
-                                                rs.getDate("DateOfBirth") != null
-                                                                ? rs.getDate("DateOfBirth").toLocalDate()
-                                                                : null,
-                                                rs.getString("Language"),
-                                                rs.getString("Occupation"),
-                                                rs.getString("CountryOfTax"),
-                                                rs.getString("SourceOfFundsCountry"),
-                                                rs.getString("FATCAStatus"),
-                                                rs.getString("CRSStatus"),
-                                                rs.getString("PlaceOfBirth"),
-                                                rs.getString("CityOfBirth"),
-                                                rs.getString("CountryOfBirth"),
-                                                new java.util.ArrayList<>(),
-                                                new java.util.ArrayList<>(),
-                                                new java.util.ArrayList<>(),
-                                                new java.util.ArrayList<>(),
-                                                new java.util.ArrayList<>())))
+                                .query(this::mapClient)
                                 .optional();
 
-                if (clientOpt.isPresent()) {
-                        Client client = clientOpt.get();
-                        client.addresses().addAll(fetchAddresses(id));
-                        client.identifiers().addAll(fetchIdentifiers(id));
-                        client.relatedParties().addAll(fetchRelatedParties(id));
-                        client.accounts().addAll(fetchAccounts(id));
-                        client.portfolios().addAll(fetchPortfolios(id));
-                }
+                clientOpt.ifPresent(client -> graphLoader.loadGraph(List.of(client)));
 
                 return clientOpt;
         }
 
+        /**
+         * The given clients with their child collections, in ClientID order; ids without a client are skipped.
+         * One query per {@link ClientGraphLoader#IN_CLAUSE_CHUNK_SIZE} ids plus the graph queries, however many
+         * clients are requested.
+         */
+        public List<Client> findAllByIds(java.util.Collection<Long> ids) {
+                List<Long> idList = List.copyOf(ids);
+                List<Client> clients = new java.util.ArrayList<>(idList.size());
+                for (int from = 0; from < idList.size(); from += ClientGraphLoader.IN_CLAUSE_CHUNK_SIZE) {
+                        List<Long> chunk = idList.subList(from,
+                                        Math.min(from + ClientGraphLoader.IN_CLAUSE_CHUNK_SIZE, idList.size()));
+                        clients.addAll(jdbcClient.sql(CLIENT_SELECT + " WHERE ClientID IN (:ids) ORDER BY ClientID")
+                                        .param("ids", chunk)
+                                        .query(this::mapClient)
+                                        .list());
+                }
+                clients.sort(java.util.Comparator.comparing(Client::clientID));
+                return graphLoader.loadGraph(clients);
+        }
+
+        @Transactional
         public Long insertClient(Client client) {
                 org.springframework.jdbc.support.KeyHolder keyHolder = new org.springframework.jdbc.support.GeneratedKeyHolder();
                 jdbcClient.sql(
@@ -228,7 +201,9 @@ public class ClientRepository {
                                 .param("countryOfBirth", client.countryOfBirth())
                                 .update(keyHolder, new String[] { "ClientID" });
 
-                return keyHolder.getKey().longValue();
+                Long clientId = keyHolder.getKey().longValue();
+                reindexName(clientId, client.firstName(), client.middleName(), client.lastName());
+                return clientId;
         }
 
         public void updateClientStatus(Long id, String status) {
@@ -253,88 +228,6 @@ public class ClientRepository {
                                 .update();
         }
 
-        private List<Address> fetchAddresses(Long id) {
-                return jdbcClient.sql(
-                                "SELECT AddressID, AddressType, AddressLine1, AddressLine2, City, Zip, Country, AddressNumber, AddressSupplement FROM ClientAddresses WHERE ClientID = :id")
-                                .param("id", id)
-                                .query(Address.class)
-                                .list();
-        }
-
-        private List<Account> fetchAccounts(Long id) {
-                return jdbcClient.sql(
-                                "SELECT AccountID, AccountNumber, AccountStatus FROM Accounts WHERE ClientID = :id")
-                                .param("id", id)
-                                .query(Account.class)
-                                .list();
-        }
-
-        private List<Portfolio> fetchPortfolios(Long id) {
-                return jdbcClient.sql(
-                                "SELECT PortfolioID, ClientID, AccountNumber, PortfolioText, OnboardingDate, OffboardingDate, Status FROM Portfolios WHERE ClientID = :id")
-                                .param("id", id)
-                                .query(Portfolio.class)
-                                .list();
-        }
-
-        private List<Identifier> fetchIdentifiers(Long id) {
-                return jdbcClient.sql(
-                                "SELECT IdentifierID, IdentifierType, IdentifierValue, IssuingAuthority, IdentifierNumber FROM ClientIdentifiers WHERE ClientID = :id")
-                                .param("id", id)
-                                .query(Identifier.class)
-                                .list();
-        }
-
-        private List<RelatedParty> fetchRelatedParties(Long clientID) {
-                List<RelatedParty> parties = jdbcClient.sql(
-                                "SELECT RelatedPartyID, ClientID, RelationType, TitlePrefix, FirstName, MiddleName, LastName, TitleSuffix, Citizenship1, Citizenship2, OnboardingDate, Status, NameAtBirth, NickName, Gender, DateOfBirth, Language, Occupation, CountryOfTax, SourceOfFundsCountry, FATCAStatus, CRSStatus FROM RelatedParties WHERE ClientID = :id")
-                                .param("id", clientID)
-                                .query((rs, rowNum) -> new RelatedParty(
-                                                rs.getLong("RelatedPartyID"),
-                                                rs.getLong("ClientID"),
-                                                rs.getString("RelationType"),
-                                                rs.getString("TitlePrefix"),
-                                                rs.getString("FirstName"),
-                                                rs.getString("MiddleName"),
-                                                rs.getString("LastName"),
-                                                rs.getString("TitleSuffix"),
-                                                rs.getString("Citizenship1"),
-                                                rs.getString("Citizenship2"),
-                                                rs.getDate("OnboardingDate") != null
-                                                                ? rs.getDate("OnboardingDate").toLocalDate()
-                                                                : null,
-                                                rs.getString("Status"),
-                                                rs.getString("NameAtBirth"),
-                                                rs.getString("NickName"),
-                                                rs.getString("Gender"),
-                                                rs.getDate("DateOfBirth") != null
-                                                                ? rs.getDate("DateOfBirth").toLocalDate()
-                                                                : null,
-                                                rs.getString("Language"),
-                                                rs.getString("Occupation"),
-                                                rs.getString("CountryOfTax"),
-                                                rs.getString("SourceOfFundsCountry"),
-                                                rs.getString("FATCAStatus"),
-                                                rs.getString("CRSStatus"),
-                                                new java.util.ArrayList<>(),
-                                                new java.util.ArrayList<>()))
-                                .list();
-
-                for (RelatedParty party : parties) {
-                        party.addresses().addAll(jdbcClient.sql(
-                                        "SELECT AddressID, AddressType, AddressLine1, AddressLine2, City, Zip, Country, AddressNumber, AddressSupplement FROM RelatedPartyAddresses WHERE RelatedPartyID = :id")
-                                        .param("id", party.relatedPartyID())
-                                        .query(Address.class)
-                                        .list());
-                        party.identifiers().addAll(jdbcClient.sql(
-                                        "SELECT IdentifierID, IdentifierType, IdentifierValue, IssuingAuthority, IdentifierNumber FROM RelatedPartyIdentifiers WHERE RelatedPartyID = :id")
-                                        .param("id", party.relatedPartyID())
-                                        .query(Identifier.class)
-                                        .list());
-                }
-                return parties;
-        }
-
         public void saveRelatedParty(Long clientID, RelatedParty rp) {
                 jdbcClient.sql(
                                 "INSERT INTO RelatedParties (ClientID, RelationType, TitlePrefix, FirstName, MiddleName, LastName, TitleSuffix, Citizenship1, Citizenship2, OnboardingDate, Status, NameAtBirth, NickName, Gender, DateOfBirth, Language, Occupation, CountryOfTax, SourceOfFundsCountry, FATCAStatus, CRSStatus) VALUES (:clientID, :relationType, :titlePrefix, :firstName, :middleName, :lastName, :titleSuffix, :citizenship1, :citizenship2, :onboardingDate, :status, :nameAtBirth, :nickName, :gender, :dateOfBirth, :language, :occupation, :countryOfTax, :sourceOfFundsCountry, :fatcaStatus, :crsStatus)")
@@ -413,81 +306,74 @@ public class ClientRepository {
                 return partyOpt;
         }
 
-        public List<Client> searchByName(String query) {
-                return searchByNamePaginated(query, 0, Integer.MAX_VALUE).content();
-        }
-
         public long countSearchClients(String query) {
-                String likeQuery = "%" + query + "%";
-                return jdbcClient.sql(
-                                "SELECT COUNT(*) FROM Clients WHERE FirstName LIKE :query OR MiddleName LIKE :query OR LastName LIKE :query")
-                                .param("query", likeQuery)
+                List<String> terms = blindIndex.queryTerms(query);
+                if (terms.isEmpty()) {
+                        return 0;
+                }
+                return jdbcClient.sql("SELECT COUNT(*) FROM (" + NAME_MATCH_IDS + ") m")
+                                .param("terms", terms)
+                                .param("termCount", terms.size())
                                 .query(Long.class)
                                 .single();
         }
 
+        /**
+         * Name search over the encrypted FirstName/MiddleName/LastName columns via the HMAC blind index in
+         * ClientNameIndex. Every query token must prefix-match a name token; totals are exact.
+         */
         public PaginatedResponse<Client> searchByNamePaginated(String query, int page, int size) {
-                String likeQuery = "%" + query + "%";
+                return searchByNamePaginated(query, page, size, null);
+        }
+
+        public PaginatedResponse<Client> searchByNamePaginated(String query, int page, int size, PageCursor after) {
+                size = CursorPage.limit(size);
+                List<String> terms = blindIndex.queryTerms(query);
+                if (terms.isEmpty()) {
+                        return PaginatedResponse.empty(page, size);
+                }
                 long totalElements = countSearchClients(query);
-                int totalPages = (int) Math.ceil((double) totalElements / size);
-
-                // Note: LIKE search on encrypted names is not supported.
-                // Search currently returns all clients and filters in-memory.
-                List<Client> clients = jdbcClient.sql(
-                                "SELECT ClientID, TitlePrefix, FirstName, MiddleName, LastName, TitleSuffix, Citizenship1, Citizenship2, OnboardingDate, Status, NameAtBirth, NickName, Gender, DateOfBirth, Language, Occupation, CountryOfTax, SourceOfFundsCountry, FATCAStatus, CRSStatus, PlaceOfBirth, CityOfBirth, CountryOfBirth FROM Clients LIMIT :limit OFFSET :offset")
-                                .param("limit", size)
-                                .param("offset", page * size)
-                                .query((rs, rowNum) -> decrypt(new Client(
-                                                rs.getLong("ClientID"),
-                                                rs.getString("TitlePrefix"),
-                                                rs.getString("FirstName"),
-                                                rs.getString("MiddleName"),
-                                                rs.getString("LastName"),
-                                                rs.getString("TitleSuffix"),
-                                                rs.getString("Citizenship1"),
-                                                rs.getString("Citizenship2"),
-                                                rs.getDate("OnboardingDate").toLocalDate(),
-                                                rs.getString("Status"),
-                                                rs.getString("NameAtBirth"),
-                                                rs.getString("NickName"),
-                                                rs.getString("Gender"),
-                                                rs.getDate("DateOfBirth") != null
-                                                                ? rs.getDate("DateOfBirth").toLocalDate()
-                                                                : null,
-                                                rs.getString("Language"),
-                                                rs.getString("Occupation"),
-                                                rs.getString("CountryOfTax"),
-                                                rs.getString("SourceOfFundsCountry"),
-                                                rs.getString("FATCAStatus"),
-                                                rs.getString("CRSStatus"),
-                                                rs.getString("PlaceOfBirth"),
-                                                rs.getString("CityOfBirth"),
-                                                rs.getString("CountryOfBirth"),
-                                                new java.util.ArrayList<>(),
-                                                new java.util.ArrayList<>(),
-                                                new java.util.ArrayList<>(),
-                                                new java.util.ArrayList<>(),
-                                                new java.util.ArrayList<>())))
+
+                List<Client> rows = jdbcClient.sql(
+                                CLIENT_SELECT + " WHERE ClientID IN (" + NAME_MATCH_IDS + ")"
+                                                + (after != null ? " AND ClientID > :afterId" : "")
+                                                + " ORDER BY ClientID LIMIT :limit OFFSET :offset")
+                                .param("terms", terms)
+                                .param("termCount", terms.size())
+                                .param("afterId", after != null ? after.id() : null)
+                                .param("limit", size + 1)
+                                .param("offset", after != null ? 0 : page * size)
+                                .query(this::mapClient)
                                 .list();
-                // Filter decrypted results in-memory
-                String lowerQuery = query.toLowerCase();
-                clients = clients.stream()
-                                .filter(c -> (c.firstName() != null && c.firstName().toLowerCase().contains(lowerQuery))
-                                        || (c.middleName() != null && c.middleName().toLowerCase().contains(lowerQuery))
-                                        || (c.lastName() != null && c.lastName().toLowerCase().contains(lowerQuery)))
-                                .collect(java.util.stream.Collectors.toList());
-
-                for (Client client : clients) {
-                        client.addresses().addAll(fetchAddresses(client.clientID()));
-                        client.identifiers().addAll(fetchIdentifiers(client.clientID()));
-                        client.relatedParties().addAll(fetchRelatedParties(client.clientID()));
-                        client.accounts().addAll(fetchAccounts(client.clientID()));
-                        client.portfolios().addAll(fetchPortfolios(client.clientID()));
-                }
 
-                return new PaginatedResponse<>(clients, page, size, totalElements, totalPages);
+                return withGraph(PaginatedResponse.of(rows, page, size, totalElements, c -> PageCursor.ofId(c.clientID())));
+        }
+
+        /** Replaces the blind-index terms of one client with those derived from the given plaintext names. */
+        public void reindexName(Long clientId, String firstName, String middleName, String lastName) {
+                jdbcTemplate.update("DELETE FROM ClientNameIndex WHERE ClientID = ?", clientId);
+                List<Object[]> rows = blindIndex.indexTerms(firstName, middleName, lastName).stream()
+                                .map(t -> new Object[] { clientId, t.type(), t.hash() })
+                                .toList();
+                jdbcTemplate.batchUpdate("INSERT INTO ClientNameIndex (ClientID, TermType, Term) VALUES (?, ?, ?)", rows);
         }
 
+        /**
+         * Clients after the given id in ClientID order, for the blind-index backfill. With {@code onlyUnindexed}
+         * the clients that already carry index terms are skipped.
+         */
+        public List<Client> findForNameIndex(long afterId, int limit, boolean onlyUnindexed) {
+                String sql = CLIENT_SELECT + " c WHERE c.ClientID > :afterId"
+                                + (onlyUnindexed ? " AND NOT EXISTS (SELECT 1 FROM ClientNameIndex i WHERE i.ClientID = c.ClientID)" : "")
+                                + " ORDER BY c.ClientID LIMIT :limit";
+                return jdbcClient.sql(sql)
+                                .param("afterId", afterId)
+                                .param("limit", limit)
+                                .query(this::mapClient)
+                                .list();
+        }
+
+        @Transactional
         public void updateClient(Client client) {
                 jdbcClient.sql(
                                 "UPDATE Clients SET TitlePrefix = :titlePrefix, FirstName = :firstName, MiddleName = :middleName, LastName = :lastName, TitleSuffix = :titleSuffix, Citizenship1 = :citizenship1, Citizenship2 = :citizenship2, Status = :status, NameAtBirth = :nameAtBirth, NickName = :nickName, Gender = :gender, DateOfBirth = :dateOfBirth, Language = :language, Occupation = :occupation, CountryOfTax = :countryOfTax, SourceOfFundsCountry = :sourceOfFundsCountry, FATCAStatus = :fatcaStatus, CRSStatus = :crsStatus, PlaceOfBirth = :placeOfBirth, CityOfBirth = :cityOfBirth, CountryOfBirth = :countryOfBirth WHERE ClientID = :id")
@@ -514,5 +400,7 @@ public class ClientRepository {
                                 .param("cityOfBirth", enc.encrypt(client.cityOfBirth()))
                                 .param("countryOfBirth", client.countryOfBirth())
                                 .update();
+
+                reindexName(client.clientID(), client.firstName(), client.middleName(), client.lastName());
         }
 }
@@ -1,5 +1,6 @@
 package com.venus.kyc.viewer;
 
+import com.venus.kyc.common.http.HttpClientFactory;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -41,12 +42,14 @@ public class DocumentAnalysisProxyController {
 
     private final CaseService        caseService;
     private final DocumentService    documentService;
-    private final RestTemplate       restTemplate = new RestTemplate();
+    private final RestTemplate       restTemplate;
 
     public DocumentAnalysisProxyController(CaseService caseService,
-                                           DocumentService documentService) {
+                                           DocumentService documentService,
+                                           HttpClientFactory httpClients) {
         this.caseService     = caseService;
         this.documentService = documentService;
+        this.restTemplate    = new RestTemplate(httpClients.requestFactory("document-service"));
     }
 
     // ── OCR ──────────────────────────────────────────────────────────────────
@@ -1,5 +1,6 @@
 package com.venus.kyc.viewer;
 
+import com.venus.kyc.common.http.HttpClientFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -23,8 +24,8 @@ public class DocumentService {
 
     private final RestTemplate restTemplate;
 
-    public DocumentService() {
-        this.restTemplate = new RestTemplate();
+    public DocumentService(HttpClientFactory httpClients) {
+        this.restTemplate = new RestTemplate(httpClients.requestFactory("document-service"));
     }
 
     public List<CaseDocument> getDocuments(Long caseId) {
@@ -0,0 +1,15 @@
+package com.venus.kyc.viewer;
+
+import java.time.LocalDateTime;
+
+/**
+ * One run of the material change screening job: the change log entries in {@code (afterSeq, upToSeq]}, split into
+ * shards that are screened independently.
+ */
+public record MaterialChangeBatchRun(
+        Long runID,
+        LocalDateTime createdDate,
+        long afterSeq,
+        long upToSeq,
+        String status) {
+}
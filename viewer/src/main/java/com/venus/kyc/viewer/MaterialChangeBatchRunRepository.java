@@ -0,0 +1,174 @@
+package com.venus.kyc.viewer;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Runs of the material change screening job and the status of their shards. A shard is a contiguous range of
+ * client IDs; it is PENDING until its screening batch has been submitted and uploaded, then SUBMITTED.
+ */
+@Repository
+public class MaterialChangeBatchRunRepository {
+
+    private final JdbcClient jdbcClient;
+    private final JdbcTemplate jdbcTemplate;
+
+    public MaterialChangeBatchRunRepository(JdbcClient jdbcClient, JdbcTemplate jdbcTemplate) {
+        this.jdbcClient = jdbcClient;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Creates a RUNNING run with one PENDING shard per list of client IDs, numbered from 0. Each list must be in
+     * ascending order.
+     */
+    @Transactional
+    public long createRun(long afterSeq, long upToSeq, List<List<Long>> shards) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcClient.sql("INSERT INTO MaterialChangeBatchRuns (AfterSeq, UpToSeq, Status) "
+                + "VALUES (:after, :upTo, 'RUNNING')")
+                .param("after", afterSeq)
+                .param("upTo", upToSeq)
+                .update(keyHolder, "RunID");
+        long runId = keyHolder.getKey().longValue();
+
+        List<Object[]> rows = new ArrayList<>(shards.size());
+        for (int shardNo = 0; shardNo < shards.size(); shardNo++) {
+            List<Long> ids = shards.get(shardNo);
+            rows.add(new Object[] { runId, shardNo, ids.get(0), ids.get(ids.size() - 1), ids.size() });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO MaterialChangeBatchShards "
+                + "(RunID, ShardNo, FromClientID, ToClientID, ClientCount, Status) VALUES (?, ?, ?, ?, ?, 'PENDING')",
+                rows);
+        return runId;
+    }
+
+    public Optional<MaterialChangeBatchRun> findById(long runId) {
+        return jdbcClient.sql("SELECT * FROM MaterialChangeBatchRuns WHERE RunID = :runId")
+                .param("runId", runId)
+                .query(this::mapRun)
+                .optional();
+    }
+
+    /** The oldest run that has not completed yet, if any. */
+    public Optional<MaterialChangeBatchRun> findRunning() {
+        return jdbcClient.sql("SELECT * FROM MaterialChangeBatchRuns WHERE Status = 'RUNNING' ORDER BY RunID LIMIT 1")
+                .query(this::mapRun)
+                .optional();
+    }
+
+    /** The run's shards that are still PENDING, in shard order. */
+    public List<MaterialChangeBatchShard> findPendingShards(long runId) {
+        return jdbcClient.sql("SELECT * FROM MaterialChangeBatchShards WHERE RunID = :runId AND Status = 'PENDING' "
+                + "ORDER BY ShardNo")
+                .param("runId", runId)
+                .query(this::mapShard)
+                .list();
+    }
+
+    /**
+     * Gives the shard the candidate submission key unless it already has one, and returns the key it has. Every
+     * attempt at the shard, including one running concurrently, thus submits under the same key until
+     * {@link #clearSubmissionKey} is called.
+     */
+    public String assignSubmissionKey(long runId, int shardNo, String candidate) {
+        jdbcClient.sql("UPDATE MaterialChangeBatchShards SET SubmissionKey = :key "
+                + "WHERE RunID = :runId AND ShardNo = :shardNo AND SubmissionKey IS NULL")
+                .param("key", candidate)
+                .param("runId", runId)
+                .param("shardNo", shardNo)
+                .update();
+        return jdbcClient.sql("SELECT SubmissionKey FROM MaterialChangeBatchShards "
+                + "WHERE RunID = :runId AND ShardNo = :shardNo")
+                .param("runId", runId)
+                .param("shardNo", shardNo)
+                .query(String.class)
+                .single();
+    }
+
+    /** Drops the shard's submission key, so its next attempt submits a new batch instead of its failed one. */
+    public void clearSubmissionKey(long runId, int shardNo) {
+        jdbcClient.sql("UPDATE MaterialChangeBatchShards SET SubmissionKey = NULL "
+                + "WHERE RunID = :runId AND ShardNo = :shardNo")
+                .param("runId", runId)
+                .param("shardNo", shardNo)
+                .update();
+    }
+
+    public void markShardSubmitted(long runId, int shardNo, Long batchId) {
+        jdbcClient.sql("UPDATE MaterialChangeBatchShards SET Status = 'SUBMITTED', BatchID = :batchId, "
+                + "LastError = NULL WHERE RunID = :runId AND ShardNo = :shardNo")
+                .param("batchId", batchId)
+                .param("runId", runId)
+                .param("shardNo", shardNo)
+                .update();
+    }
+
+    public void markShardFailed(long runId, int shardNo, String error) {
+        jdbcClient.sql("UPDATE MaterialChangeBatchShards SET LastError = :error "
+                + "WHERE RunID = :runId AND ShardNo = :shardNo")
+                .param("error", error != null && error.length() > 1000 ? error.substring(0, 1000) : error)
+                .param("runId", runId)
+                .param("shardNo", shardNo)
+                .update();
+    }
+
+    public boolean isShardSubmitted(long runId, int shardNo) {
+        return jdbcClient.sql("SELECT COUNT(*) FROM MaterialChangeBatchShards "
+                + "WHERE RunID = :runId AND ShardNo = :shardNo AND Status = 'SUBMITTED'")
+                .param("runId", runId)
+                .param("shardNo", shardNo)
+                .query(Integer.class)
+                .single() > 0;
+    }
+
+    public int countPendingShards(long runId) {
+        return jdbcClient.sql("SELECT COUNT(*) FROM MaterialChangeBatchShards WHERE RunID = :runId AND Status = 'PENDING'")
+                .param("runId", runId)
+                .query(Integer.class)
+                .single();
+    }
+
+    /**
+     * Moves a RUNNING run to COMPLETED. Returns false if it was not RUNNING, so that of two callers racing to complete
+     * the same run only one goes on to act on it.
+     */
+    public boolean markCompleted(long runId) {
+        return jdbcClient.sql("UPDATE MaterialChangeBatchRuns SET Status = 'COMPLETED', "
+                + "CompletedDate = CURRENT_TIMESTAMP WHERE RunID = :runId AND Status = 'RUNNING'")
+                .param("runId", runId)
+                .update() > 0;
+    }
+
+    private MaterialChangeBatchShard mapShard(ResultSet rs, int rowNum) throws SQLException {
+        return new MaterialChangeBatchShard(
+                rs.getLong("RunID"),
+                rs.getInt("ShardNo"),
+                rs.getLong("FromClientID"),
+                rs.getLong("ToClientID"),
+                rs.getInt("ClientCount"),
+                rs.getString("Status"),
+                rs.getObject("BatchID", Long.class),
+                rs.getString("SubmissionKey"),
+                rs.getString("LastError"));
+    }
+
+    private MaterialChangeBatchRun mapRun(ResultSet rs, int rowNum) throws SQLException {
+        return new MaterialChangeBatchRun(
+                rs.getLong("RunID"),
+                rs.getTimestamp("CreatedDate").toLocalDateTime(),
+                rs.getLong("AfterSeq"),
+                rs.getLong("UpToSeq"),
+                rs.getString("Status"));
+    }
+}
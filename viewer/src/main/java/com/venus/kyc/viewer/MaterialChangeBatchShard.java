@@ -0,0 +1,17 @@
+package com.venus.kyc.viewer;
+
+/**
+ * One shard of a {@link MaterialChangeBatchRun}: the run's affected clients with IDs in
+ * {@code [fromClientID, toClientID]}, submitted to screening as one batch.
+ */
+public record MaterialChangeBatchShard(
+        long runID,
+        int shardNo,
+        long fromClientID,
+        long toClientID,
+        int clientCount,
+        String status,
+        Long batchID,
+        String submissionKey,
+        String lastError) {
+}
@@ -2,6 +2,7 @@ package com.venus.kyc.viewer;
 
 import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Map;
@@ -33,6 +34,14 @@ public class MaterialChangeConfigRepository {
                         MaterialChangeConfig::category));
     }
 
+    /** Version of the config, bumped by every {@link #save}. */
+    public long currentVersion() {
+        return jdbcClient.sql("SELECT Version FROM MaterialChangeConfigVersion WHERE ID = 1")
+                .query(Long.class)
+                .single();
+    }
+
+    @Transactional
     public void save(MaterialChangeConfig config) {
         jdbcClient.sql(
                 "MERGE INTO MaterialChangeConfigs (EntityName, ColumnName, Category) KEY(EntityName, ColumnName) VALUES (:entityName, :columnName, :category)")
@@ -40,5 +49,6 @@ public class MaterialChangeConfigRepository {
                 .param("columnName", config.columnName())
                 .param("category", config.category())
                 .update();
+        jdbcClient.sql("UPDATE MaterialChangeConfigVersion SET Version = Version + 1 WHERE ID = 1").update();
     }
 }
@@ -0,0 +1,171 @@
+package com.venus.kyc.viewer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * The field-level diff between two versions of a client, compiled from one version of the materiality config.
+ *
+ * <p>Only fields whose category is not NONE are kept, so an update is compared on the material fields alone, and a
+ * child collection (addresses, identifiers, related parties) with no material column is not walked at all. Plans
+ * are immutable and thread-safe.
+ */
+final class MaterialChangePlan {
+
+    private static final List<Field<Client>> CLIENT_FIELDS = List.of(
+            new Field<>("citizenship1", Client::citizenship1),
+            new Field<>("citizenship2", Client::citizenship2),
+            new Field<>("occupation", Client::occupation),
+            new Field<>("countryOfTax", Client::countryOfTax),
+            new Field<>("sourceOfFundsCountry", Client::sourceOfFundsCountry),
+            new Field<>("fatcaStatus", Client::fatcaStatus),
+            new Field<>("crsStatus", Client::crsStatus),
+            new Field<>("firstName", Client::firstName),
+            new Field<>("lastName", Client::lastName),
+            new Field<>("dateOfBirth", c -> c.dateOfBirth() != null ? c.dateOfBirth().toString() : null));
+
+    private final long version;
+    private final List<Compiled<Client>> clientFields;
+    private final Children<Address> addresses;
+    private final Children<Identifier> identifiers;
+    private final Children<RelatedParty> relatedParties;
+
+    private MaterialChangePlan(long version, Map<String, String> categories) {
+        this.version = version;
+        this.clientFields = compile("Client", CLIENT_FIELDS, categories);
+        this.addresses = new Children<>("Address", categories,
+                Address::addressID, Address::addressType, a -> "New Address: " + a.country(),
+                List.of(new Field<>("country", Address::country), new Field<>("city", Address::city)));
+        this.identifiers = new Children<>("Identifier", categories,
+                Identifier::identifierID, Identifier::identifierType, Identifier::identifierNumber,
+                List.of(new Field<>("identifierNumber", Identifier::identifierNumber)));
+        this.relatedParties = new Children<>("RelatedParty", categories,
+                RelatedParty::relatedPartyID, rp -> Arrays.asList(rp.firstName(), rp.lastName()),
+                rp -> rp.firstName() + " " + rp.lastName(),
+                List.of(new Field<>("relationType", RelatedParty::relationType),
+                        new Field<>("citizenship1", RelatedParty::citizenship1)));
+    }
+
+    /**
+     * Compiles a plan from {@code EntityName:ColumnName -> category}. Columns without an entry, or with category
+     * NONE, are not material. A child entity's {@code ALL} column governs creation of a new child.
+     */
+    static MaterialChangePlan compile(long version, Map<String, String> categories) {
+        return new MaterialChangePlan(version, categories);
+    }
+
+    long version() {
+        return version;
+    }
+
+    /** The material changes from {@code oldClient} to {@code newClient}, as log entries not yet appended. */
+    List<ClientChangeLogEntry> diff(Client oldClient, Client newClient) {
+        List<ClientChangeLogEntry> changes = new ArrayList<>();
+        Long clientID = newClient.clientID();
+        for (Compiled<Client> field : clientFields) {
+            field.compare(this, clientID, clientID, "Client", oldClient, newClient, changes);
+        }
+        addresses.diff(this, clientID, oldClient.addresses(), newClient.addresses(), changes);
+        identifiers.diff(this, clientID, oldClient.identifiers(), newClient.identifiers(), changes);
+        relatedParties.diff(this, clientID, oldClient.relatedParties(), newClient.relatedParties(), changes);
+        return changes;
+    }
+
+    private ClientChangeLogEntry entry(Long clientID, Long entityID, String entityName, String column,
+            String operation, String oldValue, String newValue, String category) {
+        return new ClientChangeLogEntry(null, null, clientID, entityID, entityName, column, operation, oldValue,
+                newValue, category, version);
+    }
+
+    private static <T> List<Compiled<T>> compile(String entityName, List<Field<T>> fields,
+            Map<String, String> categories) {
+        List<Compiled<T>> compiled = new ArrayList<>();
+        for (Field<T> field : fields) {
+            String category = material(categories.get(entityName + ":" + field.column()));
+            if (category != null) {
+                compiled.add(new Compiled<>(field, category));
+            }
+        }
+        return List.copyOf(compiled);
+    }
+
+    private static String material(String category) {
+        return category == null || "NONE".equalsIgnoreCase(category) ? null : category;
+    }
+
+    private record Field<T>(String column, Function<T, String> value) {
+    }
+
+    private record Compiled<T>(Field<T> field, String category) {
+
+        void compare(MaterialChangePlan plan, Long clientID, Long entityID, String entityName, T oldValue,
+                T newValue, List<ClientChangeLogEntry> changes) {
+            String before = field.value().apply(oldValue);
+            String after = field.value().apply(newValue);
+            if (!Objects.equals(before, after)) {
+                changes.add(plan.entry(clientID, entityID, entityName, field.column(), "UPDATE", before, after,
+                        category));
+            }
+        }
+    }
+
+    /**
+     * A child collection. A new child is matched to the first old child with the same key; an unmatched one is a
+     * CREATE, a matched one is compared field by field.
+     */
+    private static final class Children<T> {
+
+        private final String entityName;
+        private final Function<T, Long> id;
+        private final Function<T, Object> key;
+        private final Function<T, String> createValue;
+        private final String createCategory;
+        private final List<Compiled<T>> fields;
+
+        Children(String entityName, Map<String, String> categories, Function<T, Long> id, Function<T, Object> key,
+                Function<T, String> createValue, List<Field<T>> fields) {
+            this.entityName = entityName;
+            this.id = id;
+            this.key = key;
+            this.createValue = createValue;
+            this.createCategory = material(categories.get(entityName + ":ALL"));
+            this.fields = compile(entityName, fields, categories);
+        }
+
+        void diff(MaterialChangePlan plan, Long clientID, List<T> oldChildren, List<T> newChildren,
+                List<ClientChangeLogEntry> changes) {
+            if (newChildren == null || (createCategory == null && fields.isEmpty())) {
+                return;
+            }
+            for (T child : newChildren) {
+                T old = find(oldChildren, key.apply(child));
+                if (old == null) {
+                    if (createCategory != null) {
+                        changes.add(plan.entry(clientID, id.apply(child), entityName, "ALL", "CREATE", null,
+                                createValue.apply(child), createCategory));
+                    }
+                } else {
+                    for (Compiled<T> field : fields) {
+                        field.compare(plan, clientID, id.apply(child), entityName, old, child, changes);
+                    }
+                }
+            }
+        }
+
+        private T find(List<T> children, Object wanted) {
+            if (children == null) {
+                return null;
+            }
+            for (T child : children) {
+                if (Objects.equals(key.apply(child), wanted)) {
+                    return child;
+                }
+            }
+            return null;
+        }
+    }
+}
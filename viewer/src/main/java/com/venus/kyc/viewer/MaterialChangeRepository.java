@@ -1,21 +1,90 @@
 package com.venus.kyc.viewer;
 
+import com.venus.kyc.common.paging.CursorPage;
+import com.venus.kyc.common.paging.InvalidPageCursorException;
+import com.venus.kyc.common.paging.PageCursor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.stereotype.Repository;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Repository
 public class MaterialChangeRepository {
 
     private final JdbcClient jdbcClient;
+    private final JdbcTemplate jdbcTemplate;
 
-    public MaterialChangeRepository(JdbcClient jdbcClient) {
+    public MaterialChangeRepository(JdbcClient jdbcClient, JdbcTemplate jdbcTemplate) {
         this.jdbcClient = jdbcClient;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
-    public List<MaterialChange> findAll() {
-        return findAllPaginated(0, Integer.MAX_VALUE, null, null, "changeDate", "DESC").content();
+    private static final String CHANGE_SELECT = "SELECT mc.*, COALESCE(c.NameAtBirth, c.FirstName || ' ' || c.LastName) as ClientName FROM MaterialChanges mc LEFT JOIN Clients c ON mc.ClientID = c.ClientID WHERE 1=1";
+
+    /**
+     * Sortable columns. A page is ordered by (column, ChangeID) and continues after the cursor's
+     * (sortKey, id); nullable columns are coalesced so that the comparison sees every row. The
+     * default order, ChangeDate, is backed by IX_MaterialChanges_ChangeDate.
+     */
+    private enum SortColumn {
+        CHANGE_ID("mc.ChangeID", null, null),
+        CHANGE_DATE("mc.ChangeDate", c -> c.changeDate().toString(), LocalDateTime::parse),
+        CLIENT_ID("COALESCE(mc.ClientID, 0)", c -> String.valueOf(c.clientID()), Long::valueOf),
+        ENTITY_ID("COALESCE(mc.EntityID, 0)", c -> String.valueOf(c.entityID()), Long::valueOf),
+        ENTITY_NAME("COALESCE(mc.EntityName, '')", c -> Objects.toString(c.entityName(), ""), key -> key),
+        COLUMN_NAME("COALESCE(mc.ColumnName, '')", c -> Objects.toString(c.columnName(), ""), key -> key),
+        OPERATION_TYPE("COALESCE(mc.OperationType, '')", c -> Objects.toString(c.operationType(), ""), key -> key),
+        STATUS("COALESCE(mc.Status, '')", c -> Objects.toString(c.status(), ""), key -> key),
+        CATEGORY("COALESCE(mc.Category, '')", c -> Objects.toString(c.category(), ""), key -> key);
+
+        private final String expression;
+        private final Function<MaterialChange, String> keyOf;
+        private final Function<String, Object> parseKey;
+
+        SortColumn(String expression, Function<MaterialChange, String> keyOf, Function<String, Object> parseKey) {
+            this.expression = expression;
+            this.keyOf = keyOf;
+            this.parseKey = parseKey;
+        }
+
+        // Sanitized sort column: only these expressions ever reach the SQL
+        static SortColumn of(String sortBy) {
+            if (sortBy == null) {
+                return CHANGE_DATE;
+            }
+            return switch (sortBy) {
+                case "changeID" -> CHANGE_ID;
+                case "clientID" -> CLIENT_ID;
+                case "entityID" -> ENTITY_ID;
+                case "entityName" -> ENTITY_NAME;
+                case "columnName" -> COLUMN_NAME;
+                case "operationType" -> OPERATION_TYPE;
+                case "status" -> STATUS;
+                case "category" -> CATEGORY;
+                default -> CHANGE_DATE;
+            };
+        }
+
+        PageCursor cursorOf(MaterialChange change) {
+            return new PageCursor(keyOf == null ? null : keyOf.apply(change), change.changeID());
+        }
+
+        Object keyFrom(PageCursor cursor) {
+            try {
+                return parseKey.apply(Objects.requireNonNull(cursor.sortKey()));
+            } catch (RuntimeException e) {
+                throw new InvalidPageCursorException("Page cursor does not match sort column " + name());
+            }
+        }
     }
 
     public long countChanges(String startDate, String endDate) {
@@ -38,80 +107,81 @@ public class MaterialChangeRepository {
 
     public PaginatedResponse<MaterialChange> findAllPaginated(int page, int size, String startDate, String endDate,
             String sortBy, String sortDir) {
+        return findAllPaginated(page, size, startDate, endDate, sortBy, sortDir, null);
+    }
+
+    /**
+     * Material changes in the requested order. With a cursor the page is read by seeking past it;
+     * without one, page becomes an OFFSET, kept for callers that still jump to a page number.
+     */
+    public PaginatedResponse<MaterialChange> findAllPaginated(int page, int size, String startDate, String endDate,
+            String sortBy, String sortDir, PageCursor after) {
+        size = CursorPage.limit(size);
         long totalElements = countChanges(startDate, endDate);
-        int totalPages = (int) Math.ceil((double) totalElements / size);
-
-        // Sanitize sort column to prevent SQL injection
-        String sortColumn = "ChangeDate";
-        if (sortBy != null) {
-            sortColumn = switch (sortBy) {
-                case "changeID" -> "ChangeID";
-                case "changeDate" -> "ChangeDate";
-                case "clientID" -> "ClientID";
-                case "entityID" -> "EntityID";
-                case "entityName" -> "EntityName";
-                case "columnName" -> "ColumnName";
-                case "operationType" -> "OperationType";
-                case "status" -> "Status";
-                case "category" -> "Category";
-                default -> "ChangeDate";
-            };
-        }
+
+        SortColumn sort = SortColumn.of(sortBy);
         String direction = "DESC".equalsIgnoreCase(sortDir) ? "DESC" : "ASC";
+        String comparison = "DESC".equals(direction) ? "<" : ">";
 
-        String sql = "SELECT mc.*, COALESCE(c.NameAtBirth, c.FirstName || ' ' || c.LastName) as ClientName FROM MaterialChanges mc LEFT JOIN Clients c ON mc.ClientID = c.ClientID WHERE 1=1";
-        if (startDate != null && !startDate.isEmpty()) {
-            sql += " AND mc.ChangeDate >= :startDate";
+        String sql = CHANGE_SELECT + dateFilter(startDate, endDate);
+        if (after != null && sort == SortColumn.CHANGE_ID) {
+            sql += " AND mc.ChangeID " + comparison + " :afterId";
+        } else if (after != null) {
+            sql += " AND (" + sort.expression + " " + comparison + " :sortKey OR (" + sort.expression
+                    + " = :sortKey AND mc.ChangeID " + comparison + " :afterId))";
         }
-        if (endDate != null && !endDate.isEmpty()) {
-            sql += " AND mc.ChangeDate <= :endDate";
+        sql += " ORDER BY " + sort.expression + " " + direction;
+        if (sort != SortColumn.CHANGE_ID) {
+            sql += ", mc.ChangeID " + direction;
         }
-        sql += " ORDER BY mc." + sortColumn + " " + direction + " LIMIT :limit OFFSET :offset";
+        sql += " LIMIT :limit OFFSET :offset";
 
         var query = jdbcClient.sql(sql)
-                .param("limit", size)
-                .param("offset", page * size);
-
-        if (startDate != null && !startDate.isEmpty())
-            query.param("startDate", startDate + " 00:00:00");
-        if (endDate != null && !endDate.isEmpty())
-            query.param("endDate", endDate + " 23:59:59");
+                .param("limit", size + 1)
+                .param("offset", after != null ? 0 : page * size);
+        bindDates(query, startDate, endDate);
+        if (after != null) {
+            query.param("afterId", after.id());
+            if (sort != SortColumn.CHANGE_ID) {
+                query.param("sortKey", sort.keyFrom(after));
+            }
+        }
 
-        List<MaterialChange> changes = query.query((rs, rowNum) -> new MaterialChange(
-                rs.getLong("ChangeID"),
-                rs.getTimestamp("ChangeDate").toLocalDateTime(),
-                rs.getLong("ClientID"),
-                rs.getString("ClientName"),
-                rs.getLong("EntityID"),
-                rs.getString("EntityName"),
-                rs.getString("ColumnName"),
-                rs.getString("OperationType"),
-                rs.getString("OldValue"),
-                rs.getString("NewValue"),
-                rs.getString("Status"),
-                rs.getString("Category")))
-                .list();
+        List<MaterialChange> rows = query.query(this::mapChange).list();
+        return PaginatedResponse.of(rows, page, size, totalElements, sort::cursorOf);
+    }
 
-        return new PaginatedResponse<>(changes, page, size, totalElements, totalPages);
+    /**
+     * All matching changes, newest first, read lazily from an open result set so the caller can write
+     * them out as they arrive instead of holding the whole table in memory. The stream holds a
+     * connection and must be closed.
+     */
+    public Stream<MaterialChange> findAllForExport(String startDate, String endDate) {
+        var query = jdbcClient.sql(CHANGE_SELECT + dateFilter(startDate, endDate) + " ORDER BY mc.ChangeDate DESC, mc.ChangeID DESC");
+        bindDates(query, startDate, endDate);
+        return query.query(this::mapChange).stream();
     }
 
-    public List<MaterialChange> findAllForExport(String startDate, String endDate) {
-        String sql = "SELECT mc.*, COALESCE(c.NameAtBirth, c.FirstName || ' ' || c.LastName) as ClientName FROM MaterialChanges mc LEFT JOIN Clients c ON mc.ClientID = c.ClientID WHERE 1=1";
+    private static String dateFilter(String startDate, String endDate) {
+        String sql = "";
         if (startDate != null && !startDate.isEmpty()) {
             sql += " AND mc.ChangeDate >= :startDate";
         }
         if (endDate != null && !endDate.isEmpty()) {
             sql += " AND mc.ChangeDate <= :endDate";
         }
-        sql += " ORDER BY mc.ChangeDate DESC";
+        return sql;
+    }
 
-        var query = jdbcClient.sql(sql);
+    private static void bindDates(JdbcClient.StatementSpec query, String startDate, String endDate) {
         if (startDate != null && !startDate.isEmpty())
             query.param("startDate", startDate + " 00:00:00");
         if (endDate != null && !endDate.isEmpty())
             query.param("endDate", endDate + " 23:59:59");
+    }
 
-        return query.query((rs, rowNum) -> new MaterialChange(
+    private MaterialChange mapChange(ResultSet rs, int rowNum) throws SQLException {
+        return new MaterialChange(
                 rs.getLong("ChangeID"),
                 rs.getTimestamp("ChangeDate").toLocalDateTime(),
                 rs.getLong("ClientID"),
@@ -123,8 +193,7 @@ public class MaterialChangeRepository {
                 rs.getString("OldValue"),
                 rs.getString("NewValue"),
                 rs.getString("Status"),
-                rs.getString("Category")))
-                .list();
+                rs.getString("Category"));
     }
 
     public void save(MaterialChange change) {
@@ -142,6 +211,21 @@ public class MaterialChangeRepository {
                 .update();
     }
 
+    /**
+     * Records entries just appended to the {@link ClientChangeLog} as PENDING changes for review, in one batched
+     * insert. Each row keeps the sequence number of its log entry.
+     */
+    public void saveAll(List<ClientChangeLogEntry> entries) {
+        List<Object[]> rows = new ArrayList<>(entries.size());
+        for (ClientChangeLogEntry entry : entries) {
+            rows.add(new Object[] { entry.clientID(), entry.entityID(), entry.entityName(), entry.columnName(),
+                    entry.operationType(), entry.oldValue(), entry.newValue(), entry.category(), entry.seq() });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO MaterialChanges (ClientID, EntityID, EntityName, ColumnName, "
+                + "OperationType, OldValue, NewValue, Status, Category, LogSeq) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, 'PENDING', ?, ?)", rows);
+    }
+
     public void updateStatus(Long changeId, String status) {
         jdbcClient.sql("UPDATE MaterialChanges SET Status = :status WHERE ChangeID = :id")
                 .param("status", status)
@@ -150,37 +234,46 @@ public class MaterialChangeRepository {
     }
 
     /**
-     * Finds all pending material changes categorized for screening (SCREENING or BOTH).
+     * Bulk-updates status for a list of change IDs, in one statement.
      */
-    public List<MaterialChange> findPendingScreeningChanges() {
-        String sql = "SELECT mc.*, COALESCE(c.NameAtBirth, c.FirstName || ' ' || c.LastName) as ClientName "
-                + "FROM MaterialChanges mc LEFT JOIN Clients c ON mc.ClientID = c.ClientID "
-                + "WHERE mc.Status = 'PENDING' AND mc.Category IN ('SCREENING', 'BOTH') "
-                + "ORDER BY mc.ChangeDate ASC";
-        return jdbcClient.sql(sql)
-                .query((rs, rowNum) -> new MaterialChange(
-                        rs.getLong("ChangeID"),
-                        rs.getTimestamp("ChangeDate").toLocalDateTime(),
-                        rs.getLong("ClientID"),
-                        rs.getString("ClientName"),
-                        rs.getLong("EntityID"),
-                        rs.getString("EntityName"),
-                        rs.getString("ColumnName"),
-                        rs.getString("OperationType"),
-                        rs.getString("OldValue"),
-                        rs.getString("NewValue"),
-                        rs.getString("Status"),
-                        rs.getString("Category")))
-                .list();
+    public int updateStatusBatch(Collection<Long> changeIds, String status) {
+        if (changeIds.isEmpty()) {
+            return 0;
+        }
+        return jdbcClient.sql("UPDATE MaterialChanges SET Status = :status WHERE ChangeID IN (:ids)")
+                .param("status", status)
+                .param("ids", changeIds)
+                .update();
     }
 
     /**
-     * Bulk-updates status for a list of change IDs.
+     * Moves the still PENDING changes recorded for log entries in {@code (afterSeq, upToSeq]} with one of the given
+     * categories to {@code status}, in one statement over IX_MaterialChanges_LogSeq. Changes of clients that no
+     * longer exist are left PENDING for {@link #skipChangesOfMissingClients}.
      */
-    public void updateStatusBatch(List<Long> changeIds, String status) {
-        for (Long id : changeIds) {
-            updateStatus(id, status);
-        }
+    public int updateStatusBatch(long afterSeq, long upToSeq, Collection<String> categories, String status) {
+        return jdbcClient.sql("UPDATE MaterialChanges SET Status = :status "
+                + "WHERE LogSeq > :after AND LogSeq <= :upTo AND Status = 'PENDING' AND Category IN (:categories) "
+                + "AND EXISTS (SELECT 1 FROM Clients c WHERE c.ClientID = MaterialChanges.ClientID)")
+                .param("status", status)
+                .param("after", afterSeq)
+                .param("upTo", upToSeq)
+                .param("categories", categories)
+                .update();
+    }
+
+    /**
+     * Moves the still PENDING changes in {@code (afterSeq, upToSeq]} with one of the given categories whose client no
+     * longer exists to SKIPPED, so a consumer acknowledging that range does not leave them PENDING forever.
+     */
+    public int skipChangesOfMissingClients(long afterSeq, long upToSeq, Collection<String> categories) {
+        return jdbcClient.sql("UPDATE MaterialChanges SET Status = 'SKIPPED' "
+                + "WHERE LogSeq > :after AND LogSeq <= :upTo AND Status = 'PENDING' AND Category IN (:categories) "
+                + "AND NOT EXISTS (SELECT 1 FROM Clients c WHERE c.ClientID = MaterialChanges.ClientID)")
+                .param("after", afterSeq)
+                .param("upTo", upToSeq)
+                .param("categories", categories)
+                .update();
     }
 
     public List<MaterialChange> findByClientId(Long clientId) {
@@ -1,11 +1,43 @@
 package com.venus.kyc.viewer;
 
+import com.venus.kyc.common.paging.CursorPage;
+import com.venus.kyc.common.paging.PageCursor;
+
 import java.util.List;
+import java.util.function.Function;
 
+/**
+ * One page of a listing. {@code nextCursor} is the opaque position after the last row (null on the
+ * last page); passing it back as {@code cursor} reads the next page with an index seek instead of
+ * an OFFSET scan, so deep pages cost the same as the first. {@code currentPage} echoes the page
+ * number the caller asked for.
+ */
 public record PaginatedResponse<T>(
         List<T> content,
         int currentPage,
         int pageSize,
         long totalElements,
-        int totalPages) {
+        int totalPages,
+        String nextCursor) {
+
+    /**
+     * Builds a page from up to {@code size + 1} fetched rows; the extra row only signals a next page.
+     * {@code size} is clamped like {@link CursorPage#limit}, which callers should also apply before querying.
+     */
+    public static <T> PaginatedResponse<T> of(List<T> rows, int page, int size, long totalElements,
+            Function<T, PageCursor> cursorOf) {
+        size = CursorPage.limit(size);
+        List<T> content = rows.size() > size ? rows.subList(0, size) : rows;
+        String nextCursor = rows.size() > size ? cursorOf.apply(content.get(size - 1)).encode() : null;
+        return new PaginatedResponse<>(content, page, size, totalElements,
+                (int) Math.ceil((double) totalElements / size), nextCursor);
+    }
+
+    public static <T> PaginatedResponse<T> empty(int page, int size) {
+        return new PaginatedResponse<>(List.of(), page, size, 0, 0, null);
+    }
+
+    public <R> PaginatedResponse<R> withContent(List<R> newContent) {
+        return new PaginatedResponse<>(newContent, currentPage, pageSize, totalElements, totalPages, nextCursor);
+    }
 }
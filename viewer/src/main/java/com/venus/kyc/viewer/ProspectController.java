@@ -2,6 +2,7 @@ package com.venus.kyc.viewer;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.venus.kyc.common.paging.PageCursor;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -46,10 +47,11 @@ public class ProspectController {
     public PaginatedResponse<Client> getProspects(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
             Authentication authentication) {
         // Return masked elements if we want, but prospects data usually needs to be viewed by active analysts anyway.
         // Similar to ClientController masking logic, simplify for demo.
-        return clientRepository.findProspectsPaginated(page, size);
+        return clientRepository.findProspectsPaginated(page, size, PageCursor.decode(cursor));
     }
 
     @PostMapping(consumes = { MediaType.MULTIPART_FORM_DATA_VALUE })
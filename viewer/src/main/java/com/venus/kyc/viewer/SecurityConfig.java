@@ -1,5 +1,6 @@
 package com.venus.kyc.viewer;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpStatus;
@@ -29,13 +30,16 @@ public class SecurityConfig {
                                 .sessionManagement(session -> session
                                                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                                 .authorizeHttpRequests((authorize) -> authorize
+                                                // the request was authorized before it went async (SSE streams)
+                                                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                                                 .requestMatchers("/", "/index.html", "/login.html", "/login",
                                                                 "/api/auth/login",
                                                                 "/style.css",
                                                                 "/assets/**",
                                                                 "/*.js", "/*.css", "/*.ico", "/*.png", "/*.jpg",
                                                                 "/api/risk/**",
-                                                                "/swagger-ui/**", "/swagger-ui.html", "/v3/api-docs/**")
+                                                                "/swagger-ui/**", "/swagger-ui.html", "/v3/api-docs/**",
+                                                                "/actuator/health/**", "/actuator/prometheus")
                                                 .permitAll()
                                                 // APIs that moved to auth-service will be routed by Gateway, but if
                                                 // someone calls viewer directly:
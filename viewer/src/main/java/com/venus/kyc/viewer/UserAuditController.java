@@ -1,14 +1,15 @@
 package com.venus.kyc.viewer;
 
+import com.venus.kyc.common.paging.CursorPage;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/admin/audits")
 @Tag(name = "User Audit", description = "Endpoints for retrieving user activity audit logs")
@@ -20,9 +21,11 @@ public class UserAuditController {
         this.service = service;
     }
 
-    @Operation(summary = "Get all audit logs", description = "Returns the complete user audit trail including login, logout, case actions, and administrative operations")
+    @Operation(summary = "Get audit logs", description = "Returns the user audit trail (login, logout, case actions, and administrative operations) newest first, one page at a time; pass nextCursor back as cursor for the next page")
     @GetMapping
-    public ResponseEntity<List<UserAudit>> getAudits() {
-        return ResponseEntity.ok(service.getAllAudits());
+    public ResponseEntity<CursorPage<UserAudit>> getAudits(
+            @Parameter(description = "nextCursor of the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most 500") @RequestParam(defaultValue = "100") int size) {
+        return ResponseEntity.ok(service.getAudits(cursor, size));
     }
 }
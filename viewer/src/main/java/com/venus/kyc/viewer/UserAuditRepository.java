@@ -1,10 +1,11 @@
 package com.venus.kyc.viewer;
 
+import com.venus.kyc.common.paging.CursorPage;
+import com.venus.kyc.common.paging.PageCursor;
 import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 @Repository
 public class UserAuditRepository {
@@ -22,9 +23,20 @@ public class UserAuditRepository {
                 .update();
     }
 
-    public List<UserAudit> findAll() {
-        return jdbcClient.sql("SELECT * FROM UserAudits ORDER BY Timestamp DESC")
-                .query(UserAudit.class)
-                .list();
+    /**
+     * Audit entries newest first. Each page continues after the cursor's (Timestamp, AuditID) with a
+     * seek on IX_UserAudits_Timestamp, so later pages cost the same as the first.
+     */
+    public CursorPage<UserAudit> findPage(PageCursor after, int limit) {
+        var query = jdbcClient.sql("SELECT * FROM UserAudits"
+                + (after != null ? " WHERE (Timestamp < :timestamp OR (Timestamp = :timestamp AND AuditID < :afterId))" : "")
+                + " ORDER BY Timestamp DESC, AuditID DESC LIMIT :limit")
+                .param("limit", limit + 1);
+        if (after != null) {
+            query.param("timestamp", after.timestampKey())
+                    .param("afterId", after.id());
+        }
+        return CursorPage.of(query.query(UserAudit.class).list(), limit,
+                a -> PageCursor.of(a.timestamp(), a.auditID()));
     }
 }
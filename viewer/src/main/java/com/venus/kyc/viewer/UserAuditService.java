@@ -1,9 +1,9 @@
 package com.venus.kyc.viewer;
 
+import com.venus.kyc.common.paging.CursorPage;
+import com.venus.kyc.common.paging.PageCursor;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-
 @Service
 public class UserAuditService {
 
@@ -23,7 +23,7 @@ public class UserAuditService {
         repository.logAction(userId, username, action, details, null);
     }
 
-    public List<UserAudit> getAllAudits() {
-        return repository.findAll();
+    public CursorPage<UserAudit> getAudits(String cursor, int size) {
+        return repository.findPage(PageCursor.decode(cursor), CursorPage.limit(size));
     }
 }
@@ -0,0 +1,72 @@
+package com.venus.kyc.viewer.config;
+
+import org.flowable.cmmn.spring.SpringCmmnEngineConfiguration;
+import org.flowable.common.engine.api.Engine;
+import org.flowable.common.engine.api.engine.EngineLifecycleListener;
+import org.flowable.spring.boot.EngineConfigurationConfigurer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+@Configuration
+public class CmmnIndexConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(CmmnIndexConfig.class);
+
+    static final String CASE_INSTANCE_TABLE = "ACT_CMMN_RU_CASE_INST";
+    static final String BUSINESS_KEY_INDEX = "IX_CMMN_RU_CASE_INST_BUSKEY";
+
+    /**
+     * Case instances are looked up by business key (the Cases.CaseID), which Flowable does not
+     * index. The index is added once the engine has created its tables; schema.sql runs too early
+     * for that.
+     */
+    @Bean
+    public EngineConfigurationConfigurer<SpringCmmnEngineConfiguration> cmmnBusinessKeyIndex(DataSource dataSource) {
+        return configuration -> configuration.addEngineLifecycleListener(new EngineLifecycleListener() {
+            @Override
+            public void onEngineBuilt(Engine engine) {
+                ensureBusinessKeyIndex(dataSource);
+            }
+
+            @Override
+            public void onEngineClosed(Engine engine) {
+            }
+        });
+    }
+
+    static void ensureBusinessKeyIndex(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            if (hasIndex(connection.getMetaData(), CASE_INSTANCE_TABLE, BUSINESS_KEY_INDEX)) {
+                return;
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE INDEX " + BUSINESS_KEY_INDEX
+                        + " ON " + CASE_INSTANCE_TABLE + " (BUSINESS_KEY_)");
+            }
+            log.info("Created index {} on {}", BUSINESS_KEY_INDEX, CASE_INSTANCE_TABLE);
+        } catch (SQLException e) {
+            // lookups still work, they just scan the active case instances
+            log.warn("Could not create index {} on {}: {}", BUSINESS_KEY_INDEX, CASE_INSTANCE_TABLE, e.getMessage());
+        }
+    }
+
+    private static boolean hasIndex(DatabaseMetaData metaData, String table, String index) throws SQLException {
+        try (ResultSet indexes = metaData.getIndexInfo(null, null, table, false, true)) {
+            while (indexes.next()) {
+                if (index.equalsIgnoreCase(indexes.getString("INDEX_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,20 @@
+package com.venus.kyc.viewer.config;
+
+import com.venus.kyc.common.security.JwtVerifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JwtConfig {
+
+    /**
+     * Verifies bearer tokens for {@code JwtAuthenticationFilter} and holds the key login signs with;
+     * verified tokens are cached until they expire, at most app.jwtCacheSize of them.
+     */
+    @Bean
+    public JwtVerifier jwtVerifier(@Value("${app.jwtSecret}") String jwtSecret,
+            @Value("${app.jwtCacheSize:10000}") int cacheSize) {
+        return new JwtVerifier(jwtSecret, cacheSize);
+    }
+}
@@ -49,8 +49,8 @@ public class AdHocBatchScreeningJob {
         }
 
         try {
-            Long batchId = screeningBatchClient.createAndProcessBatch(mappedClients, "AD_HOC", createdBy);
-            log.info("[AD-HOC BATCH] Batch {} created and uploaded with {} client(s)",
+            Long batchId = screeningBatchClient.submitBatch(mappedClients, "AD_HOC", createdBy);
+            log.info("[AD-HOC BATCH] Batch {} submitted with {} client(s)",
                     batchId, mappedClients.size());
         } catch (Exception e) {
             log.error("[AD-HOC BATCH] Failed: {}", e.getMessage(), e);
@@ -0,0 +1,48 @@
+package com.venus.kyc.viewer.jobs;
+
+import com.venus.kyc.viewer.Client;
+import com.venus.kyc.viewer.ClientRepository;
+import org.jobrunr.jobs.annotations.Job;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Populates the client name blind index (ClientNameIndex) for rows written before it existed,
+ * or rebuilds it for every client after a blind-index key rotation.
+ * Enqueued on startup by KycJobScheduler and via POST /api/internal/scheduler/jobs/enqueue-name-index-backfill.
+ */
+@Component
+public class ClientNameIndexBackfillJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ClientNameIndexBackfillJob.class);
+    static final int CHUNK_SIZE = 500;
+
+    private final ClientRepository clientRepository;
+
+    public ClientNameIndexBackfillJob(ClientRepository clientRepository) {
+        this.clientRepository = clientRepository;
+    }
+
+    @Job(name = "Client Name Blind-Index Backfill")
+    public void execute(boolean rebuildAll) {
+        log.info("[NAME INDEX] Backfill started (rebuildAll={})", rebuildAll);
+
+        long afterId = 0;
+        int indexed = 0;
+        List<Client> chunk;
+        do {
+            chunk = clientRepository.findForNameIndex(afterId, CHUNK_SIZE, !rebuildAll);
+            for (Client client : chunk) {
+                clientRepository.reindexName(client.clientID(), client.firstName(), client.middleName(),
+                        client.lastName());
+                afterId = client.clientID();
+            }
+            indexed += chunk.size();
+        } while (chunk.size() == CHUNK_SIZE);
+
+        log.info("[NAME INDEX] Backfill completed, {} client(s) indexed", indexed);
+    }
+}
@@ -0,0 +1,69 @@
+package com.venus.kyc.viewer.jobs;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.jobrunr.jobs.Job;
+import org.jobrunr.jobs.JobDetails;
+import org.jobrunr.jobs.filters.JobServerFilter;
+import org.jobrunr.jobs.filters.RetryFilter;
+import org.jobrunr.jobs.states.ProcessingState;
+import org.jobrunr.server.BackgroundJobServer;
+import org.jobrunr.spring.autoconfigure.JobRunrProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Times every job this instance's background job server runs as jobrunr.job.duration, tagged
+ * with the job method (e.g. KycRecurringJobs.screeningRefresh) and its outcome. A failed attempt
+ * that JobRunr will retry counts as a failure. Queue depth per job state comes from JobRunr's own
+ * jobrunr_jobs_* gauges (org.jobrunr.jobs.metrics.enabled).
+ *
+ * <p>Setting the server's job filters replaces the starter's, so the retry filter configured by
+ * org.jobrunr.jobs.default-number-of-retries and retry-back-off-time-seed is registered again here.
+ */
+@Component
+public class JobDurationMetrics implements JobServerFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<BackgroundJobServer> backgroundJobServer;
+    private final JobRunrProperties jobRunrProperties;
+
+    public JobDurationMetrics(MeterRegistry meterRegistry, ObjectProvider<BackgroundJobServer> backgroundJobServer,
+            JobRunrProperties jobRunrProperties) {
+        this.meterRegistry = meterRegistry;
+        this.backgroundJobServer = backgroundJobServer;
+        this.jobRunrProperties = jobRunrProperties;
+    }
+
+    @PostConstruct
+    void register() {
+        JobRunrProperties.Jobs jobs = jobRunrProperties.getJobs();
+        RetryFilter retryFilter = new RetryFilter(jobs.getDefaultNumberOfRetries(), jobs.getRetryBackOffTimeSeed());
+        backgroundJobServer.ifAvailable(server -> server.setJobFilters(List.of(retryFilter, this)));
+    }
+
+    @Override
+    public void onProcessingSucceeded(Job job) {
+        record(job, "success");
+    }
+
+    @Override
+    public void onProcessingFailed(Job job, Exception e) {
+        record(job, "failure");
+    }
+
+    private void record(Job job, String outcome) {
+        job.getLastJobStateOfType(ProcessingState.class).ifPresent(processing -> meterRegistry
+                .timer("jobrunr.job.duration", "job", jobMethod(job.getJobDetails()), "outcome", outcome)
+                .record(Duration.between(processing.getCreatedAt(), Instant.now())));
+    }
+
+    private static String jobMethod(JobDetails details) {
+        String className = details.getClassName();
+        return className.substring(className.lastIndexOf('.') + 1) + "." + details.getMethodName();
+    }
+}
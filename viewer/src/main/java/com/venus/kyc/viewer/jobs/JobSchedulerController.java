@@ -25,15 +25,18 @@ public class JobSchedulerController {
     private final JobScheduler jobScheduler;
     private final AdHocBatchScreeningJob adHocBatchScreeningJob;
     private final AdHocPeriodicReviewJob adHocPeriodicReviewJob;
+    private final ClientNameIndexBackfillJob nameIndexBackfillJob;
 
     public JobSchedulerController(StorageProvider storageProvider,
                                    JobScheduler jobScheduler,
                                    AdHocBatchScreeningJob adHocBatchScreeningJob,
-                                   AdHocPeriodicReviewJob adHocPeriodicReviewJob) {
+                                   AdHocPeriodicReviewJob adHocPeriodicReviewJob,
+                                   ClientNameIndexBackfillJob nameIndexBackfillJob) {
         this.storageProvider = storageProvider;
         this.jobScheduler = jobScheduler;
         this.adHocBatchScreeningJob = adHocBatchScreeningJob;
         this.adHocPeriodicReviewJob = adHocPeriodicReviewJob;
+        this.nameIndexBackfillJob = nameIndexBackfillJob;
     }
 
     // ── Dashboard stats ────────────────────────────────────────────
@@ -218,6 +221,13 @@ public class JobSchedulerController {
         return ResponseEntity.ok(Map.of("jobId", jobId.toString()));
     }
 
+    @PostMapping("/jobs/enqueue-name-index-backfill")
+    public ResponseEntity<Map<String, Object>> enqueueNameIndexBackfill(
+            @RequestParam(defaultValue = "false") boolean rebuildAll) {
+        var jobId = jobScheduler.enqueue(() -> nameIndexBackfillJob.execute(rebuildAll));
+        return ResponseEntity.ok(Map.of("jobId", jobId.toString()));
+    }
+
     // ── Helper ─────────────────────────────────────────────────────
 
     private Map<String, Object> toJobMap(Job job) {
@@ -18,10 +18,13 @@ public class KycJobScheduler {
 
     private final JobScheduler jobScheduler;
     private final KycRecurringJobs recurringJobs;
+    private final ClientNameIndexBackfillJob nameIndexBackfillJob;
 
-    public KycJobScheduler(JobScheduler jobScheduler, KycRecurringJobs recurringJobs) {
+    public KycJobScheduler(JobScheduler jobScheduler, KycRecurringJobs recurringJobs,
+                           ClientNameIndexBackfillJob nameIndexBackfillJob) {
         this.jobScheduler = jobScheduler;
         this.recurringJobs = recurringJobs;
+        this.nameIndexBackfillJob = nameIndexBackfillJob;
     }
 
     @EventListener(ApplicationReadyEvent.class)
@@ -57,5 +60,8 @@ public class KycJobScheduler {
                 "0 23 * * *", recurringJobs::materialChangeBatchScreening);
 
         log.info("All KYC recurring jobs registered.");
+
+        // One-off — index any client names written before the blind index existed (no-op once caught up)
+        jobScheduler.enqueue(() -> nameIndexBackfillJob.execute(false));
     }
 }
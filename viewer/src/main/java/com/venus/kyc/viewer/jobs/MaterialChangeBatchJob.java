@@ -2,99 +2,278 @@ package com.venus.kyc.viewer.jobs;
 
 import com.venus.kyc.viewer.*;
 import com.venus.kyc.viewer.service.ScreeningBatchClient;
+import org.jobrunr.jobs.annotations.Job;
+import org.jobrunr.scheduling.JobScheduler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
- * Nightly job that collects all pending material changes categorized for screening,
- * maps the affected clients to the screening-service batch format,
- * and submits them as a screening batch file.
+ * Nightly job that screens the clients with material changes categorized for screening in the
+ * {@link ClientChangeLog}, starting after the last sequence number it acknowledged.
+ *
+ * <p>{@link #execute()} is the coordinator: it takes the distinct affected client IDs, cuts them
+ * in ID order into shards of {@code material-change.batch.shard-size} clients, records the run and
+ * enqueues one {@link #executeShard} job per shard, so shards are screened in parallel on the
+ * JobRunr workers and a failed shard is retried on its own. Each shard loads its clients in one
+ * batched graph query and submits them as its own screening batch; a scheduled
+ * {@link #checkShardTransmitted} job then marks the shard SUBMITTED once that batch is uploaded, so no
+ * worker is held while the screening service packages and transmits it. Once no shard is pending,
+ * {@link #completeRun} moves the run's changes to BATCH_SUBMITTED in one UPDATE (SKIPPED for clients
+ * that no longer exist) and acknowledges the run's log range. While a run is unfinished the coordinator starts no new one;
+ * it enqueues the run's PENDING shards again instead, so a run survives a coordinator crash before
+ * its shards were enqueued and a shard that used up its retries is tried again the next night.
  */
 @Component
 public class MaterialChangeBatchJob {
 
     private static final Logger log = LoggerFactory.getLogger(MaterialChangeBatchJob.class);
 
+    /** Name under which this job acknowledges its position in the change log. */
+    static final String CONSUMER = "screening-batch";
+    private static final List<String> SCREENING_CATEGORIES = List.of("SCREENING", "BOTH");
+
     private final MaterialChangeRepository materialChangeRepository;
+    private final MaterialChangeBatchRunRepository runRepository;
+    private final ClientChangeLog changeLog;
     private final ClientRepository clientRepository;
     private final ScreeningBatchClient screeningBatchClient;
+    private final JobScheduler jobScheduler;
+    private final int shardSize;
+    private final long transmitPollMs;
+    private final long transmitTimeoutMs;
+    private final int transmitMaxAttempts;
 
     public MaterialChangeBatchJob(MaterialChangeRepository materialChangeRepository,
-            ClientRepository clientRepository, ScreeningBatchClient screeningBatchClient) {
+            MaterialChangeBatchRunRepository runRepository, ClientChangeLog changeLog,
+            ClientRepository clientRepository, ScreeningBatchClient screeningBatchClient, JobScheduler jobScheduler,
+            @Value("${material-change.batch.shard-size:500}") int shardSize,
+            @Value("${material-change.batch.transmit-poll-ms:5000}") long transmitPollMs,
+            @Value("${material-change.batch.transmit-timeout-ms:600000}") long transmitTimeoutMs,
+            @Value("${material-change.batch.transmit-max-attempts:3}") int transmitMaxAttempts) {
+        if (shardSize < 1) {
+            throw new IllegalArgumentException("material-change.batch.shard-size must be positive");
+        }
+        if (transmitPollMs < 1 || transmitTimeoutMs < 0 || transmitMaxAttempts < 1) {
+            throw new IllegalArgumentException("material-change.batch.transmit-* settings must be positive");
+        }
         this.materialChangeRepository = materialChangeRepository;
+        this.runRepository = runRepository;
+        this.changeLog = changeLog;
         this.clientRepository = clientRepository;
         this.screeningBatchClient = screeningBatchClient;
+        this.jobScheduler = jobScheduler;
+        this.shardSize = shardSize;
+        this.transmitPollMs = transmitPollMs;
+        this.transmitTimeoutMs = transmitTimeoutMs;
+        this.transmitMaxAttempts = transmitMaxAttempts;
     }
 
     public void execute() {
         log.info("[BATCH JOB] Material Change → Screening Batch started");
 
-        // 1. Find all pending screening changes
-        List<MaterialChange> pendingChanges = materialChangeRepository.findPendingScreeningChanges();
-        if (pendingChanges.isEmpty()) {
-            log.info("[BATCH JOB] No pending screening material changes found. Skipping.");
+        Optional<MaterialChangeBatchRun> unfinished = runRepository.findRunning();
+        if (unfinished.isPresent()) {
+            resumeRun(unfinished.get());
             return;
         }
 
-        log.info("[BATCH JOB] Found {} pending screening changes", pendingChanges.size());
+        // 1. Distinct clients with screening changes logged since the last acknowledged sequence number
+        long acked = changeLog.acknowledgedSeq(CONSUMER);
+        long head = changeLog.head();
+        List<Long> clientIds = changeLog.clientIdsAfter(acked, head, SCREENING_CATEGORIES);
+        if (clientIds.isEmpty()) {
+            log.info("[BATCH JOB] No screening material changes logged after sequence {}. Skipping.", acked);
+            changeLog.acknowledge(CONSUMER, head);
+            return;
+        }
 
-        // 2. Collect distinct client IDs
-        Set<Long> clientIds = pendingChanges.stream()
-                .map(MaterialChange::clientID)
-                .collect(Collectors.toCollection(LinkedHashSet::new));
+        // 2. Cut them into ID ranges and record the run before any shard can start
+        List<List<Long>> shards = new ArrayList<>();
+        for (int from = 0; from < clientIds.size(); from += shardSize) {
+            shards.add(new ArrayList<>(clientIds.subList(from, Math.min(from + shardSize, clientIds.size()))));
+        }
+        long runId = runRepository.createRun(acked, head, shards);
 
-        log.info("[BATCH JOB] {} distinct clients affected", clientIds.size());
+        // 3. One job per shard
+        for (int i = 0; i < shards.size(); i++) {
+            int shardNo = i;
+            List<Long> shardClientIds = shards.get(i);
+            jobScheduler.<MaterialChangeBatchJob>enqueue(job -> job.executeShard(runId, shardNo, shardClientIds));
+        }
 
-        // 3. Fetch full client data and map to screening format
-        List<Map<String, Object>> mappedClients = new ArrayList<>();
-        List<Long> processedClientIds = new ArrayList<>();
+        log.info("[BATCH JOB] Run {}: {} clients in log sequence ({}, {}] split into {} shard(s)",
+                runId, clientIds.size(), acked, head, shards.size());
+    }
 
-        for (Long clientId : clientIds) {
-            Optional<Client> clientOpt = clientRepository.findById(clientId);
-            if (clientOpt.isEmpty()) {
-                log.warn("[BATCH JOB] Client {} not found, skipping", clientId);
-                continue;
-            }
+    /**
+     * Enqueues the PENDING shards of a run again, or its completion if none is left. Covers a coordinator that died
+     * between recording the run and enqueueing its shards, and shards that used up their retries. A shard that is
+     * in fact still queued or running may end up running twice; both attempts submit under the shard's submission
+     * key, so the screening service creates one batch.
+     */
+    private void resumeRun(MaterialChangeBatchRun run) {
+        long runId = run.runID();
+        List<MaterialChangeBatchShard> pending = runRepository.findPendingShards(runId);
+        if (pending.isEmpty()) {
+            log.warn("[BATCH JOB] Run {} has no pending shards but never completed. Completing it.", runId);
+            completeRunIfDone(runId);
+            return;
+        }
 
-            Client client = clientOpt.get();
-            Map<String, Object> mapped = mapClientForScreening(client);
-            mappedClients.add(mapped);
-            processedClientIds.add(clientId);
+        // the run's log range is fixed, so this yields the same clients it was sharded from
+        List<Long> clientIds = changeLog.clientIdsAfter(run.afterSeq(), run.upToSeq(), SCREENING_CATEGORIES);
+        for (MaterialChangeBatchShard shard : pending) {
+            int shardNo = shard.shardNo();
+            List<Long> shardClientIds = clientIds.stream()
+                    .filter(id -> id >= shard.fromClientID() && id <= shard.toClientID())
+                    .toList();
+            jobScheduler.<MaterialChangeBatchJob>enqueue(job -> job.executeShard(runId, shardNo, shardClientIds));
         }
+        log.warn("[BATCH JOB] Run {} is unfinished: re-enqueued {} pending shard(s) instead of starting a new run",
+                runId, pending.size());
+    }
 
-        if (mappedClients.isEmpty()) {
-            log.warn("[BATCH JOB] No valid clients found for screening. Skipping batch creation.");
+    /**
+     * Screens one shard of a run: submits its clients as a screening batch and schedules
+     * {@link #checkShardTransmitted} for it, which marks the shard SUBMITTED once the batch is uploaded.
+     * Throws if the batch could not be submitted, so JobRunr retries the shard; a retry of a shard that
+     * was already submitted does nothing but the completion check. The batch is submitted under the
+     * shard's submission key, recorded before the first attempt, so a retry gets the same batch back
+     * instead of creating a second one.
+     */
+    @Job(name = "Material Change Screening Batch (run %0, shard %1)")
+    public void executeShard(long runId, int shardNo, List<Long> clientIds) {
+        if (runRepository.isShardSubmitted(runId, shardNo)) {
+            completeRunIfDone(runId);
             return;
         }
 
-        // 4. Call screening service to create and process batch
-        try {
-            Long batchId = screeningBatchClient.createAndProcessBatch(
-                    mappedClients, "BATCH_JOB", "SYSTEM");
+        List<Client> clients = clientRepository.findAllByIds(clientIds);
+        if (clients.size() < clientIds.size()) {
+            log.warn("[BATCH JOB] Run {} shard {}: {} of {} clients not found, skipping them",
+                    runId, shardNo, clientIds.size() - clients.size(), clientIds.size());
+        }
 
-            log.info("[BATCH JOB] Screening batch {} created and uploaded with {} clients",
-                    batchId, mappedClients.size());
+        if (!clients.isEmpty()) {
+            List<Map<String, Object>> mappedClients = new ArrayList<>(clients.size());
+            for (Client client : clients) {
+                mappedClients.add(mapClientForScreening(client));
+            }
+            String submissionKey = runRepository.assignSubmissionKey(runId, shardNo,
+                    "material-change-" + runId + "-" + shardNo + "-" + UUID.randomUUID());
+            Long batchId;
+            try {
+                batchId = screeningBatchClient.submitBatch(mappedClients, "BATCH_JOB", "SYSTEM", submissionKey);
+            } catch (Exception e) {
+                log.error("[BATCH JOB] Run {} shard {}: screening batch not submitted: {}",
+                        runId, shardNo, e.getMessage(), e);
+                runRepository.markShardFailed(runId, shardNo, e.getMessage());
+                // Shard stays PENDING — JobRunr retries it and the run does not complete meanwhile
+                throw new RuntimeException("Material Change Batch Job shard " + shardNo + " of run " + runId
+                        + " failed: " + e.getMessage(), e);
+            }
+            log.info("[BATCH JOB] Run {} shard {}: screening batch {} submitted with {} clients",
+                    runId, shardNo, batchId, mappedClients.size());
+            scheduleTransmitCheck(runId, shardNo, batchId, System.currentTimeMillis() + transmitTimeoutMs);
+            return;
+        }
 
-            // 5. Update material change statuses to BATCH_SUBMITTED
-            List<Long> changeIds = pendingChanges.stream()
-                    .filter(mc -> processedClientIds.contains(mc.clientID()))
-                    .map(MaterialChange::changeID)
-                    .collect(Collectors.toList());
+        runRepository.markShardSubmitted(runId, shardNo, null);
+        completeRunIfDone(runId);
+    }
 
-            materialChangeRepository.updateStatusBatch(changeIds, "BATCH_SUBMITTED");
-            log.info("[BATCH JOB] Updated {} material changes to BATCH_SUBMITTED", changeIds.size());
+    /**
+     * Marks the shard SUBMITTED once its batch's {@code TRANSMIT} step has COMPLETED, i.e. the package is on
+     * the vendor's SFTP server, and otherwise schedules itself again {@code material-change.batch.transmit-poll-ms}
+     * later. Gives up, leaving the shard PENDING for the next night's run to resume, when the transmit FAILED
+     * with no attempts left (dropping the shard's submission key, so the resumed shard submits a new batch) or
+     * is still unfinished at {@code deadlineMillis}. A failure to read the steps is treated like an unfinished
+     * transmit.
+     */
+    @Job(name = "Material Change Screening Batch (run %0, shard %1, transmit of batch %2)", retries = 0)
+    public void checkShardTransmitted(long runId, int shardNo, long batchId, long deadlineMillis) {
+        if (runRepository.isShardSubmitted(runId, shardNo)) {
+            completeRunIfDone(runId);
+            return;
+        }
 
+        ScreeningBatchClient.BatchStep transmit;
+        try {
+            transmit = screeningBatchClient.getBatchSteps(batchId).stream()
+                    .filter(step -> "TRANSMIT".equals(step.step()))
+                    .findFirst()
+                    .orElse(null);
         } catch (Exception e) {
-            log.error("[BATCH JOB] Failed to create screening batch: {}", e.getMessage(), e);
-            // Changes remain PENDING — will be retried on next run
-            throw new RuntimeException("Material Change Batch Job failed: " + e.getMessage(), e);
+            log.warn("[BATCH JOB] Run {} shard {}: could not read the steps of screening batch {}: {}",
+                    runId, shardNo, batchId, e.getMessage());
+            transmit = null;
+        }
+
+        if (transmit != null && "COMPLETED".equals(transmit.status())) {
+            log.info("[BATCH JOB] Run {} shard {}: screening batch {} uploaded", runId, shardNo, batchId);
+            runRepository.markShardSubmitted(runId, shardNo, batchId);
+            completeRunIfDone(runId);
+            return;
+        }
+        if (transmit != null && "FAILED".equals(transmit.status())
+                && transmit.attempts() != null && transmit.attempts() >= transmitMaxAttempts) {
+            runRepository.clearSubmissionKey(runId, shardNo);
+            throw giveUp(runId, shardNo, "Screening batch " + batchId + " failed to transmit after "
+                    + transmit.attempts() + " attempt(s): " + transmit.errorMessage());
         }
+        if (System.currentTimeMillis() >= deadlineMillis) {
+            throw giveUp(runId, shardNo, "Screening batch " + batchId + " not transmitted within " + transmitTimeoutMs
+                    + " ms (TRANSMIT " + (transmit != null ? transmit.status() : "not started") + ")");
+        }
+        scheduleTransmitCheck(runId, shardNo, batchId, deadlineMillis);
+    }
 
-        log.info("[BATCH JOB] Material Change → Screening Batch completed successfully");
+    /**
+     * Moves the run's still PENDING screening changes to BATCH_SUBMITTED, or SKIPPED where the client
+     * could not be loaded because it no longer exists, and acknowledges its log range. Runs once per
+     * run, however many shards see it finish.
+     */
+    @Job(name = "Material Change Screening Batch (complete run %0)")
+    @Transactional
+    public void completeRun(long runId) {
+        MaterialChangeBatchRun run = runRepository.findById(runId)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown material change batch run " + runId));
+        if (!runRepository.markCompleted(runId)) {
+            return;
+        }
+
+        int updated = materialChangeRepository.updateStatusBatch(run.afterSeq(), run.upToSeq(),
+                SCREENING_CATEGORIES, "BATCH_SUBMITTED");
+        int skipped = materialChangeRepository.skipChangesOfMissingClients(run.afterSeq(), run.upToSeq(),
+                SCREENING_CATEGORIES);
+        changeLog.acknowledge(CONSUMER, run.upToSeq());
+        log.info("[BATCH JOB] Run {} completed: updated {} material changes to BATCH_SUBMITTED, {} of missing clients to SKIPPED, acknowledged sequence {}",
+                runId, updated, skipped, run.upToSeq());
+    }
+
+    private void scheduleTransmitCheck(long runId, int shardNo, long batchId, long deadlineMillis) {
+        jobScheduler.<MaterialChangeBatchJob>schedule(Instant.now().plusMillis(transmitPollMs),
+                job -> job.checkShardTransmitted(runId, shardNo, batchId, deadlineMillis));
+    }
+
+    /** Records why the shard's batch was not uploaded; the thrown exception fails the check, the shard stays PENDING. */
+    private IllegalStateException giveUp(long runId, int shardNo, String error) {
+        log.error("[BATCH JOB] Run {} shard {}: {}", runId, shardNo, error);
+        runRepository.markShardFailed(runId, shardNo, error);
+        return new IllegalStateException("Material Change Batch Job shard " + shardNo + " of run " + runId
+                + " failed: " + error);
+    }
+
+    private void completeRunIfDone(long runId) {
+        if (runRepository.countPendingShards(runId) == 0) {
+            jobScheduler.<MaterialChangeBatchJob>enqueue(job -> job.completeRun(runId));
+        }
     }
 
     /**
@@ -1,5 +1,6 @@
 package com.venus.kyc.viewer.risk;
 
+import com.venus.kyc.common.paging.CursorPage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -36,16 +37,20 @@ public class RiskAssessmentController {
     return ResponseEntity.ok(response);
   }
 
-  @Operation(summary = "Get all risk logs", description = "Returns all risk assessment log entries")
+  @Operation(summary = "Get risk logs", description = "Returns risk assessment log entries newest first, one page at a time; pass nextCursor back as cursor for the next page")
   @org.springframework.web.bind.annotation.GetMapping("/logs")
-  public java.util.List<RiskAssessmentLog> getAllLogs() {
-    return service.findAllLogs();
+  public CursorPage<RiskAssessmentLog> getAllLogs(
+      @Parameter(description = "nextCursor of the previous page") @org.springframework.web.bind.annotation.RequestParam(required = false) String cursor,
+      @Parameter(description = "Page size, at most 500") @org.springframework.web.bind.annotation.RequestParam(defaultValue = "50") int size) {
+    return service.findLogs(cursor, size);
   }
 
-  @Operation(summary = "Get all assessments", description = "Returns all risk assessment records")
+  @Operation(summary = "Get assessments", description = "Returns risk assessment records newest first, one page at a time; pass nextCursor back as cursor for the next page")
   @org.springframework.web.bind.annotation.GetMapping("/assessments")
-  public java.util.List<RiskAssessment> getAllAssessments() {
-    return service.findAllAssessments();
+  public CursorPage<RiskAssessment> getAllAssessments(
+      @Parameter(description = "nextCursor of the previous page") @org.springframework.web.bind.annotation.RequestParam(required = false) String cursor,
+      @Parameter(description = "Page size, at most 500") @org.springframework.web.bind.annotation.RequestParam(defaultValue = "50") int size) {
+    return service.findAssessments(cursor, size);
   }
 
   @Operation(summary = "Get assessments by record ID", description = "Returns risk assessments associated with a specific record ID")
@@ -9,6 +9,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import com.venus.kyc.common.http.HttpClientFactory;
+import com.venus.kyc.common.paging.CursorPage;
 import com.venus.kyc.viewer.CaseRepository;
 import com.venus.kyc.viewer.Case;
 import com.venus.kyc.viewer.EventService;
@@ -33,13 +35,15 @@ public class RiskAssessmentService {
             UserAuditService userAuditService,
             @org.springframework.beans.factory.annotation.Value("${risk.service.url}") String riskServiceUrl,
             @org.springframework.beans.factory.annotation.Value("${internal.api.key}") String internalApiKey,
-            RestClient.Builder restClientBuilder) {
+            RestClient.Builder restClientBuilder,
+            HttpClientFactory httpClients) {
         this.caseRepository = caseRepository;
         this.eventService = eventService;
         this.clientRepository = clientRepository;
         this.userAuditService = userAuditService;
         this.riskServiceUrl = riskServiceUrl;
         this.restClient = restClientBuilder
+                .requestFactory(httpClients.requestFactory("risk-service"))
                 .defaultHeader("X-Internal-Api-Key", internalApiKey)
                 .build();
     }
@@ -168,29 +172,29 @@ public class RiskAssessmentService {
         }
     }
 
-    public java.util.List<RiskAssessmentLog> findAllLogs() {
-        String logsUrl = this.riskServiceUrl + "/logs";
+    public CursorPage<RiskAssessmentLog> findLogs(String cursor, int size) {
+        String logsUrl = this.riskServiceUrl + "/logs?cursor={cursor}&size={size}";
         try {
             return restClient.get()
-                    .uri(logsUrl)
+                    .uri(logsUrl, cursor != null ? cursor : "", size)
                     .retrieve()
-                    .body(new org.springframework.core.ParameterizedTypeReference<java.util.List<RiskAssessmentLog>>() {
+                    .body(new org.springframework.core.ParameterizedTypeReference<CursorPage<RiskAssessmentLog>>() {
                     });
         } catch (Exception e) {
-            return new ArrayList<>();
+            return new CursorPage<>(new ArrayList<>(), null);
         }
     }
 
-    public java.util.List<RiskAssessment> findAllAssessments() {
-        String url = this.riskServiceUrl + "/assessments";
+    public CursorPage<RiskAssessment> findAssessments(String cursor, int size) {
+        String url = this.riskServiceUrl + "/assessments?cursor={cursor}&size={size}";
         try {
             return restClient.get()
-                    .uri(url)
+                    .uri(url, cursor != null ? cursor : "", size)
                     .retrieve()
-                    .body(new org.springframework.core.ParameterizedTypeReference<java.util.List<RiskAssessment>>() {
+                    .body(new org.springframework.core.ParameterizedTypeReference<CursorPage<RiskAssessment>>() {
                     });
         } catch (Exception e) {
-            return new ArrayList<>();
+            return new CursorPage<>(new ArrayList<>(), null);
         }
     }
 
@@ -3,8 +3,10 @@ package com.venus.kyc.viewer.screening;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -14,9 +16,11 @@ import java.util.List;
 public class ScreeningController {
 
     private final ScreeningService service;
+    private final ScreeningStatusStreamProxy statusStreamProxy;
 
-    public ScreeningController(ScreeningService service) {
+    public ScreeningController(ScreeningService service, ScreeningStatusStreamProxy statusStreamProxy) {
         this.service = service;
+        this.statusStreamProxy = statusStreamProxy;
     }
 
     @Operation(summary = "Initiate screening", description = "Initiates a sanctions/PEP screening for a specific client")
@@ -37,6 +41,13 @@ public class ScreeningController {
         return ResponseEntity.ok(service.checkStatus(requestId));
     }
 
+    @Operation(summary = "Stream screening status", description = "Server-Sent Events relayed from the screening service: "
+            + "a 'status' event with the current result snapshot, then one per change until the screening completes")
+    @GetMapping(value = "/status/{requestId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStatus(@Parameter(description = "Screening request ID") @PathVariable String requestId) {
+        return statusStreamProxy.open(requestId);
+    }
+
     @Operation(summary = "Get screening history", description = "Returns the complete screening history for a specific client")
     @GetMapping("/history/{clientId}")
     public ResponseEntity<List<ScreeningLog>> getHistory(
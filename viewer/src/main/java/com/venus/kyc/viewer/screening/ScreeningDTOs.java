@@ -19,6 +19,8 @@ public class ScreeningDTOs {
 
         public record ScreeningStatusResponse(
                         String requestId,
+                        long version,
+                        String overallStatus,
                         List<ContextResult> results) {
         }
 
@@ -1,5 +1,6 @@
 package com.venus.kyc.viewer.screening;
 
+import com.venus.kyc.common.http.HttpClientFactory;
 import com.venus.kyc.viewer.Client;
 import com.venus.kyc.viewer.ClientRepository;
 import com.venus.kyc.viewer.UserAuditService;
@@ -23,11 +24,13 @@ public class ScreeningService {
     public ScreeningService(ClientRepository clientRepository, UserAuditService userAuditService,
             @Value("${screening.service.url}") String screeningServiceUrl,
             @Value("${internal.api.key}") String internalApiKey,
-            RestClient.Builder restClientBuilder) {
+            RestClient.Builder restClientBuilder,
+            HttpClientFactory httpClients) {
         this.clientRepository = clientRepository;
         this.userAuditService = userAuditService;
         this.screeningServiceUrl = screeningServiceUrl;
         this.restClient = restClientBuilder
+                .requestFactory(httpClients.requestFactory("screening-service"))
                 .defaultHeader("X-Internal-Api-Key", internalApiKey)
                 .build();
     }
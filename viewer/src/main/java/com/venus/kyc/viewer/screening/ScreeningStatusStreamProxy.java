@@ -0,0 +1,138 @@
+package com.venus.kyc.viewer.screening;
+
+import com.venus.kyc.common.http.HttpClientFactory;
+import com.venus.kyc.common.http.ServerSentEventReader;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Relays the screening service's status stream ({@code /status/{requestId}/stream}) to a browser.
+ *
+ * <p>Each open stream holds one upstream connection and one relay thread, so the number of
+ * concurrent streams is capped; beyond it the UI gets 503 and falls back to reading
+ * {@code /status}. When the browser side ends, the upstream response is closed, which unblocks the
+ * relay thread.
+ */
+@Component
+public class ScreeningStatusStreamProxy {
+
+    private static final Logger log = LoggerFactory.getLogger(ScreeningStatusStreamProxy.class);
+
+    private final RestClient restClient;
+    private final String screeningServiceUrl;
+    private final int maxStreams;
+    private final long streamTimeoutMs;
+
+    private ThreadPoolTaskExecutor executor;
+
+    public ScreeningStatusStreamProxy(@Value("${screening.service.url}") String screeningServiceUrl,
+            @Value("${internal.api.key}") String internalApiKey,
+            @Value("${screening.status.max-streams:200}") int maxStreams,
+            @Value("${screening.status.stream-timeout-ms:330000}") long streamTimeoutMs,
+            RestClient.Builder restClientBuilder,
+            HttpClientFactory httpClients) {
+        this.screeningServiceUrl = screeningServiceUrl;
+        this.maxStreams = maxStreams;
+        this.streamTimeoutMs = streamTimeoutMs;
+        this.restClient = restClientBuilder
+                .requestFactory(httpClients.requestFactory("screening-events"))
+                .defaultHeader("X-Internal-Api-Key", internalApiKey)
+                .build();
+    }
+
+    @PostConstruct
+    void start() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxStreams);
+        executor.setMaxPoolSize(maxStreams);
+        executor.setQueueCapacity(0);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setThreadNamePrefix("screening-stream-");
+        executor.initialize();
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdown();
+    }
+
+    public SseEmitter open(String requestId) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        AtomicReference<Closeable> upstream = new AtomicReference<>();
+        Runnable closeUpstream = () -> closeQuietly(upstream.getAndSet(null));
+        emitter.onCompletion(closeUpstream);
+        emitter.onTimeout(closeUpstream);
+        emitter.onError(e -> closeUpstream.run());
+
+        try {
+            executor.execute(() -> relay(requestId, emitter, upstream));
+        } catch (TaskRejectedException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many open screening status streams");
+        }
+        return emitter;
+    }
+
+    private void relay(String requestId, SseEmitter emitter, AtomicReference<Closeable> upstream) {
+        try {
+            restClient.get()
+                    .uri(screeningServiceUrl + "/status/{requestId}/stream", requestId)
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+                    .exchange((request, response) -> {
+                        if (!response.getStatusCode().is2xxSuccessful()) {
+                            emitter.completeWithError(new ResponseStatusException(response.getStatusCode(),
+                                    "Screening status stream unavailable for " + requestId));
+                            return null;
+                        }
+                        upstream.set(response);
+                        ServerSentEventReader.read(response.getBody(), event -> forward(emitter, event));
+                        emitter.complete();
+                        return null;
+                    });
+        } catch (Exception e) {
+            log.debug("Screening status relay for {} ended: {}", requestId, e.getMessage());
+            emitter.completeWithError(e);
+        }
+    }
+
+    /** False once the browser is gone, which stops reading from upstream. */
+    private static boolean forward(SseEmitter emitter, ServerSentEventReader.Event event) {
+        try {
+            SseEmitter.SseEventBuilder builder = SseEmitter.event()
+                    .name(event.name())
+                    .data(event.data(), MediaType.APPLICATION_JSON);
+            if (event.id() != null) {
+                builder.id(event.id());
+            }
+            emitter.send(builder);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            return false;
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException | RuntimeException e) {
+            // the relay thread sees the closed stream and ends
+        }
+    }
+}
@@ -1,18 +1,23 @@
 package com.venus.kyc.viewer.service;
 
+import com.venus.kyc.common.http.HttpClientFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * REST client for calling the screening-service batch endpoints from the viewer.
- * Used by the nightly material-change batch job to create and process screening batches.
+ * Used by the nightly material-change batch job to submit screening batches and follow their upload.
  */
 @Service
 public class ScreeningBatchClient {
@@ -25,68 +30,66 @@ public class ScreeningBatchClient {
     public ScreeningBatchClient(
             @Value("${screening.service.url}") String screeningServiceUrl,
             @Value("${internal.api.key}") String internalApiKey,
-            RestClient.Builder restClientBuilder) {
+            RestClient.Builder restClientBuilder,
+            HttpClientFactory httpClients) {
         // screening.service.url = http://localhost:8082/api/internal/screening
         this.batchBaseUrl = screeningServiceUrl + "/batch";
+        // Own pool: a submit carries the whole client list and stages it before answering
         this.restClient = restClientBuilder
+                .requestFactory(httpClients.requestFactory("screening-batch"))
                 .defaultHeader("X-Internal-Api-Key", internalApiKey)
                 .build();
     }
 
+    /** Checkpoint a submitted batch has reached, as reported by {@code GET /batch/{batchId}/steps}. */
+    public record BatchStep(String step, String status, Integer attempts, String errorMessage) {
+    }
+
     /**
-     * Creates a batch with the given clients and runs all pipeline steps (XML → checksum → zip → encrypt → upload).
+     * Submits the given clients as a screening batch. The screening service stages them and returns at once; it then
+     * runs the pipeline (XML → checksum → zip → encrypt → upload) as one streamed pass in the background, resuming
+     * it after a crash from its last completed step. Nothing has been uploaded when this returns: follow the
+     * batch's {@code TRANSMIT} step with {@link #getBatchSteps}.
      *
      * @return the batch ID from the screening service
      */
-    public Long createAndProcessBatch(List<Map<String, Object>> clients, String source, String createdBy) {
-        // Step 1: Create batch
-        log.info("Creating screening batch with {} clients (source={})...", clients.size(), source);
+    public Long submitBatch(List<Map<String, Object>> clients, String source, String createdBy) {
+        return submitBatch(clients, source, createdBy, null);
+    }
+
+    /**
+     * Like {@link #submitBatch(List, String, String)}, but the screening service creates at most one batch per
+     * submission key: resubmitting under a key it has seen returns that key's batch.
+     */
+    public Long submitBatch(List<Map<String, Object>> clients, String source, String createdBy,
+            String submissionKey) {
+        log.info("Submitting screening batch with {} clients (source={})...", clients.size(), source);
+        URI uri = UriComponentsBuilder.fromUriString(batchBaseUrl + "/submit")
+                .queryParam("source", source)
+                .queryParam("createdBy", createdBy)
+                .queryParamIfPresent("submissionKey", Optional.ofNullable(submissionKey))
+                .encode()
+                .build()
+                .toUri();
         String batchIdStr = restClient.post()
-                .uri(batchBaseUrl + "/create?source={source}&createdBy={createdBy}", source, createdBy)
+                .uri(uri)
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(clients)
                 .retrieve()
                 .body(String.class);
 
         Long batchId = Long.parseLong(batchIdStr.trim());
-        log.info("Batch created with ID: {}", batchId);
-
-        // Step 2: Generate XML
-        log.info("Generating XML for batch {}...", batchId);
-        restClient.post()
-                .uri(batchBaseUrl + "/{batchId}/generate-xml", batchId)
-                .retrieve()
-                .body(String.class);
-
-        // Step 3: Generate checksum
-        log.info("Generating checksum for batch {}...", batchId);
-        restClient.post()
-                .uri(batchBaseUrl + "/{batchId}/generate-checksum", batchId)
-                .retrieve()
-                .body(String.class);
-
-        // Step 4: Zip
-        log.info("Zipping files for batch {}...", batchId);
-        restClient.post()
-                .uri(batchBaseUrl + "/{batchId}/zip", batchId)
-                .retrieve()
-                .body(String.class);
-
-        // Step 5: Encrypt
-        log.info("Encrypting batch {}...", batchId);
-        restClient.post()
-                .uri(batchBaseUrl + "/{batchId}/encrypt", batchId)
-                .retrieve()
-                .body(String.class);
+        log.info("Batch {} accepted for processing.", batchId);
+        return batchId;
+    }
 
-        // Step 6: Upload to SFTP
-        log.info("Uploading batch {} to SFTP...", batchId);
-        restClient.post()
-                .uri(batchBaseUrl + "/{batchId}/upload", batchId)
+    /** The pipeline steps the batch has reached so far (STAGE, TRANSMIT), with their status and attempts. */
+    public List<BatchStep> getBatchSteps(Long batchId) {
+        List<BatchStep> steps = restClient.get()
+                .uri(batchBaseUrl + "/{batchId}/steps", batchId)
                 .retrieve()
-                .body(String.class);
-
-        log.info("Batch {} fully processed and uploaded.", batchId);
-        return batchId;
+                .body(new ParameterizedTypeReference<List<BatchStep>>() {
+                });
+        return steps != null ? steps : List.of();
     }
 }
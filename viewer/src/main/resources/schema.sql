@@ -24,6 +24,9 @@ CREATE TABLE IF NOT EXISTS Clients (
     CountryOfBirth VARCHAR(100)
 );
 
+-- Keyset paging of the prospect list (Status IN (...) ORDER BY ClientID DESC)
+CREATE INDEX IF NOT EXISTS IX_Clients_Status ON Clients (Status, ClientID);
+
 CREATE TABLE IF NOT EXISTS ClientAddresses (
     AddressID BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     ClientID BIGINT,
@@ -101,6 +104,18 @@ CREATE TABLE IF NOT EXISTS RelatedPartyIdentifiers (
 
 
 
+-- HMAC-SHA256 blind index over the encrypted client name columns (see BlindIndexService).
+-- TermType: T = whole normalized token, P = token prefix.
+CREATE TABLE IF NOT EXISTS ClientNameIndex (
+    ClientID BIGINT NOT NULL,
+    TermType CHAR(1) NOT NULL,
+    Term VARCHAR(32) NOT NULL,
+    PRIMARY KEY (Term, ClientID),
+    FOREIGN KEY (ClientID) REFERENCES Clients(ClientID)
+);
+
+CREATE INDEX IF NOT EXISTS IX_ClientNameIndex_ClientID ON ClientNameIndex (ClientID);
+
 CREATE TABLE IF NOT EXISTS MaterialChangeConfigs (
     ConfigID BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     EntityName VARCHAR(100),
@@ -121,9 +136,75 @@ CREATE TABLE IF NOT EXISTS MaterialChanges (
     NewValue TEXT,
     Status VARCHAR(20) DEFAULT 'PENDING',
     Category VARCHAR(20),
+    LogSeq BIGINT, -- ClientChangeLog entry this change was recorded as
     FOREIGN KEY (ClientID) REFERENCES Clients(ClientID)
 );
 
+-- Keyset paging in the default order; the id makes the key unique
+CREATE INDEX IF NOT EXISTS IX_MaterialChanges_ChangeDate ON MaterialChanges (ChangeDate, ChangeID);
+CREATE INDEX IF NOT EXISTS IX_MaterialChanges_LogSeq ON MaterialChanges (LogSeq);
+
+-- Bumped on every config save so that instances recompile their cached materiality plan
+CREATE TABLE IF NOT EXISTS MaterialChangeConfigVersion (
+    ID INT PRIMARY KEY,
+    Version BIGINT NOT NULL
+);
+INSERT INTO MaterialChangeConfigVersion (ID, Version)
+    SELECT 1, 0 WHERE NOT EXISTS (SELECT 1 FROM MaterialChangeConfigVersion);
+
+-- Append-only feed of material client changes, in commit order
+CREATE TABLE IF NOT EXISTS ClientChangeLog (
+    Seq BIGINT PRIMARY KEY,
+    ChangeDate TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    ClientID BIGINT NOT NULL,
+    EntityID BIGINT,
+    EntityName VARCHAR(255),
+    ColumnName VARCHAR(255),
+    OperationType VARCHAR(50),
+    OldValue TEXT,
+    NewValue TEXT,
+    Category VARCHAR(20) NOT NULL,
+    ConfigVersion BIGINT NOT NULL
+);
+
+-- Last sequence number handed out. Writers take the row lock until commit, so sequence order is commit order.
+CREATE TABLE IF NOT EXISTS ClientChangeLogHead (
+    ID INT PRIMARY KEY,
+    LastSeq BIGINT NOT NULL
+);
+INSERT INTO ClientChangeLogHead (ID, LastSeq)
+    SELECT 1, 0 WHERE NOT EXISTS (SELECT 1 FROM ClientChangeLogHead);
+
+-- Highest sequence number each consumer of ClientChangeLog has processed
+CREATE TABLE IF NOT EXISTS ClientChangeLogConsumers (
+    Consumer VARCHAR(100) PRIMARY KEY,
+    AckedSeq BIGINT NOT NULL
+);
+
+-- One run of the material change screening job: the change log range it covers, split into client ID shards
+CREATE TABLE IF NOT EXISTS MaterialChangeBatchRuns (
+    RunID BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    CreatedDate TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    AfterSeq BIGINT NOT NULL,
+    UpToSeq BIGINT NOT NULL,
+    Status VARCHAR(20) NOT NULL, -- RUNNING, COMPLETED
+    CompletedDate TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS MaterialChangeBatchShards (
+    RunID BIGINT NOT NULL,
+    ShardNo INT NOT NULL,
+    FromClientID BIGINT NOT NULL,
+    ToClientID BIGINT NOT NULL,
+    ClientCount INT NOT NULL,
+    Status VARCHAR(20) NOT NULL, -- PENDING, SUBMITTED
+    BatchID BIGINT,
+    SubmissionKey VARCHAR(100), -- sent with the screening submit, so a retried submit does not create a second batch
+    LastError VARCHAR(1000),
+    PRIMARY KEY (RunID, ShardNo),
+    FOREIGN KEY (RunID) REFERENCES MaterialChangeBatchRuns(RunID)
+);
+
 CREATE TABLE IF NOT EXISTS Cases (
     CaseID BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     ClientID BIGINT NOT NULL,
@@ -136,6 +217,8 @@ CREATE TABLE IF NOT EXISTS Cases (
     FOREIGN KEY (ClientID) REFERENCES Clients(ClientID)
 );
 
+CREATE INDEX IF NOT EXISTS IX_Cases_CreatedDate ON Cases (CreatedDate, CaseID);
+
 CREATE TABLE IF NOT EXISTS CaseComments (
     CommentID BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     CaseID BIGINT NOT NULL,
@@ -283,6 +366,8 @@ CREATE TABLE IF NOT EXISTS UserAudits (
     Timestamp TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+CREATE INDEX IF NOT EXISTS IX_UserAudits_Timestamp ON UserAudits (Timestamp, AuditID);
+
 CREATE TABLE IF NOT EXISTS Users (
     Username VARCHAR(50) PRIMARY KEY,
     Password VARCHAR(100),
@@ -4,7 +4,10 @@ import org.flowable.cmmn.api.CmmnHistoryService;
 import org.flowable.cmmn.api.CmmnRuntimeService;
 import org.flowable.cmmn.api.history.HistoricPlanItemInstance;
 import org.flowable.cmmn.api.history.HistoricPlanItemInstanceQuery;
+import org.flowable.cmmn.api.runtime.CaseInstance;
+import org.flowable.cmmn.api.runtime.CaseInstanceQuery;
 import org.flowable.cmmn.api.runtime.PlanItemInstanceQuery;
+import org.flowable.task.api.TaskQuery;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,8 +18,11 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -57,9 +63,9 @@ public class CaseServiceTest {
         // Mock History Query
         HistoricPlanItemInstanceQuery histQuery = mock(HistoricPlanItemInstanceQuery.class);
         when(cmmnHistoryService.createHistoricPlanItemInstanceQuery()).thenReturn(histQuery);
+        when(histQuery.planItemInstanceCaseInstanceId(caseInstanceId)).thenReturn(histQuery);
 
         HistoricPlanItemInstance item1 = mock(HistoricPlanItemInstance.class);
-        when(item1.getCaseInstanceId()).thenReturn(caseInstanceId);
         when(item1.getName()).thenReturn(null); // Null Name!
         when(item1.getPlanItemDefinitionId()).thenReturn("stageAnalyst");
         when(item1.getState()).thenReturn("completed");
@@ -79,4 +85,26 @@ public class CaseServiceTest {
         assertEquals(1, timeline.size());
         assertEquals("Analyst Review Stage", timeline.get(0).name()); // Check Fallback
     }
+
+    @Test
+    void getTasksForCase_shouldFindCaseInstanceByBusinessKey() {
+        CaseInstanceQuery instanceQuery = mock(CaseInstanceQuery.class);
+        when(cmmnRuntimeService.createCaseInstanceQuery()).thenReturn(instanceQuery);
+        when(instanceQuery.caseInstanceBusinessKey("42")).thenReturn(instanceQuery);
+        CaseInstance instance = mock(CaseInstance.class);
+        when(instance.getId()).thenReturn("inst-42");
+        when(instanceQuery.list()).thenReturn(List.of(instance));
+
+        TaskQuery taskQuery = mock(TaskQuery.class);
+        when(cmmnTaskService.createTaskQuery()).thenReturn(taskQuery);
+        when(taskQuery.caseInstanceId("inst-42")).thenReturn(taskQuery);
+        when(taskQuery.includeCaseVariables()).thenReturn(taskQuery);
+        when(taskQuery.orderByTaskCreateTime()).thenReturn(taskQuery);
+        when(taskQuery.desc()).thenReturn(taskQuery);
+        when(taskQuery.list()).thenReturn(Collections.emptyList());
+
+        assertEquals(0, caseService.getTasksForCase(42L).size());
+        verify(instanceQuery, never()).variableValueEquals(anyString(), any());
+        verify(caseRepository, never()).findById(any());
+    }
 }
@@ -0,0 +1,132 @@
+package com.venus.kyc.viewer;
+
+import org.flowable.cmmn.engine.CmmnEngine;
+import org.flowable.cmmn.engine.CmmnEngineConfiguration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * The case timeline reads the history of one case instance, so its latency must not depend on
+ * how many other cases the engine has seen. Runs against an in-memory CMMN engine whose history
+ * table is seeded directly with finished cases: 1k for every test, 50k for the latency check, which
+ * is tagged {@code perf} and runs with {@code gradle :viewer:perfTest}.
+ */
+public class CaseTimelineScalingTest {
+
+    private static final String[] PLAN_ITEMS = { "stageAnalyst", "stageReviewer", "stageAFC", "stageACO" };
+    private static final int SMALL_HISTORY = 1_000;
+    private static final int LARGE_HISTORY = 50_000;
+    private static final String TARGET_CASE = "case-target";
+
+    private static final String INSERT_PLAN_ITEM = """
+            INSERT INTO ACT_CMMN_HI_PLAN_ITEM_INST
+                (ID_, REV_, STATE_, CASE_DEF_ID_, CASE_INST_ID_, IS_STAGE_, ITEM_DEFINITION_ID_,
+                 ITEM_DEFINITION_TYPE_, CREATE_TIME_, ENDED_TIME_, TENANT_ID_)
+            VALUES (?, 1, ?, 'kycCase:1:1', ?, TRUE, ?, 'stage', ?, ?, '')
+            """;
+
+    private static CmmnEngine engine;
+    private static CaseService caseService;
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        CmmnEngineConfiguration configuration = CmmnEngineConfiguration.createStandaloneInMemCmmnEngineConfiguration();
+        configuration.setJdbcUrl("jdbc:h2:mem:case-timeline-scaling;DB_CLOSE_DELAY=-1");
+        engine = configuration.buildCmmnEngine();
+        caseService = new CaseService(engine.getCmmnRuntimeService(), engine.getCmmnTaskService(),
+                engine.getCmmnHistoryService(), mock(CaseRepository.class), mock(QuestionnaireRepository.class),
+                mock(ClientRepository.class), mock(com.venus.kyc.viewer.risk.RiskAssessmentService.class),
+                mock(com.venus.kyc.viewer.screening.ScreeningService.class));
+        seedCase(TARGET_CASE);
+        seedCases(1, SMALL_HISTORY);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        engine.close();
+    }
+
+    @Test
+    void timelineListsOnlyTheStagesOfTheRequestedCase() {
+        List<CaseService.TimelineItem> timeline = caseService.getCaseTimeline(TARGET_CASE);
+
+        assertEquals(PLAN_ITEMS.length, timeline.size());
+        assertEquals("Analyst Review Stage", timeline.get(0).name());
+    }
+
+    @Test
+    @Tag("perf")
+    void timelineLatencyIsIndependentOfHistorySize() throws SQLException {
+        long small = medianTimelineNanos();
+
+        seedCases(SMALL_HISTORY, LARGE_HISTORY);
+        long large = medianTimelineNanos();
+
+        assertEquals(PLAN_ITEMS.length, caseService.getCaseTimeline(TARGET_CASE).size());
+        // a scan of the whole history grows 50x here; an indexed lookup stays flat up to noise
+        assertTrue(large <= 3 * small + 2_000_000,
+                String.format("timeline took %.2f ms at %d cases vs %.2f ms at %d cases",
+                        large / 1e6, LARGE_HISTORY, small / 1e6, SMALL_HISTORY));
+    }
+
+    private static long medianTimelineNanos() {
+        for (int i = 0; i < 50; i++) {
+            caseService.getCaseTimeline(TARGET_CASE);
+        }
+        long[] samples = new long[101];
+        for (int i = 0; i < samples.length; i++) {
+            long start = System.nanoTime();
+            caseService.getCaseTimeline(TARGET_CASE);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[samples.length / 2];
+    }
+
+    private static void seedCase(String caseInstanceId) throws SQLException {
+        try (Connection connection = engine.getCmmnEngineConfiguration().getDataSource().getConnection();
+                PreparedStatement insert = connection.prepareStatement(INSERT_PLAN_ITEM)) {
+            addPlanItems(insert, caseInstanceId);
+            insert.executeBatch();
+        }
+    }
+
+    private static void seedCases(int from, int to) throws SQLException {
+        try (Connection connection = engine.getCmmnEngineConfiguration().getDataSource().getConnection();
+                PreparedStatement insert = connection.prepareStatement(INSERT_PLAN_ITEM)) {
+            for (int i = from; i < to; i++) {
+                addPlanItems(insert, "case-" + i);
+                if (i % 1_000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private static void addPlanItems(PreparedStatement insert, String caseInstanceId) throws SQLException {
+        long created = System.currentTimeMillis() - 3_600_000L;
+        for (int item = 0; item < PLAN_ITEMS.length; item++) {
+            insert.setString(1, caseInstanceId + "-" + item);
+            insert.setString(2, "completed");
+            insert.setString(3, caseInstanceId);
+            insert.setString(4, PLAN_ITEMS[item]);
+            insert.setTimestamp(5, new Timestamp(created + item * 60_000L));
+            insert.setTimestamp(6, new Timestamp(created + item * 60_000L + 30_000L));
+            insert.addBatch();
+        }
+    }
+}
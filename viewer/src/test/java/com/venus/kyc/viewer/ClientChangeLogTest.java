@@ -0,0 +1,121 @@
+package com.venus.kyc.viewer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ClientChangeLogTest {
+
+    private static final String KEY = "j5afag/9LpbAKCMfC9+eKRor5etIeRbD7J7KiHkc0sk=";
+
+    private EmbeddedDatabase database;
+    private JdbcClient jdbcClient;
+    private ClientRepository clientRepository;
+    private MaterialChangeConfigRepository configRepository;
+    private ClientChangeLog changeLog;
+    private ClientDataChangeService service;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName("changelog-" + UUID.randomUUID())
+                .addScript("classpath:schema.sql")
+                .build();
+        jdbcClient = JdbcClient.create(database);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        clientRepository = new ClientRepository(jdbcClient, jdbcTemplate, new EncryptionService(KEY),
+                new BlindIndexService(KEY), new ClientGraphLoader(jdbcClient));
+        configRepository = new MaterialChangeConfigRepository(jdbcClient);
+        changeLog = new ClientChangeLog(jdbcClient, jdbcTemplate);
+        service = new ClientDataChangeService(new MaterialChangeRepository(jdbcClient, jdbcTemplate),
+                configRepository, changeLog);
+
+        configRepository.save(new MaterialChangeConfig(null, "Client", "lastName", "SCREENING"));
+        configRepository.save(new MaterialChangeConfig(null, "Client", "occupation", "RISK"));
+        configRepository.save(new MaterialChangeConfig(null, "Client", "firstName", "NONE"));
+        configRepository.save(new MaterialChangeConfig(null, "Address", "ALL", "BOTH"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void processClientChanges_logsMaterialFieldsOnly_withConsecutiveSequenceNumbers() {
+        Long id = insert("John", "Doe", "Engineer");
+        Client before = clientRepository.findById(id).orElseThrow();
+
+        service.processClientChanges(before, client(id, "Jonathan", "Roe", "Pilot",
+                List.of(new Address(null, "HOME", "1 Main St", null, "Berlin", "10115", "DE", null, null))));
+
+        List<ClientChangeLogEntry> logged = changeLog.readAfter(0, changeLog.head(),
+                List.of("SCREENING", "RISK", "BOTH"));
+        assertEquals(List.of("occupation", "lastName", "ALL"),
+                logged.stream().map(ClientChangeLogEntry::columnName).toList());
+        assertEquals(List.of(1L, 2L, 3L), logged.stream().map(ClientChangeLogEntry::seq).toList());
+        assertEquals("New Address: DE", logged.get(2).newValue());
+        assertEquals(List.of(1L, 2L, 3L), jdbcClient.sql(
+                "SELECT LogSeq FROM MaterialChanges WHERE Status = 'PENDING' ORDER BY LogSeq")
+                .query(Long.class).list());
+
+        service.processClientChanges(before, client(id, "John", "Doe", "Engineer", List.of()));
+        assertEquals(3, changeLog.head(), "an update without material changes must not append");
+    }
+
+    @Test
+    void currentPlan_isRecompiledOnlyAfterAConfigSave() {
+        MaterialChangePlan first = service.currentPlan();
+        assertSame(first, service.currentPlan());
+
+        configRepository.save(new MaterialChangeConfig(null, "Client", "firstName", "SCREENING"));
+
+        MaterialChangePlan second = service.currentPlan();
+        assertNotSame(first, second);
+        assertEquals(first.version() + 1, second.version());
+    }
+
+    @Test
+    void readAfter_continuesFromTheAcknowledgedSequence() {
+        Long id = insert("John", "Doe", "Engineer");
+        Client before = clientRepository.findById(id).orElseThrow();
+        service.processClientChanges(before, client(id, "John", "Roe", "Pilot", List.of()));
+        long head = changeLog.head();
+
+        assertEquals(1, changeLog.readAfter(changeLog.acknowledgedSeq("test"), head, List.of("SCREENING")).size());
+
+        changeLog.acknowledge("test", head);
+        changeLog.acknowledge("test", head - 1);
+
+        assertEquals(head, changeLog.acknowledgedSeq("test"), "acknowledgement must not move back");
+        assertEquals(0, changeLog.readAfter(changeLog.acknowledgedSeq("test"), changeLog.head(),
+                List.of("SCREENING", "RISK")).size());
+    }
+
+    private Long insert(String firstName, String lastName, String occupation) {
+        return clientRepository.insertClient(client(null, firstName, lastName, occupation, List.of()));
+    }
+
+    private static Client client(Long id, String firstName, String lastName, String occupation,
+            List<Address> addresses) {
+        return new Client(id, null, firstName, null, lastName, null, null, null, LocalDate.of(2024, 1, 1), "ACTIVE",
+                null, null, null, null, null, occupation, null, null, null, null, null, null, null,
+                new ArrayList<>(addresses), new ArrayList<>(), new ArrayList<>(), new ArrayList<>(),
+                new ArrayList<>());
+    }
+}
@@ -0,0 +1,156 @@
+package com.venus.kyc.viewer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+public class ClientGraphLoaderTest {
+
+    private static final String KEY = "j5afag/9LpbAKCMfC9+eKRor5etIeRbD7J7KiHkc0sk=";
+
+    private EmbeddedDatabase database;
+    private CountingDataSource dataSource;
+    private ClientRepository clientRepository;
+    private JdbcClient jdbcClient;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName("graph-" + UUID.randomUUID())
+                .addScript("classpath:schema.sql")
+                .build();
+        dataSource = new CountingDataSource(database);
+        jdbcClient = JdbcClient.create(dataSource);
+        clientRepository = new ClientRepository(jdbcClient, new JdbcTemplate(dataSource), new EncryptionService(KEY),
+                new BlindIndexService(KEY), new ClientGraphLoader(jdbcClient));
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void findAllPaginated_shouldIssueConstantQueryCountPerPage() {
+        seedClients(5);
+        dataSource.statements.set(0);
+        PaginatedResponse<Client> small = clientRepository.findAllPaginated(0, 5);
+        int smallPageQueries = dataSource.statements.get();
+
+        seedClients(95);
+        dataSource.statements.set(0);
+        PaginatedResponse<Client> large = clientRepository.findAllPaginated(0, 100);
+        int largePageQueries = dataSource.statements.get();
+
+        assertEquals(5, small.content().size());
+        assertEquals(100, large.content().size());
+        // count + page + 5 client collections + 2 related-party collections
+        assertEquals(9, smallPageQueries);
+        assertEquals(smallPageQueries, largePageQueries);
+    }
+
+    @Test
+    void findAllPaginated_shouldAttachChildrenToOwningClient() {
+        seedClients(3);
+
+        List<Client> clients = clientRepository.findAllPaginated(0, 10).content();
+
+        for (Client client : clients) {
+            assertEquals(2, client.addresses().size());
+            assertEquals(1, client.identifiers().size());
+            assertEquals(1, client.accounts().size());
+            assertEquals(1, client.portfolios().size());
+            assertEquals(1, client.relatedParties().size());
+            RelatedParty party = client.relatedParties().get(0);
+            assertEquals(client.clientID(), party.clientID());
+            assertEquals(1, party.addresses().size());
+            assertEquals(1, party.identifiers().size());
+            assertEquals("ACC-" + client.clientID(), client.accounts().get(0).accountNumber());
+        }
+    }
+
+    @Test
+    void findAllPaginated_shouldClampNonPositiveSize() {
+        seedClients(3);
+
+        PaginatedResponse<Client> page = clientRepository.findAllPaginated(0, 0);
+
+        assertEquals(1, page.pageSize());
+        assertEquals(1, page.content().size());
+        assertEquals(3, page.totalPages());
+        assertNotNull(page.nextCursor());
+    }
+
+    private void seedClients(int count) {
+        for (int i = 0; i < count; i++) {
+            Client client = new Client(null, "Mr", "First" + i, null, "Last" + i, null, "USA", null,
+                    LocalDate.of(2024, 1, 1), "ACTIVE", null, null, "Male", LocalDate.of(1980, 1, 1), "English",
+                    null, "USA", "USA", null, null, null, null, "USA",
+                    new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+            Long clientId = clientRepository.insertClient(client);
+            for (String type : List.of("RESIDENTIAL", "MAILING")) {
+                clientRepository.addAddress(clientId,
+                        new Address(null, type, "1 Main St", null, "Springfield", "12345", "USA", "1", null));
+            }
+            jdbcClient.sql("INSERT INTO ClientIdentifiers (ClientID, IdentifierType, IdentifierValue) VALUES (:id, 'PASSPORT', 'P1')")
+                    .param("id", clientId).update();
+            jdbcClient.sql("INSERT INTO Accounts (ClientID, AccountNumber, AccountStatus) VALUES (:id, :number, 'ACTIVE')")
+                    .param("id", clientId).param("number", "ACC-" + clientId).update();
+            jdbcClient.sql("INSERT INTO Portfolios (ClientID, PortfolioText, OnboardingDate, Status) VALUES (:id, 'Core', CURRENT_DATE, 'ACTIVE')")
+                    .param("id", clientId).update();
+            clientRepository.saveRelatedParty(clientId, new RelatedParty(null, clientId, "Other", null, "Party" + i,
+                    null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null,
+                    null, new ArrayList<>(), new ArrayList<>()));
+            Long partyId = jdbcClient.sql("SELECT MAX(RelatedPartyID) FROM RelatedParties").query(Long.class).single();
+            jdbcClient.sql("INSERT INTO RelatedPartyAddresses (RelatedPartyID, AddressType, City) VALUES (:id, 'RESIDENTIAL', 'Springfield')")
+                    .param("id", partyId).update();
+            jdbcClient.sql("INSERT INTO RelatedPartyIdentifiers (RelatedPartyID, IdentifierType, IdentifierValue) VALUES (:id, 'PASSPORT', 'RP1')")
+                    .param("id", partyId).update();
+        }
+    }
+
+    /** Counts every statement prepared against the wrapped data source. */
+    private static class CountingDataSource extends DelegatingDataSource {
+
+        final AtomicInteger statements = new AtomicInteger();
+
+        CountingDataSource(EmbeddedDatabase target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection target = super.getConnection();
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+                    (proxy, method, args) -> {
+                        if (method.getName().startsWith("prepare")) {
+                            statements.incrementAndGet();
+                        }
+                        try {
+                            return method.invoke(target, args);
+                        } catch (java.lang.reflect.InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.venus.kyc.viewer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ClientNameSearchTest {
+
+    private static final String KEY = "j5afag/9LpbAKCMfC9+eKRor5etIeRbD7J7KiHkc0sk=";
+
+    private EmbeddedDatabase database;
+    private ClientRepository clientRepository;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName("search-" + UUID.randomUUID())
+                .addScript("classpath:schema.sql")
+                .build();
+        JdbcClient jdbcClient = JdbcClient.create(database);
+        clientRepository = new ClientRepository(jdbcClient, new JdbcTemplate(database), new EncryptionService(KEY),
+                new BlindIndexService(KEY), new ClientGraphLoader(jdbcClient));
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void searchByNamePaginated_shouldReturnExactTotalsAcrossPages() {
+        for (int i = 0; i < 25; i++) {
+            insert("Maria", "M\u00fcller");
+        }
+        for (int i = 0; i < 40; i++) {
+            insert("John", "Doe");
+        }
+
+        PaginatedResponse<Client> first = clientRepository.searchByNamePaginated("mull", 0, 10);
+        PaginatedResponse<Client> last = clientRepository.searchByNamePaginated("mull", 2, 10);
+
+        assertEquals(25, first.totalElements());
+        assertEquals(3, first.totalPages());
+        assertEquals(10, first.content().size());
+        assertEquals(5, last.content().size());
+        assertTrue(last.content().stream().allMatch(c -> c.lastName().equals("M\u00fcller")));
+    }
+
+    @Test
+    void searchByNamePaginated_shouldRequireEveryQueryToken() {
+        insert("John", "Doe");
+        insert("John", "Smith");
+        insert("Jane", "Doe");
+
+        assertEquals(2, clientRepository.searchByNamePaginated("john", 0, 10).totalElements());
+        assertEquals(1, clientRepository.searchByNamePaginated("Doe, Jo", 0, 10).totalElements());
+        assertEquals(0, clientRepository.searchByNamePaginated("ohn", 0, 10).totalElements());
+    }
+
+    @Test
+    void updateClient_shouldReplaceIndexedTerms() {
+        Long id = insert("John", "Doe");
+        Client stored = clientRepository.findById(id).orElseThrow();
+
+        clientRepository.updateClient(new Client(id, stored.titlePrefix(), "Jonathan", null, "Roe",
+                null, null, null, stored.onboardingDate(), stored.status(), null, null, null, null, null, null,
+                null, null, null, null, null, null, null,
+                new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>()));
+
+        assertEquals(0, clientRepository.searchByNamePaginated("doe", 0, 10).totalElements());
+        assertEquals(1, clientRepository.searchByNamePaginated("jonathan roe", 0, 10).totalElements());
+    }
+
+    private Long insert(String firstName, String lastName) {
+        return clientRepository.insertClient(new Client(null, null, firstName, null, lastName, null, null, null,
+                LocalDate.of(2024, 1, 1), "ACTIVE", null, null, null, null, null, null, null, null, null, null,
+                null, null, null,
+                new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>()));
+    }
+}
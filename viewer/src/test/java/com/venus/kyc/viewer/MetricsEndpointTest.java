@@ -0,0 +1,42 @@
+package com.venus.kyc.viewer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prometheus scrapes /actuator/prometheus without a token; the scrape must carry the JDBC query
+ * timers and the JobRunr gauges.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "org.jobrunr.dashboard.enabled=false")
+@AutoConfigureObservability(tracing = false)
+class MetricsEndpointTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    @Test
+    void prometheusScrape_isAnonymousAndCoversJdbcAndJobs() {
+        jdbcClient.sql("SELECT COUNT(*) FROM Clients").query(Long.class).single();
+
+        ResponseEntity<String> scrape = restTemplate.getForEntity("/actuator/prometheus", String.class);
+
+        assertEquals(HttpStatus.OK, scrape.getStatusCode());
+        String body = scrape.getBody();
+        assertTrue(body.contains("jdbc_query_seconds_count"), "JDBC query timer missing");
+        assertTrue(body.contains("jobrunr_jobs_enqueued"), "JobRunr job gauges missing");
+        assertTrue(body.contains("application=\"viewer-core\""), "application tag missing");
+    }
+}
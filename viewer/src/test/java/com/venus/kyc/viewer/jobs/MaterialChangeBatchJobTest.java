@@ -0,0 +1,321 @@
+package com.venus.kyc.viewer.jobs;
+
+import com.venus.kyc.viewer.*;
+import com.venus.kyc.viewer.service.ScreeningBatchClient;
+import com.venus.kyc.viewer.service.ScreeningBatchClient.BatchStep;
+import org.jobrunr.jobs.lambdas.IocJobLambda;
+import org.jobrunr.scheduling.JobScheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MaterialChangeBatchJobTest {
+
+    private static final String KEY = "j5afag/9LpbAKCMfC9+eKRor5etIeRbD7J7KiHkc0sk=";
+    private static final BatchStep STAGED = new BatchStep("STAGE", "COMPLETED", 1, null);
+    private static final BatchStep TRANSMITTED = new BatchStep("TRANSMIT", "COMPLETED", 1, null);
+
+    private EmbeddedDatabase database;
+    private JdbcClient jdbcClient;
+    private ClientRepository clientRepository;
+    private ClientChangeLog changeLog;
+    private ClientDataChangeService changeService;
+    private MaterialChangeBatchRunRepository runRepository;
+    private ScreeningBatchClient screeningBatchClient;
+    private MaterialChangeBatchJob job;
+
+    /**
+     * Jobs enqueued or scheduled on the mocked scheduler, run by {@link #drain()} in FIFO order like a single
+     * worker; a scheduled job is due as soon as it reaches the front.
+     */
+    private final Deque<IocJobLambda<MaterialChangeBatchJob>> enqueued = new ArrayDeque<>();
+    private final List<List<Object>> submittedBatches = new ArrayList<>();
+    private final List<String> submissionKeys = new ArrayList<>();
+    /** Batch IDs by submission key, as the screening service dedupes them. */
+    private final Map<String, Long> batchByKey = new HashMap<>();
+    /** Steps reported per batch; a batch not in here has been transmitted. */
+    private final Map<Long, List<BatchStep>> stepsByBatch = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName("changebatch-" + UUID.randomUUID())
+                .addScript("classpath:schema.sql")
+                .build();
+        jdbcClient = JdbcClient.create(database);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        clientRepository = new ClientRepository(jdbcClient, jdbcTemplate, new EncryptionService(KEY),
+                new BlindIndexService(KEY), new ClientGraphLoader(jdbcClient));
+        MaterialChangeConfigRepository configRepository = new MaterialChangeConfigRepository(jdbcClient);
+        MaterialChangeRepository materialChangeRepository = new MaterialChangeRepository(jdbcClient, jdbcTemplate);
+        changeLog = new ClientChangeLog(jdbcClient, jdbcTemplate);
+        changeService = new ClientDataChangeService(materialChangeRepository, configRepository, changeLog);
+        runRepository = new MaterialChangeBatchRunRepository(jdbcClient, jdbcTemplate);
+
+        configRepository.save(new MaterialChangeConfig(null, "Client", "lastName", "SCREENING"));
+        configRepository.save(new MaterialChangeConfig(null, "Client", "occupation", "RISK"));
+
+        screeningBatchClient = mock(ScreeningBatchClient.class);
+        when(screeningBatchClient.submitBatch(anyList(), eq("BATCH_JOB"), eq("SYSTEM"), anyString()))
+                .thenAnswer(invocation -> {
+                    List<Map<String, Object>> clients = invocation.getArgument(0);
+                    String submissionKey = invocation.getArgument(3);
+                    submissionKeys.add(submissionKey);
+                    return batchByKey.computeIfAbsent(submissionKey, key -> {
+                        submittedBatches.add(clients.stream().map(m -> m.get("clientID")).toList());
+                        return (long) submittedBatches.size();
+                    });
+                });
+        when(screeningBatchClient.getBatchSteps(anyLong())).thenAnswer(invocation ->
+                stepsByBatch.getOrDefault(invocation.<Long>getArgument(0), List.of(STAGED, TRANSMITTED)));
+        JobScheduler jobScheduler = mock(JobScheduler.class);
+        doAnswer(invocation -> {
+            enqueued.add(invocation.getArgument(0));
+            return null;
+        }).when(jobScheduler).enqueue(ArgumentMatchers.<IocJobLambda<MaterialChangeBatchJob>>any());
+        doAnswer(invocation -> {
+            enqueued.add(invocation.getArgument(1));
+            return null;
+        }).when(jobScheduler).schedule(any(Instant.class), ArgumentMatchers.<IocJobLambda<MaterialChangeBatchJob>>any());
+
+        job = new MaterialChangeBatchJob(materialChangeRepository, runRepository, changeLog, clientRepository,
+                screeningBatchClient, jobScheduler, 2, 1, 200, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void execute_screensEachIdRangeAsItsOwnBatch_andCompletesTheRunOnce() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(renameClient("Doe" + i));
+        }
+        Long riskOnly = insert("Roe");
+        changeService.processClientChanges(clientRepository.findById(riskOnly).orElseThrow(),
+                client(riskOnly, "Roe", "Pilot"));
+        long head = changeLog.head();
+
+        job.execute();
+        assertEquals(3, enqueued.size(), "five clients in shards of two");
+        drain();
+
+        assertEquals(List.of(List.of(ids.get(0), ids.get(1)), List.of(ids.get(2), ids.get(3)), List.of(ids.get(4))),
+                submittedBatches);
+        assertEquals(5, countChanges("BATCH_SUBMITTED"));
+        assertEquals(1, countChanges("PENDING"), "risk-only change is not screened");
+        assertEquals(head, changeLog.acknowledgedSeq("screening-batch"));
+        assertEquals("COMPLETED", runRepository.findById(1).orElseThrow().status());
+    }
+
+    @Test
+    void execute_leavesTheRunOpenUntilAFailedShardSucceedsOnRetry() throws Exception {
+        Long first = renameClient("Doe1");
+        Long second = renameClient("Doe2");
+        Long third = renameClient("Doe3");
+        when(screeningBatchClient.submitBatch(ArgumentMatchers.<List<Map<String, Object>>>argThat(
+                clients -> clients.size() == 1 && third.equals(clients.get(0).get("clientID"))), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    submissionKeys.add(invocation.getArgument(3));
+                    throw new IllegalStateException("screening-service unavailable");
+                })
+                .thenAnswer(invocation -> {
+                    String submissionKey = invocation.getArgument(3);
+                    submissionKeys.add(submissionKey);
+                    return batchByKey.computeIfAbsent(submissionKey, key -> {
+                        submittedBatches.add(List.of(third));
+                        return 99L;
+                    });
+                });
+
+        job.execute();
+        IocJobLambda<MaterialChangeBatchJob> firstShard = enqueued.poll();
+        IocJobLambda<MaterialChangeBatchJob> failingShard = enqueued.poll();
+        firstShard.accept(job);
+        assertThrows(RuntimeException.class, () -> failingShard.accept(job));
+        drain(); // the first shard's transmit check
+
+        assertEquals(3, countChanges("PENDING"));
+        assertEquals(0, changeLog.acknowledgedSeq("screening-batch"));
+        job.execute();
+        assertEquals(1, enqueued.size(), "no new run while one is unfinished, only its pending shard again");
+        assertEquals(1, jdbcClient.sql("SELECT COUNT(*) FROM MaterialChangeBatchRuns").query(Integer.class).single());
+
+        failingShard.accept(job);
+        drain();
+
+        assertEquals(List.of(List.of(first, second), List.of(third)), submittedBatches);
+        assertEquals(submissionKeys.get(1), submissionKeys.get(2), "the retry submits under the shard's key");
+        assertNotEquals(submissionKeys.get(0), submissionKeys.get(1));
+        assertEquals(3, countChanges("BATCH_SUBMITTED"));
+        assertEquals(changeLog.head(), changeLog.acknowledgedSeq("screening-batch"));
+    }
+
+    @Test
+    void execute_reenqueuesTheShardsOfARunWhoseCoordinatorDiedBeforeEnqueueingThem() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(renameClient("Doe" + i));
+        }
+        job.execute();
+        enqueued.clear(); // the run was recorded, its shard jobs never reached the queue
+
+        job.execute();
+        assertEquals(2, enqueued.size());
+        drain();
+
+        assertEquals(List.of(List.of(ids.get(0), ids.get(1)), List.of(ids.get(2))), submittedBatches);
+        assertEquals(3, countChanges("BATCH_SUBMITTED"));
+        assertEquals(changeLog.head(), changeLog.acknowledgedSeq("screening-batch"));
+        assertEquals("COMPLETED", runRepository.findById(1).orElseThrow().status());
+    }
+
+    @Test
+    void executeShard_returnsOnceSubmitted_andAScheduledCheckMarksTheShardOnceItsBatchIsTransmitted() throws Exception {
+        renameClient("Doe1");
+        when(screeningBatchClient.getBatchSteps(1L))
+                .thenReturn(List.of(STAGED))
+                .thenReturn(List.of(STAGED, new BatchStep("TRANSMIT", "RUNNING", 1, null)))
+                .thenReturn(List.of(STAGED, new BatchStep("TRANSMIT", "FAILED", 1, "connection reset")))
+                .thenReturn(List.of(STAGED, new BatchStep("TRANSMIT", "COMPLETED", 2, null)));
+
+        job.execute();
+        enqueued.poll().accept(job);
+        assertEquals(1, submittedBatches.size());
+        verify(screeningBatchClient, never()).getBatchSteps(anyLong());
+        assertEquals(1, runRepository.countPendingShards(1), "submitted, but not uploaded yet");
+        assertEquals(1, enqueued.size(), "only the transmit check is scheduled");
+        drain();
+
+        assertEquals(1, submittedBatches.size(), "a failure with attempts left is resumed by the screening service");
+        verify(screeningBatchClient, times(4)).getBatchSteps(1L);
+        assertEquals(1, countChanges("BATCH_SUBMITTED"));
+        assertEquals(changeLog.head(), changeLog.acknowledgedSeq("screening-batch"));
+    }
+
+    @Test
+    void executeShard_resubmitsUnderANewKeyOnlyWhenTheBatchFailedToTransmitForGood() throws Exception {
+        renameClient("Doe1");
+        stepsByBatch.put(1L, List.of(STAGED, new BatchStep("TRANSMIT", "RUNNING", 1, null)));
+
+        job.execute();
+        enqueued.poll().accept(job);
+        enqueued.poll().accept(job);
+        assertEquals(1, enqueued.size(), "a check that finds the transmit still running schedules the next one");
+        enqueued.clear();
+
+        // still running at the deadline: the shard stays pending, and resuming it waits for the same batch
+        assertThrows(IllegalStateException.class,
+                () -> job.checkShardTransmitted(1, 0, 1L, System.currentTimeMillis() - 1));
+        assertTrue(runRepository.findPendingShards(1).get(0).lastError().contains("not transmitted"));
+        job.execute();
+        enqueued.poll().accept(job);
+        assertEquals(1, submittedBatches.size());
+        assertEquals(submissionKeys.get(0), submissionKeys.get(1));
+
+        stepsByBatch.put(1L, List.of(STAGED, new BatchStep("TRANSMIT", "FAILED", 3, "Permission denied")));
+        IocJobLambda<MaterialChangeBatchJob> check = enqueued.poll();
+        assertThrows(IllegalStateException.class, () -> check.accept(job));
+        MaterialChangeBatchShard failed = runRepository.findPendingShards(1).get(0);
+        assertTrue(failed.lastError().contains("Permission denied"), failed.lastError());
+        assertNull(failed.submissionKey());
+        assertEquals(1, countChanges("PENDING"));
+        assertEquals(0, changeLog.acknowledgedSeq("screening-batch"));
+
+        job.execute();
+        drain();
+
+        assertEquals(2, submittedBatches.size());
+        assertNotEquals(submissionKeys.get(1), submissionKeys.get(2), "a batch that failed for good is not reused");
+        assertEquals(2L, jdbcClient.sql("SELECT BatchID FROM MaterialChangeBatchShards WHERE RunID = 1")
+                .query(Long.class).single());
+        assertEquals(1, countChanges("BATCH_SUBMITTED"));
+        assertEquals(changeLog.head(), changeLog.acknowledgedSeq("screening-batch"));
+    }
+
+    @Test
+    void execute_skipsChangesOfClientsThatNoLongerExist() throws Exception {
+        Long kept = renameClient("Doe1");
+        Long deleted = renameClient("Doe2");
+        // removed behind the application's back, leaving its logged changes without a client
+        jdbcClient.sql("SET REFERENTIAL_INTEGRITY FALSE").update();
+        jdbcClient.sql("DELETE FROM Clients WHERE ClientID = :id").param("id", deleted).update();
+        jdbcClient.sql("SET REFERENTIAL_INTEGRITY TRUE").update();
+
+        job.execute();
+        drain();
+
+        assertEquals(List.of(List.of(kept)), submittedBatches);
+        assertEquals(1, countChanges("BATCH_SUBMITTED"));
+        assertEquals(1, countChanges("SKIPPED"));
+        assertEquals(0, countChanges("PENDING"));
+        assertEquals(changeLog.head(), changeLog.acknowledgedSeq("screening-batch"));
+    }
+
+    private void drain() throws Exception {
+        while (!enqueued.isEmpty()) {
+            enqueued.poll().accept(job);
+        }
+    }
+
+    private int countChanges(String status) {
+        return jdbcClient.sql("SELECT COUNT(*) FROM MaterialChanges WHERE Status = :status")
+                .param("status", status)
+                .query(Integer.class)
+                .single();
+    }
+
+    /** Inserts a client and logs a screening change renaming it to {@code lastName}. */
+    private Long renameClient(String lastName) {
+        Long id = insert("Doe");
+        changeService.processClientChanges(clientRepository.findById(id).orElseThrow(),
+                client(id, lastName, "Engineer"));
+        return id;
+    }
+
+    private Long insert(String lastName) {
+        return clientRepository.insertClient(client(null, lastName, "Engineer"));
+    }
+
+    private static Client client(Long id, String lastName, String occupation) {
+        return new Client(id, null, "John", null, lastName, null, null, null, LocalDate.of(2024, 1, 1), "ACTIVE",
+                null, null, null, null, null, occupation, null, null, null, null, null, null, null,
+                new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+    }
+}